@@ -0,0 +1,98 @@
+package com.auction.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+/**
+ * Lance les benchmarks avec le profileur d'allocation et enregistre les résultats en JSON,
+ * un fichier par libellé (par exemple le commit mesuré) et par filtre pour comparer les versions.
+ *
+ * java -Dbench.label=$(git rev-parse --short HEAD) -jar benchmarks/target/benchmarks.jar [filtre]
+ * Filtres usuels : PlaceBidBenchmark (par défaut), CodecBenchmark (codecs TCP et Multicast).
+ * Pour les options complètes de JMH : java -cp benchmarks/target/benchmarks.jar org.openjdk.jmh.Main -h
+ *
+ * Le chemin d'enchère sans abonné TCP (fanOut=0) doit rester sans allocation, historique en
+ * mémoire comme débordant sur disque : le lanceur termine en erreur si une de ces mesures
+ * alloue, ce qui fait échouer le script appelant.
+ */
+public class BenchmarkRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    // Une allocation par enchère coûte au moins un en-tête d'objet (16 octets) : en dessous d'un
+    // octet par opération, il ne reste que les allocations de JMH et des préparations d'itération
+    // réparties sur des millions d'opérations
+    private static final double ALLOCATION_BUDGET_BYTES = 1.0;
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        String include = args.length > 0 ? args[0] : PlaceBidBenchmark.class.getSimpleName();
+        String label = System.getProperty("bench.label", "local");
+        Path directory = Paths.get(System.getProperty("bench.results", "benchmarks/results"));
+        Files.createDirectories(directory);
+        Path result = directory.resolve(label + "-" + include.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        System.out.println("[BENCH] Résultats: " + result.toAbsolutePath());
+
+        if (!checkAllocationFree(results)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Vérifie l'allocation par enchère des mesures PlaceBidBenchmark sans abonné
+     * @return false si une mesure dépasse le budget
+     */
+    static boolean checkAllocationFree(Collection<RunResult> results) {
+        boolean allocationFree = true;
+        int checked = 0;
+        for (RunResult run : results) {
+            BenchmarkParams params = run.getParams();
+            if (!params.getBenchmark().contains(PlaceBidBenchmark.class.getSimpleName())
+                    || !"0".equals(params.getParam("fanOut"))) {
+                continue;
+            }
+            checked++;
+            Result<?> allocation = run.getSecondaryResults().get(ALLOCATION_METRIC);
+            if (allocation == null) {
+                System.err.println("[BENCH] Mesure " + ALLOCATION_METRIC + " absente: " + describe(params));
+                allocationFree = false;
+            } else if (allocation.getScore() >= ALLOCATION_BUDGET_BYTES) {
+                System.err.printf("[BENCH] Allocation sur le chemin d'enchère: %.3f %s - %s%n",
+                    allocation.getScore(), allocation.getScoreUnit(), describe(params));
+                allocationFree = false;
+            }
+        }
+        if (allocationFree && checked > 0) {
+            System.out.println("[BENCH] Chemin d'enchère sans allocation (fanOut=0, " + checked + " mesures)");
+        }
+        return allocationFree;
+    }
+
+    private static String describe(BenchmarkParams params) {
+        StringBuilder text = new StringBuilder(params.getBenchmark()).append(' ').append(params.getMode());
+        for (String key : params.getParamsKeys()) {
+            text.append(' ').append(key).append('=').append(params.getParam(key));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.auction.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compteurs secondaires des benchmarks de codecs : octets produits (ou lus) et messages traités
+ * pendant l'itération. Octets par message = bytes / messages, les deux figurant dans le JSON.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class EncodedSize {
+
+    public long bytes;
+    public long messages;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        bytes = 0;
+        messages = 0;
+    }
+
+    void count(int messageBytes) {
+        bytes += messageBytes;
+        messages++;
+    }
+}
@@ -0,0 +1,44 @@
+package com.auction.benchmarks;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.PriceTick;
+import com.auction.server.MulticastBroadcaster;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Diffuseur Multicast sans socket : les enchères sont encodées comme pour un envoi réel,
+ * les autres diffusions (ouverture, clôture) sont ignorées
+ */
+public class EncodingBroadcaster extends MulticastBroadcaster {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BidTick.MAX_SIZE);
+    private long encodedBytes;
+
+    @Override
+    protected void initialize() {
+        // Pas de socket
+    }
+
+    @Override
+    public synchronized void broadcastBid(BidTick tick) {
+        encodedBytes += tick.encodeTo(buffer);
+    }
+
+    @Override
+    public void broadcast(AuctionUpdate update) {
+    }
+
+    @Override
+    public void broadcastTick(PriceTick tick) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public synchronized long getEncodedBytes() {
+        return encodedBytes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.auction.benchmarks;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.Price;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codec Multicast d'une nouvelle enchère : {@link AuctionUpdate} sérialisé dans un flux neuf
+ * par datagramme (diffusions d'ouverture et de clôture, lecteur des clients) contre l'encodage
+ * binaire {@link BidTick} de la diffusion des enchères.
+ *
+ * Le décodage produit dans les deux cas l'{@link AuctionUpdate} remis à l'affichage du client.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class MulticastCodecBenchmark {
+
+    private AuctionUpdate update;
+    private byte[] serialized;
+
+    private final BidTick tick = new BidTick();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BidTick.MAX_SIZE);
+    private byte[] encoded;
+
+    @Setup
+    public void prepare() throws IOException {
+        long endTime = System.currentTimeMillis() + 60_000;
+        update = AuctionUpdate.newBid("LOT-0001", "Lot de référence", Price.of(125.5), "17", "Enchérisseur 17");
+        update.setEndTime(endTime);
+        serialized = serialize(update);
+
+        tick.set("LOT-0001", "Lot de référence", Price.of(125.5), "17", "Enchérisseur 17", endTime, 0);
+        int length = tick.encodeTo(buffer);
+        encoded = new byte[length];
+        System.arraycopy(buffer.array(), 0, encoded, 0, length);
+    }
+
+    private static byte[] serialize(AuctionUpdate update) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(update);
+        oos.flush();
+        return baos.toByteArray();
+    }
+
+    // === Sérialisation Java ===
+
+    @Benchmark
+    public int serializeDatagram(EncodedSize size) throws IOException {
+        byte[] data = serialize(update);
+        size.count(data.length);
+        return data.length;
+    }
+
+    @Benchmark
+    public Object deserializeDatagram(EncodedSize size) throws IOException, ClassNotFoundException {
+        size.count(serialized.length);
+        return new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+    }
+
+    // === Encodage binaire ===
+
+    @Benchmark
+    public int encodeBidTick(EncodedSize size) {
+        int length = tick.encodeTo(buffer);
+        size.count(length);
+        return length;
+    }
+
+    @Benchmark
+    public AuctionUpdate decodeBidTick(EncodedSize size) {
+        size.count(encoded.length);
+        return BidTick.decode(encoded, 0, encoded.length).toUpdate();
+    }
+}
@@ -0,0 +1,163 @@
+package com.auction.benchmarks;
+
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.BidRequest;
+import com.auction.server.AuctionManager;
+import com.auction.server.AuctionQuote;
+import com.auction.server.SessionRegistry;
+import com.auction.server.history.HistoryConfig;
+import com.auction.server.history.HistoryStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Débit et latence moyenne de {@link AuctionManager#placeBid} sous contention.
+ *
+ * Paramètres : format de la vente (ascendante, procurations, sous pli), part d'offres perdantes
+ * (refusées par le rejet rapide) et nombre de clients TCP abonnés à qui chaque enchère acceptée
+ * est sérialisée, et historique en mémoire ou débordant sur disque (configuration du serveur).
+ * Chaque itération ouvre une vente neuve sur un gestionnaire neuf : les mesures
+ * ne dépendent pas de l'historique accumulé. Les réglages (forks, itérations, tas) sont fixés
+ * ici pour que les résultats restent comparables d'un commit à l'autre.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:MaxDirectMemorySize=4g"})
+@State(Scope.Benchmark)
+public class PlaceBidBenchmark {
+
+    // Marge des maximums secrets au-dessus de l'offre minimum (millimes)
+    private static final long PROXY_HEADROOM = 10_000;
+
+    @Param({"OPEN", "PROXY", "SEALED"})
+    public String variant;
+
+    @Param({"0", "50", "90"})
+    public int losingPercent;
+
+    @Param({"0", "16", "256"})
+    public int fanOut;
+
+    @Param({"MEMORY", "SPILL"})
+    public String history;
+
+    private AuctionManager auctionManager;
+    private HistoryStore historyStore;
+    private Path historyDirectory;
+    private AuctionQuote quote;
+    private String productId;
+    private boolean proxy;
+
+    @Setup(Level.Iteration)
+    public void openAuction() throws IOException {
+        if ("SPILL".equals(history)) {
+            historyDirectory = Files.createTempDirectory("bench-history");
+            historyStore = new HistoryStore(historyDirectory, HistoryConfig.defaults());
+            historyStore.open();
+        } else {
+            historyStore = HistoryStore.inMemory();
+        }
+        auctionManager = new AuctionManager(new EncodingBroadcaster(), historyStore);
+        auctionManager.setBidLogging(false);
+        for (int i = 0; i < fanOut; i++) {
+            auctionManager.registerClient("Abonné " + i, new SinkClientHandler(auctionManager));
+        }
+        AuctionType type = "SEALED".equals(variant) ? AuctionType.SEALED_FIRST_PRICE : AuctionType.OPEN;
+        productId = auctionManager.openAuction("Lot de référence", "Banc d'essai", 100.0, 0, type);
+        quote = auctionManager.getQuote();
+        proxy = "PROXY".equals(variant);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAuction() throws IOException {
+        auctionManager.cancelAuction();
+        auctionManager.shutdown();
+        historyStore.close();
+        if (historyDirectory != null) {
+            try (Stream<Path> files = Files.walk(historyDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(PlaceBidBenchmark::delete);
+            }
+            historyDirectory = null;
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Enchérisseur d'un thread : requête réutilisée, mélange gagnant/perdant déterministe.
+     * Sans connexion : identifiant hors de l'espace des sessions, qui reste aux abonnés.
+     */
+    @State(Scope.Thread)
+    public static class Bidder {
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        private BidRequest bid;
+        private long count;
+
+        @Setup(Level.Iteration)
+        public void join(PlaceBidBenchmark benchmark) {
+            int id = NEXT_ID.incrementAndGet();
+            bid = new BidRequest("bench-" + id, "Enchérisseur " + id, benchmark.productId, 0);
+            bid.setProxy(benchmark.proxy);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean singleThread(Bidder bidder) {
+        return placeBid(bidder);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean fourThreads(Bidder bidder) {
+        return placeBid(bidder);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean allCores(Bidder bidder) {
+        return placeBid(bidder);
+    }
+
+    private boolean placeBid(Bidder bidder) {
+        BidRequest bid = bidder.bid;
+        long minimum = quote.getMinimumBid();
+        if (bidder.count++ % 100 < losingPercent) {
+            bid.setAmountMinor(minimum - 1);
+        } else {
+            bid.setAmountMinor(proxy ? minimum + PROXY_HEADROOM : minimum);
+        }
+        return auctionManager.placeBid(bid, SessionRegistry.NO_SESSION);
+    }
+}
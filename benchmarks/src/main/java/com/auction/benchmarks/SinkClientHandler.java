@@ -0,0 +1,46 @@
+package com.auction.benchmarks;
+
+import com.auction.common.dto.Message;
+import com.auction.server.AuctionManager;
+import com.auction.server.ClientHandler;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+
+/**
+ * Client abonné fictif : chaque message est sérialisé comme sur une vraie connexion TCP
+ * (écriture, vidage, réinitialisation du flux), puis jeté. Mesure le coût de la diffusion
+ * aux clients connectés sans réseau.
+ */
+public class SinkClientHandler extends ClientHandler {
+
+    private final ObjectOutputStream output;
+
+    public SinkClientHandler(AuctionManager auctionManager) {
+        super(new Socket(), auctionManager);
+        try {
+            this.output = new ObjectOutputStream(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public synchronized void sendMessage(Message message) {
+        try {
+            output.writeObject(message);
+            output.flush();
+            output.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
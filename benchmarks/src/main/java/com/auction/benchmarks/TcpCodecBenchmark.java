@@ -0,0 +1,165 @@
+package com.auction.benchmarks;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
+import com.auction.common.dto.Message;
+import com.auction.common.dto.Message.MessageType;
+import com.auction.common.dto.Price;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codec TCP : sérialisation Java des {@link Message} échangés entre clients et serveur.
+ *
+ * Charges : requête d'enchère (client vers serveur, {@link BidRequest}), réponse à une enchère
+ * et notification d'une nouvelle enchère (serveur vers client, {@link AuctionUpdate}).
+ * Chaque encodage écrit un message et une charge neufs, construits de la même façon (coût de
+ * construction compris dans les trois variantes) :
+ * - flux persistant avec reset() après chaque message, comme ClientHandler.sendMessage et
+ *   BidPipeline : les descripteurs de classes et les objets sont réémis à chaque message ;
+ * - flux persistant sans reset() : les descripteurs restent en cache, seules les données des
+ *   objets sont réémises (reset() tous les {@value #STREAM_MESSAGES} messages pour borner la
+ *   table des références du flux) ;
+ * - flux neuf par message (en-tête de flux compris), comme la diffusion Multicast sérialisée.
+ * Décodage : lecture d'un flux écrit avec reset() (lecteur des clients), ou flux neuf par message.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class TcpCodecBenchmark {
+
+    // Messages par flux pré-encodé pour le décodage (le flux est rouvert quand il est épuisé)
+    private static final int STREAM_MESSAGES = 1024;
+
+    @Param({"BID_REQUEST", "BID_RESPONSE", "AUCTION_UPDATE"})
+    public String payload;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    private ObjectOutputStream resetStream;
+    private ObjectOutputStream cachingStream;
+    private int cachedMessages;
+
+    private byte[] stream;
+    private ObjectInputStream input;
+    private int remaining;
+    private byte[] single;
+
+    @Setup
+    public void prepare() throws IOException {
+        Message message = sampleMessage(payload);
+        resetStream = new ObjectOutputStream(buffer);
+        cachingStream = new ObjectOutputStream(buffer);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(encoded)) {
+            for (int i = 0; i < STREAM_MESSAGES; i++) {
+                out.writeObject(message);
+                out.reset();
+            }
+        }
+        stream = encoded.toByteArray();
+        single = freshStream(message);
+    }
+
+    static Message sampleMessage(String payload) {
+        switch (payload) {
+            case "BID_REQUEST": {
+                BidRequest bid = new BidRequest("17", "Enchérisseur 17", "LOT-0001", 0);
+                bid.setAmountMinor(Price.of(125.5));
+                bid.setSequence(4_242);
+                return new Message(MessageType.BID_REQUEST, null, bid);
+            }
+            case "BID_RESPONSE": {
+                BidResponse response = new BidResponse(4_242, true, false);
+                response.setAmountMinor(Price.of(125.5));
+                return new Message(MessageType.BID_RESPONSE, "Enchère acceptée:", response);
+            }
+            case "AUCTION_UPDATE":
+                return new Message(MessageType.AUCTION_UPDATE, null, AuctionUpdate.newBid(
+                    "LOT-0001", "Lot de référence", Price.of(125.5), "17", "Enchérisseur 17"));
+            default:
+                throw new IllegalArgumentException("Charge inconnue: " + payload);
+        }
+    }
+
+    private static byte[] freshStream(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // === Encodage ===
+
+    @Benchmark
+    public int encodeWithReset(EncodedSize size) throws IOException {
+        buffer.reset();
+        resetStream.writeObject(sampleMessage(payload));
+        resetStream.flush();
+        resetStream.reset();
+        size.count(buffer.size());
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int encodeWithoutReset(EncodedSize size) throws IOException {
+        buffer.reset();
+        if (++cachedMessages == STREAM_MESSAGES) {
+            // Sans reset, le flux garde une référence à chaque objet écrit
+            cachingStream.reset();
+            cachedMessages = 0;
+        }
+        cachingStream.writeObject(sampleMessage(payload));
+        cachingStream.flush();
+        size.count(buffer.size());
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int encodeFreshStream(EncodedSize size) throws IOException {
+        byte[] data = freshStream(sampleMessage(payload));
+        size.count(data.length);
+        return data.length;
+    }
+
+    // === Décodage ===
+
+    @Benchmark
+    public Object decodeStream(EncodedSize size) throws IOException, ClassNotFoundException {
+        if (remaining == 0) {
+            input = new ObjectInputStream(new ByteArrayInputStream(stream));
+            remaining = STREAM_MESSAGES;
+        }
+        remaining--;
+        size.count(stream.length / STREAM_MESSAGES);
+        return input.readObject();
+    }
+
+    @Benchmark
+    public Object decodeFreshStream(EncodedSize size) throws IOException, ClassNotFoundException {
+        size.count(single.length);
+        return new ObjectInputStream(new ByteArrayInputStream(single)).readObject();
+    }
+}
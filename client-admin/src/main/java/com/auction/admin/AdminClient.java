@@ -1,11 +1,19 @@
 package com.auction.admin;
 
 import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.BidHistory;
+import com.auction.common.dto.Price;
 import com.auction.common.dto.Product;
+import com.auction.common.dto.TimeSeries;
 import com.auction.common.rmi.IAuctionAdmin;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.List;
 import java.util.Scanner;
 
@@ -102,6 +110,16 @@ public class AdminClient {
         System.out.println("│  5. Lister les clients connectés     │");
         System.out.println("│  6. Bannir un client                 │");
         System.out.println("│  7. Voir l'historique des ventes     │");
+        System.out.println("│  8. Exporter l'historique (CSV)      │");
+        System.out.println("│  9. Exporter un fichier de données   │");
+        System.out.println("│ 10. Bannir une adresse / plage CIDR  │");
+        System.out.println("│ 11. Lister les adresses bannies      │");
+        System.out.println("│ 12. Charger un catalogue de lots     │");
+        System.out.println("│ 13. Vider le catalogue planifié      │");
+        System.out.println("│ 14. Régler la prolongation de fin    │");
+        System.out.println("│ 15. Régler les règles d'enchère      │");
+        System.out.println("│ 16. Voir les enchères d'une vente    │");
+        System.out.println("│ 17. Statistiques du serveur          │");
         System.out.println("│  0. Quitter                          │");
         System.out.println("└──────────────────────────────────────┘");
         System.out.print("Votre choix: ");
@@ -133,6 +151,36 @@ public class AdminClient {
             case "7":
                 showSalesHistory();
                 break;
+            case "8":
+                exportHistory();
+                break;
+            case "9":
+                exportDataFile();
+                break;
+            case "10":
+                banAddress();
+                break;
+            case "11":
+                listBannedAddresses();
+                break;
+            case "12":
+                uploadCatalogue();
+                break;
+            case "13":
+                clearCatalogue();
+                break;
+            case "14":
+                configureSoftClose();
+                break;
+            case "15":
+                configureBidRules();
+                break;
+            case "16":
+                showBidHistory();
+                break;
+            case "17":
+                showStatistics();
+                break;
             case "0":
                 running = false;
                 System.out.println("Au revoir!");
@@ -169,12 +217,69 @@ public class AdminClient {
             return;
         }
         
-        boolean success = auctionAdmin.startAuction(name, description, price);
+        System.out.print("Durée en secondes (vide = clôture manuelle): ");
+        int duration = 0;
+        String durationText = scanner.nextLine().trim();
+        if (!durationText.isEmpty()) {
+            try {
+                duration = Integer.parseInt(durationText);
+                if (duration <= 0) throw new NumberFormatException();
+            } catch (NumberFormatException e) {
+                System.out.println("Durée invalide!");
+                return;
+            }
+        }
+        
+        System.out.print("Format (1=ascendante, 2=sous pli premier prix, 3=sous pli second prix, 4=descendante) [1]: ");
+        String format = scanner.nextLine().trim();
+        if (!format.isEmpty() && !format.matches("[1-4]")) {
+            System.out.println("Format invalide!");
+            return;
+        }
+        boolean sealed = format.equals("2") || format.equals("3");
+        boolean dutch = format.equals("4");
+        
+        boolean success;
+        if (dutch) {
+            double floorPrice;
+            double decrement;
+            int tickSeconds;
+            try {
+                System.out.print("Prix plancher (TND): ");
+                floorPrice = Double.parseDouble(scanner.nextLine().trim());
+                System.out.print("Baisse par palier (TND): ");
+                decrement = Double.parseDouble(scanner.nextLine().trim());
+                System.out.print("Durée d'un palier (s): ");
+                tickSeconds = Integer.parseInt(scanner.nextLine().trim());
+                if (floorPrice < 0 || floorPrice >= price || decrement <= 0 || tickSeconds <= 0) {
+                    throw new NumberFormatException();
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("Paramètres invalides!");
+                return;
+            }
+            success = auctionAdmin.startDutchAuction(name, description, price, floorPrice, decrement, tickSeconds);
+        } else if (sealed) {
+            success = auctionAdmin.startSealedAuction(name, description, price, duration, format.equals("3"));
+        } else {
+            success = duration > 0
+                ? auctionAdmin.startTimedAuction(name, description, price, duration)
+                : auctionAdmin.startAuction(name, description, price);
+        }
         
         if (success) {
             System.out.println("\n✓ Enchère démarrée avec succès!");
             System.out.println("  Produit: " + name);
             System.out.println("  Prix de départ: " + price + " TND");
+            if (duration > 0) {
+                System.out.println("  Clôture automatique dans " + duration + " s");
+            }
+            if (sealed) {
+                System.out.println("  Offres sous pli, ouvertes à la clôture");
+            }
+            if (dutch) {
+                System.out.println("  Enchère descendante : le premier acheteur qui accepte l'emporte");
+            }
         } else {
             System.out.println("\n✗ Impossible de démarrer l'enchère.");
             System.out.println("  Une enchère est peut-être déjà en cours.");
@@ -251,6 +356,13 @@ public class AdminClient {
             System.out.println("│ Prix actuel: " + padRight(current.getCurrentPrice() + " TND", 22) + "│");
             String bidder = current.getHighestBidderName() != null ? current.getHighestBidderName() : "-";
             System.out.println("│ Meilleur enchérisseur: " + padRight(bidder, 12) + "│");
+            if (current.getAuctionType() != null && current.getAuctionType() != AuctionType.OPEN) {
+                System.out.println("│ Format: " + padRight(current.getAuctionType().getLabel(), 27) + "│");
+            }
+            if (current.getEndTime() > 0) {
+                long remaining = Math.max(0, current.getEndTime() - System.currentTimeMillis()) / 1000;
+                System.out.println("│ Fin dans: " + padRight(remaining + " s", 25) + "│");
+            }
             System.out.println("└────────────────────────────────────┘");
         } else {
             System.out.println("Aucune enchère en cours.");
@@ -311,6 +423,212 @@ public class AdminClient {
         }
     }
     
+    /**
+     * Bannit une adresse ou une plage CIDR
+     */
+    private void banAddress() throws Exception {
+        System.out.println("\n=== BANNIR UNE ADRESSE ===");
+        
+        System.out.print("Adresse ou plage (ex: 192.168.1.0/24): ");
+        String cidr = scanner.nextLine().trim();
+        
+        if (cidr.isEmpty()) {
+            System.out.println("Adresse invalide!");
+            return;
+        }
+        
+        try {
+            String range = auctionAdmin.banAddress(cidr);
+            System.out.println("\n✓ Plage bannie: " + range);
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n✗ " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Charge un catalogue de lots enchaînés automatiquement par le serveur
+     */
+    private void uploadCatalogue() throws Exception {
+        System.out.println("\n=== CHARGER UN CATALOGUE ===");
+        System.out.println("Format: ordre;nom;description;prix;durée(s) (une ligne par lot)");
+        
+        System.out.print("Fichier du catalogue [catalogue.csv]: ");
+        String fileName = scanner.nextLine().trim();
+        Path source = Paths.get(fileName.isEmpty() ? "catalogue.csv" : fileName);
+        
+        try {
+            int sent = new CatalogueUploader(auctionAdmin).upload(source);
+            System.out.println("\n✓ " + sent + " lot(s) planifié(s), " + auctionAdmin.getScheduledLotCount() + " en attente");
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n✗ " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Retire les lots en attente du catalogue
+     */
+    private void clearCatalogue() throws Exception {
+        System.out.println("\n=== VIDER LE CATALOGUE ===");
+        
+        int removed = auctionAdmin.clearScheduledLots();
+        System.out.println("\n✓ " + removed + " lot(s) retiré(s)");
+    }
+    
+    /**
+     * Règle l'incrément minimum, le saut maximum et le prix de réserve
+     */
+    private void configureBidRules() throws Exception {
+        System.out.println("\n=== RÈGLES D'ENCHÈRE ===");
+        
+        try {
+            System.out.print("Incrément minimum (TND, 0 = aucun): ");
+            double minIncrement = Double.parseDouble(scanner.nextLine().trim());
+            System.out.print("Saut maximum (TND, 0 = illimité): ");
+            double maxJump = Double.parseDouble(scanner.nextLine().trim());
+            System.out.print("Prix de réserve (TND, 0 = aucun): ");
+            double reserve = Double.parseDouble(scanner.nextLine().trim());
+            System.out.println("\n✓ " + auctionAdmin.setBidRules(minIncrement, maxJump, reserve));
+        } catch (NumberFormatException e) {
+            System.out.println("Valeur invalide!");
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n✗ " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Règle la prolongation anti-sniping des ventes à durée limitée
+     */
+    private void configureSoftClose() throws Exception {
+        System.out.println("\n=== PROLONGATION DE FIN DE VENTE ===");
+        
+        try {
+            System.out.print("Fenêtre avant la fin (s, 0 = désactiver): ");
+            int window = Integer.parseInt(scanner.nextLine().trim());
+            int extension = 0;
+            int max = 0;
+            if (window > 0) {
+                System.out.print("Prolongation par enchère (s): ");
+                extension = Integer.parseInt(scanner.nextLine().trim());
+                System.out.print("Prolongation maximum par vente (s): ");
+                max = Integer.parseInt(scanner.nextLine().trim());
+            }
+            System.out.println("\n✓ " + auctionAdmin.setSoftClose(window, extension, max));
+        } catch (NumberFormatException e) {
+            System.out.println("Valeur invalide!");
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n✗ " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Liste les adresses bannies et le nombre de connexions refusées
+     */
+    private void listBannedAddresses() throws Exception {
+        System.out.println("\n=== ADRESSES BANNIES ===");
+        
+        List<String> bans = auctionAdmin.getBannedAddresses();
+        
+        if (bans.isEmpty()) {
+            System.out.println("Aucune adresse bannie.");
+        } else {
+            for (String range : bans) {
+                System.out.println("  - " + range);
+            }
+        }
+        System.out.println("Connexions refusées: " + auctionAdmin.getRejectedConnections());
+    }
+    
+    /**
+     * Affiche les enchères de la vente en cours ou d'une vente de l'historique
+     */
+    private void showBidHistory() throws Exception {
+        System.out.println("\n=== ENCHÈRES D'UNE VENTE ===");
+        
+        System.out.print("N° de la vente dans l'historique (vide = vente en cours): ");
+        String input = scanner.nextLine().trim();
+        String productId = null;
+        if (!input.isEmpty()) {
+            List<Product> history = auctionAdmin.getSalesHistory();
+            try {
+                productId = history.get(Integer.parseInt(input) - 1).getId();
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                System.out.println("Numéro invalide!");
+                return;
+            }
+        }
+        
+        BidHistory bids = auctionAdmin.getBidHistory(productId);
+        if (bids == null) {
+            System.out.println(productId == null ? "Aucune vente en cours." : "Vente inconnue.");
+            return;
+        }
+        if (bids.isEmpty()) {
+            System.out.println("Aucune enchère.");
+            return;
+        }
+        
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        System.out.println("─────────────────────────────────────────────────────────");
+        System.out.printf("%-5s %-14s %-20s %-15s%n", "N°", "Heure", "Enchérisseur", "Prix");
+        System.out.println("─────────────────────────────────────────────────────────");
+        for (int i = 0; i < bids.size(); i++) {
+            System.out.printf("%-5d %-14s %-20s %-15s%n",
+                (i + 1),
+                timeFormat.format(new Date(bids.getTimestampMillis(i))),
+                truncate(bids.getBidderName(i), 20),
+                Price.toString(bids.getPriceMinor(i)) + " TND");
+        }
+        System.out.println("─────────────────────────────────────────────────────────");
+        System.out.println(bids.size() + " enchère(s), " + bids.getBidderCount() + " enchérisseur(s)");
+    }
+    
+    /**
+     * Affiche les statistiques agrégées (enchères, prix, connexions) par intervalle
+     */
+    private void showStatistics() throws Exception {
+        System.out.println("\n=== STATISTIQUES DU SERVEUR ===");
+        
+        System.out.print("Résolution (1 = seconde, 2 = minute, 3 = heure) [2]: ");
+        String input = scanner.nextLine().trim();
+        TimeSeries.Resolution resolution;
+        switch (input) {
+            case "1":
+                resolution = TimeSeries.Resolution.SECOND;
+                break;
+            case "3":
+                resolution = TimeSeries.Resolution.HOUR;
+                break;
+            default:
+                resolution = TimeSeries.Resolution.MINUTE;
+        }
+        System.out.print("Nombre d'intervalles [30]: ");
+        input = scanner.nextLine().trim();
+        int points;
+        try {
+            points = input.isEmpty() ? 30 : Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            System.out.println("Nombre invalide!");
+            return;
+        }
+        
+        TimeSeries series = auctionAdmin.getTimeSeries(resolution, points);
+        SimpleDateFormat timeFormat = new SimpleDateFormat(
+            resolution == TimeSeries.Resolution.HOUR ? "dd/MM HH'h'" : "HH:mm:ss");
+        System.out.println("─────────────────────────────────────────────────────────");
+        System.out.printf("%-14s %-10s %-18s %-10s%n", "Début", "Enchères", "Prix", "Clients");
+        System.out.println("─────────────────────────────────────────────────────────");
+        for (int i = 0; i < series.size(); i++) {
+            System.out.printf("%-14s %-10d %-18s %-10d%n",
+                timeFormat.format(new Date(series.getBucketStartMillis(i))),
+                series.getBidCount(i),
+                Price.toString(series.getPriceMinor(i)) + " TND",
+                series.getConnections(i));
+        }
+        System.out.println("─────────────────────────────────────────────────────────");
+        System.out.println(series.getTotalBids() + " enchère(s) sur " + series.size()
+            + " intervalle(s) de " + resolution.getLabel());
+    }
+    
     /**
      * Affiche l'historique des ventes
      */
@@ -341,6 +659,45 @@ public class AdminClient {
         }
     }
     
+    /**
+     * Exporte l'historique des ventes vers un fichier CSV local (reprise automatique)
+     */
+    private void exportHistory() throws Exception {
+        System.out.println("\n=== EXPORT DE L'HISTORIQUE ===");
+        
+        System.out.print("Fichier de destination [historique.csv]: ");
+        String fileName = scanner.nextLine().trim();
+        Path target = Paths.get(fileName.isEmpty() ? "historique.csv" : fileName);
+        
+        long total = new ExportClient().exportHistory(target);
+        System.out.println("\n✓ Export terminé: " + total + " vente(s) -> " + target.toAbsolutePath());
+    }
+    
+    /**
+     * Exporte un fichier de données du serveur (segment de journal...)
+     */
+    private void exportDataFile() throws Exception {
+        System.out.println("\n=== EXPORT D'UN FICHIER DE DONNÉES ===");
+        
+        ExportClient exportClient = new ExportClient();
+        String listing = exportClient.listFiles();
+        if (listing.isEmpty()) {
+            System.out.println("Aucun fichier disponible.");
+            return;
+        }
+        System.out.print(listing);
+        
+        System.out.print("\nNom du fichier: ");
+        String name = scanner.nextLine().trim();
+        if (name.isEmpty()) {
+            System.out.println("Nom invalide!");
+            return;
+        }
+        
+        long size = exportClient.exportFile(name, Paths.get(name));
+        System.out.println("\n✓ Export terminé: " + name + " (" + size + " octets)");
+    }
+    
     // Méthodes utilitaires
     
     private String padRight(String s, int length) {
@@ -1,11 +1,14 @@
 package com.auction.admin;
 
 import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.ClientChange;
+import com.auction.common.dto.ClientDelta;
+import com.auction.common.dto.Dashboard;
 import com.auction.common.dto.Product;
 import com.auction.common.rmi.IAuctionAdmin;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -22,14 +25,19 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
+import java.io.File;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.text.DecimalFormat;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Client Administrateur avec interface JavaFX
@@ -39,6 +47,8 @@ public class AdminClientApp extends Application {
 
     private IAuctionAdmin auctionAdmin;
     private boolean connected = false;
+    // Connexion en cours sur le thread RMI (ignore les clics répétés)
+    private boolean connecting = false;
 
     // Composants UI
     private Label statusLabel;
@@ -46,12 +56,27 @@ public class AdminClientApp extends Application {
     private Label currentAuctionLabel;
     private Label currentPriceLabel;
     private Label currentBidderLabel;
-    private ListView<String> clientsListView;
+    private ListView<ClientRow> clientsListView;
     private TableView<Product> historyTable;
     private TextArea logArea;
     private VBox controlsBox;
-    private Timeline clientsRefreshTimeline;
-    private Timeline auctionRefreshTimeline;
+
+    // Réception des événements poussés par le serveur (remplace le rafraîchissement périodique)
+    private AdminEventReceiver eventReceiver;
+
+    // Liste des clients synchronisée par différentiels versionnés
+    private final Map<String, ClientRow> clientRows = new HashMap<>();
+    private long clientsVersion = 0;
+
+    // Appels RMI (connexion, abonnement, tableau de bord), hors du thread JavaFX
+    private final ExecutorService rmiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-rmi");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Une seule actualisation en vol ; les demandes reçues entre-temps sont regroupées
+    private boolean dashboardInFlight = false;
+    private boolean dashboardRequested = false;
 
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00 'TND'");
 
@@ -163,7 +188,7 @@ public class AdminClientApp extends Application {
 
         Button refreshButton = new Button("🔄 Actualiser");
         refreshButton.setStyle("-fx-background-color: #607d8b; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
-        refreshButton.setOnAction(e -> refreshAuctionStatus());
+        refreshButton.setOnAction(e -> refreshDashboard());
 
         box.getChildren().addAll(title, new Separator(), currentAuctionLabel, currentPriceLabel, currentBidderLabel, refreshButton);
         return box;
@@ -177,9 +202,9 @@ public class AdminClientApp extends Application {
         controlsBox.setPadding(new Insets(15));
         controlsBox.setStyle("-fx-background-color: #455a64; -fx-background-radius: 10;");
         controlsBox.setDisable(true);
-        controlsBox.setMinHeight(160);
-        controlsBox.setPrefHeight(200);
-        controlsBox.setMaxHeight(220);
+        controlsBox.setMinHeight(190);
+        controlsBox.setPrefHeight(240);
+        controlsBox.setMaxHeight(260);
         VBox.setVgrow(controlsBox, Priority.NEVER);
 
         Label title = new Label("🎮 Contrôles");
@@ -204,7 +229,13 @@ public class AdminClientApp extends Application {
         cancelButton.setPrefWidth(200);
         cancelButton.setOnAction(e -> cancelAuction());
 
-        controlsBox.getChildren().addAll(title, new Separator(), startButton, stopButton, cancelButton);
+        // Bouton Catalogue
+        Button catalogueButton = new Button("📋 Charger un Catalogue");
+        catalogueButton.setStyle("-fx-background-color: #3f51b5; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand; -fx-font-weight: bold;");
+        catalogueButton.setPrefWidth(200);
+        catalogueButton.setOnAction(e -> uploadCatalogue());
+
+        controlsBox.getChildren().addAll(title, new Separator(), startButton, stopButton, cancelButton, catalogueButton);
         return controlsBox;
     }
 
@@ -234,13 +265,17 @@ public class AdminClientApp extends Application {
         HBox buttonsBox = new HBox(10);
         Button refreshClientsBtn = new Button("🔄 Actualiser");
         refreshClientsBtn.setStyle("-fx-background-color: #607d8b; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
-        refreshClientsBtn.setOnAction(e -> refreshClientsList());
+        refreshClientsBtn.setOnAction(e -> refreshDashboard());
 
         Button banButton = new Button("🚫 Bannir");
         banButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
         banButton.setOnAction(e -> banSelectedClient());
 
-        buttonsBox.getChildren().addAll(refreshClientsBtn, banButton);
+        Button banAddressButton = new Button("🚫 Bannir IP/CIDR");
+        banAddressButton.setStyle("-fx-background-color: #c62828; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
+        banAddressButton.setOnAction(e -> banAddress());
+
+        buttonsBox.getChildren().addAll(refreshClientsBtn, banButton, banAddressButton);
 
         box.getChildren().addAll(title, new Separator(), clientsListView, buttonsBox);
         return box;
@@ -290,9 +325,13 @@ public class AdminClientApp extends Application {
 
         Button refreshHistoryBtn = new Button("🔄 Actualiser l'historique");
         refreshHistoryBtn.setStyle("-fx-background-color: #607d8b; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
-        refreshHistoryBtn.setOnAction(e -> refreshHistory());
+        refreshHistoryBtn.setOnAction(e -> refreshDashboard());
 
-        box.getChildren().addAll(title, new Separator(), historyTable, refreshHistoryBtn);
+        Button statisticsBtn = new Button("📈 Statistiques");
+        statisticsBtn.setStyle("-fx-background-color: #607d8b; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;");
+        statisticsBtn.setOnAction(e -> showStatistics());
+
+        box.getChildren().addAll(title, new Separator(), historyTable, new HBox(10, refreshHistoryBtn, statisticsBtn));
         return box;
     }
 
@@ -324,6 +363,9 @@ public class AdminClientApp extends Application {
      * Connexion/Déconnexion RMI
      */
     private void toggleConnection() {
+        if (connecting) {
+            return;
+        }
         if (!connected) {
             connect();
         } else {
@@ -332,48 +374,64 @@ public class AdminClientApp extends Application {
     }
 
     /**
-     * Se connecte au serveur RMI
+     * Se connecte au serveur RMI : recherche, ping et abonnement sur le thread RMI,
+     * puis bascule de l'interface sur le thread JavaFX
      */
     private void connect() {
-        try {
-            addLog("🔄 Connexion au serveur RMI...");
-            
-            Registry registry = LocateRegistry.getRegistry(
-                NetworkConfig.SERVER_HOST,
-                NetworkConfig.RMI_PORT
-            );
-
-            auctionAdmin = (IAuctionAdmin) registry.lookup(NetworkConfig.RMI_SERVICE_NAME);
-
-            if (auctionAdmin.ping()) {
-                connected = true;
-                updateConnectionStatus(true);
-                addLog("✅ Connecté au serveur d'enchères!");
-                
-                // Charger les données initiales
-                refreshAuctionStatus();
-                refreshClientsList();
-                refreshHistory();
-                startClientsAutoRefresh();
-                startAuctionAutoRefresh();
+        connecting = true;
+        addLog("🔄 Connexion au serveur RMI...");
+
+        rmiExecutor.execute(() -> {
+            try {
+                Registry registry = LocateRegistry.getRegistry(
+                    NetworkConfig.SERVER_HOST,
+                    NetworkConfig.RMI_PORT
+                );
+                IAuctionAdmin admin = (IAuctionAdmin) registry.lookup(NetworkConfig.RMI_SERVICE_NAME);
+
+                if (!admin.ping()) {
+                    Platform.runLater(() -> connecting = false);
+                    return;
+                }
+                AdminEventReceiver receiver = subscribeToEvents(admin);
+                Platform.runLater(() -> connectionEstablished(admin, receiver));
+
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    connecting = false;
+                    addLog("❌ Erreur de connexion: " + e.getMessage());
+                    showAlert(Alert.AlertType.ERROR, "Erreur de connexion",
+                        "Impossible de se connecter au serveur RMI:\n" + e.getMessage() +
+                        "\n\nVérifiez que le serveur est démarré.");
+                });
             }
+        });
+    }
 
-        } catch (Exception e) {
-            addLog("❌ Erreur de connexion: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Erreur de connexion",
-                "Impossible de se connecter au serveur RMI:\n" + e.getMessage() +
-                "\n\nVérifiez que le serveur est démarré.");
-        }
+    /**
+     * Fin de la connexion (thread JavaFX)
+     * @param receiver Abonnement aux événements, null si l'abonnement a échoué
+     */
+    private void connectionEstablished(IAuctionAdmin admin, AdminEventReceiver receiver) {
+        connecting = false;
+        auctionAdmin = admin;
+        eventReceiver = receiver;
+        connected = true;
+        updateConnectionStatus(true);
+        addLog("✅ Connecté au serveur d'enchères!");
+
+        // Charger les données initiales
+        refreshDashboard();
     }
 
     /**
      * Se déconnecte
      */
     private void disconnect() {
+        unsubscribeFromEvents(auctionAdmin, eventReceiver);
+        eventReceiver = null;
         auctionAdmin = null;
         connected = false;
-        stopClientsAutoRefresh();
-        stopAuctionAutoRefresh();
         updateConnectionStatus(false);
         addLog("🔌 Déconnecté du serveur");
     }
@@ -398,47 +456,149 @@ public class AdminClientApp extends Application {
             currentPriceLabel.setText("Prix: ---.-- TND");
             currentBidderLabel.setText("Enchérisseur: -");
             clientsListView.getItems().clear();
+            clientRows.clear();
+            clientsVersion = 0;
+            historyTable.getItems().clear();
         }
     }
 
     /**
-     * Actualise le statut de l'enchère
+     * Actualise la console en un seul appel RMI, exécuté hors du thread JavaFX
      */
-    private void refreshAuctionStatus() {
+    private void refreshDashboard() {
         if (!connected) return;
-        
-        try {
-            Product current = auctionAdmin.getAuctionStatus();
-            
-            if (current != null && current.isActive()) {
-                currentAuctionLabel.setText("🎁 " + current.getName());
-                currentPriceLabel.setText("Prix: " + priceFormat.format(current.getCurrentPrice()));
-                String bidder = current.getHighestBidderName() != null ? current.getHighestBidderName() : "Aucun";
-                currentBidderLabel.setText("Enchérisseur: " + bidder);
-            } else {
-                currentAuctionLabel.setText("Aucune enchère en cours");
-                currentPriceLabel.setText("Prix: ---.-- TND");
-                currentBidderLabel.setText("Enchérisseur: -");
+        if (dashboardInFlight) {
+            dashboardRequested = true;
+            return;
+        }
+        dashboardInFlight = true;
+
+        IAuctionAdmin admin = auctionAdmin;
+        long version = clientsVersion;
+        int historySize = historyTable.getItems().size();
+
+        rmiExecutor.execute(() -> {
+            try {
+                Dashboard dashboard = admin.getDashboard(version, historySize);
+                Platform.runLater(() -> dashboardReceived(admin, dashboard));
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    addLog("❌ Erreur: " + e.getMessage());
+                    dashboardReceived(admin, null);
+                });
             }
-            
-        } catch (Exception e) {
-            addLog("❌ Erreur: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Fin d'une actualisation : applique la réponse puis relance si une demande est en attente
+     */
+    private void dashboardReceived(IAuctionAdmin admin, Dashboard dashboard) {
+        dashboardInFlight = false;
+        // Ignorer la réponse d'une connexion précédente
+        if (dashboard != null && connected && admin == auctionAdmin) {
+            applyDashboard(dashboard);
+        }
+        if (dashboardRequested) {
+            dashboardRequested = false;
+            refreshDashboard();
         }
     }
 
     /**
-     * Actualise la liste des clients
+     * Applique le tableau de bord reçu (thread JavaFX)
      */
-    private void refreshClientsList() {
-        if (!connected) return;
-        
-        try {
-            List<String> clients = auctionAdmin.getConnectedClients();
-            clientsListView.setItems(FXCollections.observableArrayList(clients));
+    private void applyDashboard(Dashboard dashboard) {
+        Product current = dashboard.getAuction();
+        if (current != null && current.isActive()) {
+            currentAuctionLabel.setText("🎁 " + current.getName());
+            currentPriceLabel.setText("Prix: " + priceFormat.format(current.getCurrentPrice()));
+            String bidder = current.getHighestBidderName() != null ? current.getHighestBidderName() : "Aucun";
+            if (current.getAuctionType() != null && current.getAuctionType() != AuctionType.OPEN) {
+                bidder = (current.getAuctionType().isSealed() ? "🔒 " : "⬇ ") + current.getAuctionType().getLabel();
+            }
+            currentBidderLabel.setText("Enchérisseur: " + bidder);
+        } else {
+            currentAuctionLabel.setText("Aucune enchère en cours");
+            currentPriceLabel.setText("Prix: ---.-- TND");
+            currentBidderLabel.setText("Enchérisseur: -");
+        }
+
+        ClientDelta delta = dashboard.getClients();
+        if (!delta.isEmpty()) {
+            applyClientDelta(delta);
             adjustClientScrollBarStep();
-            addLog("👥 " + clients.size() + " client(s) connecté(s)");
-        } catch (Exception e) {
-            addLog("❌ Erreur: " + e.getMessage());
+            addLog("👥 " + clientRows.size() + " client(s) connecté(s)");
+        }
+
+        ObservableList<Product> history = historyTable.getItems();
+        if (dashboard.getHistoryFrom() != history.size()) {
+            history.setAll(dashboard.getHistoryTail());
+            addLog("📜 " + dashboard.getHistorySize() + " vente(s) dans l'historique");
+        } else if (!dashboard.getHistoryTail().isEmpty()) {
+            history.addAll(dashboard.getHistoryTail());
+            addLog("📜 " + dashboard.getHistorySize() + " vente(s) dans l'historique");
+        }
+    }
+
+    /**
+     * Applique un différentiel à la liste affichée (sans reconstruire les lignes inchangées)
+     */
+    private void applyClientDelta(ClientDelta delta) {
+        ObservableList<ClientRow> items = clientsListView.getItems();
+
+        if (delta.isFullSnapshot()) {
+            clientRows.clear();
+            items.clear();
+        }
+
+        for (ClientChange change : delta.getChanges()) {
+            ClientRow row = change.getClientId() != null ? clientRows.get(change.getClientId()) : null;
+            switch (change.getKind()) {
+                case JOINED:
+                    if (row == null) {
+                        row = new ClientRow(change.getClientId(), change.getClientName());
+                        clientRows.put(row.clientId, row);
+                        items.add(row);
+                    }
+                    if (change.hasBid()) {
+                        row.lastBid = change.getLastBid();
+                        refreshRow(items, row);
+                    }
+                    break;
+                case LEFT:
+                    if (row != null) {
+                        clientRows.remove(row.clientId);
+                        items.remove(row);
+                    }
+                    break;
+                case BID:
+                    if (row != null) {
+                        row.lastBid = change.getLastBid();
+                        refreshRow(items, row);
+                    }
+                    break;
+                case BIDS_CLEARED:
+                    for (ClientRow existing : clientRows.values()) {
+                        if (existing.lastBid != null) {
+                            existing.lastBid = null;
+                            refreshRow(items, existing);
+                        }
+                    }
+                    break;
+            }
+        }
+
+        clientsVersion = delta.getToVersion();
+    }
+
+    /**
+     * Force le réaffichage d'une ligne modifiée
+     */
+    private void refreshRow(ObservableList<ClientRow> items, ClientRow row) {
+        int index = items.indexOf(row);
+        if (index >= 0) {
+            items.set(index, row);
         }
     }
 
@@ -531,58 +691,92 @@ public class AdminClientApp extends Application {
     }
 
     /**
-     * Lance un rafraîchissement périodique de la liste des clients connectés.
+     * S'abonne aux événements du serveur (enchères, ventes, connexions), sur le thread RMI
+     * @return L'objet exporté, ou null si l'abonnement a échoué
      */
-    private void startClientsAutoRefresh() {
-        if (clientsRefreshTimeline != null) {
-            clientsRefreshTimeline.stop();
+    private AdminEventReceiver subscribeToEvents(IAuctionAdmin admin) {
+        AdminEventReceiver receiver = new AdminEventReceiver(events -> Platform.runLater(() -> applyEvents(events)));
+        try {
+            receiver.export();
+            admin.addEventListener(receiver);
+            addLog("📡 Abonné aux événements du serveur");
+            return receiver;
+        } catch (Exception e) {
+            receiver.unexport();
+            addLog("⚠️ Abonnement aux événements impossible: " + e.getMessage());
+            return null;
         }
-        clientsRefreshTimeline = new Timeline(new KeyFrame(Duration.seconds(3), e -> refreshClientsList()));
-        clientsRefreshTimeline.setCycleCount(Timeline.INDEFINITE);
-        clientsRefreshTimeline.play();
     }
 
     /**
-     * Arrête le rafraîchissement périodique des clients.
+     * Se désabonne des événements du serveur, sur le thread RMI
      */
-    private void stopClientsAutoRefresh() {
-        if (clientsRefreshTimeline != null) {
-            clientsRefreshTimeline.stop();
-            clientsRefreshTimeline = null;
+    private void unsubscribeFromEvents(IAuctionAdmin admin, AdminEventReceiver receiver) {
+        if (receiver == null) {
+            return;
         }
+        rmiExecutor.execute(() -> {
+            try {
+                if (admin != null) {
+                    admin.removeEventListener(receiver);
+                }
+            } catch (Exception e) {
+                // Serveur injoignable : il retirera l'abonné de lui-même
+            }
+            receiver.unexport();
+        });
     }
 
     /**
-     * Rafraîchit périodiquement le statut de l'enchère en cours.
+     * Applique un lot d'événements reçus du serveur (thread JavaFX).
+     * Le tableau de bord n'est rechargé que sur les connexions/déconnexions de clients
+     * et les changements de vente.
      */
-    private void startAuctionAutoRefresh() {
-        if (auctionRefreshTimeline != null) {
-            auctionRefreshTimeline.stop();
-        }
-        auctionRefreshTimeline = new Timeline(new KeyFrame(Duration.seconds(3), e -> refreshAuctionStatus()));
-        auctionRefreshTimeline.setCycleCount(Timeline.INDEFINITE);
-        auctionRefreshTimeline.play();
-    }
+    private void applyEvents(List<AdminEvent> events) {
+        if (!connected) return;
 
-    private void stopAuctionAutoRefresh() {
-        if (auctionRefreshTimeline != null) {
-            auctionRefreshTimeline.stop();
-            auctionRefreshTimeline = null;
+        boolean stateChanged = false;
+
+        for (AdminEvent event : events) {
+            switch (event.getType()) {
+                case AUCTION_STARTED:
+                    currentAuctionLabel.setText("🎁 " + event.getProductName());
+                    currentPriceLabel.setText("Prix: " + priceFormat.format(event.getAmount()));
+                    currentBidderLabel.setText("Enchérisseur: Aucun");
+                    addLog("🆕 Vente démarrée: " + event.getProductName());
+                    stateChanged = true;
+                    break;
+                case BID_ACCEPTED:
+                    // L'événement porte déjà le prix et l'enchérisseur : pas d'appel getDashboard par lot
+                    currentPriceLabel.setText("Prix: " + priceFormat.format(event.getAmount()));
+                    currentBidderLabel.setText("Enchérisseur: " + event.getClientName());
+                    break;
+                case AUCTION_CLOSED:
+                case AUCTION_CANCELLED:
+                    currentAuctionLabel.setText("Aucune enchère en cours");
+                    currentPriceLabel.setText("Prix: ---.-- TND");
+                    currentBidderLabel.setText("Enchérisseur: -");
+                    addLog((event.getType() == AdminEvent.EventType.AUCTION_CLOSED ? "🏁 Vente terminée: " : "❌ Vente annulée: ")
+                        + event.getProductName());
+                    stateChanged = true;
+                    break;
+                case CLIENT_JOINED:
+                case CLIENT_LEFT:
+                    stateChanged = true;
+                    break;
+                case LOT_QUEUE_PROGRESS:
+                    if (event.getProductName() != null) {
+                        addLog("📋 Lot " + (event.getLotsDone() + 1) + " démarré: " + event.getProductName()
+                            + " (" + event.getLotsRemaining() + " en attente)");
+                    } else {
+                        addLog("📋 Catalogue terminé: " + event.getLotsDone() + " lot(s) vendu(s)");
+                    }
+                    break;
+            }
         }
-    }
 
-    /**
-     * Actualise l'historique
-     */
-    private void refreshHistory() {
-        if (!connected) return;
-        
-        try {
-            List<Product> history = auctionAdmin.getSalesHistory();
-            historyTable.setItems(FXCollections.observableArrayList(history));
-            addLog("📜 " + history.size() + " vente(s) dans l'historique");
-        } catch (Exception e) {
-            addLog("❌ Erreur: " + e.getMessage());
+        if (stateChanged) {
+            refreshDashboard();
         }
     }
 
@@ -610,12 +804,47 @@ public class AdminClientApp extends Application {
         TextField priceField = new TextField();
         priceField.setPromptText("Prix de départ (TND)");
 
+        TextField durationField = new TextField();
+        durationField.setPromptText("Vide = clôture manuelle");
+
+        ComboBox<AuctionType> typeBox = new ComboBox<>();
+        typeBox.getItems().addAll(AuctionType.values());
+        typeBox.setValue(AuctionType.OPEN);
+
+        // Paramètres propres à l'enchère descendante
+        TextField floorField = new TextField();
+        floorField.setPromptText("Prix plancher (TND)");
+        TextField decrementField = new TextField();
+        decrementField.setPromptText("Baisse par palier (TND)");
+        TextField tickField = new TextField();
+        tickField.setPromptText("Durée d'un palier (s)");
+        floorField.setDisable(true);
+        decrementField.setDisable(true);
+        tickField.setDisable(true);
+        typeBox.valueProperty().addListener((obs, oldType, newType) -> {
+            boolean dutch = newType == AuctionType.DUTCH;
+            floorField.setDisable(!dutch);
+            decrementField.setDisable(!dutch);
+            tickField.setDisable(!dutch);
+            durationField.setDisable(dutch);
+        });
+
         grid.add(new Label("Produit:"), 0, 0);
         grid.add(nameField, 1, 0);
         grid.add(new Label("Description:"), 0, 1);
         grid.add(descField, 1, 1);
         grid.add(new Label("Prix de départ:"), 0, 2);
         grid.add(priceField, 1, 2);
+        grid.add(new Label("Durée (s):"), 0, 3);
+        grid.add(durationField, 1, 3);
+        grid.add(new Label("Format:"), 0, 4);
+        grid.add(typeBox, 1, 4);
+        grid.add(new Label("Plancher:"), 0, 5);
+        grid.add(floorField, 1, 5);
+        grid.add(new Label("Baisse:"), 0, 6);
+        grid.add(decrementField, 1, 6);
+        grid.add(new Label("Palier (s):"), 0, 7);
+        grid.add(tickField, 1, 7);
 
         dialog.getDialogPane().setContent(grid);
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
@@ -626,6 +855,7 @@ public class AdminClientApp extends Application {
             String name = nameField.getText().trim();
             String desc = descField.getText().trim();
             String priceText = priceField.getText().trim();
+            String durationText = durationField.getText().trim();
 
             if (name.isEmpty()) {
                 showAlert(Alert.AlertType.WARNING, "Attention", "Le nom du produit est requis");
@@ -636,18 +866,40 @@ public class AdminClientApp extends Application {
                 double price = Double.parseDouble(priceText);
                 if (price <= 0) throw new NumberFormatException();
 
-                boolean success = auctionAdmin.startAuction(name, desc, price);
+                int duration = durationText.isEmpty() ? 0 : Integer.parseInt(durationText);
+                if (duration < 0) throw new NumberFormatException();
+
+                AuctionType type = typeBox.getValue();
+                boolean success;
+                if (type == AuctionType.DUTCH) {
+                    double floorPrice = Double.parseDouble(floorField.getText().trim());
+                    double decrement = Double.parseDouble(decrementField.getText().trim());
+                    int tickSeconds = Integer.parseInt(tickField.getText().trim());
+                    if (floorPrice < 0 || floorPrice >= price || decrement <= 0 || tickSeconds <= 0) {
+                        throw new NumberFormatException();
+                    }
+                    success = auctionAdmin.startDutchAuction(name, desc, price, floorPrice, decrement, tickSeconds);
+                } else if (type.isSealed()) {
+                    success = auctionAdmin.startSealedAuction(name, desc, price, duration,
+                        type == AuctionType.SEALED_SECOND_PRICE);
+                } else {
+                    success = duration > 0
+                        ? auctionAdmin.startTimedAuction(name, desc, price, duration)
+                        : auctionAdmin.startAuction(name, desc, price);
+                }
                 
                 if (success) {
-                    addLog("✅ Enchère démarrée: " + name + " à " + priceFormat.format(price));
-                    refreshAuctionStatus();
+                    addLog("✅ Enchère démarrée: " + name + " à " + priceFormat.format(price)
+                        + (duration > 0 ? " (" + duration + " s)" : "")
+                        + (type != AuctionType.OPEN ? " - " + type.getLabel() : ""));
+                    refreshDashboard();
                 } else {
                     addLog("⚠️ Impossible de démarrer l'enchère (une enchère est déjà en cours?)");
                     showAlert(Alert.AlertType.WARNING, "Échec", "Une enchère est peut-être déjà en cours.");
                 }
 
             } catch (NumberFormatException e) {
-                showAlert(Alert.AlertType.WARNING, "Prix invalide", "Veuillez entrer un prix valide");
+                showAlert(Alert.AlertType.WARNING, "Valeur invalide", "Veuillez entrer un prix et une durée valides");
             } catch (Exception e) {
                 addLog("❌ Erreur: " + e.getMessage());
             }
@@ -682,8 +934,7 @@ public class AdminClientApp extends Application {
                     addLog("⚠️ Aucune enchère à clôturer");
                 }
                 
-                refreshAuctionStatus();
-                refreshHistory();
+                refreshDashboard();
 
             } catch (Exception e) {
                 addLog("❌ Erreur: " + e.getMessage());
@@ -714,7 +965,7 @@ public class AdminClientApp extends Application {
                     addLog("⚠️ Aucune enchère à annuler");
                 }
                 
-                refreshAuctionStatus();
+                refreshDashboard();
 
             } catch (Exception e) {
                 addLog("❌ Erreur: " + e.getMessage());
@@ -728,15 +979,14 @@ public class AdminClientApp extends Application {
     private void banSelectedClient() {
         if (!connected) return;
 
-        String selected = clientsListView.getSelectionModel().getSelectedItem();
+        ClientRow selected = clientsListView.getSelectionModel().getSelectedItem();
         
         if (selected == null) {
             showAlert(Alert.AlertType.WARNING, "Attention", "Veuillez sélectionner un client à bannir");
             return;
         }
 
-        // Extraire l'ID du format "Nom (ID)"
-        String clientId = selected.substring(selected.lastIndexOf("(") + 1, selected.lastIndexOf(")"));
+        String clientId = selected.clientId;
 
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirmation");
@@ -751,7 +1001,7 @@ public class AdminClientApp extends Application {
                 
                 if (success) {
                     addLog("🚫 Client banni: " + selected);
-                    refreshClientsList();
+                    refreshDashboard();
                 } else {
                     addLog("⚠️ Impossible de bannir ce client");
                 }
@@ -762,6 +1012,70 @@ public class AdminClientApp extends Application {
         }
     }
 
+    /**
+     * Charge un catalogue de lots (lecture et envoi hors du thread JavaFX)
+     */
+    private void uploadCatalogue() {
+        if (!connected) return;
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Catalogue de lots (ordre;nom;description;prix;durée)");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Catalogue CSV", "*.csv", "*.txt"),
+            new FileChooser.ExtensionFilter("Tous les fichiers", "*.*"));
+        File file = chooser.showOpenDialog(controlsBox.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        IAuctionAdmin admin = auctionAdmin;
+        addLog("📋 Envoi du catalogue " + file.getName() + "...");
+        rmiExecutor.execute(() -> {
+            try {
+                int sent = new CatalogueUploader(admin).upload(file.toPath());
+                Platform.runLater(() -> addLog("✅ " + sent + " lot(s) planifié(s)"));
+            } catch (IllegalArgumentException e) {
+                Platform.runLater(() -> showAlert(Alert.AlertType.WARNING, "Catalogue invalide", e.getMessage()));
+            } catch (Exception e) {
+                Platform.runLater(() -> addLog("❌ Erreur: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Ouvre la fenêtre des statistiques agrégées (prix, enchères, connexions)
+     */
+    private void showStatistics() {
+        if (!connected) return;
+        new StatisticsWindow(auctionAdmin, rmiExecutor).show(historyTable.getScene().getWindow());
+    }
+
+    /**
+     * Bannit une adresse ou une plage CIDR (refus dès l'acceptation de la connexion)
+     */
+    private void banAddress() {
+        if (!connected) return;
+
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Bannir une adresse");
+        dialog.setHeaderText("Adresse ou plage CIDR à bannir");
+        dialog.setContentText("Adresse (ex: 192.168.1.0/24):");
+
+        Optional<String> result = dialog.showAndWait();
+
+        if (result.isPresent() && !result.get().trim().isEmpty()) {
+            try {
+                String range = auctionAdmin.banAddress(result.get().trim());
+                addLog("🚫 Plage bannie: " + range + " (" + auctionAdmin.getRejectedConnections() + " connexion(s) refusée(s) au total)");
+                refreshDashboard();
+            } catch (IllegalArgumentException e) {
+                showAlert(Alert.AlertType.WARNING, "Adresse invalide", e.getMessage());
+            } catch (Exception e) {
+                addLog("❌ Erreur: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Ajoute un message au log
      */
@@ -787,4 +1101,27 @@ public class AdminClientApp extends Application {
     public static void main(String[] args) {
         launch(args);
     }
+
+    /**
+     * Ligne de la liste des clients
+     */
+    private final class ClientRow {
+        private final String clientId;
+        private final String clientName;
+        private Double lastBid;
+
+        ClientRow(String clientId, String clientName) {
+            this.clientId = clientId;
+            this.clientName = clientName;
+        }
+
+        @Override
+        public String toString() {
+            String label = clientName + " (" + clientId + ")";
+            if (lastBid != null) {
+                label += " - Offre: " + priceFormat.format(lastBid);
+            }
+            return label;
+        }
+    }
 }
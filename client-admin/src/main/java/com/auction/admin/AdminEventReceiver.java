@@ -0,0 +1,52 @@
+package com.auction.admin;
+
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.rmi.IAdminEventListener;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Objet distant exporté par le client admin pour recevoir les événements poussés par le serveur
+ */
+public class AdminEventReceiver implements IAdminEventListener {
+
+    private final Consumer<List<AdminEvent>> handler;
+    private boolean exported;
+
+    public AdminEventReceiver(Consumer<List<AdminEvent>> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Exporte l'objet (port anonyme) pour qu'il puisse être appelé par le serveur
+     */
+    public void export() throws RemoteException {
+        if (!exported) {
+            UnicastRemoteObject.exportObject(this, 0);
+            exported = true;
+        }
+    }
+
+    /**
+     * Retire l'objet du runtime RMI
+     */
+    public void unexport() {
+        if (exported) {
+            try {
+                UnicastRemoteObject.unexportObject(this, true);
+            } catch (NoSuchObjectException e) {
+                // Déjà retiré
+            }
+            exported = false;
+        }
+    }
+
+    @Override
+    public void onEvents(List<AdminEvent> events) throws RemoteException {
+        handler.accept(events);
+    }
+}
@@ -0,0 +1,88 @@
+package com.auction.admin;
+
+import com.auction.common.dto.LotSpec;
+import com.auction.common.rmi.IAuctionAdmin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envoi d'un catalogue de lots au serveur.
+ *
+ * Le fichier est lu en flux, une ligne par lot : {@code ordre;nom;description;prix;durée(s)}.
+ * Les lignes vides, les commentaires (#) et un éventuel en-tête sont ignorés. Les lots sont
+ * envoyés par lots de {@value #BATCH_SIZE} : un catalogue de plusieurs centaines de lots ne
+ * coûte que quelques appels RMI, sans être chargé entièrement en mémoire.
+ */
+public class CatalogueUploader {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final IAuctionAdmin auctionAdmin;
+
+    public CatalogueUploader(IAuctionAdmin auctionAdmin) {
+        this.auctionAdmin = auctionAdmin;
+    }
+
+    /**
+     * Lit le fichier et envoie ses lots
+     * @return Nombre de lots envoyés
+     * @throws IllegalArgumentException si une ligne est mal formée (les lots précédents restent planifiés)
+     */
+    public int upload(Path catalogue) throws IOException {
+        int sent = 0;
+        int lineNumber = 0;
+        List<LotSpec> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (BufferedReader reader = Files.newBufferedReader(catalogue, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.toLowerCase().startsWith("ordre"))) {
+                    continue;
+                }
+                batch.add(parse(line, lineNumber));
+                if (batch.size() == BATCH_SIZE) {
+                    auctionAdmin.scheduleLots(batch);
+                    sent += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            auctionAdmin.scheduleLots(batch);
+            sent += batch.size();
+        }
+        return sent;
+    }
+
+    /**
+     * Décode une ligne du catalogue
+     */
+    static LotSpec parse(String line, int lineNumber) {
+        String[] fields = line.split(";", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Ligne " + lineNumber + " : 5 champs attendus (ordre;nom;description;prix;durée)");
+        }
+        try {
+            LotSpec lot = new LotSpec(
+                Integer.parseInt(fields[0].trim()),
+                fields[1].trim(),
+                fields[2].trim(),
+                Double.parseDouble(fields[3].trim().replace(',', '.')),
+                Integer.parseInt(fields[4].trim())
+            );
+            lot.validate();
+            return lot;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ligne " + lineNumber + " : nombre invalide (" + e.getMessage() + ")");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.auction.admin;
+
+import com.auction.common.constants.NetworkConfig;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Client du canal d'export du serveur.
+ * Les données reçues sont écrites directement dans le fichier cible (FileChannel.transferFrom),
+ * sans passer par le tas. Un export interrompu reprend là où le fichier local s'arrête.
+ */
+public class ExportClient {
+
+    private static final int MAX_HEADER_LENGTH = 512;
+
+    private final String host;
+    private final int port;
+
+    public ExportClient() {
+        this(NetworkConfig.SERVER_HOST, NetworkConfig.EXPORT_PORT);
+    }
+
+    public ExportClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Exporte l'historique des ventes en CSV dans le fichier cible
+     * @return Nombre total de ventes côté serveur
+     */
+    public long exportHistory(Path target) throws IOException {
+        try (FileChannel file = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long completeBytes = truncateToLastLine(file);
+            long records = countLines(file, completeBytes);
+            return request("HISTORY " + records, file, completeBytes);
+        }
+    }
+
+    /**
+     * Exporte un fichier de données du serveur (segment de journal...)
+     * @return Taille du fichier côté serveur
+     */
+    public long exportFile(String name, Path target) throws IOException {
+        try (FileChannel file = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long offset = file.size();
+            return request("FILE " + name + " " + offset, file, offset);
+        }
+    }
+
+    /**
+     * Liste les fichiers exportables ("nom;taille" par ligne)
+     */
+    public String listFiles() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port))) {
+            sendCommand(channel, "LIST");
+            long size = readHeader(channel);
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Lecture jusqu'à la taille annoncée
+            }
+            buffer.flip();
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private long request(String command, FileChannel file, long position) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port))) {
+            sendCommand(channel, command);
+            long size = readHeader(channel);
+
+            long written;
+            while ((written = file.transferFrom(channel, position, Long.MAX_VALUE)) > 0) {
+                position += written;
+            }
+            file.force(false);
+            return size;
+        }
+    }
+
+    private void sendCommand(SocketChannel channel, String command) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Lit la ligne d'en-tête "OK taille" ou "ERR raison"
+     */
+    private long readHeader(SocketChannel channel) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(MAX_HEADER_LENGTH);
+        ByteBuffer single = ByteBuffer.allocate(1);
+        while (line.hasRemaining()) {
+            single.clear();
+            if (channel.read(single) < 0) {
+                throw new IOException("Connexion fermée avant la réponse du serveur");
+            }
+            if (single.get(0) == '\n') {
+                break;
+            }
+            line.put(single.get(0));
+        }
+        line.flip();
+        String header = StandardCharsets.UTF_8.decode(line).toString();
+        if (!header.startsWith("OK ")) {
+            throw new IOException("Export refusé: " + header);
+        }
+        return Long.parseLong(header.substring(3).trim());
+    }
+
+    /**
+     * Supprime une éventuelle ligne incomplète en fin de fichier (export interrompu)
+     * @return Taille du fichier après troncature
+     */
+    private long truncateToLastLine(FileChannel file) throws IOException {
+        long size = file.size();
+        ByteBuffer single = ByteBuffer.allocate(1);
+        long end = size;
+        while (end > 0) {
+            single.clear();
+            file.read(single, end - 1);
+            if (single.get(0) == '\n') {
+                break;
+            }
+            end--;
+        }
+        if (end < size) {
+            file.truncate(end);
+        }
+        return end;
+    }
+
+    private long countLines(FileChannel file, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        long lines = 0;
+        long position = 0;
+        while (position < limit) {
+            buffer.clear();
+            int read = file.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                if (buffer.get() == '\n') {
+                    lines++;
+                }
+            }
+            position += read;
+        }
+        return lines;
+    }
+}
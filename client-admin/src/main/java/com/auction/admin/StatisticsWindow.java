@@ -0,0 +1,128 @@
+package com.auction.admin;
+
+import com.auction.common.dto.Price;
+import com.auction.common.dto.TimeSeries;
+import com.auction.common.rmi.IAuctionAdmin;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Fenêtre des statistiques agrégées du serveur : niveau de prix, enchères et clients connectés
+ * par intervalle. Les séries sont lues par RMI sur l'exécuteur fourni, hors du thread JavaFX.
+ */
+public class StatisticsWindow {
+
+    // Nombre d'intervalles affichés (lisible sur un graphique à barres)
+    private static final int POINTS = 60;
+
+    private final IAuctionAdmin admin;
+    private final ExecutorService executor;
+
+    private final Stage stage = new Stage();
+    private final ComboBox<TimeSeries.Resolution> resolutionBox = new ComboBox<>(
+        FXCollections.observableArrayList(TimeSeries.Resolution.values()));
+    private final LineChart<String, Number> priceChart = new LineChart<>(new CategoryAxis(), new NumberAxis());
+    private final BarChart<String, Number> bidChart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+    private final LineChart<String, Number> connectionChart = new LineChart<>(new CategoryAxis(), new NumberAxis());
+    private final Label summaryLabel = new Label();
+
+    public StatisticsWindow(IAuctionAdmin admin, ExecutorService executor) {
+        this.admin = admin;
+        this.executor = executor;
+
+        priceChart.setTitle("Niveau de prix (TND)");
+        bidChart.setTitle("Enchères acceptées");
+        connectionChart.setTitle("Clients connectés");
+        for (XYChart<String, Number> chart : List.<XYChart<String, Number>>of(priceChart, bidChart, connectionChart)) {
+            chart.setLegendVisible(false);
+            chart.setAnimated(false);
+            VBox.setVgrow(chart, Priority.ALWAYS);
+        }
+        priceChart.setCreateSymbols(false);
+        connectionChart.setCreateSymbols(false);
+
+        resolutionBox.setValue(TimeSeries.Resolution.MINUTE);
+        resolutionBox.setOnAction(e -> refresh());
+
+        Button refreshButton = new Button("🔄 Actualiser");
+        refreshButton.setOnAction(e -> refresh());
+
+        HBox toolbar = new HBox(10, new Label("Résolution:"), resolutionBox, refreshButton, summaryLabel);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        VBox root = new VBox(10, toolbar, priceChart, bidChart, connectionChart);
+        root.setPadding(new Insets(15));
+
+        stage.setTitle("📈 Statistiques du serveur");
+        stage.setScene(new Scene(root, 900, 750));
+    }
+
+    /**
+     * Affiche la fenêtre et charge la résolution sélectionnée
+     */
+    public void show(Window owner) {
+        if (owner != null && stage.getOwner() == null) {
+            stage.initOwner(owner);
+        }
+        stage.show();
+        refresh();
+    }
+
+    private void refresh() {
+        TimeSeries.Resolution resolution = resolutionBox.getValue();
+        summaryLabel.setText("Chargement...");
+        executor.execute(() -> {
+            try {
+                TimeSeries series = admin.getTimeSeries(resolution, POINTS);
+                Platform.runLater(() -> display(series));
+            } catch (Exception e) {
+                Platform.runLater(() -> summaryLabel.setText("❌ Erreur: " + e.getMessage()));
+            }
+        });
+    }
+
+    private void display(TimeSeries series) {
+        DateTimeFormatter formatter = DateTimeFormatter
+            .ofPattern(series.getResolution() == TimeSeries.Resolution.HOUR ? "dd/MM HH'h'" : "HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+        XYChart.Series<String, Number> prices = new XYChart.Series<>();
+        XYChart.Series<String, Number> bids = new XYChart.Series<>();
+        XYChart.Series<String, Number> connections = new XYChart.Series<>();
+        for (int i = 0; i < series.size(); i++) {
+            String label = formatter.format(Instant.ofEpochMilli(series.getBucketStartMillis(i)));
+            prices.getData().add(new XYChart.Data<>(label, Price.toDouble(series.getPriceMinor(i))));
+            bids.getData().add(new XYChart.Data<>(label, series.getBidCount(i)));
+            connections.getData().add(new XYChart.Data<>(label, series.getConnections(i)));
+        }
+        priceChart.getData().setAll(prices);
+        bidChart.getData().setAll(bids);
+        connectionChart.getData().setAll(connections);
+
+        summaryLabel.setText(series.getTotalBids() + " enchère(s) sur " + series.size()
+            + " intervalle(s) de " + series.getResolution().getLabel());
+    }
+}
@@ -0,0 +1,197 @@
+package com.auction.client;
+
+import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
+import com.auction.common.dto.Message;
+import com.auction.common.dto.Message.MessageType;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Envoi des enchères en pipeline sur une connexion TCP.
+ *
+ * Chaque enchère reçoit un numéro d'ordre (dans une session stable entre reconnexions) et un
+ * {@link CompletableFuture} complété à l'arrivée de la réponse portant ce numéro : plusieurs
+ * enchères peuvent être en vol sans attendre la réponse de la précédente. Le serveur traite les
+ * messages d'une connexion dans l'ordre de réception, les réponses arrivent donc dans l'ordre
+ * d'envoi. Après une coupure, les enchères sans réponse sont renvoyées à la reconnexion avec leur
+ * numéro d'origine : le serveur répond aux doublons sans les rejouer. Une enchère restée sans
+ * réponse au-delà du délai de réponse échoue avec une {@link TimeoutException}.
+ */
+public class BidPipeline {
+
+    // Expiration des enchères sans réponse, partagée par tous les pipelines du processus
+    private static final ScheduledThreadPoolExecutor TIMEOUTS = createTimeoutScheduler();
+
+    private final long responseTimeoutMillis;
+    private final String sessionKey = UUID.randomUUID().toString();
+    private final ConcurrentSkipListMap<Long, Pending> pending = new ConcurrentSkipListMap<>();
+    private long nextSequence = 1;
+
+    // Flux de la connexion courante (null si déconnecté) ; les écritures sont sérialisées sur this
+    private ObjectOutputStream output;
+
+    public BidPipeline() {
+        this(NetworkConfig.READ_TIMEOUT);
+    }
+
+    BidPipeline(long responseTimeoutMillis) {
+        this.responseTimeoutMillis = responseTimeoutMillis;
+    }
+
+    /**
+     * Rattache le pipeline à une nouvelle connexion et renvoie les enchères restées sans réponse
+     * @return Nombre d'enchères renvoyées
+     */
+    public synchronized int attach(ObjectOutputStream output) {
+        this.output = output;
+        int resent = 0;
+        for (Pending entry : pending.values()) {
+            if (!write(entry)) {
+                break;
+            }
+            resent++;
+        }
+        return resent;
+    }
+
+    /**
+     * Détache la connexion perdue ; les enchères en vol attendent la reconnexion
+     */
+    public synchronized void detach() {
+        this.output = null;
+    }
+
+    /**
+     * Envoie une enchère sans attendre la réponse
+     * @return Future complété par la réponse du serveur
+     */
+    public synchronized CompletableFuture<BidResult> submit(BidRequest bid) {
+        bid.setSessionKey(sessionKey);
+        bid.setSequence(nextSequence++);
+        Pending entry = new Pending(bid);
+        if (output == null) {
+            entry.future.completeExceptionally(new IOException("Non connecté au serveur"));
+            return entry.future;
+        }
+        entry.timeout = TIMEOUTS.schedule(() -> expire(entry), responseTimeoutMillis, TimeUnit.MILLISECONDS);
+        pending.put(bid.getSequence(), entry);
+        if (!write(entry)) {
+            // Connexion perdue : l'enchère reste en attente et sera renvoyée à la reconnexion
+            output = null;
+        }
+        return entry.future;
+    }
+
+    /**
+     * Écrit un message hors enchère sur la connexion courante (sérialisé avec les enchères)
+     */
+    public synchronized void send(Message message) throws IOException {
+        if (output == null) {
+            throw new IOException("Non connecté au serveur");
+        }
+        output.writeObject(message);
+        output.flush();
+        output.reset();
+    }
+
+    /**
+     * Complète l'enchère correspondant à une réponse reçue (thread de réception).
+     * Une réponse sans numéro d'ordre (requête illisible par le serveur) est attribuée à la plus
+     * ancienne enchère en vol, les réponses arrivant dans l'ordre d'envoi.
+     * @return Le résultat, null si la réponse ne correspond à aucune enchère en vol
+     */
+    public BidResult complete(BidResponse response, String message) {
+        long receivedNanos = System.nanoTime();
+        Pending entry;
+        if (response.getSequence() > 0) {
+            entry = pending.remove(response.getSequence());
+        } else {
+            Map.Entry<Long, Pending> oldest = pending.pollFirstEntry();
+            entry = oldest != null ? oldest.getValue() : null;
+        }
+        if (entry == null) {
+            return null;
+        }
+        entry.timeout.cancel(false);
+        BidResult result = new BidResult(entry.bid.getSequence(), entry.bid.getAmount(), response.isAccepted(),
+            response.isDuplicate(), response.describe(message), receivedNanos - entry.sentNanos);
+        entry.future.complete(result);
+        return result;
+    }
+
+    /**
+     * Abandonne toutes les enchères en vol (déconnexion volontaire)
+     */
+    public void cancelAll() {
+        for (Map.Entry<Long, Pending> entry; (entry = pending.pollFirstEntry()) != null; ) {
+            entry.getValue().timeout.cancel(false);
+            entry.getValue().future.completeExceptionally(new CancellationException("Déconnecté avant la réponse"));
+        }
+    }
+
+    /**
+     * Fait échouer une enchère restée sans réponse (elle n'est plus renvoyée à la reconnexion)
+     */
+    private void expire(Pending entry) {
+        if (pending.remove(entry.bid.getSequence(), entry)) {
+            entry.future.completeExceptionally(new TimeoutException(
+                "Pas de réponse du serveur pour l'enchère n°" + entry.bid.getSequence()));
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    private boolean write(Pending entry) {
+        try {
+            entry.sentNanos = System.nanoTime();
+            output.writeObject(new Message(MessageType.BID_REQUEST, "Enchère: " + entry.bid.getAmount() + " TND", entry.bid));
+            output.flush();
+            output.reset();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "bid-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Les expirations annulées (réponse reçue) quittent la file aussitôt
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static final class Pending {
+        private final BidRequest bid;
+        private final CompletableFuture<BidResult> future = new CompletableFuture<>();
+        // Expiration programmée (écrite avant la publication de l'enchère dans la table)
+        private ScheduledFuture<?> timeout;
+        // Instant du dernier envoi (écrit sous le moniteur du pipeline, lu par le thread de réception)
+        private volatile long sentNanos;
+
+        Pending(BidRequest bid) {
+            this.bid = bid;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.auction.client;
+
+/**
+ * Résultat d'une enchère envoyée par le pipeline, avec sa latence aller-retour
+ */
+public final class BidResult {
+
+    private final long sequence;
+    private final double amount;
+    private final boolean accepted;
+    private final boolean duplicate;
+    private final String message;
+    private final long latencyNanos;
+
+    BidResult(long sequence, double amount, boolean accepted, boolean duplicate, String message, long latencyNanos) {
+        this.sequence = sequence;
+        this.amount = amount;
+        this.accepted = accepted;
+        this.duplicate = duplicate;
+        this.message = message;
+        this.latencyNanos = latencyNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * true si la réponse provient d'un renvoi : le résultat est celui du premier envoi
+     */
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Délai entre le (dernier) envoi et la réception de la réponse
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public long getLatencyMillis() {
+        return latencyNanos / 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return "BidResult{" +
+                "sequence=" + sequence +
+                ", amount=" + amount +
+                ", accepted=" + accepted +
+                ", duplicate=" + duplicate +
+                ", latencyMs=" + getLatencyMillis() +
+                '}';
+    }
+}
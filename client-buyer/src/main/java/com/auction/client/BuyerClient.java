@@ -1,9 +1,12 @@
 package com.auction.client;
 
 import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.AuctionType;
 import com.auction.common.dto.AuctionUpdate;
 import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
 import com.auction.common.dto.Message;
+import com.auction.common.dto.PriceTick;
 import com.auction.common.dto.Message.MessageType;
 
 import java.io.EOFException;
@@ -27,6 +30,12 @@ public class BuyerClient {
     private String clientName;
     private boolean connected;
 
+    // Enchères en vol, corrélées à leur réponse par numéro d'ordre
+    private final BidPipeline bidPipeline = new BidPipeline();
+
+    // Dernier prix affiché d'une enchère descendante (0 si aucune), mis à jour par le thread Multicast
+    private volatile double dutchPrice;
+
     private MulticastListener multicastListener;
     private final Scanner scanner = new Scanner(System.in);
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00 'TND'");
@@ -63,13 +72,17 @@ public class BuyerClient {
             Message loginRequest = new Message(MessageType.LOGIN_REQUEST, clientName);
             output.writeObject(loginRequest);
             output.flush();
+            int resent = bidPipeline.attach(output);
+            if (resent > 0) {
+                System.out.println(resent + " enchère(s) sans réponse renvoyée(s).");
+            }
 
             new Thread(this::receiveMessages, "buyer-console-recv").start();
 
-            multicastListener = new MulticastListener(this::handleMulticastUpdate);
+            multicastListener = new MulticastListener(this::handleMulticastUpdate, this::handlePriceTick);
             multicastListener.start();
 
-            System.out.println("Connexion établie. Utilisez un montant pour enchérir, ou /quit pour sortir.");
+            System.out.println("Connexion établie. Utilisez un montant pour enchérir, /max <montant> pour une enchère automatique, /accepter pour une enchère descendante, ou /quit pour sortir.");
             return true;
         } catch (IOException e) {
             System.out.println("Impossible de se connecter au serveur: " + e.getMessage());
@@ -87,6 +100,19 @@ public class BuyerClient {
             if (line.isEmpty()) {
                 continue;
             }
+            if (line.equalsIgnoreCase("/accepter")) {
+                double price = dutchPrice;
+                if (price <= 0) {
+                    System.out.println("Aucune enchère descendante en cours.");
+                } else {
+                    sendBid(price, false);
+                }
+                continue;
+            }
+            boolean proxy = line.toLowerCase().startsWith("/max");
+            if (proxy) {
+                line = line.substring(4).trim();
+            }
             double amount;
             try {
                 amount = Double.parseDouble(line);
@@ -94,24 +120,30 @@ public class BuyerClient {
                     throw new NumberFormatException();
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Montant invalide. Entrez un nombre positif ou /quit.");
+                System.out.println("Montant invalide. Entrez un nombre positif, /max <montant> ou /quit.");
                 continue;
             }
-            sendBid(amount);
+            sendBid(amount, proxy);
         }
     }
 
-    private void sendBid(double amount) {
-        try {
-            BidRequest bid = new BidRequest(clientId, clientName, null, amount);
-            Message bidMessage = new Message(MessageType.BID_REQUEST, "Enchère: " + amount + " TND", bid);
-            output.writeObject(bidMessage);
-            output.flush();
-            output.reset();
-            System.out.println("Enchère envoyée: " + priceFormat.format(amount));
-        } catch (IOException e) {
-            System.out.println("Erreur lors de l'envoi de l'enchère: " + e.getMessage());
-        }
+    /**
+     * @param proxy true pour confier un maximum au serveur (enchère automatique)
+     */
+    private void sendBid(double amount, boolean proxy) {
+        BidRequest bid = new BidRequest(clientId, clientName, null, amount);
+        bid.setProxy(proxy);
+        // Pas d'attente de la réponse : elle est affichée par le thread de réception
+        bidPipeline.submit(bid).whenComplete((result, error) -> {
+            if (error != null) {
+                System.out.println("Erreur lors de l'envoi de l'enchère: " + error.getMessage());
+                return;
+            }
+            String tag = result.isDuplicate() ? "[DOUBLON] " : result.isAccepted() ? "[OK] " : "[REFUS] ";
+            System.out.println(tag + "#" + result.getSequence() + " " + result.getMessage() + " (" + result.getLatencyMillis() + " ms)");
+        });
+        System.out.println((proxy ? "Enchère maximum envoyée: " : "Enchère envoyée: ") + priceFormat.format(amount)
+                + " (#" + bid.getSequence() + ")");
     }
 
     private void receiveMessages() {
@@ -128,6 +160,7 @@ public class BuyerClient {
             }
         } finally {
             connected = false;
+            bidPipeline.detach();
         }
     }
 
@@ -138,8 +171,9 @@ public class BuyerClient {
                 System.out.println("Connecté. ID: " + clientId);
                 break;
             case BID_RESPONSE:
-                boolean success = (Boolean) message.getData();
-                System.out.println((success ? "[OK] " : "[REFUS] ") + message.getContent());
+                if (bidPipeline.complete((BidResponse) message.getData(), message.getContent()) == null) {
+                    System.out.println(((BidResponse) message.getData()).describe(message.getContent()));
+                }
                 break;
             case AUCTION_START:
             case AUCTION_UPDATE:
@@ -168,22 +202,33 @@ public class BuyerClient {
         printAuctionUpdate(update);
     }
 
+    private void handlePriceTick(PriceTick tick) {
+        if (dutchPrice > 0) {
+            dutchPrice = tick.getPrice();
+            System.out.println("[PALIER] " + priceFormat.format(tick.getPrice()) + " - /accepter pour remporter le lot");
+        }
+    }
+
     private void printAuctionUpdate(AuctionUpdate update) {
         switch (update.getUpdateType()) {
             case NEW_AUCTION:
                 System.out.println("[NOUVELLE ENCHÈRE] " + update.getProductName() +
-                        " - départ " + priceFormat.format(update.getCurrentPrice()));
+                        " - départ " + priceFormat.format(update.getCurrentPrice()) + remainingText(update) +
+                        (update.getAuctionType() != AuctionType.OPEN ? " [" + update.getAuctionType().getLabel() + "]" : ""));
+                dutchPrice = update.getAuctionType() == AuctionType.DUTCH ? update.getCurrentPrice() : 0;
                 break;
             case NEW_BID:
                 System.out.println("[ENCHÈRE] " + update.getHighestBidderName() +
-                        " -> " + priceFormat.format(update.getCurrentPrice()));
+                        " -> " + priceFormat.format(update.getCurrentPrice()) + remainingText(update));
                 break;
             case AUCTION_CLOSED:
+                dutchPrice = 0;
                 System.out.println("[CLOTURE] " + update.getProductName() +
                         " vendu à " + update.getWinnerName() +
                         " pour " + priceFormat.format(update.getWinningPrice()));
                 break;
             case AUCTION_CANCELLED:
+                dutchPrice = 0;
                 System.out.println("[ANNULATION] " + update.getProductName() + " annulée.");
                 break;
             default:
@@ -191,17 +236,24 @@ public class BuyerClient {
         }
     }
 
+    /**
+     * Temps restant d'une vente à durée limitée (vide sinon)
+     */
+    private String remainingText(AuctionUpdate update) {
+        return update.hasDeadline() ? " (fin dans " + update.getRemainingMillis() / 1000 + " s)" : "";
+    }
+
     private void disconnect() {
         if (connected) {
             try {
-                Message disconnectMsg = new Message(MessageType.DISCONNECT, "");
-                output.writeObject(disconnectMsg);
-                output.flush();
+                bidPipeline.send(new Message(MessageType.DISCONNECT, ""));
             } catch (IOException ignored) {
             }
         }
 
         connected = false;
+        bidPipeline.detach();
+        bidPipeline.cancelAll();
 
         if (multicastListener != null) {
             multicastListener.stop();
@@ -4,6 +4,8 @@ import com.auction.common.constants.NetworkConfig;
 import com.auction.common.dto.*;
 import com.auction.common.dto.Message.MessageType;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -15,10 +17,12 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.*;
 import java.net.Socket;
 import java.text.DecimalFormat;
+import java.util.concurrent.CancellationException;
 
 /**
  * Client Acheteur avec interface JavaFX
@@ -34,6 +38,13 @@ public class BuyerClientApp extends Application {
     private String clientName;
     private boolean connected = false;
 
+    // Enchères en vol, corrélées à leur réponse par numéro d'ordre
+    private final BidPipeline bidPipeline = new BidPipeline();
+
+    // Enchère descendante en cours : le bouton accepte le prix affiché (thread JavaFX)
+    private boolean dutchMode;
+    private String dutchProductId;
+
     // Listener Multicast
     private MulticastListener multicastListener;
 
@@ -45,13 +56,19 @@ public class BuyerClientApp extends Application {
     private Label descriptionLabel;
     private Label priceLabel;
     private Label highestBidderLabel;
+    private Label countdownLabel;
     private TextField bidField;
+    private CheckBox proxyCheckBox;
     private Button bidButton;
     private TextArea historyArea;
     private VBox auctionInfoBox;
 
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00 'TND'");
 
+    // Compte à rebours local, recalé à chaque mise à jour reçue (aucune interrogation du serveur)
+    private Timeline countdown;
+    private long deadlineNanos;
+
     @Override
     public void start(Stage primaryStage) {
         primaryStage.setTitle("🏛️ e-Auction - Client Acheteur");
@@ -146,7 +163,14 @@ public class BuyerClientApp extends Application {
         highestBidderLabel.setFont(Font.font("System", FontWeight.NORMAL, 14));
         highestBidderLabel.setTextFill(Color.web("#455a64"));
 
-        auctionInfoBox.getChildren().addAll(productLabel, descriptionLabel, priceLabel, highestBidderLabel);
+        countdownLabel = new Label("");
+        countdownLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
+        countdownLabel.setTextFill(Color.web("#455a64"));
+
+        countdown = new Timeline(new KeyFrame(Duration.millis(250), e -> refreshCountdown()));
+        countdown.setCycleCount(Timeline.INDEFINITE);
+
+        auctionInfoBox.getChildren().addAll(productLabel, descriptionLabel, priceLabel, highestBidderLabel, countdownLabel);
 
         // Zone d'enchère
         HBox bidBox = new HBox(15);
@@ -170,7 +194,10 @@ public class BuyerClientApp extends Application {
         bidButton.setDisable(true);
         bidButton.setOnAction(e -> placeBid());
 
-        bidBox.getChildren().addAll(bidLabel, bidField, bidButton);
+        proxyCheckBox = new CheckBox("Enchère automatique (maximum)");
+        proxyCheckBox.setTooltip(new Tooltip("Le serveur enchérit pour vous jusqu'à ce montant"));
+
+        bidBox.getChildren().addAll(bidLabel, bidField, proxyCheckBox, bidButton);
 
         box.getChildren().addAll(title, auctionInfoBox, bidBox);
         return box;
@@ -233,6 +260,10 @@ public class BuyerClientApp extends Application {
             Message loginRequest = new Message(MessageType.LOGIN_REQUEST, name);
             output.writeObject(loginRequest);
             output.flush();
+            int resent = bidPipeline.attach(output);
+            if (resent > 0) {
+                addHistory("🔁 " + resent + " enchère(s) sans réponse renvoyée(s)");
+            }
 
             // Démarrer le thread de réception TCP
             Thread receiveThread = new Thread(this::receiveMessages);
@@ -240,7 +271,7 @@ public class BuyerClientApp extends Application {
             receiveThread.start();
 
             // Démarrer le listener Multicast
-            multicastListener = new MulticastListener(this::handleMulticastUpdate);
+            multicastListener = new MulticastListener(this::handleMulticastUpdate, this::handlePriceTick);
             multicastListener.start();
 
             this.clientName = name;
@@ -260,15 +291,13 @@ public class BuyerClientApp extends Application {
     private void disconnect() {
         if (connected) {
             try {
-                if (output != null) {
-                    Message disconnectMsg = new Message(MessageType.DISCONNECT, "");
-                    output.writeObject(disconnectMsg);
-                    output.flush();
-                }
+                bidPipeline.send(new Message(MessageType.DISCONNECT, ""));
             } catch (IOException e) {
                 // Ignorer
             }
         }
+        bidPipeline.detach();
+        bidPipeline.cancelAll();
 
         // Arrêter le listener Multicast
         if (multicastListener != null) {
@@ -298,14 +327,22 @@ public class BuyerClientApp extends Application {
         try {
             while (connected && socket != null && !socket.isClosed()) {
                 Message message = (Message) input.readObject();
+                if (message.getType() == MessageType.BID_RESPONSE && message.getData() instanceof BidResponse) {
+                    // Complété sur le thread de réception : la latence mesurée n'inclut pas la file JavaFX
+                    if (bidPipeline.complete((BidResponse) message.getData(), message.getContent()) != null) {
+                        continue;
+                    }
+                }
                 Platform.runLater(() -> handleMessage(message));
             }
         } catch (EOFException e) {
+            bidPipeline.detach();
             Platform.runLater(() -> {
                 updateConnectionStatus(false);
                 addHistory("⚠️ Connexion fermée par le serveur");
             });
         } catch (IOException | ClassNotFoundException e) {
+            bidPipeline.detach();
             if (connected) {
                 Platform.runLater(() -> {
                     updateConnectionStatus(false);
@@ -326,13 +363,9 @@ public class BuyerClientApp extends Application {
                 break;
 
             case BID_RESPONSE:
-                boolean success = (Boolean) message.getData();
-                if (success) {
-                    addHistory("✓ " + message.getContent());
-                } else {
-                    addHistory("✗ " + message.getContent());
-                    showAlert(Alert.AlertType.WARNING, "Enchère refusée", message.getContent());
-                }
+                // Réponse sans enchère en vol correspondante (déjà complétée ou abandonnée)
+                addHistory("📨 " + (message.getData() instanceof BidResponse
+                    ? ((BidResponse) message.getData()).describe(message.getContent()) : message.getContent()));
                 break;
 
             case AUCTION_START:
@@ -340,7 +373,9 @@ public class BuyerClientApp extends Application {
                 if (message.getData() instanceof AuctionUpdate) {
                     updateAuctionDisplay((AuctionUpdate) message.getData());
                 }
-                addHistory("📢 " + message.getContent());
+                // Enchère : texte composé par la mise à jour (le serveur n'en construit pas)
+                addHistory("📢 " + (message.getContent() == null && message.getData() instanceof AuctionUpdate
+                    ? ((AuctionUpdate) message.getData()).getMessage() : message.getContent()));
                 break;
 
             case AUCTION_END:
@@ -370,6 +405,19 @@ public class BuyerClientApp extends Application {
         });
     }
 
+    /**
+     * Traite un palier de prix d'enchère descendante (Multicast, sans historique par palier)
+     */
+    private void handlePriceTick(PriceTick tick) {
+        Platform.runLater(() -> {
+            if (!dutchMode || !tick.getProductId().equals(dutchProductId)) {
+                return;
+            }
+            priceLabel.setText(priceFormat.format(tick.getPrice()));
+            bidField.setText(String.valueOf(tick.getPrice()));
+        });
+    }
+
     /**
      * Met à jour l'affichage de l'enchère
      */
@@ -379,11 +427,22 @@ public class BuyerClientApp extends Application {
                 productLabel.setText("🎁 " + update.getProductName());
                 descriptionLabel.setText(update.getProductDescription() != null ? update.getProductDescription() : "");
                 priceLabel.setText(priceFormat.format(update.getCurrentPrice()));
-                highestBidderLabel.setText("Meilleur enchérisseur: Aucun");
+                highestBidderLabel.setText(update.isSealed()
+                    ? "🔒 " + update.getAuctionType().getLabel() + " - offres secrètes"
+                    : "Meilleur enchérisseur: Aucun");
                 highestBidderLabel.setTextFill(Color.web("#455a64"));
+                proxyCheckBox.setSelected(false);
+                dutchMode = update.getAuctionType() == AuctionType.DUTCH;
+                dutchProductId = dutchMode ? update.getProductId() : null;
+                proxyCheckBox.setDisable(update.isSealed() || dutchMode);
+                bidField.setEditable(!dutchMode);
+                bidButton.setText(dutchMode ? "Accepter le prix" : "Enchérir!");
                 bidButton.setDisable(false);
-                bidField.setText(String.valueOf((int) (update.getCurrentPrice() + 10)));
+                bidField.setText(dutchMode
+                    ? String.valueOf(update.getCurrentPrice())
+                    : String.valueOf((int) (update.getCurrentPrice() + 10)));
                 auctionInfoBox.setStyle("-fx-background-color: linear-gradient(to bottom, #e8f5e9, #c8e6c9); -fx-background-radius: 10;");
+                startCountdown(update);
                 break;
 
             case NEW_BID:
@@ -403,6 +462,7 @@ public class BuyerClientApp extends Application {
                 
                 highestBidderLabel.setText("Meilleur enchérisseur: " + bidder);
                 bidField.setText(String.valueOf((int) (update.getCurrentPrice() + 10)));
+                startCountdown(update);
                 break;
 
             case AUCTION_CLOSED:
@@ -417,6 +477,11 @@ public class BuyerClientApp extends Application {
      */
     private void handleAuctionEnd(AuctionUpdate update) {
         bidButton.setDisable(true);
+        stopCountdown();
+        dutchMode = false;
+        dutchProductId = null;
+        bidField.setEditable(true);
+        bidButton.setText("Enchérir!");
 
         if (update.getUpdateType() == AuctionUpdate.UpdateType.AUCTION_CLOSED && update.getWinnerId() != null) {
             if (update.getWinnerId().equals(clientId)) {
@@ -443,6 +508,30 @@ public class BuyerClientApp extends Application {
         }
     }
 
+    /**
+     * (Re)démarre le compte à rebours à partir du temps restant annoncé par le serveur
+     */
+    private void startCountdown(AuctionUpdate update) {
+        if (!update.hasDeadline()) {
+            stopCountdown();
+            return;
+        }
+        deadlineNanos = System.nanoTime() + update.getRemainingMillis() * 1_000_000L;
+        refreshCountdown();
+        countdown.play();
+    }
+
+    private void stopCountdown() {
+        countdown.stop();
+        countdownLabel.setText("");
+    }
+
+    private void refreshCountdown() {
+        long remaining = Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000_000L);
+        countdownLabel.setText(String.format("⏱ Fin dans %02d:%02d", remaining / 60, remaining % 60));
+        countdownLabel.setTextFill(Color.web(remaining <= 10 ? "#c62828" : "#455a64"));
+    }
+
     /**
      * Place une enchère
      */
@@ -462,17 +551,36 @@ public class BuyerClientApp extends Application {
             return;
         }
 
-        try {
-            BidRequest bid = new BidRequest(clientId, clientName, null, amount);
-            Message bidMessage = new Message(MessageType.BID_REQUEST, "Enchère: " + amount + " TND", bid);
-            output.writeObject(bidMessage);
-            output.flush();
-            output.reset();
+        BidRequest bid = new BidRequest(clientId, clientName, null, amount);
+        bid.setProxy(proxyCheckBox.isSelected());
+        // Envoi sans attendre la réponse : plusieurs enchères peuvent être en vol
+        bidPipeline.submit(bid).whenComplete((result, error) -> Platform.runLater(() -> showBidResult(result, error)));
 
-            addHistory("➡️ Enchère envoyée: " + priceFormat.format(amount));
+        addHistory(bid.isProxy()
+            ? "➡️ Enchère maximum n°" + bid.getSequence() + " envoyée: " + priceFormat.format(amount)
+            : "➡️ Enchère n°" + bid.getSequence() + " envoyée: " + priceFormat.format(amount));
+    }
 
-        } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors de l'envoi de l'enchère:\n" + e.getMessage());
+    /**
+     * Affiche la réponse à une enchère du pipeline (thread JavaFX)
+     */
+    private void showBidResult(BidResult result, Throwable error) {
+        if (error instanceof CancellationException) {
+            addHistory("⏹ " + error.getMessage());
+            return;
+        }
+        if (error != null) {
+            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors de l'envoi de l'enchère:\n" + error.getMessage());
+            return;
+        }
+        String text = "n°" + result.getSequence() + " " + result.getMessage() + " (" + result.getLatencyMillis() + " ms)";
+        if (result.isDuplicate()) {
+            addHistory("↺ " + text);
+        } else if (result.isAccepted()) {
+            addHistory("✓ " + text);
+        } else {
+            addHistory("✗ " + text);
+            showAlert(Alert.AlertType.WARNING, "Enchère refusée", result.getMessage());
         }
     }
 
@@ -500,6 +608,7 @@ public class BuyerClientApp extends Application {
             priceLabel.setText("---.-- TND");
             highestBidderLabel.setText("Meilleur enchérisseur: -");
             auctionInfoBox.setStyle("-fx-background-color: linear-gradient(to bottom, #e8f5e9, #c8e6c9); -fx-background-radius: 10;");
+            stopCountdown();
         }
     }
 
@@ -2,6 +2,8 @@ package com.auction.client;
 
 import com.auction.common.constants.NetworkConfig;
 import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.PriceTick;
 
 import java.io.*;
 import java.net.*;
@@ -19,11 +21,20 @@ public class MulticastListener implements Runnable {
     private Thread listenerThread;
     private boolean running;
     private final Consumer<AuctionUpdate> updateHandler;
+    private final Consumer<PriceTick> tickHandler;
     
     public MulticastListener(Consumer<AuctionUpdate> updateHandler) {
+        this(updateHandler, null);
+    }
+    
+    /**
+     * @param tickHandler Reçoit les paliers de prix des enchères descendantes (peut être null)
+     */
+    public MulticastListener(Consumer<AuctionUpdate> updateHandler, Consumer<PriceTick> tickHandler) {
         this.multicastGroup = NetworkConfig.MULTICAST_GROUP;
         this.multicastPort = NetworkConfig.MULTICAST_PORT;
         this.updateHandler = updateHandler;
+        this.tickHandler = tickHandler;
         this.running = false;
     }
     
@@ -77,6 +88,22 @@ public class MulticastListener implements Runnable {
                     DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
                     socket.receive(packet);
                     
+                    // Palier binaire compact (enchère descendante)
+                    if (PriceTick.isPriceTick(packet.getData(), 0, packet.getLength())) {
+                        if (tickHandler != null) {
+                            tickHandler.accept(PriceTick.decode(packet.getData(), 0, packet.getLength()));
+                        }
+                        continue;
+                    }
+                    
+                    // Enchère acceptée (binaire compact)
+                    if (BidTick.isBidTick(packet.getData(), 0, packet.getLength())) {
+                        if (updateHandler != null) {
+                            updateHandler.accept(BidTick.decode(packet.getData(), 0, packet.getLength()).toUpdate());
+                        }
+                        continue;
+                    }
+                    
                     // Désérialiser l'objet AuctionUpdate
                     ByteArrayInputStream bais = new ByteArrayInputStream(packet.getData(), 0, packet.getLength());
                     ObjectInputStream ois = new ObjectInputStream(bais);
@@ -91,7 +118,7 @@ public class MulticastListener implements Runnable {
                     
                 } catch (SocketTimeoutException e) {
                     // Timeout normal, continuer
-                } catch (IOException | ClassNotFoundException e) {
+                } catch (IOException | ClassNotFoundException | IllegalArgumentException e) {
                     if (running) {
                         System.err.println("[MULTICAST] Erreur de réception: " + e.getMessage());
                     }
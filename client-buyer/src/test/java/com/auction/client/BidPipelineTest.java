@@ -0,0 +1,170 @@
+package com.auction.client;
+
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
+import com.auction.common.dto.Message;
+import com.auction.common.dto.Message.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidPipelineTest {
+
+    /**
+     * Connexion simulée : conserve les octets écrits par le pipeline
+     */
+    private static final class Wire {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream output;
+
+        Wire() throws IOException {
+            output = new ObjectOutputStream(bytes);
+            output.flush();
+        }
+
+        /**
+         * Enchères reçues par le serveur sur cette connexion
+         */
+        List<BidRequest> bids() throws IOException, ClassNotFoundException {
+            List<BidRequest> bids = new ArrayList<>();
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                while (true) {
+                    Message message = (Message) input.readObject();
+                    assertEquals(MessageType.BID_REQUEST, message.getType());
+                    bids.add((BidRequest) message.getData());
+                }
+            } catch (EOFException e) {
+                return bids;
+            }
+        }
+    }
+
+    private static BidRequest bid(long amount) {
+        return BidRequest.ofMinor("c1", "Alice", "p1", amount);
+    }
+
+    private static BidResponse response(long sequence, boolean accepted) {
+        return new BidResponse(sequence, accepted, false);
+    }
+
+    @Test
+    void responsesCompleteTheirBidBySequenceInAnyOrder() throws Exception {
+        BidPipeline pipeline = new BidPipeline();
+        pipeline.attach(new Wire().output);
+
+        CompletableFuture<BidResult> first = pipeline.submit(bid(110_000));
+        CompletableFuture<BidResult> second = pipeline.submit(bid(120_000));
+        CompletableFuture<BidResult> third = pipeline.submit(bid(130_000));
+        assertEquals(3, pipeline.getPendingCount());
+
+        // Réponse à la deuxième enchère avant celles des autres
+        BidResult result = pipeline.complete(response(2, true), "Enchère acceptée");
+        assertNotNull(result);
+        assertTrue(second.isDone());
+        assertFalse(first.isDone());
+        assertFalse(third.isDone());
+        assertEquals(2, second.get().getSequence());
+        assertEquals(120.0, second.get().getAmount(), 1e-9);
+        assertTrue(second.get().isAccepted());
+
+        pipeline.complete(response(3, false), "Enchère refusée");
+        pipeline.complete(response(1, false), "Enchère refusée");
+        assertFalse(third.get().isAccepted());
+        assertEquals(1, first.get().getSequence());
+        assertEquals(0, pipeline.getPendingCount());
+
+        // Réponse inconnue ou déjà reçue : ignorée
+        assertNull(pipeline.complete(response(2, true), "Enchère acceptée"));
+    }
+
+    @Test
+    void uncorrelatedRejectionCompletesOldestBid() throws Exception {
+        BidPipeline pipeline = new BidPipeline();
+        pipeline.attach(new Wire().output);
+        CompletableFuture<BidResult> first = pipeline.submit(bid(110_000));
+        CompletableFuture<BidResult> second = pipeline.submit(bid(120_000));
+
+        BidResult result = pipeline.complete(response(0, false), "Format de requête d'enchère invalide");
+        assertEquals(1, result.getSequence());
+        assertFalse(first.get().isAccepted());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    void attachResendsUnansweredBidsWithTheirOriginalSequence() throws Exception {
+        BidPipeline pipeline = new BidPipeline();
+        Wire lost = new Wire();
+        pipeline.attach(lost.output);
+        CompletableFuture<BidResult> first = pipeline.submit(bid(110_000));
+        CompletableFuture<BidResult> second = pipeline.submit(bid(120_000));
+        CompletableFuture<BidResult> third = pipeline.submit(bid(130_000));
+        assertEquals(3, lost.bids().size());
+
+        // Coupure après la réponse à la première enchère
+        pipeline.complete(response(1, true), "Enchère acceptée");
+        pipeline.detach();
+
+        Wire reconnected = new Wire();
+        assertEquals(2, pipeline.attach(reconnected.output));
+        List<BidRequest> resent = reconnected.bids();
+        assertEquals(2, resent.size());
+        assertEquals(2, resent.get(0).getSequence());
+        assertEquals(3, resent.get(1).getSequence());
+        assertEquals(pipeline.getSessionKey(), resent.get(0).getSessionKey());
+
+        pipeline.complete(new BidResponse(2, false, true), "Enchère n°2 déjà refusée");
+        pipeline.complete(response(3, true), "Enchère acceptée");
+        assertTrue(first.get().isAccepted());
+        assertTrue(second.get().isDuplicate());
+        assertTrue(third.get().isAccepted());
+    }
+
+    @Test
+    void cancelAllFailsEveryPendingBid() throws IOException {
+        BidPipeline pipeline = new BidPipeline();
+        pipeline.attach(new Wire().output);
+        CompletableFuture<BidResult> first = pipeline.submit(bid(110_000));
+        CompletableFuture<BidResult> second = pipeline.submit(bid(120_000));
+
+        pipeline.cancelAll();
+
+        assertEquals(0, pipeline.getPendingCount());
+        assertThrows(CancellationException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertTrue(second.isCompletedExceptionally());
+        assertNull(pipeline.complete(response(1, true), "Enchère acceptée"));
+    }
+
+    @Test
+    void unansweredBidsTimeOut() throws IOException {
+        BidPipeline pipeline = new BidPipeline(100);
+        pipeline.attach(new Wire().output);
+        CompletableFuture<BidResult> future = pipeline.submit(bid(110_000));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(0, pipeline.getPendingCount());
+    }
+
+    @Test
+    void submitWithoutConnectionFailsImmediately() {
+        BidPipeline pipeline = new BidPipeline();
+        CompletableFuture<BidResult> future = pipeline.submit(bid(110_000));
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, pipeline.getPendingCount());
+    }
+}
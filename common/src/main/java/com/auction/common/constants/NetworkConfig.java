@@ -16,7 +16,10 @@ public class NetworkConfig {
     // Configuration RMI
     public static final int RMI_PORT = 1099;
     public static final String RMI_SERVICE_NAME = "AuctionAdmin";
-    
+
+    // Configuration Export (flux binaire/CSV, hors RMI)
+    public static final int EXPORT_PORT = 5001;
+
     // Timeouts
     public static final int CONNECTION_TIMEOUT = 5000;
     public static final int READ_TIMEOUT = 30000;
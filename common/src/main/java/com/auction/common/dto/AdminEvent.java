@@ -0,0 +1,172 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Événement poussé aux administrateurs abonnés (par lots, via RMI)
+ */
+public class AdminEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum EventType {
+        AUCTION_STARTED,   // Nouvelle vente démarrée
+        BID_ACCEPTED,      // Nouvelle enchère validée
+        AUCTION_CLOSED,    // Vente terminée
+        AUCTION_CANCELLED, // Vente annulée
+        CLIENT_JOINED,     // Client connecté
+        CLIENT_LEFT,       // Client déconnecté
+        LOT_QUEUE_PROGRESS // Avancement du catalogue planifié
+    }
+
+    private EventType type;
+    private long timestamp;
+    private String productId;
+    private String productName;
+    private long amount;
+    private String clientId;
+    private String clientName;
+    private int lotsDone;
+    private int lotsRemaining;
+
+    public AdminEvent() {
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public AdminEvent(EventType type) {
+        this();
+        this.type = type;
+    }
+
+    // Méthodes statiques pour créer des événements
+    public static AdminEvent auctionEvent(EventType type, Product product) {
+        AdminEvent event = new AdminEvent(type);
+        event.setProductId(product.getId());
+        event.setProductName(product.getName());
+        event.setAmountMinor(product.getCurrentPriceMinor());
+        event.setClientId(product.getHighestBidderId());
+        event.setClientName(product.getHighestBidderName());
+        return event;
+    }
+
+    public static AdminEvent clientEvent(EventType type, String clientId, String clientName) {
+        AdminEvent event = new AdminEvent(type);
+        event.setClientId(clientId);
+        event.setClientName(clientName);
+        return event;
+    }
+
+    /**
+     * Avancement de la file des lots : lot démarré (productName) ou file terminée (productName null)
+     */
+    public static AdminEvent queueProgress(String lotName, int lotsDone, int lotsRemaining) {
+        AdminEvent event = new AdminEvent(EventType.LOT_QUEUE_PROGRESS);
+        event.setProductName(lotName);
+        event.setLotsDone(lotsDone);
+        event.setLotsRemaining(lotsRemaining);
+        return event;
+    }
+
+    // Getters et Setters
+    public EventType getType() {
+        return type;
+    }
+
+    public void setType(EventType type) {
+        this.type = type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    /**
+     * Prix courant (enchère, clôture) ou prix de départ (démarrage)
+     */
+    public double getAmount() {
+        return Price.toDouble(amount);
+    }
+
+    public void setAmount(double amount) {
+        this.amount = Price.of(amount);
+    }
+
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    public void setAmountMinor(long amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Client concerné (connexion) ou meilleur enchérisseur (vente)
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    /**
+     * Lots du catalogue déjà terminés
+     */
+    public int getLotsDone() {
+        return lotsDone;
+    }
+
+    public void setLotsDone(int lotsDone) {
+        this.lotsDone = lotsDone;
+    }
+
+    /**
+     * Lots du catalogue encore en attente
+     */
+    public int getLotsRemaining() {
+        return lotsRemaining;
+    }
+
+    public void setLotsRemaining(int lotsRemaining) {
+        this.lotsRemaining = lotsRemaining;
+    }
+
+    @Override
+    public String toString() {
+        return "AdminEvent{" +
+                "type=" + type +
+                ", productName='" + productName + '\'' +
+                ", amount=" + Price.toString(amount) +
+                ", clientName='" + clientName + '\'' +
+                '}';
+    }
+}
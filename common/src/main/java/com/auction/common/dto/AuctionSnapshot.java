@@ -0,0 +1,180 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Instantané immuable de l'enchère en cours.
+ * Publié par le serveur après chaque changement validé : les lecteurs (RMI, connexion d'un
+ * client, supervision) obtiennent un état cohérent sans prendre le verrou des enchères.
+ */
+public final class AuctionSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Aucune enchère en cours
+    public static final AuctionSnapshot NONE = new AuctionSnapshot(0, null, null, null, 0, 0, null, null, false, 0, AuctionType.OPEN, 0, 0);
+
+    private final long version;
+    private final String productId;
+    private final String productName;
+    private final String description;
+    private final long startingPrice;
+    private final long currentPrice;
+    private final String highestBidderId;
+    private final String highestBidderName;
+    private final boolean active;
+    private final long endTime;
+    private final AuctionType auctionType;
+    private final long minimumBid;
+    private final long maximumBid;
+
+    public AuctionSnapshot(long version, String productId, String productName, String description,
+                           long startingPrice, long currentPrice,
+                           String highestBidderId, String highestBidderName, boolean active, long endTime,
+                           AuctionType auctionType, long minimumBid, long maximumBid) {
+        this.version = version;
+        this.productId = productId;
+        this.productName = productName;
+        this.description = description;
+        this.startingPrice = startingPrice;
+        this.currentPrice = currentPrice;
+        this.highestBidderId = highestBidderId;
+        this.highestBidderName = highestBidderName;
+        this.active = active;
+        this.endTime = endTime;
+        this.auctionType = auctionType;
+        this.minimumBid = minimumBid;
+        this.maximumBid = maximumBid;
+    }
+
+    /**
+     * Capture l'état d'un produit (toute offre supérieure au prix courant est recevable)
+     * @param version Numéro du changement publié
+     * @param product Produit courant (null si aucune vente)
+     */
+    public static AuctionSnapshot of(long version, Product product) {
+        long price = product != null ? product.getCurrentPriceMinor() : 0;
+        return of(version, product, price + 1, Price.UNLIMITED);
+    }
+
+    /**
+     * Capture l'état d'un produit avec la plage des offres qui peuvent encore l'emporter
+     * @param minimumBid Plus petite offre recevable (millimes)
+     * @param maximumBid Plus grande offre directe recevable (millimes, {@link Price#UNLIMITED} si aucune limite)
+     */
+    public static AuctionSnapshot of(long version, Product product, long minimumBid, long maximumBid) {
+        if (product == null) {
+            return new AuctionSnapshot(version, null, null, null, 0, 0, null, null, false, 0, AuctionType.OPEN, 0, 0);
+        }
+        return new AuctionSnapshot(version, product.getId(), product.getName(), product.getDescription(),
+            product.getStartingPriceMinor(), product.getCurrentPriceMinor(),
+            product.getHighestBidderId(), product.getHighestBidderName(), product.isActive(), product.getEndTime(),
+            product.getAuctionType(), minimumBid, maximumBid);
+    }
+
+    /**
+     * Copie indépendante sous forme de produit (null si aucune vente)
+     */
+    public Product toProduct() {
+        if (productId == null) {
+            return null;
+        }
+        Product product = new Product(productId, productName, description, 0);
+        product.setStartingPriceMinor(startingPrice);
+        product.setCurrentPriceMinor(currentPrice);
+        product.setHighestBidderId(highestBidderId);
+        product.setHighestBidderName(highestBidderName);
+        product.setActive(active);
+        product.setEndTime(endTime);
+        product.setAuctionType(auctionType);
+        return product;
+    }
+
+    // Getters
+    public long getVersion() {
+        return version;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getStartingPrice() {
+        return Price.toDouble(startingPrice);
+    }
+
+    public long getStartingPriceMinor() {
+        return startingPrice;
+    }
+
+    public double getCurrentPrice() {
+        return Price.toDouble(currentPrice);
+    }
+
+    public long getCurrentPriceMinor() {
+        return currentPrice;
+    }
+
+    public String getHighestBidderId() {
+        return highestBidderId;
+    }
+
+    public String getHighestBidderName() {
+        return highestBidderName;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Fin programmée (epoch ms), 0 si aucune
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public AuctionType getAuctionType() {
+        return auctionType;
+    }
+
+    /**
+     * Plus petite offre qui peut encore l'emporter (rejet rapide avant le verrou des enchères)
+     */
+    public double getMinimumBid() {
+        return Price.toDouble(minimumBid);
+    }
+
+    public long getMinimumBidMinor() {
+        return minimumBid;
+    }
+
+    /**
+     * Plus grande offre directe acceptée (infini si le saut n'est pas limité)
+     */
+    public double getMaximumBid() {
+        return Price.toDouble(maximumBid);
+    }
+
+    public long getMaximumBidMinor() {
+        return maximumBid;
+    }
+
+    @Override
+    public String toString() {
+        return "AuctionSnapshot{" +
+                "version=" + version +
+                ", productId='" + productId + '\'' +
+                ", currentPrice=" + Price.toString(currentPrice) +
+                ", active=" + active +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.auction.common.dto;
+
+/**
+ * Format d'une vente
+ */
+public enum AuctionType {
+    // Enchère ascendante : chaque offre acceptée est diffusée
+    OPEN("Enchère ascendante"),
+    // Offres sous pli : le plus offrant paie son offre
+    SEALED_FIRST_PRICE("Sous pli - premier prix"),
+    // Offres sous pli (Vickrey) : le plus offrant paie la deuxième meilleure offre
+    SEALED_SECOND_PRICE("Sous pli - second prix"),
+    // Enchère descendante (hollandaise) : le prix baisse par paliers, la première acceptation l'emporte
+    DUTCH("Enchère descendante");
+
+    private final String label;
+
+    AuctionType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * true si les offres restent secrètes jusqu'à la clôture
+     */
+    public boolean isSealed() {
+        return this == SEALED_FIRST_PRICE || this == SEALED_SECOND_PRICE;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
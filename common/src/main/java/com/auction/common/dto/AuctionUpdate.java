@@ -1,7 +1,9 @@
 package com.auction.common.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Mise à jour d'enchère diffusée en Multicast
@@ -21,21 +23,30 @@ public class AuctionUpdate implements Serializable {
     private String productId;
     private String productName;
     private String productDescription;
-    private double currentPrice;
-    private double startingPrice;
+    private long currentPrice;
+    private long startingPrice;
     private String highestBidder;
     private String highestBidderName;
     private String winnerId;
     private String winnerName;
-    private double winningPrice;
-    private LocalDateTime timestamp;
+    private long winningPrice;
+    // Epoch ms : aucune allocation de date à la création
+    private long timestamp;
     private String message;
+    private long endTime;
+    private long remainingMillis;
+    // Prolongation accordée par cette enchère (anti-sniping), 0 si aucune
+    private long extensionMillis;
+    private AuctionType auctionType = AuctionType.OPEN;
     
     public AuctionUpdate() {
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = System.currentTimeMillis();
     }
     
-    public AuctionUpdate(UpdateType updateType, String productId, String productName, double currentPrice) {
+    /**
+     * @param currentPrice Prix courant en millimes
+     */
+    public AuctionUpdate(UpdateType updateType, String productId, String productName, long currentPrice) {
         this();
         this.updateType = updateType;
         this.productId = productId;
@@ -43,29 +54,28 @@ public class AuctionUpdate implements Serializable {
         this.currentPrice = currentPrice;
     }
     
-    // Méthodes statiques pour créer des mises à jour
-    public static AuctionUpdate newAuction(String productId, String productName, String description, double startingPrice) {
+    // Méthodes statiques pour créer des mises à jour (prix en millimes)
+    public static AuctionUpdate newAuction(String productId, String productName, String description, long startingPrice) {
         AuctionUpdate update = new AuctionUpdate(UpdateType.NEW_AUCTION, productId, productName, startingPrice);
         update.setProductDescription(description);
-        update.setStartingPrice(startingPrice);
-        update.setMessage("Nouvelle vente: " + productName + " - Prix de départ: " + startingPrice + " TND");
+        update.setStartingPriceMinor(startingPrice);
+        update.setMessage("Nouvelle vente: " + productName + " - Prix de départ: " + Price.toString(startingPrice) + " TND");
         return update;
     }
     
-    public static AuctionUpdate newBid(String productId, String productName, double newPrice, String bidderId, String bidderName) {
+    public static AuctionUpdate newBid(String productId, String productName, long newPrice, String bidderId, String bidderName) {
         AuctionUpdate update = new AuctionUpdate(UpdateType.NEW_BID, productId, productName, newPrice);
         update.setHighestBidder(bidderId);
         update.setHighestBidderName(bidderName);
-        update.setMessage("Nouvelle enchère: " + newPrice + " TND par " + bidderName);
         return update;
     }
     
-    public static AuctionUpdate auctionClosed(String productId, String productName, String winnerId, String winnerName, double finalPrice) {
+    public static AuctionUpdate auctionClosed(String productId, String productName, String winnerId, String winnerName, long finalPrice) {
         AuctionUpdate update = new AuctionUpdate(UpdateType.AUCTION_CLOSED, productId, productName, finalPrice);
         update.setWinnerId(winnerId);
         update.setWinnerName(winnerName);
-        update.setWinningPrice(finalPrice);
-        update.setMessage("VENDU! " + productName + " à " + winnerName + " pour " + finalPrice + " TND");
+        update.setWinningPriceMinor(finalPrice);
+        update.setMessage("VENDU! " + productName + " à " + winnerName + " pour " + Price.toString(finalPrice) + " TND");
         return update;
     }
     
@@ -103,18 +113,34 @@ public class AuctionUpdate implements Serializable {
     }
     
     public double getCurrentPrice() {
-        return currentPrice;
+        return Price.toDouble(currentPrice);
     }
     
     public void setCurrentPrice(double currentPrice) {
+        this.currentPrice = Price.of(currentPrice);
+    }
+
+    public long getCurrentPriceMinor() {
+        return currentPrice;
+    }
+
+    public void setCurrentPriceMinor(long currentPrice) {
         this.currentPrice = currentPrice;
     }
     
     public double getStartingPrice() {
-        return startingPrice;
+        return Price.toDouble(startingPrice);
     }
     
     public void setStartingPrice(double startingPrice) {
+        this.startingPrice = Price.of(startingPrice);
+    }
+
+    public long getStartingPriceMinor() {
+        return startingPrice;
+    }
+
+    public void setStartingPriceMinor(long startingPrice) {
         this.startingPrice = startingPrice;
     }
     
@@ -151,22 +177,52 @@ public class AuctionUpdate implements Serializable {
     }
     
     public double getWinningPrice() {
-        return winningPrice;
+        return Price.toDouble(winningPrice);
     }
     
     public void setWinningPrice(double winningPrice) {
+        this.winningPrice = Price.of(winningPrice);
+    }
+
+    public long getWinningPriceMinor() {
+        return winningPrice;
+    }
+
+    public void setWinningPriceMinor(long winningPrice) {
         this.winningPrice = winningPrice;
     }
     
+    /**
+     * Instant de création en heure locale (converti à la lecture)
+     */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
     }
     
     public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Instant de création (epoch ms)
+     */
+    public long getTimestampMillis() {
+        return timestamp;
+    }
+    
+    public void setTimestampMillis(long timestamp) {
         this.timestamp = timestamp;
     }
     
+    /**
+     * Texte affiché ; celui d'une nouvelle enchère est composé à la lecture
+     * (le serveur ne construit aucun texte par enchère)
+     */
     public String getMessage() {
+        if (message == null && updateType == UpdateType.NEW_BID) {
+            return "Nouvelle enchère: " + Price.toString(currentPrice) + " TND par " + highestBidderName
+                + (extensionMillis > 0 ? " - vente prolongée de " + extensionMillis / 1000 + " s" : "");
+        }
         return message;
     }
     
@@ -174,13 +230,71 @@ public class AuctionUpdate implements Serializable {
         this.message = message;
     }
     
+    /**
+     * Fin programmée de la vente (horloge du serveur, epoch ms), 0 si aucune
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+    
+    /**
+     * Temps restant au moment de l'envoi : le client en déduit son compte à rebours
+     * sans dépendre de l'écart entre son horloge et celle du serveur
+     */
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+    
+    public void setRemainingMillis(long remainingMillis) {
+        this.remainingMillis = remainingMillis;
+    }
+    
+    public long getExtensionMillis() {
+        return extensionMillis;
+    }
+    
+    public void setExtensionMillis(long extensionMillis) {
+        this.extensionMillis = extensionMillis;
+    }
+    
+    public AuctionType getAuctionType() {
+        return auctionType;
+    }
+    
+    public void setAuctionType(AuctionType auctionType) {
+        this.auctionType = auctionType;
+    }
+    
+    /**
+     * true si les offres de cette vente sont sous pli
+     */
+    public boolean isSealed() {
+        return auctionType != null && auctionType.isSealed();
+    }
+    
+    public boolean hasDeadline() {
+        return endTime > 0;
+    }
+    
+    /**
+     * Renseigne la fin programmée et le temps restant à cet instant
+     */
+    public void setDeadline(long endTime) {
+        this.endTime = endTime;
+        this.remainingMillis = endTime > 0 ? Math.max(0, endTime - System.currentTimeMillis()) : 0;
+    }
+    
     @Override
     public String toString() {
         return "AuctionUpdate{" +
                 "updateType=" + updateType +
                 ", productName='" + productName + '\'' +
-                ", currentPrice=" + currentPrice +
-                ", message='" + message + '\'' +
+                ", currentPrice=" + Price.toString(currentPrice) +
+                ", message='" + getMessage() + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,109 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Historique compact des enchères d'une vente, en colonnes de types primitifs.
+ *
+ * Chaque enchère est une ligne des trois colonnes (instant, prix en millimes, index de
+ * l'enchérisseur) ; les enchérisseurs sont stockés une seule fois. La forme sérialisée reste
+ * proportionnelle au nombre d'enchères, sans un objet par ligne, et les prix se tracent
+ * sans conversion en objets.
+ */
+public final class BidHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Historique vide
+    public static final BidHistory EMPTY = new BidHistory(0, new long[0], new long[0], new int[0], new String[0], new String[0]);
+
+    private final long startEpochMillis;
+    private final long[] offsetNanos;
+    private final long[] prices;
+    private final int[] bidders;
+    private final String[] bidderIds;
+    private final String[] bidderNames;
+
+    /**
+     * Les tableaux sont repris tels quels (copies faites par l'appelant)
+     * @param startEpochMillis Ouverture de la vente (epoch ms)
+     * @param offsetNanos Instant de chaque enchère depuis l'ouverture (ns)
+     * @param prices Prix de chaque enchère (millimes)
+     * @param bidders Index de l'enchérisseur de chaque enchère dans bidderIds / bidderNames
+     */
+    public BidHistory(long startEpochMillis, long[] offsetNanos, long[] prices, int[] bidders,
+                      String[] bidderIds, String[] bidderNames) {
+        if (offsetNanos.length != prices.length || prices.length != bidders.length
+                || bidderIds.length != bidderNames.length) {
+            throw new IllegalArgumentException("Colonnes de longueurs différentes");
+        }
+        this.startEpochMillis = startEpochMillis;
+        this.offsetNanos = offsetNanos;
+        this.prices = prices;
+        this.bidders = bidders;
+        this.bidderIds = bidderIds;
+        this.bidderNames = bidderNames;
+    }
+
+    /**
+     * Nombre d'enchères
+     */
+    public int size() {
+        return prices.length;
+    }
+
+    public boolean isEmpty() {
+        return prices.length == 0;
+    }
+
+    // Getters (par ligne)
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getOffsetNanos(int index) {
+        return offsetNanos[index];
+    }
+
+    /**
+     * Instant de l'enchère (epoch ms)
+     */
+    public long getTimestampMillis(int index) {
+        return startEpochMillis + offsetNanos[index] / 1_000_000L;
+    }
+
+    /**
+     * Prix de l'enchère en millimes
+     */
+    public long getPriceMinor(int index) {
+        return prices[index];
+    }
+
+    public int getBidderIndex(int index) {
+        return bidders[index];
+    }
+
+    public String getBidderId(int index) {
+        return bidderIds[bidders[index]];
+    }
+
+    public String getBidderName(int index) {
+        return bidderNames[bidders[index]];
+    }
+
+    /**
+     * Nombre d'enchérisseurs distincts
+     */
+    public int getBidderCount() {
+        return bidderIds.length;
+    }
+
+    @Override
+    public String toString() {
+        return "BidHistory{" +
+                "bids=" + prices.length +
+                ", bidders=" + bidderIds.length +
+                (prices.length > 0 ? ", last=" + Price.toString(prices[prices.length - 1]) : "") +
+                '}';
+    }
+}
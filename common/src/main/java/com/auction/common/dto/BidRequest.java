@@ -1,7 +1,9 @@
 package com.auction.common.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Requête d'enchère envoyée par un client
@@ -13,11 +15,18 @@ public class BidRequest implements Serializable {
     private String clientId;
     private String clientName;
     private String productId;
-    private double amount;
-    private LocalDateTime timestamp;
+    private long amount;
+    // Enchère par procuration : amount est le maximum secret confié au serveur
+    private boolean proxy;
+    // Identifiant de session choisi par le client (stable entre reconnexions) et numéro d'ordre
+    // de l'enchère dans cette session : un renvoi garde le même couple et n'est traité qu'une fois
+    private String sessionKey;
+    private long sequence;
+    // Epoch ms : aucune allocation de date à la création
+    private long timestamp;
     
     public BidRequest() {
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = System.currentTimeMillis();
     }
     
     public BidRequest(String clientId, String clientName, String productId, double amount) {
@@ -25,7 +34,16 @@ public class BidRequest implements Serializable {
         this.clientId = clientId;
         this.clientName = clientName;
         this.productId = productId;
-        this.amount = amount;
+        this.amount = Price.of(amount);
+    }
+    
+    /**
+     * Enchère dont le montant est déjà en millimes (enchères produites par le serveur)
+     */
+    public static BidRequest ofMinor(String clientId, String clientName, String productId, long amount) {
+        BidRequest bid = new BidRequest(clientId, clientName, productId, 0);
+        bid.setAmountMinor(amount);
+        return bid;
     }
     
     // Getters et Setters
@@ -54,18 +72,67 @@ public class BidRequest implements Serializable {
     }
     
     public double getAmount() {
-        return amount;
+        return Price.toDouble(amount);
     }
     
     public void setAmount(double amount) {
+        this.amount = Price.of(amount);
+    }
+
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    public void setAmountMinor(long amount) {
         this.amount = amount;
     }
     
+    public boolean isProxy() {
+        return proxy;
+    }
+    
+    public void setProxy(boolean proxy) {
+        this.proxy = proxy;
+    }
+    
+    public String getSessionKey() {
+        return sessionKey;
+    }
+    
+    public void setSessionKey(String sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+    
+    /**
+     * Numéro d'ordre attribué par le client (0 si absent : pas de détection des doublons)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    /**
+     * Instant de création en heure locale (converti à la lecture)
+     */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
     }
     
     public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Instant de création (epoch ms)
+     */
+    public long getTimestampMillis() {
+        return timestamp;
+    }
+    
+    public void setTimestampMillis(long timestamp) {
         this.timestamp = timestamp;
     }
     
@@ -75,8 +142,10 @@ public class BidRequest implements Serializable {
                 "clientId='" + clientId + '\'' +
                 ", clientName='" + clientName + '\'' +
                 ", productId='" + productId + '\'' +
-                ", amount=" + amount +
-                ", timestamp=" + timestamp +
+                ", amount=" + Price.toString(amount) +
+                ", proxy=" + proxy +
+                ", sequence=" + sequence +
+                ", timestamp=" + getTimestamp() +
                 '}';
     }
 }
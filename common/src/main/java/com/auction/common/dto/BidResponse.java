@@ -0,0 +1,78 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Réponse à une enchère, rattachée à sa requête par le numéro d'ordre du client
+ */
+public class BidResponse implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private long sequence;
+    private boolean accepted;
+    // true si la requête avait déjà été reçue : le résultat est celui du premier envoi
+    private boolean duplicate;
+    // Montant cité par le message (offre acceptée, minimum ou maximum refusé), 0 si aucun
+    private long amount;
+    
+    public BidResponse() {
+    }
+    
+    public BidResponse(long sequence, boolean accepted, boolean duplicate) {
+        this.sequence = sequence;
+        this.accepted = accepted;
+        this.duplicate = duplicate;
+    }
+    
+    // Getters et Setters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public boolean isAccepted() {
+        return accepted;
+    }
+    
+    public void setAccepted(boolean accepted) {
+        this.accepted = accepted;
+    }
+    
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+    
+    public void setDuplicate(boolean duplicate) {
+        this.duplicate = duplicate;
+    }
+    
+    public long getAmountMinor() {
+        return amount;
+    }
+    
+    public void setAmountMinor(long amount) {
+        this.amount = amount;
+    }
+    
+    /**
+     * Texte complet de la réponse : le serveur envoie un texte constant et le montant
+     * séparément, le client compose l'affichage
+     * @param text Texte reçu avec la réponse
+     */
+    public String describe(String text) {
+        return amount > 0 ? text + " " + Price.toString(amount) + " TND" : text;
+    }
+    
+    @Override
+    public String toString() {
+        return "BidResponse{" +
+                "sequence=" + sequence +
+                ", accepted=" + accepted +
+                ", duplicate=" + duplicate +
+                '}';
+    }
+}
@@ -0,0 +1,180 @@
+package com.auction.common.dto;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Enchère acceptée diffusée en Multicast, encodée en binaire compact comme {@link PriceTick}.
+ *
+ * magic (4) | version (1) | prix (8) | fin programmée (8) | temps restant (8) | prolongation (8)
+ * | ID produit | nom du produit | ID enchérisseur | nom de l'enchérisseur.
+ * Chaque texte est précédé de sa longueur (1 octet, en caractères) et écrit en UTF-16 :
+ * l'encodage se fait caractère par caractère dans un tampon réutilisé, sans allocation.
+ * Côté serveur, une seule instance est remplie à chaque enchère (sous le verrou des enchères) ;
+ * le client décode une nouvelle instance et en déduit un {@link AuctionUpdate}.
+ */
+public final class BidTick {
+
+    // "BIDT"
+    public static final int MAGIC = 0x42494454;
+    private static final byte VERSION = 1;
+
+    // Textes tronqués au-delà (un datagramme reste sous la taille maximale)
+    private static final int MAX_TEXT = 200;
+    private static final int FIXED_SIZE = 4 + 1 + 8 * 4 + 4;
+    public static final int MAX_SIZE = FIXED_SIZE + 4 * MAX_TEXT * 2;
+
+    private String productId;
+    private String productName;
+    private long price;
+    private String bidderId;
+    private String bidderName;
+    private long endTime;
+    private long remainingMillis;
+    private long extensionMillis;
+
+    /**
+     * Remplit l'enchère à diffuser (temps restant calculé à cet instant)
+     * @param price Nouveau prix en millimes
+     * @param endTime Fin programmée (epoch ms), 0 si aucune
+     * @param extensionMillis Prolongation accordée par cette enchère, 0 si aucune
+     */
+    public void set(String productId, String productName, long price, String bidderId, String bidderName,
+                    long endTime, long extensionMillis) {
+        this.productId = productId;
+        this.productName = productName;
+        this.price = price;
+        this.bidderId = bidderId;
+        this.bidderName = bidderName;
+        this.endTime = endTime;
+        this.remainingMillis = endTime > 0 ? Math.max(0, endTime - System.currentTimeMillis()) : 0;
+        this.extensionMillis = extensionMillis;
+    }
+
+    /**
+     * Encode l'enchère au début du tampon (au moins {@link #MAX_SIZE} octets)
+     * @return Nombre d'octets écrits
+     */
+    public int encodeTo(ByteBuffer buffer) {
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putLong(price);
+        buffer.putLong(endTime);
+        buffer.putLong(remainingMillis);
+        buffer.putLong(extensionMillis);
+        putText(buffer, productId);
+        putText(buffer, productName);
+        putText(buffer, bidderId);
+        putText(buffer, bidderName);
+        return buffer.position();
+    }
+
+    private static void putText(ByteBuffer buffer, String text) {
+        int length = text == null ? 0 : Math.min(text.length(), MAX_TEXT);
+        buffer.put((byte) length);
+        for (int i = 0; i < length; i++) {
+            buffer.putChar(text.charAt(i));
+        }
+    }
+
+    /**
+     * Indique si un datagramme contient une enchère (ni un palier, ni un objet sérialisé)
+     */
+    public static boolean isBidTick(byte[] data, int offset, int length) {
+        return length >= FIXED_SIZE
+            && data[offset] == (byte) (MAGIC >>> 24) && data[offset + 1] == (byte) (MAGIC >>> 16)
+            && data[offset + 2] == (byte) (MAGIC >>> 8) && data[offset + 3] == (byte) MAGIC;
+    }
+
+    /**
+     * Décode une enchère
+     * @throws IllegalArgumentException si le datagramme est tronqué ou d'une version inconnue
+     */
+    public static BidTick decode(byte[] data, int offset, int length) {
+        if (!isBidTick(data, offset, length)) {
+            throw new IllegalArgumentException("Datagramme d'enchère invalide");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+        buffer.getInt();
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Version d'enchère inconnue: " + version);
+        }
+        BidTick tick = new BidTick();
+        try {
+            tick.price = buffer.getLong();
+            tick.endTime = buffer.getLong();
+            tick.remainingMillis = buffer.getLong();
+            tick.extensionMillis = buffer.getLong();
+            tick.productId = getText(buffer);
+            tick.productName = getText(buffer);
+            tick.bidderId = getText(buffer);
+            tick.bidderName = getText(buffer);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Datagramme d'enchère tronqué");
+        }
+        return tick;
+    }
+
+    private static String getText(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Mise à jour équivalente (affichage côté client)
+     */
+    public AuctionUpdate toUpdate() {
+        AuctionUpdate update = AuctionUpdate.newBid(productId, productName, price, bidderId, bidderName);
+        update.setEndTime(endTime);
+        update.setRemainingMillis(remainingMillis);
+        update.setExtensionMillis(extensionMillis);
+        return update;
+    }
+
+    // Getters
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public long getPriceMinor() {
+        return price;
+    }
+
+    public String getBidderId() {
+        return bidderId;
+    }
+
+    public String getBidderName() {
+        return bidderName;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+
+    public long getExtensionMillis() {
+        return extensionMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BidTick{" +
+                "productId='" + productId + '\'' +
+                ", price=" + Price.toString(price) +
+                ", bidder='" + bidderName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Changement versionné de la liste des clients connectés.
+ * Les changements sont idempotents : appliquer deux fois le même changement est sans effet.
+ */
+public class ClientChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Kind {
+        JOINED,       // Client connecté
+        LEFT,         // Client déconnecté
+        BID,          // Nouvelle offre du client
+        BIDS_CLEARED  // Nouvelle vente : toutes les offres sont effacées
+    }
+
+    private long version;
+    private Kind kind;
+    private String clientId;
+    private String clientName;
+    private boolean hasBid;
+    private long lastBid;
+
+    public ClientChange() {
+    }
+
+    public ClientChange(long version, Kind kind, String clientId, String clientName) {
+        this.version = version;
+        this.kind = kind;
+        this.clientId = clientId;
+        this.clientName = clientName;
+    }
+
+    // Getters et Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public boolean hasBid() {
+        return hasBid;
+    }
+
+    public double getLastBid() {
+        return Price.toDouble(lastBid);
+    }
+
+    public void setLastBid(double lastBid) {
+        setLastBidMinor(Price.of(lastBid));
+    }
+
+    public long getLastBidMinor() {
+        return lastBid;
+    }
+
+    public void setLastBidMinor(long lastBid) {
+        this.lastBid = lastBid;
+        this.hasBid = true;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientChange{" +
+                "version=" + version +
+                ", kind=" + kind +
+                ", clientId='" + clientId + '\'' +
+                ", lastBid=" + (hasBid ? String.valueOf(lastBid) : "-") +
+                '}';
+    }
+}
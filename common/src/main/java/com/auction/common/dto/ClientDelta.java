@@ -0,0 +1,81 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Différentiel de la liste des clients connectés entre deux versions.
+ * Si fullSnapshot est vrai, les changements décrivent l'état complet (un JOINED par client,
+ * avec sa dernière offre) et remplacent l'état local : la version demandée était trop ancienne.
+ */
+public class ClientDelta implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long fromVersion;
+    private long toVersion;
+    private boolean fullSnapshot;
+    private List<ClientChange> changes;
+
+    public ClientDelta() {
+        this.changes = new ArrayList<>();
+    }
+
+    public ClientDelta(long fromVersion, long toVersion, boolean fullSnapshot, List<ClientChange> changes) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.fullSnapshot = fullSnapshot;
+        this.changes = changes;
+    }
+
+    // Getters et Setters
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    /**
+     * Version à transmettre au prochain appel
+     */
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    public boolean isFullSnapshot() {
+        return fullSnapshot;
+    }
+
+    public void setFullSnapshot(boolean fullSnapshot) {
+        this.fullSnapshot = fullSnapshot;
+    }
+
+    public List<ClientChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ClientChange> changes) {
+        this.changes = changes;
+    }
+
+    public boolean isEmpty() {
+        return !fullSnapshot && changes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ClientDelta{" +
+                "fromVersion=" + fromVersion +
+                ", toVersion=" + toVersion +
+                ", fullSnapshot=" + fullSnapshot +
+                ", changes=" + changes.size() +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * État de la console d'administration retourné en un seul appel RMI :
+ * enchère en cours, différentiel des clients, nouvelles ventes de l'historique et indicateurs.
+ */
+public class Dashboard implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Product auction;
+    private ClientDelta clients;
+    private int historyFrom;
+    private List<Product> historyTail;
+    private int historySize;
+    private int connectedClientCount;
+    private long rejectedConnections;
+    private int scheduledLotCount;
+    private long serverTime;
+
+    public Dashboard() {
+        this.historyTail = new ArrayList<>();
+    }
+
+    // Getters et Setters
+
+    /**
+     * Enchère en cours (null si aucune vente)
+     */
+    public Product getAuction() {
+        return auction;
+    }
+
+    public void setAuction(Product auction) {
+        this.auction = auction;
+    }
+
+    public ClientDelta getClients() {
+        return clients;
+    }
+
+    public void setClients(ClientDelta clients) {
+        this.clients = clients;
+    }
+
+    /**
+     * Index dans l'historique de la première vente de historyTail.
+     * S'il diffère du nombre de ventes connues du client, l'historique local doit être remplacé.
+     */
+    public int getHistoryFrom() {
+        return historyFrom;
+    }
+
+    public void setHistoryFrom(int historyFrom) {
+        this.historyFrom = historyFrom;
+    }
+
+    public List<Product> getHistoryTail() {
+        return historyTail;
+    }
+
+    public void setHistoryTail(List<Product> historyTail) {
+        this.historyTail = historyTail;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public void setHistorySize(int historySize) {
+        this.historySize = historySize;
+    }
+
+    public int getConnectedClientCount() {
+        return connectedClientCount;
+    }
+
+    public void setConnectedClientCount(int connectedClientCount) {
+        this.connectedClientCount = connectedClientCount;
+    }
+
+    public long getRejectedConnections() {
+        return rejectedConnections;
+    }
+
+    public void setRejectedConnections(long rejectedConnections) {
+        this.rejectedConnections = rejectedConnections;
+    }
+
+    public int getScheduledLotCount() {
+        return scheduledLotCount;
+    }
+
+    public void setScheduledLotCount(int scheduledLotCount) {
+        this.scheduledLotCount = scheduledLotCount;
+    }
+
+    public long getServerTime() {
+        return serverTime;
+    }
+
+    public void setServerTime(long serverTime) {
+        this.serverTime = serverTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Dashboard{" +
+                "auction=" + auction +
+                ", clients=" + clients +
+                ", historyFrom=" + historyFrom +
+                ", historyTail=" + historyTail.size() +
+                ", historySize=" + historySize +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Lot d'un catalogue d'enchères planifiées
+ */
+public class LotSpec implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int order;
+    private String name;
+    private String description;
+    private long startingPrice;
+    private int durationSeconds;
+
+    public LotSpec() {
+    }
+
+    public LotSpec(int order, String name, String description, double startingPrice, int durationSeconds) {
+        this.order = order;
+        this.name = name;
+        this.description = description;
+        this.startingPrice = Price.of(startingPrice);
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Vérifie que le lot peut être mis en vente
+     * @throws IllegalArgumentException si un champ est invalide
+     */
+    public void validate() {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Lot " + order + " : nom manquant");
+        }
+        if (startingPrice <= 0) {
+            throw new IllegalArgumentException("Lot " + order + " : prix de départ invalide (" + Price.toString(startingPrice) + ")");
+        }
+        if (durationSeconds <= 0) {
+            throw new IllegalArgumentException("Lot " + order + " : durée invalide (" + durationSeconds + ")");
+        }
+    }
+
+    // Getters et Setters
+
+    /**
+     * Rang de passage (les lots sont vendus par ordre croissant, puis dans l'ordre d'envoi)
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public double getStartingPrice() {
+        return Price.toDouble(startingPrice);
+    }
+
+    public void setStartingPrice(double startingPrice) {
+        this.startingPrice = Price.of(startingPrice);
+    }
+
+    public long getStartingPriceMinor() {
+        return startingPrice;
+    }
+
+    public void setStartingPriceMinor(long startingPrice) {
+        this.startingPrice = startingPrice;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "LotSpec{" +
+                "order=" + order +
+                ", name='" + name + '\'' +
+                ", startingPrice=" + Price.toString(startingPrice) +
+                ", durationSeconds=" + durationSeconds +
+                '}';
+    }
+}
@@ -1,7 +1,9 @@
 package com.auction.common.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Message générique pour la communication TCP
@@ -25,11 +27,12 @@ public class Message implements Serializable {
     private MessageType type;
     private String content;
     private String sender;
-    private LocalDateTime timestamp;
+    // Epoch ms : aucune allocation de date à la création
+    private long timestamp;
     private Object data;
     
     public Message() {
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = System.currentTimeMillis();
     }
     
     public Message(MessageType type, String content) {
@@ -73,11 +76,25 @@ public class Message implements Serializable {
         this.sender = sender;
     }
     
+    /**
+     * Instant de création en heure locale (converti à la lecture)
+     */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
     }
     
     public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Instant de création (epoch ms)
+     */
+    public long getTimestampMillis() {
+        return timestamp;
+    }
+    
+    public void setTimestampMillis(long timestamp) {
         this.timestamp = timestamp;
     }
     
@@ -95,7 +112,7 @@ public class Message implements Serializable {
                 "type=" + type +
                 ", content='" + content + '\'' +
                 ", sender='" + sender + '\'' +
-                ", timestamp=" + timestamp +
+                ", timestamp=" + getTimestamp() +
                 '}';
     }
 }
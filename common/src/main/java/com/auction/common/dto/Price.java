@@ -0,0 +1,72 @@
+package com.auction.common.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Prix en virgule fixe : un montant est un {@code long} de millimes (1 TND = 1000 millimes).
+ *
+ * Le moteur d'enchères, les DTO et les formats binaires (journal, Multicast) ne manipulent que
+ * des millimes : les comparaisons sont des comparaisons d'entiers, sans égalités faussées par
+ * l'arrondi binaire. La conversion en {@code double} n'a lieu qu'aux bords (saisie, affichage,
+ * API RMI existante).
+ */
+public final class Price {
+
+    // Millimes par dinar
+    public static final long SCALE = 1000;
+
+    // Borne supérieure « illimitée » (affichée comme l'infini)
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private Price() {
+    }
+
+    /**
+     * Convertit un montant saisi en dinars, arrondi au millime le plus proche
+     */
+    public static long of(double amount) {
+        if (Double.isNaN(amount)) {
+            throw new IllegalArgumentException("Montant invalide: " + amount);
+        }
+        if (amount >= UNLIMITED / (double) SCALE) {
+            return UNLIMITED;
+        }
+        return Math.round(amount * SCALE);
+    }
+
+    /**
+     * Convertit un texte saisi (point ou virgule décimale), arrondi au millime
+     * @throws NumberFormatException si le texte n'est pas un nombre
+     */
+    public static long parse(String text) {
+        return of(Double.parseDouble(text.trim().replace(',', '.')));
+    }
+
+    /**
+     * Montant en dinars pour l'affichage
+     */
+    public static double toDouble(long minor) {
+        return minor == UNLIMITED ? Double.POSITIVE_INFINITY : minor / (double) SCALE;
+    }
+
+    /**
+     * Écriture décimale exacte sans zéros inutiles (ex. 12500 -> "12.5")
+     */
+    public static String toString(long minor) {
+        if (minor == UNLIMITED) {
+            return "illimité";
+        }
+        if (minor % SCALE == 0) {
+            return Long.toString(minor / SCALE);
+        }
+        return BigDecimal.valueOf(minor, 3).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Somme plafonnée à {@link #UNLIMITED}
+     */
+    public static long add(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? UNLIMITED : sum;
+    }
+}
@@ -0,0 +1,117 @@
+package com.auction.common.dto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Palier de prix d'une enchère descendante, diffusé uniquement en Multicast.
+ *
+ * Encodé en binaire compact (quelques dizaines d'octets au lieu d'un AuctionUpdate sérialisé) :
+ * magic (4) | version (1) | longueur de l'ID (1) | ID produit (ASCII) | palier (4) | prix en millimes (8) | prochaine baisse en ms (4).
+ * Le magic ne peut pas être confondu avec l'en-tête 0xACED de la sérialisation Java,
+ * ce qui permet de partager le même groupe Multicast.
+ */
+public final class PriceTick {
+
+    // "DUTC"
+    public static final int MAGIC = 0x44555443;
+    private static final byte VERSION = 2;
+    private static final int FIXED_SIZE = 4 + 1 + 1 + 4 + 8 + 4;
+
+    private final String productId;
+    private final int step;
+    private final long price;
+    private final int nextDropMillis;
+
+    /**
+     * @param price Prix du palier en millimes
+     */
+    public PriceTick(String productId, int step, long price, int nextDropMillis) {
+        this.productId = productId;
+        this.step = step;
+        this.price = price;
+        this.nextDropMillis = nextDropMillis;
+    }
+
+    /**
+     * Encode le palier pour un datagramme
+     */
+    public byte[] encode() {
+        byte[] id = productId.getBytes(StandardCharsets.US_ASCII);
+        if (id.length > 255) {
+            throw new IllegalArgumentException("ID produit trop long: " + productId);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + id.length);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        buffer.putInt(step);
+        buffer.putLong(price);
+        buffer.putInt(nextDropMillis);
+        return buffer.array();
+    }
+
+    /**
+     * Indique si un datagramme contient un palier (et non un objet sérialisé)
+     */
+    public static boolean isPriceTick(byte[] data, int offset, int length) {
+        return length >= FIXED_SIZE && ByteBuffer.wrap(data, offset, length).getInt() == MAGIC;
+    }
+
+    /**
+     * Décode un palier
+     * @throws IllegalArgumentException si le datagramme est tronqué ou d'une version inconnue
+     */
+    public static PriceTick decode(byte[] data, int offset, int length) {
+        if (!isPriceTick(data, offset, length)) {
+            throw new IllegalArgumentException("Datagramme de palier invalide");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+        buffer.getInt();
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Version de palier inconnue: " + version);
+        }
+        int idLength = buffer.get() & 0xFF;
+        if (length != FIXED_SIZE + idLength) {
+            throw new IllegalArgumentException("Datagramme de palier tronqué");
+        }
+        byte[] id = new byte[idLength];
+        buffer.get(id);
+        return new PriceTick(new String(id, StandardCharsets.US_ASCII), buffer.getInt(), buffer.getLong(), buffer.getInt());
+    }
+
+    // Getters
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public double getPrice() {
+        return Price.toDouble(price);
+    }
+
+    public long getPriceMinor() {
+        return price;
+    }
+
+    /**
+     * Délai avant la prochaine baisse (ms)
+     */
+    public int getNextDropMillis() {
+        return nextDropMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceTick{" +
+                "productId='" + productId + '\'' +
+                ", step=" + step +
+                ", price=" + Price.toString(price) +
+                '}';
+    }
+}
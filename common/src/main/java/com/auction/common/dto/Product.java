@@ -1,6 +1,7 @@
 package com.auction.common.dto;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Représente un produit mis aux enchères
@@ -12,11 +13,15 @@ public class Product implements Serializable {
     private String id;
     private String name;
     private String description;
-    private double startingPrice;
-    private double currentPrice;
+    private long startingPrice;
+    private long currentPrice;
     private String highestBidderId;
     private String highestBidderName;
     private boolean active;
+    private long endTime;
+    private AuctionType auctionType = AuctionType.OPEN;
+    private long acceptLatencyMicros;
+    private BidHistory bidHistory;
     
     public Product() {
         this.active = false;
@@ -27,8 +32,8 @@ public class Product implements Serializable {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.startingPrice = startingPrice;
-        this.currentPrice = startingPrice;
+        this.startingPrice = Price.of(startingPrice);
+        this.currentPrice = this.startingPrice;
     }
     
     // Getters et Setters
@@ -57,18 +62,34 @@ public class Product implements Serializable {
     }
     
     public double getStartingPrice() {
-        return startingPrice;
+        return Price.toDouble(startingPrice);
     }
     
     public void setStartingPrice(double startingPrice) {
+        this.startingPrice = Price.of(startingPrice);
+    }
+
+    public long getStartingPriceMinor() {
+        return startingPrice;
+    }
+
+    public void setStartingPriceMinor(long startingPrice) {
         this.startingPrice = startingPrice;
     }
     
     public double getCurrentPrice() {
-        return currentPrice;
+        return Price.toDouble(currentPrice);
     }
     
     public void setCurrentPrice(double currentPrice) {
+        this.currentPrice = Price.of(currentPrice);
+    }
+
+    public long getCurrentPriceMinor() {
+        return currentPrice;
+    }
+
+    public void setCurrentPriceMinor(long currentPrice) {
         this.currentPrice = currentPrice;
     }
     
@@ -96,12 +117,73 @@ public class Product implements Serializable {
         this.active = active;
     }
     
+    /**
+     * Fin programmée de la vente (epoch ms), 0 si la vente est clôturée manuellement
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+    
+    public AuctionType getAuctionType() {
+        return auctionType;
+    }
+    
+    public void setAuctionType(AuctionType auctionType) {
+        this.auctionType = auctionType;
+    }
+    
+    /**
+     * Délai entre la diffusion du palier et l'acceptation gagnante (enchère descendante), 0 sinon
+     */
+    public long getAcceptLatencyMicros() {
+        return acceptLatencyMicros;
+    }
+    
+    public void setAcceptLatencyMicros(long acceptLatencyMicros) {
+        this.acceptLatencyMicros = acceptLatencyMicros;
+    }
+    
+    /**
+     * Enchères de la vente, jointes à la clôture (null tant que la vente est en cours,
+     * et pour une vente relue depuis l'historique : ses enchères se demandent à part)
+     */
+    public BidHistory getBidHistory() {
+        return bidHistory;
+    }
+    
+    public void setBidHistory(BidHistory bidHistory) {
+        this.bidHistory = bidHistory;
+    }
+    
+    /**
+     * Une vente est identifiée par son ID (l'historique reconstruit une nouvelle instance à chaque lecture)
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Product)) {
+            return false;
+        }
+        return Objects.equals(id, ((Product) other).id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+    
     @Override
     public String toString() {
         return "Product{" +
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
-                ", currentPrice=" + currentPrice +
+                ", currentPrice=" + Price.toString(currentPrice) +
                 ", active=" + active +
                 '}';
     }
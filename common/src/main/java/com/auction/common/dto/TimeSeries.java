@@ -0,0 +1,117 @@
+package com.auction.common.dto;
+
+import java.io.Serializable;
+
+/**
+ * Série temporelle agrégée renvoyée aux administrateurs : des intervalles consécutifs
+ * d'une résolution fixe, du plus ancien au plus récent.
+ *
+ * Pour chaque intervalle : nombre d'enchères acceptées, niveau de prix (dernier prix connu,
+ * en millimes, 0 avant la première vente) et nombre de clients connectés.
+ */
+public final class TimeSeries implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Résolutions agrégées par le serveur
+     */
+    public enum Resolution {
+        SECOND(1_000L, "1 s"),
+        MINUTE(60_000L, "1 min"),
+        HOUR(3_600_000L, "1 h");
+
+        private final long millis;
+        private final String label;
+
+        Resolution(long millis, String label) {
+            this.millis = millis;
+            this.label = label;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Resolution resolution;
+    private final long firstBucketMillis;
+    private final long[] bidCounts;
+    private final long[] prices;
+    private final int[] connections;
+
+    /**
+     * Les tableaux sont repris tels quels (copies faites par l'appelant)
+     * @param firstBucketMillis Début du premier intervalle (epoch ms)
+     */
+    public TimeSeries(Resolution resolution, long firstBucketMillis, long[] bidCounts, long[] prices, int[] connections) {
+        if (bidCounts.length != prices.length || prices.length != connections.length) {
+            throw new IllegalArgumentException("Colonnes de longueurs différentes");
+        }
+        this.resolution = resolution;
+        this.firstBucketMillis = firstBucketMillis;
+        this.bidCounts = bidCounts;
+        this.prices = prices;
+        this.connections = connections;
+    }
+
+    /**
+     * Nombre d'intervalles
+     */
+    public int size() {
+        return bidCounts.length;
+    }
+
+    // Getters (par intervalle)
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public long getBucketStartMillis(int index) {
+        return firstBucketMillis + index * resolution.getMillis();
+    }
+
+    public long getBidCount(int index) {
+        return bidCounts[index];
+    }
+
+    /**
+     * Niveau de prix en millimes (0 si aucun prix n'est encore connu)
+     */
+    public long getPriceMinor(int index) {
+        return prices[index];
+    }
+
+    public int getConnections(int index) {
+        return connections[index];
+    }
+
+    /**
+     * Total des enchères sur toute la série
+     */
+    public long getTotalBids() {
+        long total = 0;
+        for (long count : bidCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeries{" +
+                "resolution=" + resolution +
+                ", buckets=" + bidCounts.length +
+                ", totalBids=" + getTotalBids() +
+                '}';
+    }
+}
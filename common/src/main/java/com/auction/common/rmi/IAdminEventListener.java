@@ -0,0 +1,18 @@
+package com.auction.common.rmi;
+
+import com.auction.common.dto.AdminEvent;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * Interface RMI implémentée par les clients admin pour recevoir les événements du serveur
+ */
+public interface IAdminEventListener extends Remote {
+
+    /**
+     * Reçoit un lot d'événements, dans l'ordre où ils se sont produits
+     * @param events Événements survenus depuis le lot précédent
+     */
+    void onEvents(List<AdminEvent> events) throws RemoteException;
+}
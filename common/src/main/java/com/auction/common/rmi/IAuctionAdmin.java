@@ -1,6 +1,11 @@
 package com.auction.common.rmi;
 
+import com.auction.common.dto.BidHistory;
+import com.auction.common.dto.ClientDelta;
+import com.auction.common.dto.Dashboard;
+import com.auction.common.dto.LotSpec;
 import com.auction.common.dto.Product;
+import com.auction.common.dto.TimeSeries;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
@@ -19,12 +24,78 @@ public interface IAuctionAdmin extends Remote {
      */
     boolean startAuction(String productName, String description, double startingPrice) throws RemoteException;
     
+    /**
+     * Démarre une enchère clôturée automatiquement à l'expiration de sa durée
+     * @param durationSeconds Durée de la vente en secondes
+     * @return true si l'enchère a été démarrée
+     */
+    boolean startTimedAuction(String productName, String description, double startingPrice, int durationSeconds) throws RemoteException;
+    
+    /**
+     * Démarre une vente sous pli : les offres ne sont pas diffusées et le gagnant
+     * est désigné à la clôture
+     * @param startingPrice Prix de réserve (offre minimum)
+     * @param durationSeconds Durée de la vente en secondes (0 pour une clôture manuelle)
+     * @param secondPrice true pour que le gagnant paie la deuxième meilleure offre (Vickrey)
+     * @return true si la vente a été démarrée
+     */
+    boolean startSealedAuction(String productName, String description, double startingPrice,
+                               int durationSeconds, boolean secondPrice) throws RemoteException;
+    
+    /**
+     * Démarre une enchère descendante (hollandaise) : le prix baisse à intervalle fixe
+     * et le premier acheteur qui accepte le prix affiché remporte le lot
+     * @param startingPrice Prix de départ
+     * @param floorPrice Prix plancher ; la vente se termine sans preneur après ce palier
+     * @param decrement Baisse à chaque palier
+     * @param tickSeconds Durée d'un palier en secondes
+     * @return true si la vente a été démarrée
+     */
+    boolean startDutchAuction(String productName, String description, double startingPrice,
+                              double floorPrice, double decrement, int tickSeconds) throws RemoteException;
+    
     /**
      * Clôture l'enchère en cours
      * @return Le produit vendu avec les informations du gagnant, null si pas de vente en cours
      */
     Product stopAuction() throws RemoteException;
     
+    /**
+     * Configure la prolongation anti-sniping des ventes à durée limitée : une enchère
+     * acceptée moins de windowSeconds avant la fin repousse la fin de extensionSeconds,
+     * au plus maxExtensionSeconds par vente (0 pour désactiver)
+     * @return Description de la règle appliquée
+     */
+    String setSoftClose(int windowSeconds, int extensionSeconds, int maxExtensionSeconds) throws RemoteException;
+    
+    /**
+     * Configure les règles des enchères ascendantes : écart minimum et maximum d'une offre
+     * au-dessus du prix courant, et prix final minimum pour conclure une vente (0 pour aucun)
+     * @return Description des règles appliquées
+     * @throws IllegalArgumentException si les règles sont incohérentes
+     */
+    String setBidRules(double minIncrement, double maxJump, double reservePrice) throws RemoteException;
+    
+    /**
+     * Ajoute des lots au catalogue planifié. Le serveur les démarre et les clôture
+     * l'un après l'autre (ordre croissant, puis ordre d'envoi), selon leur durée.
+     * Un catalogue volumineux peut être envoyé en plusieurs appels.
+     * @param lots Lots à ajouter (refusés en bloc si l'un d'eux est invalide)
+     * @return Nombre de lots en attente après ajout
+     */
+    int scheduleLots(List<LotSpec> lots) throws RemoteException;
+    
+    /**
+     * Retire les lots en attente (le lot en cours se termine normalement)
+     * @return Nombre de lots retirés
+     */
+    int clearScheduledLots() throws RemoteException;
+    
+    /**
+     * Nombre de lots en attente dans le catalogue planifié
+     */
+    int getScheduledLotCount() throws RemoteException;
+    
     /**
      * Bannit un client du système
      * @param clientId Identifiant du client à bannir
@@ -32,6 +103,32 @@ public interface IAuctionAdmin extends Remote {
      */
     boolean banClient(String clientId) throws RemoteException;
     
+    /**
+     * Bannit une adresse ou une plage CIDR : les connexions correspondantes sont
+     * refusées dès leur acceptation, et les clients déjà connectés sont déconnectés
+     * @param cidr Adresse ("10.0.0.5") ou plage ("10.0.0.0/8", "2001:db8::/32")
+     * @return La plage bannie sous forme canonique
+     * @throws IllegalArgumentException si l'adresse ou la plage est invalide
+     */
+    String banAddress(String cidr) throws RemoteException;
+    
+    /**
+     * Lève le bannissement d'une adresse ou d'une plage
+     * @return true si la plage était bannie
+     */
+    boolean unbanAddress(String cidr) throws RemoteException;
+    
+    /**
+     * Obtient les plages bannies
+     * @return Plages sous forme canonique (adresse/longueur)
+     */
+    List<String> getBannedAddresses() throws RemoteException;
+    
+    /**
+     * Obtient le nombre de connexions refusées à l'acceptation depuis le démarrage
+     */
+    long getRejectedConnections() throws RemoteException;
+    
     /**
      * Obtient le statut actuel de l'enchère
      * @return Le produit actuellement en vente, null si pas de vente en cours
@@ -44,18 +141,61 @@ public interface IAuctionAdmin extends Remote {
      */
     List<String> getConnectedClients() throws RemoteException;
     
+    /**
+     * Obtient les changements de la liste des clients depuis une version connue
+     * (connexions, déconnexions, offres), sous forme structurée
+     * @param sinceVersion Version retournée par l'appel précédent (0 au premier appel)
+     * @return Différentiel ; état complet si la version est trop ancienne
+     */
+    ClientDelta getConnectedClientsSince(long sinceVersion) throws RemoteException;
+    
+    /**
+     * Obtient en un seul appel l'état complet de la console : enchère en cours,
+     * changements des clients, nouvelles ventes et indicateurs
+     * @param clientsVersion Version des clients retournée par l'appel précédent (0 au premier appel)
+     * @param knownHistorySize Nombre de ventes déjà connues du client
+     */
+    Dashboard getDashboard(long clientsVersion, int knownHistorySize) throws RemoteException;
+    
     /**
      * Obtient l'historique des ventes
      * @return Liste des produits vendus
      */
     List<Product> getSalesHistory() throws RemoteException;
     
+    /**
+     * Obtient les enchères d'une vente (prix, instants et enchérisseurs)
+     * @param productId ID du produit, null pour la vente en cours
+     * @return Historique compact, null si le produit est inconnu
+     */
+    BidHistory getBidHistory(String productId) throws RemoteException;
+    
+    /**
+     * Obtient les statistiques agrégées du serveur (enchères, prix, connexions)
+     * @param resolution Durée d'un intervalle (seconde, minute, heure)
+     * @param maxPoints Nombre d'intervalles voulus, les plus récents
+     * @return Série du plus ancien au plus récent intervalle
+     */
+    TimeSeries getTimeSeries(TimeSeries.Resolution resolution, int maxPoints) throws RemoteException;
+    
     /**
      * Annule l'enchère en cours sans déclarer de gagnant
      * @return true si l'enchère a été annulée
      */
     boolean cancelAuction() throws RemoteException;
     
+    /**
+     * Abonne un administrateur aux événements (enchères, ventes, connexions de clients).
+     * Les événements sont poussés par lots ; un abonné injoignable est retiré automatiquement.
+     * @param listener Objet distant exporté par le client admin
+     */
+    void addEventListener(IAdminEventListener listener) throws RemoteException;
+    
+    /**
+     * Désabonne un administrateur
+     */
+    void removeEventListener(IAdminEventListener listener) throws RemoteException;
+    
     /**
      * Vérifie si le serveur est actif
      * @return true si le serveur fonctionne
@@ -0,0 +1,136 @@
+package com.auction.loadgen;
+
+import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.ClientDelta;
+import com.auction.common.dto.Dashboard;
+import com.auction.common.dto.TimeSeries;
+import com.auction.common.rmi.IAuctionAdmin;
+
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+
+/**
+ * Actions d'administration RMI : ouverture et clôture de la vente de l'essai, et consultations
+ * de la console (tableau de bord, statistiques, historique, clients) chronométrées
+ */
+public class AdminDriver {
+
+    private final LoadConfig config;
+    private final LoadStats stats;
+    private IAuctionAdmin admin;
+
+    // Versions connues de la console simulée
+    private long clientsVersion;
+    private int knownHistorySize;
+    private int nextAction;
+
+    public AdminDriver(LoadConfig config, LoadStats stats) {
+        this.config = config;
+        this.stats = stats;
+    }
+
+    /**
+     * @return false si le service d'administration est injoignable
+     */
+    public boolean connect() {
+        try {
+            Registry registry = LocateRegistry.getRegistry(config.getHost(), config.getRmiPort());
+            admin = (IAuctionAdmin) registry.lookup(NetworkConfig.RMI_SERVICE_NAME);
+            return admin.ping();
+        } catch (Exception e) {
+            System.err.println("[LOAD] Service RMI injoignable: " + e.getMessage());
+            admin = null;
+            return false;
+        }
+    }
+
+    public boolean isConnected() {
+        return admin != null;
+    }
+
+    /**
+     * Ouvre la vente de l'essai (à durée limitée pour la rafale de clôture)
+     * @return false si une vente était déjà en cours ou si l'appel a échoué
+     */
+    public boolean startAuction() {
+        if (admin == null) {
+            return false;
+        }
+        String name = "Lot de charge " + config.getScenario().name();
+        String description = config.getScenario().getLabel() + ", " + config.getSessions() + " sessions";
+        try {
+            if (admin.getAuctionStatus() != null) {
+                System.out.println("[LOAD] Une vente est déjà en cours, l'essai l'utilise");
+                return false;
+            }
+            if (config.getScenario() == Scenario.CLOSING_BURST) {
+                return admin.startTimedAuction(name, description, config.getStartingPrice(), config.getDurationSeconds());
+            }
+            return admin.startAuction(name, description, config.getStartingPrice());
+        } catch (RemoteException e) {
+            System.err.println("[LOAD] Ouverture de la vente impossible: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clôture la vente de l'essai si elle est encore ouverte
+     */
+    public void stopAuction() {
+        if (admin == null) {
+            return;
+        }
+        try {
+            if (admin.getAuctionStatus() != null) {
+                admin.stopAuction();
+            }
+        } catch (RemoteException e) {
+            System.err.println("[LOAD] Clôture de la vente impossible: " + e.getMessage());
+        }
+    }
+
+    /**
+     * true si la vente de l'essai est terminée (ou l'état inconnu)
+     */
+    public boolean isAuctionClosed() {
+        try {
+            return admin == null || admin.getAuctionStatus() == null;
+        } catch (RemoteException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Une consultation de la console, à tour de rôle, chronométrée
+     */
+    public void runNextAction() {
+        if (admin == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            switch (nextAction++ % 4) {
+                case 0:
+                    Dashboard dashboard = admin.getDashboard(clientsVersion, knownHistorySize);
+                    clientsVersion = dashboard.getClients().getToVersion();
+                    knownHistorySize = dashboard.getHistorySize();
+                    break;
+                case 1:
+                    admin.getTimeSeries(TimeSeries.Resolution.SECOND, 60);
+                    break;
+                case 2:
+                    admin.getBidHistory(null);
+                    break;
+                default:
+                    ClientDelta delta = admin.getConnectedClientsSince(clientsVersion);
+                    clientsVersion = delta.getToVersion();
+                    break;
+            }
+            stats.adminLatency.record(System.nanoTime() - start);
+        } catch (RemoteException e) {
+            stats.adminFailures.increment();
+        }
+        stats.adminCalls.increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.auction.loadgen;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instant d'envoi des offres, par prix, pour mesurer le délai de diffusion des mises à jour.
+ *
+ * Dans une vente ascendante le prix annoncé d'une nouvelle enchère est le montant de l'offre
+ * acceptée : à réception d'une mise à jour (TCP ou Multicast), le délai est mesuré depuis le
+ * premier envoi d'une offre à ce prix. Les générateurs et le serveur n'ont pas d'horloge commune,
+ * le délai inclut donc le traitement de l'offre par le serveur.
+ */
+public class DeliveryClock {
+
+    private final ConcurrentHashMap<Long, Long> sentNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Note l'envoi d'une offre (le premier envoi à un prix est conservé)
+     */
+    public void sent(long priceMinor, long nanos) {
+        sentNanos.putIfAbsent(priceMinor, nanos);
+    }
+
+    /**
+     * @return Délai depuis l'envoi de l'offre au prix annoncé, -1 si aucune offre connue à ce prix
+     */
+    public long lagNanos(long priceMinor, long receivedNanos) {
+        Long sent = sentNanos.get(priceMinor);
+        return sent == null ? -1 : receivedNanos - sent;
+    }
+
+    /**
+     * Oublie les offres envoyées avant l'instant donné
+     */
+    public void prune(long olderThanNanos) {
+        sentNanos.values().removeIf(nanos -> nanos - olderThanNanos < 0);
+    }
+}
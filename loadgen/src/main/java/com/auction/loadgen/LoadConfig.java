@@ -0,0 +1,185 @@
+package com.auction.loadgen;
+
+import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.Price;
+
+/**
+ * Paramètres d'un essai de charge, lus dans les propriétés système -Dloadgen.*
+ */
+public class LoadConfig {
+
+    private final String host;
+    private final int tcpPort;
+    private final int rmiPort;
+    private final Scenario scenario;
+    private final int sessions;
+    private final int listeners;
+    private final int durationSeconds;
+    private final double bidRate;
+    private final double connectRate;
+    private final int burstSeconds;
+    private final double burstFactor;
+    private final double adminRate;
+    private final long increment;
+    private final double startingPrice;
+    private final int bidThreads;
+    private final int maxPendingBids;
+
+    /**
+     * @param sessions Nombre de sessions TCP (acheteurs simulés)
+     * @param listeners Nombre d'écouteurs Multicast (mesure du délai de diffusion)
+     * @param durationSeconds Durée de la phase d'enchères (et de la vente en rafale de clôture)
+     * @param bidRate Enchères envoyées par seconde, toutes sessions confondues
+     * @param connectRate Connexions par seconde avant l'ouverture (ignoré en tempête de connexions)
+     * @param burstSeconds Dernières secondes de la vente où le débit est multiplié
+     * @param burstFactor Multiplicateur du débit pendant la rafale
+     * @param adminRate Appels RMI d'administration par seconde (scénario ADMIN)
+     * @param increment Pas des offres au-dessus du dernier prix connu (millimes)
+     * @param maxPendingBids Enchères sans réponse au-delà desquelles une session n'enchérit plus
+     */
+    public LoadConfig(String host, int tcpPort, int rmiPort, Scenario scenario, int sessions, int listeners,
+                      int durationSeconds, double bidRate, double connectRate, int burstSeconds, double burstFactor,
+                      double adminRate, long increment, double startingPrice, int bidThreads, int maxPendingBids) {
+        if (sessions < 1 || durationSeconds < 1 || bidRate <= 0 || bidThreads < 1 || increment < 1) {
+            throw new IllegalArgumentException("Sessions, durée, débit, threads et pas doivent être positifs");
+        }
+        this.host = host;
+        this.tcpPort = tcpPort;
+        this.rmiPort = rmiPort;
+        this.scenario = scenario;
+        this.sessions = sessions;
+        this.listeners = listeners;
+        this.durationSeconds = durationSeconds;
+        this.bidRate = bidRate;
+        this.connectRate = connectRate;
+        this.burstSeconds = burstSeconds;
+        this.burstFactor = burstFactor;
+        this.adminRate = adminRate;
+        this.increment = increment;
+        this.startingPrice = startingPrice;
+        this.bidThreads = bidThreads;
+        this.maxPendingBids = maxPendingBids;
+    }
+
+    /**
+     * Configuration depuis les propriétés système, par exemple
+     * -Dloadgen.scenario=CLOSING_BURST -Dloadgen.sessions=2000 -Dloadgen.bidRate=5000
+     */
+    public static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+            System.getProperty("loadgen.host", NetworkConfig.SERVER_HOST),
+            Integer.getInteger("loadgen.tcpPort", NetworkConfig.TCP_PORT),
+            Integer.getInteger("loadgen.rmiPort", NetworkConfig.RMI_PORT),
+            Scenario.valueOf(System.getProperty("loadgen.scenario", Scenario.STEADY.name())),
+            Integer.getInteger("loadgen.sessions", 1000),
+            Integer.getInteger("loadgen.listeners", 4),
+            Integer.getInteger("loadgen.duration", 60),
+            doubleProperty("loadgen.bidRate", 500),
+            doubleProperty("loadgen.connectRate", 200),
+            Integer.getInteger("loadgen.burstSeconds", 10),
+            doubleProperty("loadgen.burstFactor", 10),
+            doubleProperty("loadgen.adminRate", 10),
+            Price.of(doubleProperty("loadgen.increment", 1.0)),
+            doubleProperty("loadgen.startingPrice", 100.0),
+            Integer.getInteger("loadgen.bidThreads", 4),
+            Integer.getInteger("loadgen.maxPending", 8)
+        );
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Débit d'enchères voulu à un instant de la vente
+     * @param remainingMillis Temps restant avant la fin de la phase d'enchères
+     */
+    public double bidRateAt(long remainingMillis) {
+        if (scenario == Scenario.CLOSING_BURST && remainingMillis <= burstSeconds * 1000L) {
+            return bidRate * burstFactor;
+        }
+        return bidRate;
+    }
+
+    // Getters
+    public String getHost() {
+        return host;
+    }
+
+    public int getTcpPort() {
+        return tcpPort;
+    }
+
+    public int getRmiPort() {
+        return rmiPort;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public int getListeners() {
+        return listeners;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public double getBidRate() {
+        return bidRate;
+    }
+
+    public double getConnectRate() {
+        return connectRate;
+    }
+
+    public int getBurstSeconds() {
+        return burstSeconds;
+    }
+
+    public double getBurstFactor() {
+        return burstFactor;
+    }
+
+    public double getAdminRate() {
+        return adminRate;
+    }
+
+    public long getIncrement() {
+        return increment;
+    }
+
+    public double getStartingPrice() {
+        return startingPrice;
+    }
+
+    public int getBidThreads() {
+        return bidThreads;
+    }
+
+    public int getMaxPendingBids() {
+        return maxPendingBids;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadConfig{" +
+                "scenario=" + scenario +
+                ", server=" + host + ":" + tcpPort +
+                ", sessions=" + sessions +
+                ", listeners=" + listeners +
+                ", durationSeconds=" + durationSeconds +
+                ", bidRate=" + bidRate +
+                ", connectRate=" + connectRate +
+                (scenario == Scenario.CLOSING_BURST ? ", burst=" + burstFactor + "x" + burstSeconds + "s" : "") +
+                (scenario == Scenario.ADMIN ? ", adminRate=" + adminRate : "") +
+                ", bidThreads=" + bidThreads +
+                '}';
+    }
+}
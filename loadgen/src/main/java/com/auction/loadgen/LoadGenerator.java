@@ -0,0 +1,231 @@
+package com.auction.loadgen;
+
+import com.auction.client.MulticastListener;
+import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.AuctionUpdate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge sans interface : ouvre N sessions TCP et des écouteurs Multicast,
+ * ouvre une vente par RMI, déroule le scénario d'enchères choisi et rapporte chaque seconde
+ * les débits d'offres acceptées et refusées, les échecs de connexion et le délai de diffusion.
+ *
+ * java -Dloadgen.scenario=STEADY -Dloadgen.sessions=2000 -jar loadgen/target/loadgen.jar
+ * Le serveur doit disposer d'assez de threads clients : -Dauction.clientThreads=N.
+ */
+public class LoadGenerator {
+
+    // Connexions ouvertes en parallèle (tempête : toutes les sessions, jusqu'à cette limite)
+    private static final int CONNECT_THREADS = 64;
+    private static final int STORM_CONNECT_THREADS = 512;
+
+    // Attente de la clôture d'une vente prolongée par l'anti-sniping (rafale de clôture)
+    private static final long CLOSE_GRACE_MILLIS = 60_000;
+
+    // Offres dues au plus en retard par thread (évite une rafale artificielle après une pause)
+    private static final double MAX_BACKLOG_SECONDS = 0.1;
+
+    private final LoadConfig config;
+    private final LoadStats stats = new LoadStats();
+    private final DeliveryClock clock = new DeliveryClock();
+    private final AdminDriver admin;
+    private final List<LoadSession> sessions = new ArrayList<>();
+    private final List<MulticastListener> listeners = new ArrayList<>();
+
+    private volatile boolean bidding;
+    private volatile long biddingEndNanos;
+
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.admin = new AdminDriver(config, stats);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        new LoadGenerator(LoadConfig.fromSystemProperties()).run();
+    }
+
+    public void run() throws InterruptedException {
+        System.out.println("[LOAD] " + config.getScenario().getLabel() + " - " + config);
+        if (!admin.connect()) {
+            System.out.println("[LOAD] Sans RMI : les sessions enchérissent sur la vente éventuellement en cours");
+        }
+        startListeners();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            System.out.println(stats.progressLine());
+            clock.prune(System.nanoTime() - TimeUnit.SECONDS.toNanos(30));
+        }, 1, 1, TimeUnit.SECONDS);
+
+        if (config.getScenario() == Scenario.LOGIN_STORM) {
+            openAuction();
+            connectSessions(0, STORM_CONNECT_THREADS);
+        } else {
+            connectSessions(config.getConnectRate(), CONNECT_THREADS);
+            openAuction();
+        }
+
+        long start = System.nanoTime();
+        runBidding();
+        String summary = stats.summary((System.nanoTime() - start) / 1e9);
+
+        if (config.getScenario() != Scenario.CLOSING_BURST) {
+            admin.stopAuction();
+        }
+        reporter.shutdownNow();
+        for (LoadSession session : sessions) {
+            session.close();
+        }
+        for (MulticastListener listener : listeners) {
+            listener.stop();
+        }
+        System.out.println(summary);
+    }
+
+    private void startListeners() {
+        for (int i = 0; i < config.getListeners(); i++) {
+            MulticastListener listener = new MulticastListener(this::onMulticastUpdate);
+            listener.start();
+            listeners.add(listener);
+        }
+    }
+
+    private void onMulticastUpdate(AuctionUpdate update) {
+        if (update.getUpdateType() != AuctionUpdate.UpdateType.NEW_BID) {
+            return;
+        }
+        long lag = clock.lagNanos(update.getCurrentPriceMinor(), System.nanoTime());
+        if (lag >= 0) {
+            stats.multicastLag.record(lag);
+        }
+        stats.multicastUpdates.increment();
+    }
+
+    private void openAuction() {
+        if (admin.startAuction()) {
+            System.out.println("[LOAD] Vente ouverte par RMI");
+        }
+    }
+
+    /**
+     * Ouvre les sessions et attend leur login
+     * @param ratePerSecond Connexions lancées par seconde, 0 pour toutes en même temps
+     */
+    private void connectSessions(double ratePerSecond, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService connectors = Executors.newFixedThreadPool(Math.min(threads, config.getSessions()));
+        for (int i = 0; i < config.getSessions(); i++) {
+            if (ratePerSecond > 0) {
+                pauseUntil(start + (long) (i * 1e9 / ratePerSecond));
+            }
+            LoadSession session = new LoadSession(i + 1, config, stats, clock);
+            sessions.add(session);
+            connectors.submit(() -> {
+                if (session.connect()) {
+                    session.awaitLogin(NetworkConfig.READ_TIMEOUT);
+                }
+                return null;
+            });
+        }
+        connectors.shutdown();
+        connectors.awaitTermination(NetworkConfig.READ_TIMEOUT * 2L, TimeUnit.MILLISECONDS);
+        System.out.printf("[LOAD] %d sessions connectées sur %d en %d ms%n", stats.loggedIn.get(),
+            config.getSessions(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Phase d'enchères : threads d'offres (et d'administration), jusqu'à la fin de la durée,
+     * ou jusqu'à la clôture de la vente pour la rafale de clôture
+     */
+    private void runBidding() throws InterruptedException {
+        biddingEndNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        bidding = true;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.getBidThreads(); i++) {
+            int slice = i;
+            threads.add(new Thread(() -> bidLoop(slice), "loadgen-bid-" + i));
+        }
+        if (config.getScenario() == Scenario.ADMIN) {
+            threads.add(new Thread(this::adminLoop, "loadgen-admin"));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        pauseUntil(biddingEndNanos);
+        if (config.getScenario() == Scenario.CLOSING_BURST) {
+            // La vente se termine d'elle-même, éventuellement prolongée
+            long giveUp = System.currentTimeMillis() + CLOSE_GRACE_MILLIS;
+            while (!admin.isAuctionClosed() && System.currentTimeMillis() < giveUp) {
+                Thread.sleep(200);
+            }
+        }
+        bidding = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Offres des sessions d'une tranche (index modulo le nombre de threads), au débit voulu
+     */
+    private void bidLoop(int slice) {
+        List<LoadSession> mine = new ArrayList<>();
+        for (int i = slice; i < sessions.size(); i += config.getBidThreads()) {
+            mine.add(sessions.get(i));
+        }
+        if (mine.isEmpty()) {
+            return;
+        }
+        int next = 0;
+        double owed = 0;
+        long last = System.nanoTime();
+        while (bidding) {
+            long now = System.nanoTime();
+            double rate = config.bidRateAt(TimeUnit.NANOSECONDS.toMillis(biddingEndNanos - now)) / config.getBidThreads();
+            owed = Math.min(owed + rate * (now - last) / 1e9, Math.max(1, rate * MAX_BACKLOG_SECONDS));
+            last = now;
+            for (int attempts = 0; owed >= 1 && attempts < mine.size(); attempts++) {
+                LoadSession session = mine.get(next);
+                next = (next + 1) % mine.size();
+                if (session.bid()) {
+                    owed--;
+                }
+            }
+            if (owed >= 1) {
+                // Aucune session de la tranche ne peut enchérir : offres dues non envoyées
+                stats.throttled.add((long) owed);
+                owed -= (long) owed;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void adminLoop() {
+        long periodNanos = (long) (1e9 / Math.max(0.1, config.getAdminRate()));
+        long next = System.nanoTime();
+        while (bidding) {
+            admin.runNextAction();
+            next += periodNanos;
+            pauseUntil(next);
+        }
+    }
+
+    private static void pauseUntil(long deadlineNanos) {
+        for (long wait; (wait = deadlineNanos - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
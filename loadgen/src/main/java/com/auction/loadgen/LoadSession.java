@@ -0,0 +1,224 @@
+package com.auction.loadgen;
+
+import com.auction.client.BidPipeline;
+import com.auction.common.constants.NetworkConfig;
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
+import com.auction.common.dto.Message;
+import com.auction.common.dto.Message.MessageType;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Acheteur simulé : une connexion TCP, le protocole du client console (login, enchères en
+ * pipeline) et un thread de réception. Les offres sont calculées à partir du dernier prix reçu
+ * par la session, comme le ferait un acheteur qui lit l'écran.
+ */
+public class LoadSession {
+
+    // Pile réduite : quelques milliers de threads de réception par générateur
+    private static final long RECEIVER_STACK_SIZE = 256 * 1024;
+
+    private final int index;
+    private final String clientName;
+    private final LoadConfig config;
+    private final LoadStats stats;
+    private final DeliveryClock clock;
+    private final BidPipeline pipeline = new BidPipeline();
+    private final CountDownLatch login = new CountDownLatch(1);
+    // Session comptée parmi les sessions connectées (décomptée une seule fois)
+    private final AtomicBoolean online = new AtomicBoolean();
+
+    private Socket socket;
+    private long connectNanos;
+    private volatile String clientId;
+    private volatile boolean running;
+
+    // Dernier prix connu de la vente en cours (0 si aucune vente)
+    private volatile long lastPrice;
+
+    public LoadSession(int index, LoadConfig config, LoadStats stats, DeliveryClock clock) {
+        this.index = index;
+        this.clientName = "Charge-" + index;
+        this.config = config;
+        this.stats = stats;
+        this.clock = clock;
+    }
+
+    /**
+     * Ouvre la connexion et envoie la demande de login (la réponse arrive sur le thread de réception)
+     * @return false si la connexion a échoué
+     */
+    public boolean connect() {
+        connectNanos = System.nanoTime();
+        try {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(config.getHost(), config.getTcpPort()), NetworkConfig.CONNECTION_TIMEOUT);
+            ObjectOutputStream output = new ObjectOutputStream(socket.getOutputStream());
+            output.flush();
+            running = true;
+            pipeline.attach(output);
+            pipeline.send(new Message(MessageType.LOGIN_REQUEST, clientName));
+
+            Thread receiver = new Thread(null, this::receiveMessages, "loadgen-recv-" + index, RECEIVER_STACK_SIZE);
+            receiver.setDaemon(true);
+            receiver.start();
+            return true;
+        } catch (IOException e) {
+            stats.connectFailures.increment();
+            running = false;
+            closeSocket();
+            return false;
+        }
+    }
+
+    /**
+     * Attend la réponse au login
+     * @return true si la session est connectée
+     */
+    public boolean awaitLogin(long timeoutMillis) throws InterruptedException {
+        if (login.await(timeoutMillis, TimeUnit.MILLISECONDS) && clientId != null) {
+            return true;
+        }
+        stats.loginFailures.increment();
+        close();
+        return false;
+    }
+
+    /**
+     * Envoie une offre au-dessus du dernier prix connu, sans attendre la réponse
+     * @return false si la session ne peut pas enchérir (pas de vente, trop d'offres en vol)
+     */
+    public boolean bid() {
+        long price = lastPrice;
+        if (clientId == null || !running || price <= 0) {
+            return false;
+        }
+        if (pipeline.getPendingCount() >= config.getMaxPendingBids()) {
+            return false;
+        }
+        long amount = price + config.getIncrement() * (1 + ThreadLocalRandom.current().nextInt(3));
+        BidRequest bid = BidRequest.ofMinor(clientId, clientName, null, amount);
+        clock.sent(amount, System.nanoTime());
+        stats.sent.increment();
+        pipeline.submit(bid).whenComplete(stats::onBidResult);
+        return true;
+    }
+
+    private void receiveMessages() {
+        try {
+            ObjectInputStream input = new ObjectInputStream(socket.getInputStream());
+            while (running) {
+                handleMessage((Message) input.readObject());
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            if (running) {
+                stats.disconnects.increment();
+            }
+        } finally {
+            leave();
+            running = false;
+            pipeline.detach();
+            pipeline.cancelAll();
+            login.countDown();
+        }
+    }
+
+    private void handleMessage(Message message) {
+        switch (message.getType()) {
+            case LOGIN_RESPONSE:
+                if (message.getData() instanceof String) {
+                    clientId = (String) message.getData();
+                    stats.loginLatency.record(System.nanoTime() - connectNanos);
+                    online.set(true);
+                    stats.loggedIn.incrementAndGet();
+                }
+                login.countDown();
+                break;
+            case BID_RESPONSE:
+                pipeline.complete((BidResponse) message.getData(), message.getContent());
+                break;
+            case AUCTION_START:
+            case AUCTION_UPDATE:
+                if (message.getData() instanceof AuctionUpdate) {
+                    onUpdate((AuctionUpdate) message.getData());
+                }
+                break;
+            case AUCTION_END:
+                lastPrice = 0;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onUpdate(AuctionUpdate update) {
+        switch (update.getUpdateType()) {
+            case NEW_AUCTION:
+                lastPrice = update.getCurrentPriceMinor();
+                break;
+            case NEW_BID:
+                long price = update.getCurrentPriceMinor();
+                long lag = clock.lagNanos(price, System.nanoTime());
+                if (lag >= 0) {
+                    stats.tcpLag.record(lag);
+                }
+                stats.tcpUpdates.increment();
+                lastPrice = Math.max(lastPrice, price);
+                break;
+            case AUCTION_CLOSED:
+            case AUCTION_CANCELLED:
+                lastPrice = 0;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Déconnexion volontaire
+     */
+    public void close() {
+        if (!running) {
+            closeSocket();
+            return;
+        }
+        // Arrêt du thread de réception avant que le serveur ne ferme la connexion
+        running = false;
+        try {
+            pipeline.send(new Message(MessageType.DISCONNECT, ""));
+        } catch (IOException ignored) {
+        }
+        leave();
+        closeSocket();
+    }
+
+    private void leave() {
+        if (online.compareAndSet(true, false)) {
+            stats.loggedIn.decrementAndGet();
+        }
+    }
+
+    private void closeSocket() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    public boolean isLoggedIn() {
+        return running && clientId != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.auction.loadgen;
+
+import com.auction.client.BidResult;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'un essai de charge, alimentés par toutes les sessions sans verrou
+ */
+public class LoadStats {
+
+    // Connexions
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder loginFailures = new LongAdder();
+    final LongAdder disconnects = new LongAdder();
+    final AtomicInteger loggedIn = new AtomicInteger();
+
+    // Enchères
+    final LongAdder sent = new LongAdder();
+    final LongAdder accepted = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder duplicates = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder throttled = new LongAdder();
+
+    // Mises à jour reçues
+    final LongAdder tcpUpdates = new LongAdder();
+    final LongAdder multicastUpdates = new LongAdder();
+
+    // Administration
+    final LongAdder adminCalls = new LongAdder();
+    final LongAdder adminFailures = new LongAdder();
+
+    final LatencyRecorder loginLatency = new LatencyRecorder();
+    final LatencyRecorder bidLatency = new LatencyRecorder();
+    final LatencyRecorder tcpLag = new LatencyRecorder();
+    final LatencyRecorder multicastLag = new LatencyRecorder();
+    final LatencyRecorder adminLatency = new LatencyRecorder();
+
+    // Valeurs du rapport précédent (thread de rapport uniquement)
+    private long lastSent;
+    private long lastAccepted;
+    private long lastRejected;
+    private long lastReportNanos = System.nanoTime();
+
+    /**
+     * Réponse (ou échec) d'une enchère envoyée par le pipeline
+     */
+    void onBidResult(BidResult result, Throwable error) {
+        if (error != null) {
+            failed.increment();
+            return;
+        }
+        bidLatency.record(result.getLatencyNanos());
+        if (result.isDuplicate()) {
+            duplicates.increment();
+        } else if (result.isAccepted()) {
+            accepted.increment();
+        } else {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Ligne d'avancement : débits depuis le rapport précédent
+     */
+    String progressLine() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastReportNanos) / 1e9);
+        long sentNow = sent.sum();
+        long acceptedNow = accepted.sum();
+        long rejectedNow = rejected.sum();
+        String line = String.format("[LOAD] sessions=%d envoyées=%.0f/s acceptées=%.0f/s refusées=%.0f/s"
+                + " échecs connexion=%d diffusion TCP p99=%.2f ms Multicast p99=%.2f ms",
+            loggedIn.get(), (sentNow - lastSent) / seconds, (acceptedNow - lastAccepted) / seconds,
+            (rejectedNow - lastRejected) / seconds, connectFailures.sum() + loginFailures.sum(),
+            tcpLag.percentileMillis(99), multicastLag.percentileMillis(99));
+        lastSent = sentNow;
+        lastAccepted = acceptedNow;
+        lastRejected = rejectedNow;
+        lastReportNanos = now;
+        return line;
+    }
+
+    /**
+     * Bilan de l'essai
+     * @param seconds Durée de la phase d'enchères
+     */
+    String summary(double seconds) {
+        return "[LOAD] ===== Bilan =====\n" +
+            String.format("[LOAD] Connexions: %d connectées, %d échecs de connexion, %d échecs de login, %d coupures%n",
+                loggedIn.get(), connectFailures.sum(), loginFailures.sum(), disconnects.sum()) +
+            "[LOAD] Login: " + loginLatency.summary() + "\n" +
+            String.format("[LOAD] Enchères: %d envoyées, %.0f acceptées/s, %.0f refusées/s"
+                    + " (%d acceptées, %d refusées, %d doublons, %d sans réponse, %d non envoyées)%n",
+                sent.sum(), accepted.sum() / seconds, rejected.sum() / seconds, accepted.sum(), rejected.sum(),
+                duplicates.sum(), failed.sum(), throttled.sum()) +
+            "[LOAD] Aller-retour d'une enchère: " + bidLatency.summary() + "\n" +
+            "[LOAD] Diffusion TCP (" + tcpUpdates.sum() + " mises à jour): " + tcpLag.summary() + "\n" +
+            "[LOAD] Diffusion Multicast (" + multicastUpdates.sum() + " mises à jour): " + multicastLag.summary() + "\n" +
+            String.format("[LOAD] Administration RMI: %d appels, %d échecs, %s",
+                adminCalls.sum(), adminFailures.sum(), adminLatency.summary());
+    }
+}
@@ -0,0 +1,25 @@
+package com.auction.loadgen;
+
+/**
+ * Scénarios de charge
+ */
+public enum Scenario {
+    // Connexions étalées avant l'ouverture, puis enchères à débit constant
+    STEADY("Débit constant"),
+    // Vente à durée limitée, débit multiplié dans les dernières secondes
+    CLOSING_BURST("Rafale de clôture"),
+    // Toutes les sessions se connectent en même temps à l'ouverture de la vente
+    LOGIN_STORM("Tempête de connexions"),
+    // Débit constant et consultations d'administration RMI en parallèle
+    ADMIN("Administration RMI");
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,316 @@
+package com.auction.server;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Liste des adresses et plages (CIDR) bannies, consultée dès l'acceptation d'une connexion.
+ * Les préfixes sont rangés dans un trie binaire compact (tableaux d'entiers, un trie IPv4
+ * et un trie IPv6) : la vérification parcourt au plus 32 ou 128 nœuds, sans allocation.
+ * Seules les adresses littérales sont acceptées (jamais de résolution DNS) : IPv4 en notation
+ * pointée complète, IPv6 avec au moins un ':' et sans identifiant de zone.
+ */
+public class AddressBanList {
+
+    private final PrefixTrie ipv4 = new PrefixTrie();
+    private final PrefixTrie ipv6 = new PrefixTrie();
+
+    // Forme canonique des plages bannies (pour l'affichage)
+    private final Set<String> bans = new TreeSet<>();
+
+    // Connexions refusées à l'acceptation
+    private final AtomicLong rejectedConnections = new AtomicLong();
+
+    /**
+     * Bannit une adresse ou une plage
+     * @param cidr Adresse littérale ("10.0.0.5", "2001:db8::1") ou plage ("10.0.0.0/8")
+     * @return La forme canonique de la plage bannie
+     */
+    public synchronized String ban(String cidr) {
+        return insert(parse(cidr));
+    }
+
+    /**
+     * Bannit une adresse de connexion (l'identifiant de zone IPv6 éventuel est ignoré)
+     * @return La forme canonique de la plage bannie
+     */
+    public synchronized String ban(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        return insert(new Prefix(bytes, bytes.length * 8));
+    }
+
+    private String insert(Prefix prefix) {
+        trieFor(prefix.address).insert(prefix.address, prefix.length);
+        String canonical = prefix.toString();
+        bans.add(canonical);
+        return canonical;
+    }
+
+    /**
+     * Lève le bannissement d'une plage (exactement telle qu'elle a été bannie)
+     * @return true si la plage était bannie
+     */
+    public synchronized boolean unban(String cidr) {
+        Prefix prefix = parse(cidr);
+        boolean removed = trieFor(prefix.address).remove(prefix.address, prefix.length);
+        bans.remove(prefix.toString());
+        return removed;
+    }
+
+    /**
+     * Vérifie si une adresse appartient à une plage bannie
+     */
+    public synchronized boolean isBanned(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        return trieFor(bytes).matches(bytes);
+    }
+
+    /**
+     * Comptabilise une connexion refusée
+     */
+    public void recordRejection() {
+        rejectedConnections.incrementAndGet();
+    }
+
+    public long getRejectedConnections() {
+        return rejectedConnections.get();
+    }
+
+    public synchronized List<String> getBans() {
+        return new ArrayList<>(bans);
+    }
+
+    /**
+     * Nœuds utilisés par les deux tries (racines comprises)
+     */
+    synchronized int getNodeCount() {
+        return ipv4.getNodeCount() + ipv6.getNodeCount();
+    }
+
+    private PrefixTrie trieFor(byte[] address) {
+        return address.length == 4 ? ipv4 : ipv6;
+    }
+
+    private static Prefix parse(String cidr) {
+        if (cidr == null || cidr.trim().isEmpty()) {
+            throw new IllegalArgumentException("Adresse vide");
+        }
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        String host = slash >= 0 ? value.substring(0, slash) : value;
+        byte[] address = host.indexOf(':') >= 0 ? parseIpv6(host, cidr) : parseIpv4(host, cidr);
+
+        int maxLength = address.length * 8;
+        int length = maxLength;
+        if (slash >= 0) {
+            try {
+                length = Integer.parseInt(value.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Longueur de préfixe invalide: " + cidr);
+            }
+            if (length < 0 || length > maxLength) {
+                throw new IllegalArgumentException("Longueur de préfixe invalide: " + cidr);
+            }
+        }
+
+        // Normaliser l'adresse de réseau (bits hors préfixe à zéro)
+        for (int bit = length; bit < maxLength; bit++) {
+            address[bit >>> 3] &= (byte) ~(0x80 >>> (bit & 7));
+        }
+        return new Prefix(address, length);
+    }
+
+    /**
+     * Notation pointée complète : quatre nombres décimaux de 0 à 255
+     */
+    private static byte[] parseIpv4(String host, String cidr) {
+        String[] parts = host.split("\\.", -1);
+        if (parts.length != 4) {
+            throw invalidAddress(cidr);
+        }
+        byte[] address = new byte[4];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 3) {
+                throw invalidAddress(cidr);
+            }
+            int value = 0;
+            for (int j = 0; j < part.length(); j++) {
+                char c = part.charAt(j);
+                if (c < '0' || c > '9') {
+                    throw invalidAddress(cidr);
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (value > 255) {
+                throw invalidAddress(cidr);
+            }
+            address[i] = (byte) value;
+        }
+        return address;
+    }
+
+    /**
+     * Littéral IPv6 (chiffres hexadécimaux, ':' et '.' pour une adresse IPv4 finale). Commençant
+     * par un chiffre hexadécimal ou ':' et contenant un ':', il est analysé par InetAddress sans
+     * interroger le DNS ; l'identifiant de zone ('%') est refusé.
+     */
+    private static byte[] parseIpv6(String host, String cidr) {
+        // Un littéral commençant par '.' serait confié au résolveur
+        if (host.charAt(0) == '.') {
+            throw invalidAddress(cidr);
+        }
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            boolean hex = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!hex && c != ':' && c != '.') {
+                throw invalidAddress(cidr);
+            }
+        }
+        try {
+            return InetAddress.getByName(host).getAddress();
+        } catch (UnknownHostException e) {
+            throw invalidAddress(cidr);
+        }
+    }
+
+    private static IllegalArgumentException invalidAddress(String cidr) {
+        return new IllegalArgumentException("Adresse invalide: " + cidr);
+    }
+
+    private static final class Prefix {
+        final byte[] address;
+        final int length;
+
+        Prefix(byte[] address, int length) {
+            this.address = address;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            try {
+                return InetAddress.getByAddress(address).getHostAddress() + "/" + length;
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Trie binaire sur les bits de l'adresse. Nœud 0 = racine ; un enfant à 0 signifie absent.
+     * Les nœuds retirés sont chaînés dans une liste libre (par leur case zero) et réutilisés.
+     */
+    private static final class PrefixTrie {
+        private int[] zero = new int[64];
+        private int[] one = new int[64];
+        private boolean[] terminal = new boolean[64];
+        private int size = 1;
+        private int freeList;
+        private int freeCount;
+
+        void insert(byte[] address, int length) {
+            int node = 0;
+            for (int bit = 0; bit < length; bit++) {
+                boolean set = bitAt(address, bit);
+                int next = set ? one[node] : zero[node];
+                if (next == 0) {
+                    // allocate() peut réallouer les tableaux : affecter après coup
+                    next = allocate();
+                    if (set) {
+                        one[node] = next;
+                    } else {
+                        zero[node] = next;
+                    }
+                }
+                node = next;
+            }
+            terminal[node] = true;
+        }
+
+        boolean remove(byte[] address, int length) {
+            int[] path = new int[length + 1];
+            int node = 0;
+            for (int bit = 0; bit < length; bit++) {
+                node = bitAt(address, bit) ? one[node] : zero[node];
+                if (node == 0) {
+                    return false;
+                }
+                path[bit + 1] = node;
+            }
+            boolean wasBanned = terminal[node];
+            terminal[node] = false;
+
+            // Élaguer les nœuds devenus inutiles, de la feuille vers la racine
+            for (int bit = length; bit > 0; bit--) {
+                int current = path[bit];
+                if (terminal[current] || zero[current] != 0 || one[current] != 0) {
+                    break;
+                }
+                int parent = path[bit - 1];
+                if (bitAt(address, bit - 1)) {
+                    one[parent] = 0;
+                } else {
+                    zero[parent] = 0;
+                }
+                release(current);
+            }
+            return wasBanned;
+        }
+
+        boolean matches(byte[] address) {
+            int node = 0;
+            int bits = address.length * 8;
+            for (int bit = 0; ; bit++) {
+                if (terminal[node]) {
+                    return true;
+                }
+                if (bit == bits) {
+                    return false;
+                }
+                node = bitAt(address, bit) ? one[node] : zero[node];
+                if (node == 0) {
+                    return false;
+                }
+            }
+        }
+
+        int getNodeCount() {
+            return size - freeCount;
+        }
+
+        private void release(int node) {
+            zero[node] = freeList;
+            one[node] = 0;
+            freeList = node;
+            freeCount++;
+        }
+
+        private int allocate() {
+            if (freeList != 0) {
+                int node = freeList;
+                freeList = zero[node];
+                zero[node] = 0;
+                freeCount--;
+                return node;
+            }
+            if (size == zero.length) {
+                int capacity = size * 2;
+                zero = Arrays.copyOf(zero, capacity);
+                one = Arrays.copyOf(one, capacity);
+                terminal = Arrays.copyOf(terminal, capacity);
+            }
+            return size++;
+        }
+
+        private static boolean bitAt(byte[] address, int bit) {
+            return (address[bit >>> 3] & (0x80 >>> (bit & 7))) != 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.auction.server;
+
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+
+/**
+ * Observateur des événements du gestionnaire d'enchères.
+ * Les événements de vente sont appelés sous le verrou des enchères, dans l'ordre des changements ;
+ * les événements de connexion depuis le thread du client. Les méthodes doivent rester courtes
+ * et déléguer tout travail lourd à un autre thread.
+ */
+public interface AuctionEventListener {
+
+    /**
+     * Une nouvelle vente vient de démarrer
+     */
+    default void onAuctionStarted(Product product) {
+    }
+
+    /**
+     * Une enchère vient d'être acceptée (le produit reflète déjà le nouveau prix)
+     */
+    default void onBidAccepted(Product product, BidRequest bid) {
+    }
+
+    /**
+     * La vente est clôturée (avec ou sans gagnant)
+     */
+    default void onAuctionClosed(Product soldProduct) {
+    }
+
+    /**
+     * La vente a été annulée par l'administrateur
+     */
+    default void onAuctionCancelled(Product product) {
+    }
+
+    /**
+     * Un client vient de se connecter
+     */
+    default void onClientRegistered(String clientId, String clientName) {
+    }
+
+    /**
+     * Un client vient de se déconnecter
+     */
+    default void onClientUnregistered(String clientId, String clientName) {
+    }
+}
@@ -2,11 +2,14 @@ package com.auction.server;
 
 import com.auction.common.dto.*;
 import com.auction.common.dto.Message.MessageType;
+import com.auction.server.history.HistoryStore;
 
+import java.net.InetAddress;
 import java.text.DecimalFormat;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Gestionnaire central des enchères
@@ -17,32 +20,124 @@ public class AuctionManager {
     // Verrou pour la synchronisation des enchères
     private final ReentrantLock bidLock = new ReentrantLock();
     
-    // Produit actuellement en vente
+    // Produit actuellement en vente (modifié uniquement sous bidLock)
     private Product currentProduct;
     
-    // Historique des ventes
-    private final List<Product> salesHistory;
+    // Dernier état validé, republié à chaque changement pour les lectures sans verrou
+    // (instantané complet par vente, champs réécrits sans allocation à chaque enchère)
+    private final AuctionQuote quote = new AuctionQuote();
+    private long snapshotVersion;
     
-    // Clients connectés (clientId -> ClientHandler)
-    private final Map<String, ClientHandler> connectedClients;
+    // Échéances des ventes à durée limitée (clôture automatique)
+    private final HashedTimingWheel timer;
+    private HashedTimingWheel.Timeout closeTimeout;
     
-    // Clients bannis
-    private final Set<String> bannedClients;
+    // Offres de la vente sous pli en cours (null pour une enchère ascendante)
+    private volatile SealedBidBook sealedBook;
+    
+    // Enchère descendante en cours (null sinon)
+    private volatile DutchAuction dutchAuction;
+    
+    // Enchères acceptées de la vente en cours (sous bidLock, null sans vente)
+    private BidTrail bidTrail;
+    
+    // Prolongation anti-sniping et prolongation déjà accordée à la vente en cours
+    private volatile SoftCloseRule softCloseRule = SoftCloseRule.DISABLED;
+    private long extendedMillis;
+    
+    // Incrément minimum, saut maximum et prix de réserve des enchères ascendantes
+    private volatile BidRules bidRules = BidRules.NONE;
+    
+    // Historique des ventes et de leurs enchères (hors tas, débordant sur disque)
+    private final HistoryStore history;
+    
+    // Sessions connectées : gestionnaire, dernière offre (par vente) et bannissement par case
+    private final SessionRegistry sessions;
+    
+    // Adresses et plages bannies (vérifiées à l'acceptation des connexions)
+    private final AddressBanList addressBans;
     
     // Diffuseur Multicast
     private final MulticastBroadcaster broadcaster;
     
-    // Dernière enchère par client (par vente)
-    private final Map<String, Double> lastBids;
+    // Maximums secrets des enchères par procuration (par vente, sous bidLock)
+    private final ProxyBidEngine proxyBids;
+    
+    // Observateurs des événements d'enchère (journal, ...), tableau copié à chaque modification
+    private volatile AuctionEventListener[] listeners = new AuctionEventListener[0];
+    private final Object listenersLock = new Object();
+    
+    // Diffusion des enchères acceptées : objets réutilisés sous bidLock, sans allocation par enchère
+    // (les flux TCP sont réinitialisés après chaque message, l'objet peut être réécrit ensuite)
+    private final BidTick bidTick = new BidTick();
+    private final AuctionUpdate bidUpdate = new AuctionUpdate();
+    private final Message bidNotification = new Message(MessageType.AUCTION_UPDATE, null, bidUpdate);
+    
+    // Traces console de chaque enchère (désactivées en régime permanent)
+    private volatile boolean bidLogging = true;
     
-    private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00 'TND'");
+    // Numéros d'ordre déjà reçus par session client (renvois idempotents)
+    private final BidDeduplicator bidDeduplicator;
+    
+    // Changements versionnés de la liste des clients (synchronisation différentielle des admins)
+    private final ClientChangeLog clientChanges;
+    
+    // DecimalFormat n'est pas thread-safe : une instance par thread appelant (RMI)
+    private static final ThreadLocal<DecimalFormat> PRICE_FORMAT =
+        ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.00 'TND'"));
     
     public AuctionManager(MulticastBroadcaster broadcaster) {
+        this(broadcaster, new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 512, "auction-timer"));
+    }
+    
+    public AuctionManager(MulticastBroadcaster broadcaster, HistoryStore history) {
+        this(broadcaster, new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 512, "auction-timer"), history);
+    }
+    
+    public AuctionManager(MulticastBroadcaster broadcaster, HashedTimingWheel timer) {
+        this(broadcaster, timer, HistoryStore.inMemory());
+    }
+    
+    public AuctionManager(MulticastBroadcaster broadcaster, HashedTimingWheel timer, HistoryStore history) {
         this.broadcaster = broadcaster;
-        this.salesHistory = Collections.synchronizedList(new ArrayList<>());
-        this.connectedClients = new ConcurrentHashMap<>();
-        this.bannedClients = Collections.synchronizedSet(new HashSet<>());
-        this.lastBids = new ConcurrentHashMap<>();
+        this.timer = timer;
+        this.history = history;
+        this.sessions = new SessionRegistry(4096);
+        this.addressBans = new AddressBanList();
+        this.proxyBids = new ProxyBidEngine();
+        this.clientChanges = new ClientChangeLog(4096);
+        this.bidDeduplicator = new BidDeduplicator(256, 10_000);
+    }
+    
+    /**
+     * Ajoute un observateur des événements d'enchère
+     */
+    public void addListener(AuctionEventListener listener) {
+        synchronized (listenersLock) {
+            AuctionEventListener[] current = listeners;
+            AuctionEventListener[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            listeners = updated;
+        }
+    }
+    
+    public void removeListener(AuctionEventListener listener) {
+        synchronized (listenersLock) {
+            List<AuctionEventListener> remaining = new ArrayList<>(Arrays.asList(listeners));
+            remaining.remove(listener);
+            listeners = remaining.toArray(new AuctionEventListener[0]);
+        }
+    }
+    
+    /**
+     * Active ou coupe les traces console de chaque enchère (les changements de vente restent tracés)
+     */
+    public void setBidLogging(boolean bidLogging) {
+        this.bidLogging = bidLogging;
+    }
+    
+    public boolean isBidLogging() {
+        return bidLogging;
     }
     
     /**
@@ -53,42 +148,148 @@ public class AuctionManager {
      * @return true si l'enchère a été démarrée
      */
     public boolean startAuction(String productName, String description, double startingPrice) {
+        return openAuction(productName, description, startingPrice, 0) != null;
+    }
+    
+    /**
+     * Démarre une enchère clôturée automatiquement après la durée donnée
+     * @param durationMillis Durée de la vente (0 pour une clôture manuelle)
+     */
+    public boolean startAuction(String productName, String description, double startingPrice, long durationMillis) {
+        return openAuction(productName, description, startingPrice, durationMillis) != null;
+    }
+    
+    /**
+     * Démarre une nouvelle enchère et retourne l'identifiant du produit
+     * @param durationMillis Durée de la vente (0 pour une clôture manuelle)
+     * @return ID du produit, null si une enchère est déjà en cours
+     */
+    public String openAuction(String productName, String description, double startingPrice, long durationMillis) {
+        return openAuction(productName, description, startingPrice, durationMillis, AuctionType.OPEN);
+    }
+    
+    /**
+     * Démarre une vente du format donné et retourne l'identifiant du produit
+     * @param durationMillis Durée de la vente (0 pour une clôture manuelle)
+     * @param type Format de la vente (ascendante ou sous pli)
+     * @return ID du produit, null si une enchère est déjà en cours
+     */
+    public String openAuction(String productName, String description, double startingPrice, long durationMillis,
+                              AuctionType type) {
+        if (type == AuctionType.DUTCH) {
+            throw new IllegalArgumentException("Utiliser openDutchAuction pour une enchère descendante");
+        }
+        return open(productName, description, Price.of(startingPrice), durationMillis, type, null);
+    }
+    
+    /**
+     * Démarre une enchère descendante : le prix baisse d'un palier à chaque intervalle
+     * (diffusé en Multicast uniquement) et la première acceptation l'emporte
+     * @param floorPrice Prix plancher ; la vente se termine sans preneur après ce palier
+     * @param decrement Baisse à chaque palier
+     * @param intervalMillis Durée d'un palier
+     * @return ID du produit, null si une enchère est déjà en cours
+     */
+    public String openDutchAuction(String productName, String description, double startingPrice,
+                                   double floorPrice, double decrement, long intervalMillis) {
+        long start = Price.of(startingPrice);
+        DutchAuction dutch = new DutchAuction(start, Price.of(floorPrice), Price.of(decrement), intervalMillis);
+        return open(productName, description, start, 0, AuctionType.DUTCH, dutch);
+    }
+    
+    /**
+     * @param startingPrice Prix de départ en millimes (les montants saisis sont convertis aux points d'entrée)
+     */
+    private String open(String productName, String description, long startingPrice, long durationMillis,
+                        AuctionType type, DutchAuction dutch) {
         bidLock.lock();
         try {
             // Vérifier qu'aucune enchère n'est en cours
             if (currentProduct != null && currentProduct.isActive()) {
                 System.out.println("[AUCTION] Une enchère est déjà en cours");
-                return false;
+                return null;
             }
             
             // Créer le nouveau produit
             String productId = UUID.randomUUID().toString().substring(0, 8);
-            currentProduct = new Product(productId, productName, description, startingPrice);
+            currentProduct = new Product(productId, productName, description, 0);
+            currentProduct.setStartingPriceMinor(startingPrice);
+            currentProduct.setCurrentPriceMinor(startingPrice);
             currentProduct.setActive(true);
-            lastBids.clear();
+            currentProduct.setAuctionType(type);
+            sealedBook = type.isSealed() ? new SealedBidBook(type, startingPrice) : null;
+            dutchAuction = dutch;
+            bidTrail = new BidTrail(history.getBids());
+            if (dutch != null) {
+                closeTimeout = timer.schedule(() -> dutchTick(dutch), dutch.getIntervalMillis(), TimeUnit.MILLISECONDS);
+            } else if (durationMillis > 0) {
+                currentProduct.setEndTime(System.currentTimeMillis() + durationMillis);
+                closeTimeout = timer.schedule(() -> expireAuction(productId), durationMillis, TimeUnit.MILLISECONDS);
+            }
+            extendedMillis = 0;
+            clearLastBids();
+            publishSnapshot();
+            
+            System.out.println("[AUCTION] Nouvelle enchère démarrée: " + productName + " - " + Price.toString(startingPrice) + " TND"
+                + (durationMillis > 0 ? " (" + durationMillis / 1000 + " s)" : "")
+                + (type.isSealed() ? " [" + type.getLabel() + "]" : ""));
             
-            System.out.println("[AUCTION] Nouvelle enchère démarrée: " + productName + " - " + startingPrice + " TND");
+            notifyListeners(listener -> listener.onAuctionStarted(currentProduct));
             
             // Diffuser via Multicast
             AuctionUpdate update = AuctionUpdate.newAuction(productId, productName, description, startingPrice);
+            update.setDeadline(currentProduct.getEndTime());
+            update.setAuctionType(type);
+            if (type.isSealed()) {
+                update.setMessage(update.getMessage() + " - " + type.getLabel());
+            } else if (dutch != null) {
+                update.setMessage(update.getMessage() + " - " + type.getLabel() + ", baisse de "
+                    + Price.toString(dutch.getDecrement()) + " TND toutes les " + dutch.getIntervalMillis() / 1000.0 + " s");
+            }
             broadcaster.broadcast(update);
             
             // Notifier tous les clients connectés via TCP
             Message notification = new Message(MessageType.AUCTION_START, "Nouvelle enchère: " + productName, update);
             broadcastToClients(notification);
             
-            return true;
+            return productId;
         } finally {
             bidLock.unlock();
         }
     }
     
+    /**
+     * Place une enchère sans connexion associée (administration, tests) : la session est
+     * déduite de l'identifiant du client, hors verrou
+     * @see #placeBid(BidRequest, int)
+     */
+    public boolean placeBid(BidRequest bid) {
+        return placeBid(bid, SessionRegistry.parse(bid.getClientId()));
+    }
+    
     /**
      * Place une enchère (synchronisé avec verrou)
-     * @param bid La requête d'enchère
+     * @param bid La requête d'enchère (ou le maximum d'une enchère par procuration)
+     * @param sessionId Session de l'enchérisseur ({@link SessionRegistry#NO_SESSION} si aucune)
      * @return true si l'enchère est acceptée
      */
-    public boolean placeBid(BidRequest bid) {
+    public boolean placeBid(BidRequest bid, int sessionId) {
+        // Rejet rapide, sans verrou, des offres qui ne peuvent plus l'emporter
+        if (!quote.admits(bid.getAmountMinor(), bid.isProxy())) {
+            return false;
+        }
+        
+        // Vente sous pli : l'offre est seulement enregistrée, sans verrou ni diffusion
+        SealedBidBook book = sealedBook;
+        if (book != null) {
+            return submitSealedBid(book, bid, sessionId);
+        }
+        // Enchère descendante : acceptation départagée sans verrou
+        DutchAuction dutch = dutchAuction;
+        if (dutch != null) {
+            return acceptDutchPrice(dutch, bid, sessionId);
+        }
+        
         bidLock.lock();
         try {
             // Vérifications
@@ -97,35 +298,44 @@ public class AuctionManager {
                 return false;
             }
             
-            if (bid.getAmount() <= currentProduct.getCurrentPrice()) {
-                System.out.println("[AUCTION] Enchère refusée: montant insuffisant (" + 
-                    bid.getAmount() + " TND <= " + currentProduct.getCurrentPrice() + " TND)");
-                return false;
+            // Vente sous pli démarrée depuis la lecture ci-dessus
+            if (sealedBook != null) {
+                return submitSealedBid(sealedBook, bid, sessionId);
+            }
+            if (dutchAuction != null) {
+                return acceptDutchPrice(dutchAuction, bid, sessionId);
             }
             
-            // Accepter l'enchère
-            currentProduct.setCurrentPrice(bid.getAmount());
-            currentProduct.setHighestBidderId(bid.getClientId());
-            currentProduct.setHighestBidderName(bid.getClientName());
-            lastBids.put(bid.getClientId(), bid.getAmount());
-            
-            System.out.println("[AUCTION] Enchère acceptée: " + bid.getAmount() + " TND par " + bid.getClientName());
-            
-            // Diffuser la mise à jour via Multicast
-            AuctionUpdate update = AuctionUpdate.newBid(
-                currentProduct.getId(),
-                currentProduct.getName(),
-                bid.getAmount(),
-                bid.getClientId(),
-                bid.getClientName()
-            );
-            broadcaster.broadcast(update);
+            BidRules rules = bidRules;
+            long price = currentProduct.getCurrentPriceMinor();
+            long amount = bid.getAmountMinor();
+            if (amount < rules.minimumBid(price)) {
+                if (bidLogging) System.out.println("[AUCTION] Enchère refusée: montant insuffisant (" + 
+                    Price.toString(amount) + " TND < " + Price.toString(rules.minimumBid(price)) + " TND)");
+                return false;
+            }
+            if (!bid.isProxy() && amount > rules.maximumBid(price)) {
+                if (bidLogging) System.out.println("[AUCTION] Enchère refusée: saut trop important (" + 
+                    Price.toString(amount) + " TND > " + Price.toString(rules.maximumBid(price)) + " TND)");
+                return false;
+            }
             
-            // Notifier tous les clients connectés via TCP
-            Message notification = new Message(MessageType.AUCTION_UPDATE, 
-                "Nouvelle enchère: " + bid.getAmount() + " TND par " + bid.getClientName(), update);
-            broadcastToClients(notification);
+            if (bid.isProxy()) {
+                proxyBids.register(bid.getClientId(), bid.getClientName(), sessionId, amount);
+                if (bidLogging) System.out.println("[AUCTION] Enchère maximum enregistrée pour " + bid.getClientName());
+            } else {
+                // Accepter l'enchère
+                commitBid(bid, sessionId);
+                if (bidLogging) System.out.println("[AUCTION] Enchère acceptée: " + Price.toString(amount) + " TND par " + bid.getClientName());
+            }
             
+            // Les procurations répondent dans la même étape : une seule diffusion de l'état final
+            boolean settled = settleProxyBids();
+            if (settled || !bid.isProxy()) {
+                long extension = extendDeadline();
+                publishBid();
+                announceBid(extension);
+            }
             return true;
             
         } finally {
@@ -133,19 +343,220 @@ public class AuctionManager {
         }
     }
     
+    /**
+     * Enregistre une offre sous pli (acquittée uniquement auprès de son auteur)
+     */
+    private boolean submitSealedBid(SealedBidBook book, BidRequest bid, int sessionId) {
+        if (bid.isProxy()) {
+            return false;
+        }
+        return book.submit(bid.getClientId(), bid.getClientName(), sessionId, bid.getAmountMinor());
+    }
+    
+    /**
+     * Ouvre les plis et applique l'offre gagnante au produit courant (appelé sous bidLock)
+     */
+    private void settleSealedBids() {
+        SealedBidBook book = sealedBook;
+        if (book == null) {
+            return;
+        }
+        sealedBook = null;
+        SealedBidBook.Result result = book.seal();
+        System.out.println("[AUCTION] Ouverture des plis: " + result.getBidCount() + " offre(s)");
+        if (result.hasWinner()) {
+            BidRequest winningBid = BidRequest.ofMinor(result.getWinnerId(), result.getWinnerName(),
+                currentProduct.getId(), result.getPrice());
+            commitBid(winningBid, result.getWinnerSession());
+            System.out.println("[AUCTION] Meilleure offre: " + Price.toString(result.getHighestBid()) + " TND par "
+                + result.getWinnerName() + ", prix payé: " + Price.toString(result.getPrice()) + " TND");
+        }
+    }
+    
+    /**
+     * Accepte le prix courant d'une enchère descendante.
+     * Le gagnant est décidé par compare-and-set avant toute prise de verrou ;
+     * seul le gagnant clôture ensuite la vente.
+     */
+    private boolean acceptDutchPrice(DutchAuction dutch, BidRequest bid, int sessionId) {
+        if (bid.isProxy()) {
+            return false;
+        }
+        DutchAuction.Acceptance acceptance = dutch.tryAccept(bid.getClientId(), bid.getClientName(), sessionId, bid.getAmountMinor());
+        if (acceptance == null) {
+            return false;
+        }
+        bidLock.lock();
+        try {
+            // Une clôture manuelle concurrente a pu régler la vente avec ce même gagnant
+            if (dutchAuction == dutch) {
+                stopAuction();
+            }
+        } finally {
+            bidLock.unlock();
+        }
+        return true;
+    }
+    
+    /**
+     * Baisse programmée du prix d'une enchère descendante (thread du planificateur)
+     */
+    private void dutchTick(DutchAuction dutch) {
+        bidLock.lock();
+        try {
+            if (dutchAuction != dutch) {
+                return;
+            }
+            if (!dutch.advance()) {
+                // Gagnant en cours de clôture, ou plancher resté sans preneur pendant un palier
+                if (!dutch.isDecided()) {
+                    System.out.println("[AUCTION] Prix plancher atteint sans preneur");
+                    stopAuction();
+                }
+                return;
+            }
+            long price = dutch.getCurrentPrice();
+            currentProduct.setCurrentPriceMinor(price);
+            publishSnapshot();
+            
+            // Palier diffusé en Multicast uniquement (datagramme binaire compact)
+            broadcaster.broadcastTick(new PriceTick(currentProduct.getId(), dutch.getStep(), price,
+                (int) dutch.getIntervalMillis()));
+            closeTimeout = timer.schedule(() -> dutchTick(dutch), dutch.getIntervalMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            bidLock.unlock();
+        }
+    }
+    
+    /**
+     * Ferme l'enchère descendante et applique l'acceptation gagnante (appelé sous bidLock)
+     */
+    private void settleDutchAuction() {
+        DutchAuction dutch = dutchAuction;
+        if (dutch == null) {
+            return;
+        }
+        dutchAuction = null;
+        DutchAuction.Acceptance winner = dutch.close();
+        if (winner != null) {
+            commitBid(BidRequest.ofMinor(winner.getClientId(), winner.getClientName(), currentProduct.getId(), winner.getPrice()),
+                winner.getSessionId());
+            long latencyMicros = winner.getLatencyNanos() / 1000;
+            currentProduct.setAcceptLatencyMicros(latencyMicros);
+            System.out.println("[AUCTION] Prix accepté par " + winner.getClientName() + " au palier " + winner.getStep()
+                + ", " + latencyMicros + " µs après sa diffusion");
+        }
+    }
+    
+    /**
+     * Applique une enchère acceptée au produit courant (appelé sous bidLock)
+     * @param sessionId Session de l'enchérisseur, transmise depuis sa connexion
+     */
+    private void commitBid(BidRequest bid, int sessionId) {
+        currentProduct.setCurrentPriceMinor(bid.getAmountMinor());
+        currentProduct.setHighestBidderId(bid.getClientId());
+        currentProduct.setHighestBidderName(bid.getClientName());
+        sessions.setLastBid(sessionId, bid.getAmountMinor());
+        bidTrail.record(bid.getClientId(), bid.getClientName(), bid.getAmountMinor());
+        clientChanges.recordBid(bid.getClientId(), bid.getClientName(), bid.getAmountMinor());
+        // Boucle explicite : pas de lambda capturante allouée à chaque enchère
+        for (AuctionEventListener listener : listeners) {
+            try {
+                listener.onBidAccepted(currentProduct, bid);
+            } catch (RuntimeException e) {
+                System.err.println("[AUCTION] Erreur d'un observateur: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Règle les enchères par procuration face au prix courant (appelé sous bidLock)
+     * @return true si une procuration a pris ou conservé la tête à un nouveau prix
+     */
+    private boolean settleProxyBids() {
+        ProxyBidEngine.Resolution resolution =
+            proxyBids.resolve(currentProduct.getCurrentPriceMinor(), currentProduct.getHighestBidderId(), bidRules.proxyStep());
+        if (resolution == null) {
+            return false;
+        }
+        BidRequest proxyBid = BidRequest.ofMinor(resolution.getClientId(), resolution.getClientName(),
+            currentProduct.getId(), resolution.getPrice());
+        proxyBid.setProxy(true);
+        commitBid(proxyBid, resolution.getSessionId());
+        if (bidLogging) System.out.println("[AUCTION] Enchère automatique: " + Price.toString(resolution.getPrice()) + " TND pour " + resolution.getClientName());
+        return true;
+    }
+    
+    /**
+     * Diffuse le nouvel état de la vente après une enchère (appelé sous bidLock)
+     * @param extension Prolongation accordée en millisecondes
+     */
+    private void announceBid(long extension) {
+        long price = currentProduct.getCurrentPriceMinor();
+        long endTime = currentProduct.getEndTime();
+        
+        // Diffuser l'enchère via Multicast (datagramme binaire, le texte est composé par le client)
+        bidTick.set(currentProduct.getId(), currentProduct.getName(), price,
+            currentProduct.getHighestBidderId(), currentProduct.getHighestBidderName(), endTime, extension);
+        broadcaster.broadcastBid(bidTick);
+        
+        // Notifier tous les clients connectés via TCP
+        ClientHandler[] handlers = sessions.getHandlers();
+        if (handlers.length == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        bidUpdate.setUpdateType(AuctionUpdate.UpdateType.NEW_BID);
+        bidUpdate.setProductId(currentProduct.getId());
+        bidUpdate.setProductName(currentProduct.getName());
+        bidUpdate.setCurrentPriceMinor(price);
+        bidUpdate.setHighestBidder(currentProduct.getHighestBidderId());
+        bidUpdate.setHighestBidderName(currentProduct.getHighestBidderName());
+        bidUpdate.setDeadline(endTime);
+        bidUpdate.setExtensionMillis(extension);
+        bidUpdate.setTimestampMillis(now);
+        bidNotification.setTimestampMillis(now);
+        broadcastToClients(bidNotification);
+    }
+    
     /**
      * Clôture l'enchère en cours
      * @return Le produit vendu
      */
     public Product stopAuction() {
+        return stopAuction(null);
+    }
+    
+    /**
+     * Clôture l'enchère en cours seulement s'il s'agit du produit attendu
+     * (fin programmée d'un lot déjà clôturé ou remplacé entre-temps)
+     * @param productId ID attendu, null pour clôturer quelle que soit l'enchère
+     * @return Le produit vendu, null si rien n'a été clôturé
+     */
+    public Product stopAuction(String productId) {
         bidLock.lock();
         try {
             if (currentProduct == null || !currentProduct.isActive()) {
                 System.out.println("[AUCTION] Pas d'enchère à clôturer");
                 return null;
             }
+            if (productId != null && !productId.equals(currentProduct.getId())) {
+                return null;
+            }
+            
+            cancelCloseTimeout();
+            settleSealedBids();
+            settleDutchAuction();
             
             currentProduct.setActive(false);
+            boolean reserveMissed = currentProduct.getHighestBidderId() != null
+                && !bidRules.meetsReserve(currentProduct.getCurrentPriceMinor());
+            if (reserveMissed) {
+                System.out.println("[AUCTION] Prix de réserve non atteint (" + Price.toString(currentProduct.getCurrentPriceMinor())
+                    + " TND < " + Price.toString(bidRules.getReservePrice()) + " TND)");
+                currentProduct.setHighestBidderId(null);
+                currentProduct.setHighestBidderName(null);
+            }
             
             // Préparer le résultat
             Product soldProduct = currentProduct;
@@ -154,14 +565,14 @@ public class AuctionManager {
             if (currentProduct.getHighestBidderId() != null) {
                 System.out.println("[AUCTION] Enchère terminée: " + currentProduct.getName() + 
                     " vendu à " + currentProduct.getHighestBidderName() + 
-                    " pour " + currentProduct.getCurrentPrice() + " TND");
+                    " pour " + Price.toString(currentProduct.getCurrentPriceMinor()) + " TND");
                 
                 AuctionUpdate update = AuctionUpdate.auctionClosed(
                     currentProduct.getId(),
                     currentProduct.getName(),
                     currentProduct.getHighestBidderId(),
                     currentProduct.getHighestBidderName(),
-                    currentProduct.getCurrentPrice()
+                    currentProduct.getCurrentPriceMinor()
                 );
                 broadcaster.broadcast(update);
                 
@@ -176,20 +587,27 @@ public class AuctionManager {
                 update.setUpdateType(AuctionUpdate.UpdateType.AUCTION_CLOSED);
                 update.setProductId(currentProduct.getId());
                 update.setProductName(currentProduct.getName());
-                update.setMessage("Enchère terminée sans vente");
+                update.setMessage(reserveMissed ? "Enchère terminée sans vente - prix de réserve non atteint"
+                    : "Enchère terminée sans vente");
                 broadcaster.broadcast(update);
                 
                 Message notification = new Message(MessageType.AUCTION_END, 
-                    "Enchère terminée sans vente", update);
+                    update.getMessage(), update);
                 broadcastToClients(notification);
             }
             
-            // Ajouter à l'historique
-            salesHistory.add(soldProduct);
+            // Archiver la vente (hors tas, désignant sa plage d'enchères) ; le produit retourné
+            // garde une copie compacte de ses enchères
+            soldProduct.setBidHistory(bidTrail.toHistory());
+            history.getLots().add(soldProduct, bidTrail.getStartEpochMillis(), bidTrail.getFirst(), bidTrail.size());
+            bidTrail = null;
+            
+            notifyListeners(listener -> listener.onAuctionClosed(soldProduct));
             
             // Réinitialiser le produit courant
             currentProduct = null;
-            lastBids.clear();
+            clearLastBids();
+            publishSnapshot();
             
             return soldProduct;
         } finally {
@@ -208,6 +626,15 @@ public class AuctionManager {
                 return false;
             }
             
+            cancelCloseTimeout();
+            if (sealedBook != null) {
+                sealedBook.seal();
+                sealedBook = null;
+            }
+            if (dutchAuction != null) {
+                dutchAuction.close();
+                dutchAuction = null;
+            }
             System.out.println("[AUCTION] Enchère annulée: " + currentProduct.getName());
             
             AuctionUpdate update = new AuctionUpdate();
@@ -220,8 +647,13 @@ public class AuctionManager {
             Message notification = new Message(MessageType.AUCTION_END, "Enchère annulée", update);
             broadcastToClients(notification);
             
+            currentProduct.setActive(false);
+            notifyListeners(listener -> listener.onAuctionCancelled(currentProduct));
+            
             currentProduct = null;
-            lastBids.clear();
+            bidTrail = null;
+            clearLastBids();
+            publishSnapshot();
             return true;
         } finally {
             bidLock.unlock();
@@ -229,21 +661,33 @@ public class AuctionManager {
     }
     
     /**
-     * Bannit un client
-     * @param clientId ID du client
-     * @return true si le client a été banni
+     * Bannit un client, ainsi que son adresse source pour empêcher une reconnexion
+     * (sauf adresse locale, partagée par tous les clients lancés sur la machine du serveur)
+     * @param clientId ID du client (forme texte de l'identifiant de session)
+     * @return true si le client a été banni, false s'il n'est pas connecté
      */
     public boolean banClient(String clientId) {
-        if (clientId == null || clientId.isEmpty()) {
+        int sessionId = SessionRegistry.parse(clientId);
+        // Ses enchères sont refusées dès maintenant, jusqu'à la déconnexion
+        if (!sessions.ban(sessionId)) {
             return false;
         }
         
-        bannedClients.add(clientId);
-        lastBids.remove(clientId);
+        bidLock.lock();
+        try {
+            proxyBids.remove(clientId);
+        } finally {
+            bidLock.unlock();
+        }
         
         // Notifier le client s'il est connecté
-        ClientHandler handler = connectedClients.get(clientId);
+        ClientHandler handler = sessions.getHandler(sessionId);
         if (handler != null) {
+            InetAddress address = handler.getRemoteAddress();
+            if (address != null && !address.isLoopbackAddress()) {
+                String range = addressBans.ban(address);
+                System.out.println("[AUCTION] Adresse bannie: " + range);
+            }
             handler.forceDisconnect("Vous avez été banni par l'administrateur");
         }
         
@@ -252,34 +696,242 @@ public class AuctionManager {
     }
     
     /**
-     * Vérifie si un client est banni
+     * Vérifie si une session est bannie
+     */
+    public boolean isSessionBanned(int sessionId) {
+        return sessions.isBanned(sessionId);
+    }
+    
+    /**
+     * Bannit une adresse ou une plage CIDR et déconnecte les clients concernés
+     * @param cidr Adresse ou plage (ex: "192.168.1.0/24")
+     * @return La plage bannie sous forme canonique
+     */
+    public String banAddress(String cidr) {
+        String range = addressBans.ban(cidr);
+        System.out.println("[AUCTION] Plage bannie: " + range);
+        
+        for (ClientHandler handler : sessions.getHandlers()) {
+            InetAddress address = handler.getRemoteAddress();
+            if (address != null && addressBans.isBanned(address)) {
+                sessions.ban(handler.getSessionId());
+                handler.forceDisconnect("Votre adresse a été bannie par l'administrateur");
+            }
+        }
+        return range;
+    }
+    
+    /**
+     * Lève le bannissement d'une plage
      */
-    public boolean isClientBanned(String clientId) {
-        return bannedClients.contains(clientId);
+    public boolean unbanAddress(String cidr) {
+        boolean removed = addressBans.unban(cidr);
+        if (removed) {
+            System.out.println("[AUCTION] Plage débannie: " + cidr);
+        }
+        return removed;
     }
     
     /**
-     * Enregistre un nouveau client
+     * Vérifie si une connexion entrante doit être refusée (appelé à l'acceptation)
      */
-    public void registerClient(String clientId, String clientName, ClientHandler handler) {
-        connectedClients.put(clientId, handler);
+    public boolean isAddressBanned(InetAddress address) {
+        return addressBans.isBanned(address);
+    }
+    
+    public AddressBanList getAddressBans() {
+        return addressBans;
+    }
+    
+    /**
+     * Enregistre un nouveau client et lui attribue un identifiant de session
+     * @return Identifiant de session, {@link SessionRegistry#NO_SESSION} si le serveur est complet
+     */
+    public int registerClient(String clientName, ClientHandler handler) {
+        int sessionId = sessions.register(handler, clientName);
+        if (sessionId == SessionRegistry.NO_SESSION) {
+            System.out.println("[AUCTION] Connexion refusée (serveur complet): " + clientName);
+            return sessionId;
+        }
+        String clientId = SessionRegistry.format(sessionId);
+        clientChanges.record(ClientChange.Kind.JOINED, clientId, clientName);
         System.out.println("[AUCTION] Client enregistré: " + clientName + " (" + clientId + ")");
+        notifyListeners(listener -> listener.onClientRegistered(clientId, clientName));
+        return sessionId;
     }
     
     /**
-     * Désenregistre un client
+     * Désenregistre un client (sa case sera réutilisée avec une nouvelle génération)
      */
-    public void unregisterClient(String clientId) {
-        connectedClients.remove(clientId);
-        lastBids.remove(clientId);
+    public void unregisterClient(int sessionId) {
+        ClientHandler handler = sessions.unregister(sessionId);
+        String clientId = SessionRegistry.format(sessionId);
         System.out.println("[AUCTION] Client désenregistré: " + clientId);
+        if (handler != null) {
+            clientChanges.record(ClientChange.Kind.LEFT, clientId, handler.getClientName());
+            notifyListeners(listener -> listener.onClientUnregistered(clientId, handler.getClientName()));
+        }
+    }
+    
+    /**
+     * Applique la règle anti-sniping après une enchère acceptée (appelé sous bidLock).
+     * L'échéance existante est simplement repoussée dans le planificateur.
+     * @return Prolongation accordée en millisecondes (0 si aucune)
+     */
+    private long extendDeadline() {
+        long endTime = currentProduct.getEndTime();
+        if (endTime == 0 || closeTimeout == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long extension = softCloseRule.extensionFor(endTime - now, extendedMillis);
+        if (extension == 0) {
+            return 0;
+        }
+        endTime += extension;
+        extendedMillis += extension;
+        currentProduct.setEndTime(endTime);
+        closeTimeout.postpone(endTime - now, TimeUnit.MILLISECONDS);
+        System.out.println("[AUCTION] Vente prolongée de " + extension / 1000.0 + " s (total " + extendedMillis / 1000.0 + " s)");
+        return extension;
+    }
+    
+    /**
+     * Échéance d'une vente à durée limitée (thread du planificateur)
+     */
+    private void expireAuction(String productId) {
+        bidLock.lock();
+        try {
+            if (currentProduct == null || !productId.equals(currentProduct.getId())) {
+                return;
+            }
+            // Prolongation arrivée pendant le déclenchement : reprogrammer la fin
+            long remaining = currentProduct.getEndTime() - System.currentTimeMillis();
+            if (remaining > 0) {
+                closeTimeout = timer.schedule(() -> expireAuction(productId), remaining, TimeUnit.MILLISECONDS);
+                return;
+            }
+            stopAuction(productId);
+        } finally {
+            bidLock.unlock();
+        }
+    }
+    
+    /**
+     * Modifie la règle anti-sniping (appliquée dès la prochaine enchère)
+     */
+    public void setSoftCloseRule(SoftCloseRule rule) {
+        this.softCloseRule = rule;
+        System.out.println("[AUCTION] Règle de prolongation: " + rule);
+    }
+    
+    public SoftCloseRule getSoftCloseRule() {
+        return softCloseRule;
+    }
+    
+    /**
+     * Modifie les règles d'enchère (la plage publiée est recalculée immédiatement)
+     */
+    public void setBidRules(BidRules rules) {
+        bidLock.lock();
+        try {
+            this.bidRules = rules;
+            if (currentProduct != null) {
+                publishSnapshot();
+            }
+        } finally {
+            bidLock.unlock();
+        }
+        System.out.println("[AUCTION] Règles d'enchère: " + rules);
+    }
+    
+    public BidRules getBidRules() {
+        return bidRules;
+    }
+    
+    /**
+     * Annule la clôture automatique de la vente en cours (appelé sous bidLock)
+     */
+    private void cancelCloseTimeout() {
+        if (closeTimeout != null) {
+            closeTimeout.cancel();
+            closeTimeout = null;
+        }
+    }
+    
+    /**
+     * Arrête les clôtures automatiques (arrêt du serveur)
+     */
+    public void shutdown() {
+        timer.stop();
+    }
+    
+    /**
+     * Publie l'état courant (appelé sous bidLock après chaque changement validé)
+     */
+    private void publishSnapshot() {
+        if (currentProduct == null) {
+            quote.publish(AuctionSnapshot.of(++snapshotVersion, null));
+            return;
+        }
+        long price = currentProduct.getCurrentPriceMinor();
+        long minimumBid;
+        long maximumBid = Price.UNLIMITED;
+        switch (currentProduct.getAuctionType()) {
+            case SEALED_FIRST_PRICE:
+            case SEALED_SECOND_PRICE:
+                // Le prix de départ sert de prix de réserve
+                minimumBid = currentProduct.getStartingPriceMinor();
+                break;
+            case DUTCH:
+                // Acceptation au prix affiché
+                minimumBid = price;
+                break;
+            default:
+                minimumBid = bidRules.minimumBid(price);
+                maximumBid = bidRules.maximumBid(price);
+        }
+        quote.publish(AuctionSnapshot.of(++snapshotVersion, currentProduct, minimumBid, maximumBid));
+    }
+    
+    /**
+     * Republie les champs modifiés par une enchère ascendante (appelé sous bidLock, sans allocation)
+     */
+    private void publishBid() {
+        long price = currentProduct.getCurrentPriceMinor();
+        BidRules rules = bidRules;
+        quote.publishBid(++snapshotVersion, price, currentProduct.getHighestBidderId(),
+            currentProduct.getHighestBidderName(), currentProduct.getEndTime(),
+            rules.minimumBid(price), rules.maximumBid(price));
+    }
+    
+    /**
+     * Efface les offres et les procurations de la vente précédente (appelé sous bidLock)
+     */
+    private void clearLastBids() {
+        sessions.clearLastBids();
+        proxyBids.clear();
+        clientChanges.record(ClientChange.Kind.BIDS_CLEARED, null, null);
+    }
+    
+    /**
+     * Notifie les observateurs (une erreur d'observateur n'interrompt pas l'enchère)
+     */
+    private void notifyListeners(Consumer<AuctionEventListener> event) {
+        for (AuctionEventListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                System.err.println("[AUCTION] Erreur d'un observateur: " + e.getMessage());
+            }
+        }
     }
     
     /**
      * Diffuse un message à tous les clients connectés via TCP
      */
     private void broadcastToClients(Message message) {
-        for (ClientHandler handler : connectedClients.values()) {
+        for (ClientHandler handler : sessions.getHandlers()) {
             if (handler.isConnected()) {
                 handler.sendMessage(message);
             }
@@ -288,32 +940,116 @@ public class AuctionManager {
     
     // Getters
     
+    /**
+     * Produit courant modifiable, réservé au fil qui détient le verrou et aux tests ;
+     * les autres lecteurs utilisent {@link #getSnapshot()}
+     */
     public Product getCurrentProduct() {
         return currentProduct;
     }
     
+    /**
+     * Dernier état validé de l'enchère (cohérent, sans verrou)
+     */
+    public AuctionSnapshot getSnapshot() {
+        return quote.snapshot();
+    }
+    
+    /**
+     * Plage publiée, lisible sans allocation (rejet rapide des offres)
+     */
+    public AuctionQuote getQuote() {
+        return quote;
+    }
+    
+    public BidDeduplicator getBidDeduplicator() {
+        return bidDeduplicator;
+    }
+    
+    /**
+     * Enchères d'une vente : vente en cours ou vente de l'historique
+     * @param productId ID du produit, null pour la vente en cours
+     * @return Historique compact, null si le produit est inconnu
+     */
+    public BidHistory getBidHistory(String productId) {
+        bidLock.lock();
+        try {
+            if (currentProduct != null && (productId == null || productId.equals(currentProduct.getId()))) {
+                return bidTrail.toHistory();
+            }
+        } finally {
+            bidLock.unlock();
+        }
+        if (productId == null) {
+            return null;
+        }
+        int lot = history.getLots().find(productId);
+        return lot >= 0 ? history.bidHistoryOf(lot) : null;
+    }
+    
     public List<String> getConnectedClientIds() {
-        return new ArrayList<>(connectedClients.keySet());
+        List<String> ids = new ArrayList<>();
+        sessions.forEach((sessionId, clientName, hasBid, lastBid) -> ids.add(SessionRegistry.format(sessionId)));
+        return ids;
     }
     
     public List<String> getConnectedClientNames() {
         List<String> names = new ArrayList<>();
-        for (ClientHandler handler : connectedClients.values()) {
-            String label = handler.getClientName() + " (" + handler.getClientId() + ")";
-            Double bid = lastBids.get(handler.getClientId());
-            if (bid != null) {
-                label += " - Offre: " + priceFormat.format(bid);
+        DecimalFormat format = PRICE_FORMAT.get();
+        sessions.forEach((sessionId, clientName, hasBid, lastBid) -> {
+            String label = clientName + " (" + SessionRegistry.format(sessionId) + ")";
+            if (hasBid) {
+                label += " - Offre: " + format.format(Price.toDouble(lastBid));
             }
             names.add(label);
-        }
+        });
         return names;
     }
     
+    /**
+     * Changements de la liste des clients depuis une version
+     * @param sinceVersion Dernière version connue (0 pour un état complet)
+     */
+    public ClientDelta getConnectedClientsSince(long sinceVersion) {
+        return clientChanges.since(sinceVersion, () -> {
+            List<ClientChange> state = new ArrayList<>();
+            sessions.forEach((sessionId, clientName, hasBid, lastBid) -> {
+                ClientChange change = new ClientChange(0, ClientChange.Kind.JOINED,
+                    SessionRegistry.format(sessionId), clientName);
+                if (hasBid) {
+                    change.setLastBidMinor(lastBid);
+                }
+                state.add(change);
+            });
+            return state;
+        });
+    }
+    
+    /**
+     * Ventes archivées, reconstruites sur le tas (enchères à lire avec {@link #getBidHistory})
+     */
     public List<Product> getSalesHistory() {
-        return new ArrayList<>(salesHistory);
+        return history.getLots().toProducts(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retourne une tranche de l'historique sans reconstruire les autres ventes
+     * @param fromIndex Index de la première vente
+     * @param maxCount Nombre maximum de ventes retournées
+     */
+    public List<Product> getSalesHistory(int fromIndex, int maxCount) {
+        return history.getLots().toProducts(fromIndex, maxCount);
+    }
+
+    public int getSalesHistorySize() {
+        return history.getLots().size();
     }
     
+    public HistoryStore getHistory() {
+        return history;
+    }
+
     public int getConnectedClientCount() {
-        return connectedClients.size();
+        return sessions.size();
     }
 }
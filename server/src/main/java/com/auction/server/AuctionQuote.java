@@ -0,0 +1,148 @@
+package com.auction.server;
+
+import com.auction.common.dto.AuctionSnapshot;
+
+/**
+ * Cotation publiée de l'enchère en cours : instantané de la vente et champs modifiés
+ * à chaque enchère (prix, meilleur enchérisseur, fin programmée, plage recevable).
+ *
+ * Un changement de vente (ouverture, clôture, règles) publie un {@link AuctionSnapshot} complet ;
+ * une enchère ne réécrit que les champs qui changent, protégés par un compteur de séquence
+ * (impair pendant l'écriture) : aucune allocation par enchère. Les lecteurs relisent jusqu'à
+ * obtenir une copie cohérente ; l'instantané complet n'est reconstruit qu'à la demande
+ * (connexion d'un client, administration), et au plus une fois par version.
+ *
+ * Un seul écrivain à la fois (verrou des enchères) ; lecture sans verrou.
+ */
+public class AuctionQuote {
+
+    private volatile long sequence;
+
+    // Dernier instantané complet et champs modifiés depuis par les enchères
+    private volatile AuctionSnapshot base = AuctionSnapshot.NONE;
+    private volatile long version;
+    private volatile long currentPrice;
+    private volatile String highestBidderId;
+    private volatile String highestBidderName;
+    private volatile long endTime;
+    private volatile long minimumBid;
+    private volatile long maximumBid;
+
+    // Dernier instantané reconstruit (cache, peut être remplacé par plusieurs lecteurs)
+    private volatile AuctionSnapshot materialized = AuctionSnapshot.NONE;
+
+    /**
+     * Publie un instantané complet (changement de vente)
+     */
+    public void publish(AuctionSnapshot snapshot) {
+        long s = sequence;
+        sequence = s + 1;
+        base = snapshot;
+        version = snapshot.getVersion();
+        currentPrice = snapshot.getCurrentPriceMinor();
+        highestBidderId = snapshot.getHighestBidderId();
+        highestBidderName = snapshot.getHighestBidderName();
+        endTime = snapshot.getEndTime();
+        minimumBid = snapshot.getMinimumBidMinor();
+        maximumBid = snapshot.getMaximumBidMinor();
+        sequence = s + 2;
+        materialized = snapshot;
+    }
+
+    /**
+     * Publie une enchère acceptée sur la vente de l'instantané courant (sans allocation)
+     */
+    public void publishBid(long version, long currentPrice, String highestBidderId, String highestBidderName,
+                           long endTime, long minimumBid, long maximumBid) {
+        long s = sequence;
+        sequence = s + 1;
+        this.version = version;
+        this.currentPrice = currentPrice;
+        this.highestBidderId = highestBidderId;
+        this.highestBidderName = highestBidderName;
+        this.endTime = endTime;
+        this.minimumBid = minimumBid;
+        this.maximumBid = maximumBid;
+        sequence = s + 2;
+    }
+
+    /**
+     * Vérifie une offre contre la plage publiée (rejet rapide, sans allocation).
+     * Le saut maximum ne s'applique pas au maximum secret d'une enchère automatique.
+     */
+    public boolean admits(long amount, boolean proxy) {
+        while (true) {
+            long s = sequence;
+            if ((s & 1) == 0) {
+                boolean active = base.isActive();
+                long minimum = minimumBid;
+                long maximum = maximumBid;
+                if (sequence == s) {
+                    return active && amount >= minimum && (proxy || amount <= maximum);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Instantané de la vente (champs structurels : produit, format, état)
+     */
+    public AuctionSnapshot getBase() {
+        return base;
+    }
+
+    public long getMinimumBid() {
+        while (true) {
+            long s = sequence;
+            long minimum = minimumBid;
+            if ((s & 1) == 0 && sequence == s) {
+                return minimum;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public long getMaximumBid() {
+        while (true) {
+            long s = sequence;
+            long maximum = maximumBid;
+            if ((s & 1) == 0 && sequence == s) {
+                return maximum;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Instantané cohérent complet (reconstruit si des enchères ont suivi le dernier)
+     */
+    public AuctionSnapshot snapshot() {
+        while (true) {
+            long s = sequence;
+            if ((s & 1) == 0) {
+                AuctionSnapshot snapshotBase = base;
+                long currentVersion = version;
+                AuctionSnapshot cached = materialized;
+                if (cached.getVersion() == currentVersion && sequence == s) {
+                    return cached;
+                }
+                long price = currentPrice;
+                String bidderId = highestBidderId;
+                String bidderName = highestBidderName;
+                long end = endTime;
+                long minimum = minimumBid;
+                long maximum = maximumBid;
+                if (sequence == s) {
+                    AuctionSnapshot rebuilt = new AuctionSnapshot(currentVersion, snapshotBase.getProductId(),
+                        snapshotBase.getProductName(), snapshotBase.getDescription(), snapshotBase.getStartingPriceMinor(),
+                        price, bidderId, bidderName, snapshotBase.isActive(), end, snapshotBase.getAuctionType(),
+                        minimum, maximum);
+                    materialized = rebuilt;
+                    return rebuilt;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.auction.server;
+
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.dto.LotSpec;
+import com.auction.common.dto.Product;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * File d'exécution d'un catalogue de lots.
+ *
+ * Les lots sont démarrés les uns après les autres, sans intervention de l'administrateur :
+ * chaque lot est une vente à durée limitée (clôturée par le planificateur du gestionnaire)
+ * et la fin d'une vente (programmée ou manuelle) déclenche immédiatement le lot suivant. Tout le pilotage se fait sur un seul
+ * thread dédié ; les événements du gestionnaire ne font qu'y déposer une tâche.
+ */
+public class AuctionRunQueue implements AuctionEventListener {
+
+    private final AuctionManager auctionManager;
+    private final Consumer<AdminEvent> progressListener;
+    private final ExecutorService executor;
+
+    // Lots en attente, par ordre puis par ordre d'envoi (protégé par this)
+    private final PriorityQueue<QueuedLot> pending = new PriorityQueue<>();
+    private long sequence;
+
+    // État du lot en cours (thread de la file uniquement)
+    private String runningProductId;
+    private String runningName;
+    private int lotsDone;
+
+    /**
+     * @param auctionManager Gestionnaire des enchères
+     * @param progressListener Reçoit l'avancement (démarrage de lot, fin de file)
+     */
+    public AuctionRunQueue(AuctionManager auctionManager, Consumer<AdminEvent> progressListener) {
+        this.auctionManager = auctionManager;
+        this.progressListener = progressListener;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ajoute des lots à la file (tous validés avant d'en ajouter un seul)
+     * @return Nombre de lots en attente
+     * @throws IllegalArgumentException si un lot est invalide
+     */
+    public int schedule(List<LotSpec> lots) {
+        for (LotSpec lot : lots) {
+            lot.validate();
+        }
+        int size;
+        synchronized (this) {
+            for (LotSpec lot : lots) {
+                pending.add(new QueuedLot(lot, sequence++));
+            }
+            size = pending.size();
+        }
+        System.out.println("[QUEUE] " + lots.size() + " lot(s) ajouté(s), " + size + " en attente");
+        executor.execute(this::startNext);
+        return size;
+    }
+
+    /**
+     * Vide la file (le lot en cours se termine normalement)
+     * @return Nombre de lots retirés
+     */
+    public synchronized int clear() {
+        int removed = pending.size();
+        pending.clear();
+        System.out.println("[QUEUE] File vidée (" + removed + " lot(s) retiré(s))");
+        return removed;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    // === Événements du gestionnaire (appelés sous son verrou : simple dépôt de tâche) ===
+
+    @Override
+    public void onAuctionClosed(Product soldProduct) {
+        String productId = soldProduct.getId();
+        executor.execute(() -> lotFinished(productId));
+    }
+
+    @Override
+    public void onAuctionCancelled(Product product) {
+        String productId = product.getId();
+        executor.execute(() -> lotFinished(productId));
+    }
+
+    /**
+     * Fin d'une vente : comptabilise le lot s'il vient de la file, puis démarre le suivant
+     */
+    private void lotFinished(String productId) {
+        if (productId.equals(runningProductId)) {
+            runningProductId = null;
+            lotsDone++;
+            System.out.println("[QUEUE] Lot terminé: " + runningName);
+            runningName = null;
+        }
+        startNext();
+    }
+
+    /**
+     * Démarre le prochain lot si aucune vente n'est en cours
+     */
+    private void startNext() {
+        if (runningProductId != null) {
+            return;
+        }
+
+        QueuedLot next;
+        synchronized (this) {
+            next = pending.poll();
+        }
+        if (next == null) {
+            if (lotsDone > 0) {
+                System.out.println("[QUEUE] Catalogue terminé (" + lotsDone + " lot(s))");
+                progressListener.accept(AdminEvent.queueProgress(null, lotsDone, 0));
+                lotsDone = 0;
+            }
+            return;
+        }
+
+        LotSpec lot = next.lot;
+        String productId = auctionManager.openAuction(lot.getName(), lot.getDescription(),
+            lot.getStartingPrice(), lot.getDurationSeconds() * 1000L);
+        if (productId == null) {
+            // Vente manuelle en cours : le lot sera démarré à sa fin
+            synchronized (this) {
+                pending.add(next);
+            }
+            return;
+        }
+
+        runningProductId = productId;
+        runningName = lot.getName();
+
+        int remaining = getPendingCount();
+        System.out.println("[QUEUE] Lot démarré: " + lot.getName() + " (" + lot.getDurationSeconds() + " s, "
+            + remaining + " restant(s))");
+        progressListener.accept(AdminEvent.queueProgress(lot.getName(), lotsDone, remaining));
+    }
+
+    /**
+     * Arrête la file (la vente en cours n'est pas clôturée)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lot en attente avec son rang d'arrivée (départage les lots de même ordre)
+     */
+    private static final class QueuedLot implements Comparable<QueuedLot> {
+        private final LotSpec lot;
+        private final long sequence;
+
+        QueuedLot(LotSpec lot, long sequence) {
+            this.lot = lot;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(QueuedLot other) {
+            int byOrder = Integer.compare(lot.getOrder(), other.lot.getOrder());
+            return byOrder != 0 ? byOrder : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.auction.server;
 
 import com.auction.common.constants.NetworkConfig;
+import com.auction.server.export.ExportServer;
+import com.auction.server.history.HistoryConfig;
+import com.auction.server.history.HistoryStore;
+import com.auction.server.journal.BidJournal;
+import com.auction.server.journal.JournalConfig;
 import com.auction.server.rmi.AuctionAdminImpl;
+import com.auction.server.stats.TimeSeriesStore;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.util.concurrent.ExecutorService;
@@ -17,18 +27,36 @@ import java.util.concurrent.Executors;
  */
 public class AuctionServer {
     
+    // Répertoire des données persistées (exportables)
+    private static final Path DATA_DIRECTORY = Paths.get("auction-data");
+    
     private final int tcpPort;
     private final ExecutorService threadPool;
     private final AuctionManager auctionManager;
     private final MulticastBroadcaster broadcaster;
+    private final ExportServer exportServer;
+    private final BidJournal journal;
+    private final TimeSeriesStore timeSeries;
+    private final HistoryStore history;
+    private AuctionAdminImpl adminService;
     private ServerSocket serverSocket;
     private boolean running;
     
     public AuctionServer() {
         this.tcpPort = NetworkConfig.TCP_PORT;
-        this.threadPool = Executors.newFixedThreadPool(10); // ThreadPool limité à 10 clients
+        // ThreadPool limité à 10 clients (-Dauction.clientThreads=N pour les essais de charge)
+        this.threadPool = Executors.newFixedThreadPool(Integer.getInteger("auction.clientThreads", 10));
         this.broadcaster = new MulticastBroadcaster();
-        this.auctionManager = new AuctionManager(broadcaster);
+        this.history = new HistoryStore(DATA_DIRECTORY.resolve("history"), HistoryConfig.defaults());
+        this.auctionManager = new AuctionManager(broadcaster, history);
+        this.auctionManager.setSoftCloseRule(SoftCloseRule.defaults());
+        this.auctionManager.setBidRules(BidRules.defaults());
+        // -Dauction.steadyState=true : aucune trace par enchère (chemin d'enchère sans allocation)
+        this.auctionManager.setBidLogging(!Boolean.getBoolean("auction.steadyState"));
+        // Canal d'export non authentifié : interface locale, sauf -Dauction.exportAddress=<interface>
+        this.exportServer = new ExportServer(NetworkConfig.EXPORT_PORT, exportAddress(), DATA_DIRECTORY, auctionManager);
+        this.journal = new BidJournal(DATA_DIRECTORY, JournalConfig.defaults());
+        this.timeSeries = new TimeSeriesStore();
         this.running = false;
     }
     
@@ -37,9 +65,21 @@ public class AuctionServer {
      */
     public void start() {
         try {
+            // Ouvrir le journal des enchères
+            startJournal();
+            
+            // Débordement sur disque de l'historique hors tas
+            startHistory();
+            
+            // Reprendre les statistiques agrégées
+            startTimeSeries();
+            
             // Démarrer le service RMI
             startRmiService();
             
+            // Démarrer le canal d'export
+            startExportService();
+            
             // Démarrer le serveur TCP
             startTcpServer();
             
@@ -54,7 +94,7 @@ public class AuctionServer {
      */
     private void startRmiService() {
         try {
-            AuctionAdminImpl adminService = new AuctionAdminImpl(auctionManager);
+            adminService = new AuctionAdminImpl(auctionManager, timeSeries);
             
             // Créer ou obtenir le registre RMI
             Registry registry;
@@ -76,6 +116,53 @@ public class AuctionServer {
         }
     }
     
+    /**
+     * Ouvre le journal et l'abonne aux événements d'enchère
+     */
+    private void startJournal() {
+        try {
+            journal.open();
+            auctionManager.addListener(journal);
+        } catch (IOException e) {
+            System.err.println("[JOURNAL] Journal indisponible: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Crée les fichiers de débordement de l'historique (sans eux, il reste en mémoire directe)
+     */
+    private void startHistory() {
+        try {
+            history.open();
+        } catch (IOException e) {
+            System.err.println("[HISTORY] Débordement disque indisponible: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Reprend les statistiques sauvegardées et les abonne aux événements d'enchère
+     */
+    private void startTimeSeries() {
+        try {
+            timeSeries.open(DATA_DIRECTORY.resolve("timeseries.bin"));
+        } catch (IOException e) {
+            System.err.println("[STATS] Statistiques précédentes illisibles: " + e.getMessage());
+        }
+        // Les statistiques restent collectées en mémoire même sans fichier
+        auctionManager.addListener(timeSeries);
+    }
+    
+    /**
+     * Démarre le canal d'export en flux (historique, journal)
+     */
+    private void startExportService() {
+        try {
+            exportServer.start();
+        } catch (IOException e) {
+            System.err.println("[EXPORT] Erreur lors du démarrage du canal d'export: " + e.getMessage());
+        }
+    }
+    
     /**
      * Démarre le serveur TCP pour les clients
      */
@@ -90,12 +177,19 @@ public class AuctionServer {
             System.out.println("[TCP] Serveur démarré sur le port " + tcpPort);
             System.out.println("[MULTICAST] Groupe: " + NetworkConfig.MULTICAST_GROUP + ":" + NetworkConfig.MULTICAST_PORT);
             System.out.println("[RMI] Service: " + NetworkConfig.RMI_SERVICE_NAME);
+            System.out.println("[EXPORT] Port: " + NetworkConfig.EXPORT_PORT);
             System.out.println("=========================================");
             System.out.println("En attente de connexions...\n");
             
             while (running) {
                 try {
                     Socket clientSocket = serverSocket.accept();
+                    
+                    // Refuser les adresses bannies avant toute initialisation de flux
+                    if (auctionManager.isAddressBanned(clientSocket.getInetAddress())) {
+                        rejectConnection(clientSocket);
+                        continue;
+                    }
                     System.out.println("[TCP] Nouvelle connexion de: " + clientSocket.getInetAddress());
                     
                     // Créer un handler pour ce client et le soumettre au pool
@@ -115,6 +209,35 @@ public class AuctionServer {
         }
     }
     
+    /**
+     * Interface d'écoute du canal d'export (locale par défaut)
+     */
+    private static InetAddress exportAddress() {
+        String address = System.getProperty("auction.exportAddress");
+        if (address == null) {
+            return InetAddress.getLoopbackAddress();
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            System.err.println("[EXPORT] Interface inconnue " + address + ", écoute locale uniquement");
+            return InetAddress.getLoopbackAddress();
+        }
+    }
+    
+    /**
+     * Ferme immédiatement une connexion refusée (RST, sans attente de fermeture) et la comptabilise
+     */
+    private void rejectConnection(Socket clientSocket) {
+        auctionManager.getAddressBans().recordRejection();
+        try {
+            clientSocket.setSoLinger(true, 0);
+            clientSocket.close();
+        } catch (IOException e) {
+            // Ignorer les erreurs de fermeture
+        }
+    }
+    
     /**
      * Arrête le serveur proprement
      */
@@ -130,6 +253,14 @@ public class AuctionServer {
         }
         
         threadPool.shutdown();
+        exportServer.close();
+        if (adminService != null) {
+            adminService.shutdown();
+        }
+        auctionManager.shutdown();
+        journal.close();
+        timeSeries.close();
+        history.close();
         broadcaster.close();
         
         System.out.println("\n[SERVEUR] Arrêt du serveur d'enchères");
@@ -140,6 +271,11 @@ public class AuctionServer {
     }
     
     public static void main(String[] args) {
+        // Délai de réponse des appels RMI sortants (événements poussés aux administrateurs) :
+        // un administrateur disparu sans fermer la connexion ne bloque pas un thread indéfiniment
+        if (System.getProperty("sun.rmi.transport.tcp.responseTimeout") == null) {
+            System.setProperty("sun.rmi.transport.tcp.responseTimeout", "10000");
+        }
         AuctionServer server = new AuctionServer();
         
         // Ajouter un hook pour arrêter proprement le serveur
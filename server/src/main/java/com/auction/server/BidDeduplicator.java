@@ -0,0 +1,160 @@
+package com.auction.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Détection des enchères reçues plusieurs fois (renvoi après un délai ou une reconnexion).
+ *
+ * Chaque session client (clé choisie par le client, stable entre reconnexions) a une fenêtre
+ * glissante des derniers numéros d'ordre reçus avec leur résultat : un doublon reçoit la réponse
+ * du premier envoi sans repasser par le moteur d'enchères. Un numéro plus ancien que la fenêtre
+ * est refusé. Le nombre de sessions suivies est borné (les moins récemment actives sont oubliées).
+ *
+ * La clé étant choisie par le client, elle est liée à la connexion qui l'utilise en premier :
+ * tant que cette connexion est ouverte, une autre connexion présentant la même clé est refusée
+ * (elle ne peut ni rejouer ni masquer les enchères d'un autre acheteur). La connexion libère la
+ * clé en se fermant, ce qui permet au client de la reprendre après une reconnexion.
+ */
+public class BidDeduplicator {
+
+    /**
+     * Résultat de la réservation d'un numéro d'ordre
+     */
+    public enum Status {
+        // Première réception : à traiter puis à compléter
+        NEW,
+        // Déjà traité et accepté
+        DUPLICATE_ACCEPTED,
+        // Déjà traité et refusé
+        DUPLICATE_REJECTED,
+        // Premier envoi encore en cours de traitement
+        IN_PROGRESS,
+        // Plus ancien que la fenêtre : impossible de savoir s'il a été traité
+        EXPIRED,
+        // Clé liée à une autre connexion encore ouverte
+        FOREIGN
+    }
+
+    private static final byte EMPTY = 0;
+    private static final byte PENDING = 1;
+    private static final byte ACCEPTED = 2;
+    private static final byte REJECTED = 3;
+
+    private final int windowSize;
+    private final Map<String, Window> sessions;
+
+    /**
+     * @param windowSize Nombre de numéros d'ordre mémorisés par session
+     * @param maxSessions Nombre maximum de sessions suivies
+     */
+    public BidDeduplicator(int windowSize, int maxSessions) {
+        if (windowSize <= 0 || maxSessions <= 0) {
+            throw new IllegalArgumentException("Fenêtre et nombre de sessions doivent être positifs");
+        }
+        this.windowSize = windowSize;
+        this.sessions = new LinkedHashMap<String, Window>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    /**
+     * Réserve un numéro d'ordre avant traitement, en liant la clé à la connexion si elle est libre
+     * @param owner Connexion qui présente la clé
+     * @return NEW si l'enchère doit être traitée (appeler ensuite {@link #complete})
+     */
+    public Status claim(String sessionKey, Object owner, long sequence) {
+        Window window = window(sessionKey, owner);
+        return window != null ? window.claim(sequence) : Status.FOREIGN;
+    }
+
+    /**
+     * Enregistre le résultat d'une enchère réservée
+     */
+    public void complete(String sessionKey, Object owner, long sequence, boolean accepted) {
+        Window window = window(sessionKey, owner);
+        if (window != null) {
+            window.complete(sequence, accepted);
+        }
+    }
+
+    /**
+     * Libère la clé à la fermeture de la connexion (la fenêtre est conservée pour les renvois)
+     */
+    public synchronized void release(String sessionKey, Object owner) {
+        Window window = sessions.get(sessionKey);
+        if (window != null && window.owner == owner) {
+            window.owner = null;
+        }
+    }
+
+    public synchronized int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @return null si la clé est liée à une autre connexion
+     */
+    private synchronized Window window(String sessionKey, Object owner) {
+        // get/put plutôt que computeIfAbsent : pas de lambda à chaque enchère
+        Window window = sessions.get(sessionKey);
+        if (window == null) {
+            window = new Window(windowSize);
+            sessions.put(sessionKey, window);
+        }
+        if (window.owner == null) {
+            window.owner = owner;
+        } else if (window.owner != owner) {
+            return null;
+        }
+        return window;
+    }
+
+    /**
+     * Fenêtre glissante d'une session : tableau circulaire indexé par numéro d'ordre
+     */
+    private static final class Window {
+        private final long[] sequences;
+        private final byte[] states;
+        private long highest;
+        // Connexion liée à la clé (accès sous le moniteur du détecteur)
+        private Object owner;
+
+        Window(int size) {
+            this.sequences = new long[size];
+            this.states = new byte[size];
+        }
+
+        synchronized Status claim(long sequence) {
+            if (sequence <= highest - sequences.length) {
+                return Status.EXPIRED;
+            }
+            int slot = (int) (sequence % sequences.length);
+            if (sequences[slot] == sequence && states[slot] != EMPTY) {
+                switch (states[slot]) {
+                    case ACCEPTED:
+                        return Status.DUPLICATE_ACCEPTED;
+                    case REJECTED:
+                        return Status.DUPLICATE_REJECTED;
+                    default:
+                        return Status.IN_PROGRESS;
+                }
+            }
+            // Numéro plus récent : la case libérée appartenait à un numéro sorti de la fenêtre
+            sequences[slot] = sequence;
+            states[slot] = PENDING;
+            highest = Math.max(highest, sequence);
+            return Status.NEW;
+        }
+
+        synchronized void complete(long sequence, boolean accepted) {
+            int slot = (int) (sequence % sequences.length);
+            if (sequences[slot] == sequence) {
+                states[slot] = accepted ? ACCEPTED : REJECTED;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.auction.server;
+
+import com.auction.common.dto.Price;
+
+/**
+ * Règles d'acceptation des enchères ascendantes (montants en millimes).
+ * Une offre doit dépasser le prix courant d'au moins {@code minIncrement}, sans le dépasser
+ * de plus de {@code maxJump} (protection contre les erreurs de saisie) ; une vente dont le prix
+ * final reste sous {@code reservePrice} se termine sans vente.
+ */
+public final class BidRules {
+
+    // Écart utilisé par les enchères automatiques quand aucun incrément minimum n'est fixé (1 TND)
+    private static final long DEFAULT_STEP = Price.SCALE;
+
+    // Aucune contrainte au-delà de « strictement supérieur au prix courant »
+    public static final BidRules NONE = new BidRules(0, 0, 0);
+
+    private final long minIncrement;
+    private final long maxJump;
+    private final long reservePrice;
+
+    /**
+     * Règles saisies en dinars (administration), arrondies au millime
+     */
+    public BidRules(double minIncrement, double maxJump, double reservePrice) {
+        this(Price.of(minIncrement), Price.of(maxJump), Price.of(reservePrice));
+    }
+
+    /**
+     * @param minIncrement Écart minimum au-dessus du prix courant (0 = tout montant supérieur)
+     * @param maxJump Écart maximum au-dessus du prix courant (0 = illimité)
+     * @param reservePrice Prix final minimum pour conclure la vente (0 = aucun)
+     */
+    public BidRules(long minIncrement, long maxJump, long reservePrice) {
+        if (minIncrement < 0 || maxJump < 0 || reservePrice < 0) {
+            throw new IllegalArgumentException("Les règles d'enchère doivent être positives");
+        }
+        if (maxJump > 0 && maxJump < minIncrement) {
+            throw new IllegalArgumentException("L'écart maximum doit dépasser l'incrément minimum");
+        }
+        this.minIncrement = minIncrement;
+        this.maxJump = maxJump;
+        this.reservePrice = reservePrice;
+    }
+
+    /**
+     * Règles par défaut : incrément de 1 TND, saut limité à 10 000 TND, sans prix de réserve
+     */
+    public static BidRules defaults() {
+        return new BidRules(Price.SCALE, 10_000 * Price.SCALE, 0);
+    }
+
+    /**
+     * Plus petite offre acceptable au prix donné
+     */
+    public long minimumBid(long currentPrice) {
+        return currentPrice + Math.max(minIncrement, 1);
+    }
+
+    /**
+     * Plus grande offre acceptable au prix donné ({@link Price#UNLIMITED} si le saut n'est pas limité)
+     */
+    public long maximumBid(long currentPrice) {
+        return maxJump > 0 ? Price.add(currentPrice, maxJump) : Price.UNLIMITED;
+    }
+
+    /**
+     * Vérifie une offre directe face au prix courant
+     */
+    public boolean accepts(long currentPrice, long amount) {
+        return amount >= minimumBid(currentPrice) && amount <= maximumBid(currentPrice);
+    }
+
+    /**
+     * Écart appliqué par le moteur d'enchères automatiques
+     */
+    public long proxyStep() {
+        return minIncrement > 0 ? minIncrement : DEFAULT_STEP;
+    }
+
+    public boolean meetsReserve(long finalPrice) {
+        return finalPrice >= reservePrice;
+    }
+
+    public long getMinIncrement() {
+        return minIncrement;
+    }
+
+    public long getMaxJump() {
+        return maxJump;
+    }
+
+    public long getReservePrice() {
+        return reservePrice;
+    }
+
+    @Override
+    public String toString() {
+        return "BidRules{" +
+                "minIncrement=" + Price.toString(minIncrement) +
+                ", maxJump=" + (maxJump > 0 ? Price.toString(maxJump) : "illimité") +
+                ", reserve=" + Price.toString(reservePrice) +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.auction.server;
+
+import com.auction.common.dto.BidHistory;
+import com.auction.server.history.BidStore;
+
+/**
+ * Piste des enchères d'une vente : plage contiguë d'enregistrements du {@link BidStore} hors tas
+ * (instant en ns depuis l'ouverture, prix en millimes, index de l'enchérisseur).
+ *
+ * Les enchérisseurs sont internés par le magasin (un index par client) : enregistrer une enchère
+ * n'alloue rien sur le tas, hormis la première enchère d'un nouveau client. Une vente annulée
+ * laisse sa plage dans le magasin, sans vente qui la désigne.
+ *
+ * Non thread-safe : utilisé sous le verrou du gestionnaire d'enchères (une seule vente à la fois).
+ */
+public class BidTrail {
+
+    private final BidStore store;
+    private final long startEpochMillis;
+    private final long startNanos;
+
+    // Première enchère de la vente dans le magasin et nombre d'enchères
+    private final long first;
+    private int size;
+
+    public BidTrail(BidStore store) {
+        this(store, System.currentTimeMillis(), System.nanoTime());
+    }
+
+    /**
+     * @param startEpochMillis Ouverture de la vente (epoch ms)
+     * @param startNanos Ouverture de la vente ({@link System#nanoTime()})
+     */
+    BidTrail(BidStore store, long startEpochMillis, long startNanos) {
+        this.store = store;
+        this.startEpochMillis = startEpochMillis;
+        this.startNanos = startNanos;
+        this.first = store.size();
+    }
+
+    /**
+     * Ajoute une enchère acceptée à l'instant courant
+     * @param price Prix en millimes
+     */
+    public void record(String clientId, String clientName, long price) {
+        record(clientId, clientName, price, System.nanoTime());
+    }
+
+    void record(String clientId, String clientName, long price, long nanos) {
+        long index = store.append(clientId, clientName, nanos - startNanos, price);
+        if (index != first + size) {
+            throw new IllegalStateException("Enchères de deux ventes entrelacées dans le magasin");
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getPrice(int index) {
+        checkIndex(index);
+        return store.getPrice(first + index);
+    }
+
+    public long getOffsetNanos(int index) {
+        checkIndex(index);
+        return store.getOffsetNanos(first + index);
+    }
+
+    public String getBidderId(int index) {
+        checkIndex(index);
+        return store.getBidderId(store.getBidder(first + index));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Enchère " + index + " hors de la piste (" + size + ")");
+        }
+    }
+
+    /**
+     * Copie compacte (colonnes sur le tas) pour l'historique et l'administration
+     */
+    public BidHistory toHistory() {
+        return store.toHistory(first, size, startEpochMillis);
+    }
+}
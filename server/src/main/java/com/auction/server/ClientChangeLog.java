@@ -0,0 +1,103 @@
+package com.auction.server;
+
+import com.auction.common.dto.ClientChange;
+import com.auction.common.dto.ClientChange.Kind;
+import com.auction.common.dto.ClientDelta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Journal circulaire des changements de la liste des clients, avec compteur de version.
+ * Un lecteur qui transmet sa dernière version reçoit uniquement les changements suivants ;
+ * s'il est trop en retard (changements écrasés dans l'anneau), il reçoit un état complet.
+ *
+ * L'anneau est rangé en colonnes (type, client, montant) : enregistrer une offre n'alloue rien,
+ * les {@link ClientChange} ne sont construits qu'à la lecture d'un delta.
+ */
+public class ClientChangeLog {
+
+    // Marque « aucune offre » dans la colonne des montants
+    private static final long NO_BID = -1;
+
+    private final int capacity;
+    private final Kind[] kinds;
+    private final String[] clientIds;
+    private final String[] clientNames;
+    private final long[] amounts;
+    private long version;
+
+    public ClientChangeLog(int capacity) {
+        this.capacity = capacity;
+        this.kinds = new Kind[capacity];
+        this.clientIds = new String[capacity];
+        this.clientNames = new String[capacity];
+        this.amounts = new long[capacity];
+    }
+
+    /**
+     * Enregistre une connexion, déconnexion ou remise à zéro des offres
+     */
+    public synchronized void record(Kind kind, String clientId, String clientName) {
+        append(kind, clientId, clientName, NO_BID);
+    }
+
+    /**
+     * Enregistre une nouvelle offre d'un client
+     * @param amount Montant en millimes
+     */
+    public synchronized void recordBid(String clientId, String clientName, long amount) {
+        append(Kind.BID, clientId, clientName, amount);
+    }
+
+    private void append(Kind kind, String clientId, String clientName, long amount) {
+        version++;
+        int slot = (int) (version % capacity);
+        kinds[slot] = kind;
+        clientIds[slot] = clientId;
+        clientNames[slot] = clientName;
+        amounts[slot] = amount;
+    }
+
+    private ClientChange materialize(long changeVersion) {
+        int slot = (int) (changeVersion % capacity);
+        ClientChange change = new ClientChange(changeVersion, kinds[slot], clientIds[slot], clientNames[slot]);
+        if (amounts[slot] != NO_BID) {
+            change.setLastBidMinor(amounts[slot]);
+        }
+        return change;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Changements postérieurs à la version donnée
+     * @param sinceVersion Dernière version connue du lecteur (0 au premier appel)
+     * @param snapshot Fournit l'état complet si les changements ne sont plus disponibles
+     */
+    public ClientDelta since(long sinceVersion, Supplier<List<ClientChange>> snapshot) {
+        long current;
+        synchronized (this) {
+            current = version;
+            long oldest = current - capacity + 1;
+            if (sinceVersion <= current && sinceVersion >= oldest - 1 && sinceVersion > 0) {
+                List<ClientChange> changes = new ArrayList<>((int) (current - sinceVersion));
+                for (long v = sinceVersion + 1; v <= current; v++) {
+                    changes.add(materialize(v));
+                }
+                return new ClientDelta(sinceVersion, current, false, changes);
+            }
+        }
+
+        // État complet construit hors verrou : il reflète au moins la version lue,
+        // les changements suivants seront réappliqués sans effet (idempotents)
+        List<ClientChange> state = snapshot.get();
+        for (ClientChange change : state) {
+            change.setVersion(current);
+        }
+        return new ClientDelta(sinceVersion, current, true, state);
+    }
+}
@@ -4,8 +4,8 @@ import com.auction.common.dto.*;
 import com.auction.common.dto.Message.MessageType;
 
 import java.io.*;
+import java.net.InetAddress;
 import java.net.Socket;
-import java.util.UUID;
 
 /**
  * Gestionnaire de connexion pour un client TCP (un thread par client)
@@ -16,9 +16,16 @@ public class ClientHandler implements Runnable {
     private final AuctionManager auctionManager;
     private ObjectInputStream input;
     private ObjectOutputStream output;
+    private int sessionId = SessionRegistry.NO_SESSION;
     private String clientId;
     private String clientName;
     private boolean connected;
+    // Clé de session liée à cette connexion dans le détecteur de doublons
+    private String boundSessionKey;
+    
+    // Réponse d'enchère réutilisée (seul le thread du client l'écrit, sérialisée avant la suivante)
+    private final BidResponse bidResponse = new BidResponse();
+    private final Message bidResponseMessage = new Message(MessageType.BID_RESPONSE, null, bidResponse);
     
     public ClientHandler(Socket socket, AuctionManager auctionManager) {
         this.socket = socket;
@@ -60,7 +67,9 @@ public class ClientHandler implements Runnable {
      * Traite un message reçu du client
      */
     private void handleMessage(Message message) {
-        System.out.println("[CLIENT " + (clientName != null ? clientName : "?") + "] Message reçu: " + message.getType());
+        if (message.getType() != MessageType.BID_REQUEST || auctionManager.isBidLogging()) {
+            System.out.println("[CLIENT " + (clientName != null ? clientName : "?") + "] Message reçu: " + message.getType());
+        }
         
         switch (message.getType()) {
             case LOGIN_REQUEST:
@@ -88,13 +97,22 @@ public class ClientHandler implements Runnable {
             return;
         }
         
-        // Générer un ID unique pour ce client
-        this.clientId = UUID.randomUUID().toString().substring(0, 8);
+        if (connected) {
+            sendError("Vous êtes déjà connecté");
+            return;
+        }
+        
+        // Enregistrer le client auprès du manager (identifiant de session attribué par le registre)
         this.clientName = requestedName.trim();
         this.connected = true;
-        
-        // Enregistrer le client auprès du manager
-        auctionManager.registerClient(clientId, clientName, this);
+        int session = auctionManager.registerClient(clientName, this);
+        if (session == SessionRegistry.NO_SESSION) {
+            this.connected = false;
+            sendError("Serveur complet, réessayez plus tard");
+            return;
+        }
+        this.sessionId = session;
+        this.clientId = SessionRegistry.format(session);
         
         // Envoyer la confirmation
         Message response = new Message(MessageType.LOGIN_RESPONSE, "Bienvenue " + clientName + "!");
@@ -102,17 +120,19 @@ public class ClientHandler implements Runnable {
         sendMessage(response);
         
         // Envoyer l'état actuel de l'enchère si une vente est en cours
-        Product currentProduct = auctionManager.getCurrentProduct();
-        if (currentProduct != null && currentProduct.isActive()) {
+        AuctionSnapshot snapshot = auctionManager.getSnapshot();
+        if (snapshot.isActive()) {
             AuctionUpdate update = AuctionUpdate.newAuction(
-                currentProduct.getId(),
-                currentProduct.getName(),
-                currentProduct.getDescription(),
-                currentProduct.getStartingPrice()
+                snapshot.getProductId(),
+                snapshot.getProductName(),
+                snapshot.getDescription(),
+                snapshot.getStartingPriceMinor()
             );
-            update.setCurrentPrice(currentProduct.getCurrentPrice());
-            update.setHighestBidder(currentProduct.getHighestBidderId());
-            update.setHighestBidderName(currentProduct.getHighestBidderName());
+            update.setCurrentPriceMinor(snapshot.getCurrentPriceMinor());
+            update.setHighestBidder(snapshot.getHighestBidderId());
+            update.setHighestBidderName(snapshot.getHighestBidderName());
+            update.setDeadline(snapshot.getEndTime());
+            update.setAuctionType(snapshot.getAuctionType());
             
             Message auctionInfo = new Message(MessageType.AUCTION_UPDATE, "Enchère en cours", update);
             sendMessage(auctionInfo);
@@ -125,39 +145,150 @@ public class ClientHandler implements Runnable {
      * Gère une enchère
      */
     private void handleBid(Message message) {
-        if (!connected) {
-            sendError("Vous devez vous connecter d'abord");
+        // Refus toujours corrélés : le client attend une réponse par enchère en vol
+        Object data = message.getData();
+        if (!(data instanceof BidRequest)) {
+            // Sans numéro d'ordre, le client rattache le refus à sa plus ancienne enchère en vol
+            sendBidRejection("Format de requête d'enchère invalide", 0);
             return;
         }
         
-        // Vérifier si le client est banni
-        if (auctionManager.isClientBanned(clientId)) {
-            sendError("Vous avez été banni de cette vente");
+        BidRequest bid = (BidRequest) data;
+        if (!connected) {
+            sendBidRejection("Vous devez vous connecter d'abord", bid.getSequence());
             return;
         }
         
-        Object data = message.getData();
-        if (!(data instanceof BidRequest)) {
-            sendError("Format de requête d'enchère invalide");
+        // Vérifier si le client est banni (réponse corrélée : le client peut avoir d'autres enchères en vol)
+        if (auctionManager.isSessionBanned(sessionId)) {
+            sendBidRejection("Vous avez été banni de cette vente", bid.getSequence());
             return;
         }
         
-        BidRequest bid = (BidRequest) data;
         bid.setClientId(clientId);
         bid.setClientName(clientName);
         
-        // Traiter l'enchère (synchronisé dans AuctionManager)
-        boolean success = auctionManager.placeBid(bid);
+        // Renvoi d'une enchère déjà reçue (délai dépassé, reconnexion) : réponse du premier envoi
+        boolean tracked = bid.getSessionKey() != null && bid.getSequence() > 0;
+        if (tracked) {
+            bindSessionKey(bid.getSessionKey());
+            BidDeduplicator.Status status = auctionManager.getBidDeduplicator().claim(bid.getSessionKey(), this, bid.getSequence());
+            if (status == BidDeduplicator.Status.FOREIGN) {
+                sendBidRejection("Clé de session utilisée par une autre connexion", bid.getSequence());
+                return;
+            }
+            if (status != BidDeduplicator.Status.NEW) {
+                sendDuplicateResponse(bid, status);
+                return;
+            }
+        }
         
-        if (success) {
-            Message response = new Message(MessageType.BID_RESPONSE, "Enchère acceptée: " + bid.getAmount() + " TND");
-            response.setData(true);
-            sendMessage(response);
-        } else {
-            Message response = new Message(MessageType.BID_RESPONSE, "Enchère refusée - montant insuffisant");
-            response.setData(false);
-            sendMessage(response);
+        // Textes constants, montant transmis à part dans la réponse : aucune chaîne construite par enchère
+        boolean success = false;
+        long amount = 0;
+        String text;
+        try {
+            // Rejet rapide contre la plage publiée : seules les offres qui peuvent l'emporter entrent dans le moteur
+            AuctionQuote quote = auctionManager.getQuote();
+            AuctionSnapshot base = quote.getBase();
+            if (!quote.admits(bid.getAmountMinor(), bid.isProxy())) {
+                if (!base.isActive()) {
+                    text = "Enchère refusée - pas de vente en cours";
+                } else if (bid.getAmountMinor() < quote.getMinimumBid()) {
+                    text = "Enchère refusée - minimum";
+                    amount = quote.getMinimumBid();
+                } else {
+                    text = "Enchère refusée - maximum";
+                    amount = quote.getMaximumBid();
+                }
+            } else {
+                // Traiter l'enchère (synchronisé dans AuctionManager)
+                AuctionType type = base.getAuctionType();
+                success = auctionManager.placeBid(bid, sessionId);
+                boolean sealed = type.isSealed();
+                
+                if (success) {
+                    text = sealed
+                        ? "Offre sous pli enregistrée:"
+                        : type == AuctionType.DUTCH
+                        ? "Adjugé! Vous avez accepté le prix affiché"
+                        : bid.isProxy()
+                        ? "Enchère maximum enregistrée:"
+                        : "Enchère acceptée:";
+                    amount = type == AuctionType.DUTCH ? 0 : bid.getAmountMinor();
+                } else {
+                    text = sealed
+                        ? "Offre refusée - inférieure au prix de réserve ou plis déjà ouverts"
+                        : type == AuctionType.DUTCH
+                        ? "Refusé - lot déjà adjugé ou montant inférieur au prix affiché"
+                        : "Enchère refusée - montant insuffisant";
+                }
+            }
+        } finally {
+            if (tracked) {
+                auctionManager.getBidDeduplicator().complete(bid.getSessionKey(), this, bid.getSequence(), success);
+            }
         }
+        
+        sendBidResponse(text, bid.getSequence(), success, amount);
+    }
+    
+    /**
+     * Retient la clé présentée par cette connexion (une seule à la fois) pour la libérer à la fermeture
+     */
+    private void bindSessionKey(String sessionKey) {
+        if (sessionKey.equals(boundSessionKey)) {
+            return;
+        }
+        if (boundSessionKey != null) {
+            auctionManager.getBidDeduplicator().release(boundSessionKey, this);
+        }
+        boundSessionKey = sessionKey;
+    }
+    
+    /**
+     * Envoie la réponse d'une enchère traitée en réutilisant le message du client
+     */
+    private void sendBidResponse(String text, long sequence, boolean accepted, long amount) {
+        bidResponse.setSequence(sequence);
+        bidResponse.setAccepted(accepted);
+        bidResponse.setDuplicate(false);
+        bidResponse.setAmountMinor(amount);
+        bidResponseMessage.setContent(text);
+        bidResponseMessage.setTimestampMillis(System.currentTimeMillis());
+        sendMessage(bidResponseMessage);
+    }
+    
+    /**
+     * Refuse une enchère avant tout traitement (hors chemin d'enchère, message dédié)
+     */
+    private void sendBidRejection(String text, long sequence) {
+        Message response = new Message(MessageType.BID_RESPONSE, text);
+        response.setData(new BidResponse(sequence, false, false));
+        sendMessage(response);
+    }
+    
+    /**
+     * Répond à une enchère déjà reçue sans la traiter à nouveau
+     */
+    private void sendDuplicateResponse(BidRequest bid, BidDeduplicator.Status status) {
+        String text;
+        switch (status) {
+            case DUPLICATE_ACCEPTED:
+                text = "Enchère n°" + bid.getSequence() + " déjà acceptée";
+                break;
+            case DUPLICATE_REJECTED:
+                text = "Enchère n°" + bid.getSequence() + " déjà refusée";
+                break;
+            case IN_PROGRESS:
+                text = "Enchère n°" + bid.getSequence() + " en cours de traitement";
+                break;
+            default:
+                text = "Enchère n°" + bid.getSequence() + " trop ancienne, ignorée";
+        }
+        Message response = new Message(MessageType.BID_RESPONSE, text);
+        response.setData(new BidResponse(bid.getSequence(), status == BidDeduplicator.Status.DUPLICATE_ACCEPTED, true));
+        sendMessage(response);
     }
     
     /**
@@ -187,12 +318,16 @@ public class ClientHandler implements Runnable {
      * Déconnecte le client proprement
      */
     private void disconnect() {
-        if (connected && clientId != null) {
-            auctionManager.unregisterClient(clientId);
+        if (connected && sessionId != SessionRegistry.NO_SESSION) {
+            auctionManager.unregisterClient(sessionId);
             System.out.println("[CLIENT] " + clientName + " déconnecté");
         }
         
         connected = false;
+        if (boundSessionKey != null) {
+            auctionManager.getBidDeduplicator().release(boundSessionKey, this);
+            boundSessionKey = null;
+        }
         
         try {
             if (input != null) input.close();
@@ -203,6 +338,13 @@ public class ClientHandler implements Runnable {
         }
     }
     
+    public int getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Forme texte de l'identifiant de session (messages, administration)
+     */
     public String getClientId() {
         return clientId;
     }
@@ -211,6 +353,10 @@ public class ClientHandler implements Runnable {
         return clientName;
     }
     
+    public InetAddress getRemoteAddress() {
+        return socket.getInetAddress();
+    }
+    
     public boolean isConnected() {
         return connected && !socket.isClosed();
     }
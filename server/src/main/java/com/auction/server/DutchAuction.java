@@ -0,0 +1,197 @@
+package com.auction.server;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * État d'une enchère descendante (hollandaise).
+ *
+ * Le prix baisse d'un palier à chaque intervalle jusqu'au prix plancher ; la première
+ * acceptation au prix affiché l'emporte. L'état (palier, instant de diffusion, gagnant,
+ * clôture) est un objet immuable remplacé par compare-and-set : une baisse de prix et
+ * des acceptations simultanées sont départagées sans verrou, et une seule acceptation
+ * peut réussir, au prix exact du palier qu'elle a vu. Montants en millimes : chaque palier
+ * est un prix exact, sans arrondi.
+ */
+public class DutchAuction {
+
+    private final long startPrice;
+    private final long floorPrice;
+    private final long decrement;
+    private final long intervalMillis;
+    private final int lastStep;
+
+    private final AtomicReference<State> state;
+
+    /**
+     * @param startPrice Prix de départ
+     * @param floorPrice Prix plancher (la vente se termine sans preneur après ce palier)
+     * @param decrement Baisse appliquée à chaque palier
+     * @param intervalMillis Durée d'un palier
+     */
+    public DutchAuction(long startPrice, long floorPrice, long decrement, long intervalMillis) {
+        if (floorPrice < 0 || startPrice <= floorPrice) {
+            throw new IllegalArgumentException("Le prix de départ doit dépasser le prix plancher");
+        }
+        if (decrement <= 0 || intervalMillis <= 0) {
+            throw new IllegalArgumentException("Baisse et intervalle doivent être positifs");
+        }
+        this.startPrice = startPrice;
+        this.floorPrice = floorPrice;
+        this.decrement = decrement;
+        this.intervalMillis = intervalMillis;
+        this.lastStep = (int) ((startPrice - floorPrice + decrement - 1) / decrement);
+        this.state = new AtomicReference<>(new State(0, System.nanoTime(), null, false));
+    }
+
+    /**
+     * Prix affiché à un palier (jamais sous le plancher)
+     */
+    public long priceAt(int step) {
+        return Math.max(floorPrice, startPrice - step * decrement);
+    }
+
+    /**
+     * Passe au palier suivant
+     * @return false si la vente est décidée ou si le plancher est déjà affiché
+     */
+    public boolean advance() {
+        while (true) {
+            State current = state.get();
+            if (current.isDecided() || current.step >= lastStep) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(current.step + 1, System.nanoTime(), null, false))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tente d'accepter le prix affiché
+     * @param amount Prix vu par l'acheteur (refusé s'il est inférieur au prix courant)
+     * @return L'acceptation gagnante, null si la vente est déjà décidée
+     */
+    public Acceptance tryAccept(String clientId, String clientName, int sessionId, long amount) {
+        while (true) {
+            State current = state.get();
+            if (current.isDecided()) {
+                return null;
+            }
+            long price = priceAt(current.step);
+            if (amount < price) {
+                return null;
+            }
+            Acceptance acceptance = new Acceptance(clientId, clientName, sessionId, price, current.step,
+                System.nanoTime() - current.tickNanos);
+            if (state.compareAndSet(current, new State(current.step, current.tickNanos, acceptance, false))) {
+                return acceptance;
+            }
+        }
+    }
+
+    /**
+     * Ferme la vente : plus aucune acceptation ni baisse n'est possible
+     * @return L'acceptation gagnante, null si personne n'a accepté
+     */
+    public Acceptance close() {
+        while (true) {
+            State current = state.get();
+            if (current.closed) {
+                return current.winner;
+            }
+            if (state.compareAndSet(current, new State(current.step, current.tickNanos, current.winner, true))) {
+                return current.winner;
+            }
+        }
+    }
+
+    public boolean isDecided() {
+        return state.get().isDecided();
+    }
+
+    public int getStep() {
+        return state.get().step;
+    }
+
+    public long getCurrentPrice() {
+        return priceAt(state.get().step);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getFloorPrice() {
+        return floorPrice;
+    }
+
+    public long getDecrement() {
+        return decrement;
+    }
+
+    private static final class State {
+        private final int step;
+        private final long tickNanos;
+        private final Acceptance winner;
+        private final boolean closed;
+
+        State(int step, long tickNanos, Acceptance winner, boolean closed) {
+            this.step = step;
+            this.tickNanos = tickNanos;
+            this.winner = winner;
+            this.closed = closed;
+        }
+
+        boolean isDecided() {
+            return winner != null || closed;
+        }
+    }
+
+    /**
+     * Acceptation gagnante
+     */
+    public static final class Acceptance {
+        private final String clientId;
+        private final String clientName;
+        private final int sessionId;
+        private final long price;
+        private final int step;
+        private final long latencyNanos;
+
+        Acceptance(String clientId, String clientName, int sessionId, long price, int step, long latencyNanos) {
+            this.clientId = clientId;
+            this.clientName = clientName;
+            this.sessionId = sessionId;
+            this.price = price;
+            this.step = step;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public String getClientName() {
+            return clientName;
+        }
+
+        public int getSessionId() {
+            return sessionId;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public int getStep() {
+            return step;
+        }
+
+        /**
+         * Délai entre la diffusion du palier et l'acceptation
+         */
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.auction.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Planificateur d'échéances à roue hachée.
+ *
+ * La roue est un tableau circulaire de cases ; chaque case contient une liste doublement
+ * chaînée d'échéances. Une échéance est rangée dans la case (échéance / durée d'un tick)
+ * modulo la taille de la roue, avec le nombre de tours restants. Ajout et annulation sont
+ * en O(1) quel que soit le nombre d'échéances suivies ; un seul thread fait avancer la roue
+ * et exécute les tâches expirées (elles doivent donc rester courtes).
+ *
+ * Les ajouts et annulations venant d'autres threads transitent par des files sans verrou
+ * et ne sont appliqués aux listes que par le thread de la roue.
+ *
+ * Une échéance peut être repoussée sans être annulée ni recréée : seule sa date change,
+ * et c'est en arrivant sur sa case que la roue constate qu'elle n'est pas échue et la
+ * range dans la case correspondant à sa nouvelle date.
+ */
+public class HashedTimingWheel {
+
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final String threadName;
+
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+
+    private volatile Thread worker;
+    private volatile boolean stopped;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * @param tickDuration Durée d'un tick (précision des échéances)
+     * @param unit Unité de tickDuration
+     * @param wheelSize Nombre de cases (arrondi à la puissance de 2 supérieure)
+     * @param threadName Nom du thread de la roue
+     */
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize, String threadName) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Durée de tick et taille de roue doivent être positives");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (wheelSize == 1) {
+            size = 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.threadName = threadName;
+    }
+
+    /**
+     * Programme une tâche (le thread de la roue démarre au premier appel)
+     * @return Échéance annulable
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Planificateur arrêté");
+        }
+        start();
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        additions.add(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (worker == null) {
+            synchronized (this) {
+                if (worker == null) {
+                    startTime = System.nanoTime();
+                    Thread thread = new Thread(this::run, threadName);
+                    thread.setDaemon(true);
+                    worker = thread;
+                    thread.start();
+                }
+            }
+        }
+    }
+
+    /**
+     * Arrête la roue ; les échéances en attente ne seront pas exécutées
+     */
+    public void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Nombre d'échéances en attente (approximatif, pour la supervision)
+     */
+    public int pendingCount() {
+        int count = additions.size();
+        for (Bucket bucket : wheel) {
+            count += bucket.size;
+        }
+        return count;
+    }
+
+    private void run() {
+        while (!stopped) {
+            long now = waitForNextTick();
+            if (now < 0) {
+                break;
+            }
+            processCancellations();
+            transferAdditions();
+            expireBucket(wheel[(int) (tick & mask)], now);
+            tick++;
+        }
+    }
+
+    /**
+     * Attend la fin du tick courant
+     * @return Temps écoulé depuis le démarrage, -1 si la roue est arrêtée
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepNanos = deadline - now;
+            if (sleepNanos <= 0) {
+                return now;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        Timeout timeout;
+        while ((timeout = additions.poll()) != null) {
+            if (timeout.state.get() != STATE_PENDING) {
+                continue;
+            }
+            place(timeout);
+        }
+    }
+
+    /**
+     * Range une échéance dans la case de sa date (thread de la roue)
+     */
+    private void place(Timeout timeout) {
+        long ticks = timeout.deadline / tickNanos;
+        timeout.remainingRounds = (ticks - tick) / wheel.length;
+        // Échéance déjà passée : exécutée au tick courant
+        long target = Math.max(ticks, tick);
+        wheel[(int) (target & mask)].add(timeout);
+    }
+
+    /**
+     * Exécute les échéances arrivées à terme, décompte un tour pour les autres
+     * et déplace celles qui ont été repoussées
+     */
+    private void expireBucket(Bucket bucket, long now) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.isCancelled()) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else if (timeout.deadline <= now) {
+                bucket.remove(timeout);
+                timeout.expire();
+            } else {
+                bucket.remove(timeout);
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Échéance programmée
+     */
+    public static final class Timeout {
+        private final HashedTimingWheel owner;
+        private final Runnable task;
+        private volatile long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Gérés par le thread de la roue
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HashedTimingWheel owner, Runnable task, long deadline) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Annule l'échéance
+         * @return true si la tâche ne s'exécutera pas
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            owner.cancellations.add(this);
+            return true;
+        }
+
+        /**
+         * Repousse l'échéance (sans effet si la nouvelle date est plus proche).
+         * La tâche peut encore s'exécuter si elle était déjà en cours de déclenchement :
+         * l'appelant revérifie l'échéance dans la tâche s'il a besoin d'une garantie stricte.
+         * @param delay Nouveau délai à partir de maintenant
+         * @return false si l'échéance est déjà échue ou annulée
+         */
+        public boolean postpone(long delay, TimeUnit unit) {
+            long newDeadline = System.nanoTime() - owner.startTime + unit.toNanos(delay);
+            if (newDeadline > deadline) {
+                deadline = newDeadline;
+            }
+            return state.get() == STATE_PENDING;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("[TIMER] Erreur d'une tâche programmée: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Case de la roue : liste doublement chaînée (retrait en O(1))
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        private int size;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+            size++;
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            size--;
+        }
+    }
+}
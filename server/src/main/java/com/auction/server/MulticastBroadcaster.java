@@ -2,9 +2,12 @@ package com.auction.server;
 
 import com.auction.common.constants.NetworkConfig;
 import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.PriceTick;
 
 import java.io.*;
 import java.net.*;
+import java.nio.ByteBuffer;
 
 /**
  * Diffuseur Multicast pour envoyer les mises à jour en temps réel
@@ -17,6 +20,10 @@ public class MulticastBroadcaster {
     private MulticastSocket socket;
     private InetAddress group;
     
+    // Tampon et datagramme réutilisés pour les enchères (aucune allocation par enchère)
+    private final ByteBuffer bidBuffer = ByteBuffer.allocate(BidTick.MAX_SIZE);
+    private DatagramPacket bidPacket;
+    
     public MulticastBroadcaster() {
         this.multicastGroup = NetworkConfig.MULTICAST_GROUP;
         this.multicastPort = NetworkConfig.MULTICAST_PORT;
@@ -74,6 +81,49 @@ public class MulticastBroadcaster {
         }
     }
     
+    /**
+     * Diffuse un palier de prix d'enchère descendante (datagramme binaire compact,
+     * sans sérialisation Java ni copie TCP)
+     * @param tick Le palier à diffuser
+     */
+    public void broadcastTick(PriceTick tick) {
+        if (socket == null || socket.isClosed()) {
+            System.err.println("[MULTICAST] Socket non disponible");
+            return;
+        }
+        
+        try {
+            byte[] data = tick.encode();
+            socket.send(new DatagramPacket(data, data.length, group, multicastPort));
+            System.out.println("[MULTICAST] Palier " + tick.getStep() + ": " + tick.getPrice() + " TND (" + data.length + " octets)");
+        } catch (IOException e) {
+            System.err.println("[MULTICAST] Erreur de diffusion: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Diffuse une enchère acceptée (datagramme binaire encodé dans un tampon réutilisé ;
+     * pas de trace par enchère, le journal et les statistiques en tiennent lieu)
+     * @param tick L'enchère à diffuser
+     */
+    public synchronized void broadcastBid(BidTick tick) {
+        if (socket == null || socket.isClosed()) {
+            return;
+        }
+        
+        try {
+            int length = tick.encodeTo(bidBuffer);
+            if (bidPacket == null) {
+                bidPacket = new DatagramPacket(bidBuffer.array(), length, group, multicastPort);
+            } else {
+                bidPacket.setLength(length);
+            }
+            socket.send(bidPacket);
+        } catch (IOException e) {
+            System.err.println("[MULTICAST] Erreur de diffusion: " + e.getMessage());
+        }
+    }
+    
     /**
      * Diffuse un message simple (texte)
      * @param message Le message à diffuser
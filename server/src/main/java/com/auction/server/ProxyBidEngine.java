@@ -0,0 +1,159 @@
+package com.auction.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Moteur d'enchères par procuration (enchère maximum secrète).
+ *
+ * Chaque acheteur peut confier au serveur un montant maximum. Après chaque changement de prix,
+ * toutes les procurations sont réglées en une seule étape : le plus haut maximum prend la tête
+ * à un incrément au-dessus du second maximum (ou du prix courant), sans dépasser son propre
+ * maximum. À maximum égal, la procuration enregistrée la première l'emporte. Montants en millimes.
+ *
+ * Non thread-safe : toutes les méthodes sont appelées sous le verrou du gestionnaire d'enchères.
+ */
+public class ProxyBidEngine {
+
+    private final Map<String, Proxy> proxies = new HashMap<>();
+    private long sequence;
+
+    /**
+     * Enregistre ou modifie le maximum d'un acheteur (un nouveau maximum perd l'ancienneté)
+     * @param sessionId Session de l'acheteur, reportée sur les enchères placées pour lui
+     */
+    public void register(String clientId, String clientName, int sessionId, long maximum) {
+        Proxy existing = proxies.get(clientId);
+        if (existing != null && existing.maximum == maximum) {
+            return;
+        }
+        proxies.put(clientId, new Proxy(clientId, clientName, sessionId, maximum, sequence++));
+    }
+
+    public void remove(String clientId) {
+        proxies.remove(clientId);
+    }
+
+    /**
+     * Oublie toutes les procurations (nouvelle vente)
+     */
+    public void clear() {
+        proxies.clear();
+    }
+
+    public int size() {
+        return proxies.size();
+    }
+
+    /**
+     * Maximum enregistré par un acheteur (0 si aucun)
+     */
+    public long getMaximum(String clientId) {
+        Proxy proxy = proxies.get(clientId);
+        return proxy != null ? proxy.maximum : 0;
+    }
+
+    /**
+     * Règle les procurations face au prix et au meilleur enchérisseur actuels
+     * @param increment Écart entre deux enchères placées par le moteur
+     * @return Nouvelle enchère à appliquer, null si rien ne change
+     */
+    public Resolution resolve(long currentPrice, String leaderId, long increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Incrément invalide: " + increment);
+        }
+        if (proxies.isEmpty()) {
+            // Cas courant : aucune enchère automatique, pas d'itérateur à créer
+            return null;
+        }
+        Proxy first = null;
+        Proxy second = null;
+        for (Proxy proxy : proxies.values()) {
+            if (first == null || proxy.beats(first)) {
+                second = first;
+                first = proxy;
+            } else if (second == null || proxy.beats(second)) {
+                second = proxy;
+            }
+        }
+        if (first == null) {
+            return null;
+        }
+
+        // Meilleure offre concurrente du premier : prix actuel (s'il n'est pas déjà en tête) et second maximum
+        boolean leading = first.clientId.equals(leaderId);
+        long competitor = second != null ? second.maximum : 0;
+        if (!leading) {
+            competitor = Math.max(competitor, currentPrice);
+        }
+
+        if (leading) {
+            // Déjà en tête : ne monte que pour contrer un autre maximum supérieur au prix
+            if (second == null || second.maximum <= currentPrice) {
+                return null;
+            }
+            long price = Math.min(first.maximum, competitor + increment);
+            return price > currentPrice ? new Resolution(first, price) : null;
+        }
+
+        if (first.maximum <= currentPrice) {
+            // Toutes les procurations sont dépassées
+            return null;
+        }
+        long price = Math.min(first.maximum, competitor + increment);
+        return new Resolution(first, price);
+    }
+
+    /**
+     * Enchère résultant du règlement des procurations
+     */
+    public static final class Resolution {
+        private final String clientId;
+        private final String clientName;
+        private final int sessionId;
+        private final long price;
+
+        Resolution(Proxy proxy, long price) {
+            this.clientId = proxy.clientId;
+            this.clientName = proxy.clientName;
+            this.sessionId = proxy.sessionId;
+            this.price = price;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public String getClientName() {
+            return clientName;
+        }
+
+        public int getSessionId() {
+            return sessionId;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+    }
+
+    private static final class Proxy {
+        private final String clientId;
+        private final String clientName;
+        private final int sessionId;
+        private final long maximum;
+        private final long sequence;
+
+        Proxy(String clientId, String clientName, int sessionId, long maximum, long sequence) {
+            this.clientId = clientId;
+            this.clientName = clientName;
+            this.sessionId = sessionId;
+            this.maximum = maximum;
+            this.sequence = sequence;
+        }
+
+        boolean beats(Proxy other) {
+            return maximum > other.maximum || (maximum == other.maximum && sequence < other.sequence);
+        }
+    }
+}
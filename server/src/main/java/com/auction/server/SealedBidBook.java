@@ -0,0 +1,148 @@
+package com.auction.server;
+
+import com.auction.common.dto.AuctionType;
+
+/**
+ * Registre des offres d'une vente sous pli.
+ *
+ * Seules les deux meilleures offres d'enchérisseurs distincts sont conservées (champs primitifs,
+ * aucune allocation par offre) : c'est suffisant pour désigner le gagnant et, en second prix
+ * (Vickrey), le prix payé. Montants en millimes. Le registre a son propre moniteur et ne prend pas le verrou des
+ * enchères : aucune diffusion n'a lieu avant l'ouverture des plis.
+ */
+public class SealedBidBook {
+
+    private final AuctionType type;
+    private final long reservePrice;
+
+    private String firstId;
+    private String firstName;
+    private int firstSession;
+    private long firstAmount;
+    private String secondId;
+    private long secondAmount;
+    private long bidCount;
+    private boolean sealed;
+
+    /**
+     * @param type Format de la vente (premier ou second prix)
+     * @param reservePrice Offre minimum acceptée (prix de départ)
+     */
+    public SealedBidBook(AuctionType type, long reservePrice) {
+        if (!type.isSealed()) {
+            throw new IllegalArgumentException("Format non scellé: " + type);
+        }
+        this.type = type;
+        this.reservePrice = reservePrice;
+    }
+
+    /**
+     * Enregistre une offre ; seule la meilleure offre de chaque enchérisseur compte
+     * @return false si l'offre est sous le prix de réserve ou si les plis sont ouverts
+     */
+    public synchronized boolean submit(String clientId, String clientName, int sessionId, long amount) {
+        if (sealed || amount < reservePrice) {
+            return false;
+        }
+        bidCount++;
+        if (firstId == null) {
+            setFirst(clientId, clientName, sessionId, amount);
+        } else if (clientId.equals(firstId)) {
+            if (amount > firstAmount) {
+                firstAmount = amount;
+            }
+        } else if (amount > firstAmount) {
+            // À égalité, l'offre arrivée la première l'emporte
+            secondId = firstId;
+            secondAmount = firstAmount;
+            setFirst(clientId, clientName, sessionId, amount);
+        } else if (secondId == null || amount > secondAmount) {
+            secondId = clientId;
+            secondAmount = amount;
+        }
+        return true;
+    }
+
+    private void setFirst(String clientId, String clientName, int sessionId, long amount) {
+        firstId = clientId;
+        firstName = clientName;
+        firstSession = sessionId;
+        firstAmount = amount;
+    }
+
+    /**
+     * Ouvre les plis : plus aucune offre n'est acceptée ensuite
+     * @return Résultat de la vente (sans gagnant si aucune offre)
+     */
+    public synchronized Result seal() {
+        sealed = true;
+        if (firstId == null) {
+            return new Result(null, null, SessionRegistry.NO_SESSION, 0, 0, bidCount);
+        }
+        long price = firstAmount;
+        if (type == AuctionType.SEALED_SECOND_PRICE) {
+            price = secondId != null ? Math.max(secondAmount, reservePrice) : reservePrice;
+        }
+        return new Result(firstId, firstName, firstSession, price, firstAmount, bidCount);
+    }
+
+    public synchronized long getBidCount() {
+        return bidCount;
+    }
+
+    public AuctionType getType() {
+        return type;
+    }
+
+    /**
+     * Résultat de l'ouverture des plis
+     */
+    public static final class Result {
+        private final String winnerId;
+        private final String winnerName;
+        private final int winnerSession;
+        private final long price;
+        private final long highestBid;
+        private final long bidCount;
+
+        Result(String winnerId, String winnerName, int winnerSession, long price, long highestBid, long bidCount) {
+            this.winnerId = winnerId;
+            this.winnerName = winnerName;
+            this.winnerSession = winnerSession;
+            this.price = price;
+            this.highestBid = highestBid;
+            this.bidCount = bidCount;
+        }
+
+        public boolean hasWinner() {
+            return winnerId != null;
+        }
+
+        public String getWinnerId() {
+            return winnerId;
+        }
+
+        public String getWinnerName() {
+            return winnerName;
+        }
+
+        public int getWinnerSession() {
+            return winnerSession;
+        }
+
+        /**
+         * Prix payé par le gagnant
+         */
+        public long getPrice() {
+            return price;
+        }
+
+        public long getHighestBid() {
+            return highestBid;
+        }
+
+        public long getBidCount() {
+            return bidCount;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.auction.server;
+
+import java.util.Arrays;
+
+/**
+ * Registre des sessions client indexé par case.
+ *
+ * Un identifiant de session est un entier dense : numéro de case (bits de poids faible) et
+ * génération de la case (bits de poids fort). Une case libérée est réutilisée par la connexion
+ * suivante avec une génération incrémentée : un identifiant périmé (client déconnecté, banni)
+ * ne désigne jamais la nouvelle session. L'état par client (gestionnaire, nom, dernière offre,
+ * bannissement) est rangé dans des tableaux indexés par case ; la forme texte de l'identifiant
+ * n'est produite qu'à la connexion, pour les messages et l'administration.
+ */
+public class SessionRegistry {
+
+    // Identifiant invalide (registre plein, texte illisible)
+    public static final int NO_SESSION = -1;
+
+    private static final int SLOT_BITS = 16;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    // Génération sur 15 bits : les identifiants restent positifs
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+    // Marque « aucune offre » dans la colonne des dernières offres
+    private static final long NO_BID = -1;
+
+    private final int capacity;
+    private final int[] generations;
+    private final ClientHandler[] handlers;
+    private final String[] names;
+    private final long[] lastBids;
+    private final boolean[] banned;
+    
+    // Gestionnaires connectés, tableau recopié à chaque connexion ou déconnexion (diffusion sans verrou)
+    private volatile ClientHandler[] handlerView = new ClientHandler[0];
+
+    // Cases libérées (pile) et première case jamais utilisée
+    private final int[] freeSlots;
+    private int freeCount;
+    private int highWater;
+    private int size;
+
+    /**
+     * @param capacity Nombre maximum de sessions simultanées (au plus 65 536)
+     */
+    public SessionRegistry(int capacity) {
+        if (capacity <= 0 || capacity > SLOT_MASK + 1) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        this.capacity = capacity;
+        this.generations = new int[capacity];
+        this.handlers = new ClientHandler[capacity];
+        this.names = new String[capacity];
+        this.lastBids = new long[capacity];
+        this.banned = new boolean[capacity];
+        this.freeSlots = new int[capacity];
+    }
+
+    // === Identifiants ===
+
+    public static int slotOf(int sessionId) {
+        return sessionId & SLOT_MASK;
+    }
+
+    public static int generationOf(int sessionId) {
+        return sessionId >>> SLOT_BITS;
+    }
+
+    /**
+     * Forme texte d'un identifiant (messages aux clients, administration)
+     */
+    public static String format(int sessionId) {
+        return Integer.toString(sessionId);
+    }
+
+    /**
+     * Identifiant correspondant à une forme texte (sans exception ni allocation : appelé à chaque enchère)
+     * @return {@link #NO_SESSION} si le texte n'est pas un identifiant
+     */
+    public static int parse(String text) {
+        if (text == null || text.isEmpty() || text.length() > 10) {
+            return NO_SESSION;
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_SESSION;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= Integer.MAX_VALUE ? (int) value : NO_SESSION;
+    }
+
+    // === Cycle de vie ===
+
+    /**
+     * Attribue une case à une nouvelle session (case libérée en priorité)
+     * @return Identifiant de la session, {@link #NO_SESSION} si le registre est plein
+     */
+    public synchronized int register(ClientHandler handler, String clientName) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else if (highWater < capacity) {
+            slot = highWater++;
+        } else {
+            return NO_SESSION;
+        }
+        handlers[slot] = handler;
+        names[slot] = clientName;
+        lastBids[slot] = NO_BID;
+        banned[slot] = false;
+        size++;
+        refreshView();
+        return (generations[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Libère la case d'une session ; la génération suivante invalide l'identifiant
+     * @return Le gestionnaire de la session, null si l'identifiant est périmé
+     */
+    public synchronized ClientHandler unregister(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        if (slot < 0) {
+            return null;
+        }
+        ClientHandler handler = handlers[slot];
+        handlers[slot] = null;
+        names[slot] = null;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        freeSlots[freeCount++] = slot;
+        size--;
+        refreshView();
+        return handler;
+    }
+
+    // === État par session ===
+
+    public synchronized boolean isCurrent(int sessionId) {
+        return slotIfCurrent(sessionId) >= 0;
+    }
+
+    /**
+     * @return Le gestionnaire, null si l'identifiant est périmé
+     */
+    public synchronized ClientHandler getHandler(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        return slot >= 0 ? handlers[slot] : null;
+    }
+
+    public synchronized String getName(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        return slot >= 0 ? names[slot] : null;
+    }
+
+    /**
+     * Enregistre la dernière offre acceptée d'une session (ignoré si l'identifiant est périmé)
+     */
+    public synchronized void setLastBid(int sessionId, long amount) {
+        int slot = slotIfCurrent(sessionId);
+        if (slot >= 0) {
+            lastBids[slot] = amount;
+        }
+    }
+
+    public synchronized void clearLastBid(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        if (slot >= 0) {
+            lastBids[slot] = NO_BID;
+        }
+    }
+
+    /**
+     * Efface les dernières offres de toutes les sessions (nouvelle vente)
+     */
+    public synchronized void clearLastBids() {
+        for (int slot = 0; slot < highWater; slot++) {
+            lastBids[slot] = NO_BID;
+        }
+    }
+
+    public synchronized boolean hasBid(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        return slot >= 0 && lastBids[slot] != NO_BID;
+    }
+
+    /**
+     * Dernière offre acceptée (0 si aucune)
+     */
+    public synchronized long getLastBid(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        return slot >= 0 && lastBids[slot] != NO_BID ? lastBids[slot] : 0;
+    }
+
+    /**
+     * Marque une session comme bannie (ses enchères sont refusées jusqu'à la déconnexion)
+     * @return false si l'identifiant est périmé
+     */
+    public synchronized boolean ban(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        if (slot < 0) {
+            return false;
+        }
+        banned[slot] = true;
+        lastBids[slot] = NO_BID;
+        return true;
+    }
+
+    public synchronized boolean isBanned(int sessionId) {
+        int slot = slotIfCurrent(sessionId);
+        return slot >= 0 && banned[slot];
+    }
+
+    // === Parcours ===
+
+    /**
+     * Gestionnaires connectés (pour diffuser sans verrou ni allocation) ; tableau partagé, à ne pas modifier
+     */
+    public ClientHandler[] getHandlers() {
+        return handlerView;
+    }
+    
+    private void refreshView() {
+        ClientHandler[] view = new ClientHandler[size];
+        int count = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (handlers[slot] != null) {
+                view[count++] = handlers[slot];
+            }
+        }
+        handlerView = count == view.length ? view : Arrays.copyOf(view, count);
+    }
+
+    /**
+     * Parcourt les sessions connectées sous le verrou du registre (visiteur court, sans E/S)
+     */
+    public synchronized void forEach(Visitor visitor) {
+        for (int slot = 0; slot < highWater; slot++) {
+            if (handlers[slot] != null) {
+                boolean hasBid = lastBids[slot] != NO_BID;
+                visitor.visit((generations[slot] << SLOT_BITS) | slot, names[slot],
+                    hasBid, hasBid ? lastBids[slot] : 0);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int slotIfCurrent(int sessionId) {
+        if (sessionId < 0) {
+            return -1;
+        }
+        int slot = slotOf(sessionId);
+        if (slot >= highWater || handlers[slot] == null || generations[slot] != generationOf(sessionId)) {
+            return -1;
+        }
+        return slot;
+    }
+
+    /**
+     * Visiteur des sessions connectées
+     */
+    public interface Visitor {
+        void visit(int sessionId, String clientName, boolean hasBid, long lastBid);
+    }
+}
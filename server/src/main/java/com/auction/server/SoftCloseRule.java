@@ -0,0 +1,71 @@
+package com.auction.server;
+
+/**
+ * Règle de prolongation anti-sniping des ventes à durée limitée.
+ * Une enchère acceptée moins de {@code windowMillis} avant la fin repousse la fin de
+ * {@code extensionMillis}, dans la limite de {@code maxExtensionMillis} au total par vente.
+ */
+public final class SoftCloseRule {
+
+    // Aucune prolongation
+    public static final SoftCloseRule DISABLED = new SoftCloseRule(0, 0, 0);
+
+    private final long windowMillis;
+    private final long extensionMillis;
+    private final long maxExtensionMillis;
+
+    public SoftCloseRule(long windowMillis, long extensionMillis, long maxExtensionMillis) {
+        if (windowMillis < 0 || extensionMillis < 0 || maxExtensionMillis < 0) {
+            throw new IllegalArgumentException("Les durées de prolongation doivent être positives");
+        }
+        this.windowMillis = windowMillis;
+        this.extensionMillis = extensionMillis;
+        this.maxExtensionMillis = maxExtensionMillis;
+    }
+
+    /**
+     * Règle par défaut : une enchère dans les 10 dernières secondes ajoute 10 secondes,
+     * au plus 2 minutes de prolongation par vente
+     */
+    public static SoftCloseRule defaults() {
+        return new SoftCloseRule(10_000, 10_000, 120_000);
+    }
+
+    public boolean isEnabled() {
+        return windowMillis > 0 && extensionMillis > 0 && maxExtensionMillis > 0;
+    }
+
+    /**
+     * Prolongation à appliquer pour une enchère acceptée
+     * @param remainingMillis Temps restant avant la fin au moment de l'enchère
+     * @param alreadyExtendedMillis Prolongation déjà accordée à cette vente
+     * @return Durée à ajouter à la fin de la vente (0 si aucune)
+     */
+    public long extensionFor(long remainingMillis, long alreadyExtendedMillis) {
+        if (!isEnabled() || remainingMillis > windowMillis) {
+            return 0;
+        }
+        return Math.max(0, Math.min(extensionMillis, maxExtensionMillis - alreadyExtendedMillis));
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public long getExtensionMillis() {
+        return extensionMillis;
+    }
+
+    public long getMaxExtensionMillis() {
+        return maxExtensionMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SoftCloseRule{" +
+                "window=" + windowMillis / 1000.0 + "s" +
+                ", extension=" + extensionMillis / 1000.0 + "s" +
+                ", max=" + maxExtensionMillis / 1000.0 + "s" +
+                '}';
+    }
+}
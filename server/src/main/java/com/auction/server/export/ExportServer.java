@@ -0,0 +1,259 @@
+package com.auction.server.export;
+
+import com.auction.server.AuctionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Canal d'export en flux de l'historique et des fichiers de données (journal).
+ *
+ * Protocole : le client envoie une ligne de commande, le serveur répond par
+ * une ligne d'en-tête ("OK &lt;taille&gt;" ou "ERR &lt;raison&gt;") suivie des données brutes.
+ * <ul>
+ *   <li>HISTORY &lt;offset&gt; : ventes en CSV à partir de l'index offset (taille = nombre total de ventes)</li>
+ *   <li>FILE &lt;nom&gt; &lt;offset&gt; : contenu du fichier à partir de l'octet offset (taille = taille du fichier)</li>
+ *   <li>LIST : une ligne "nom;taille" par fichier disponible</li>
+ * </ul>
+ * Les fichiers sont envoyés par FileChannel.transferTo (zéro copie) ; l'offset
+ * permet de reprendre un export interrompu sans renvoyer ce qui a déjà été reçu.
+ *
+ * Le canal n'est pas authentifié : il n'écoute par défaut que sur l'interface locale.
+ * Une connexion qui n'envoie pas sa commande à temps est fermée (les workers sont peu nombreux).
+ */
+public class ExportServer implements Runnable {
+
+    private static final int MAX_COMMAND_LENGTH = 512;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // Délai d'envoi de la ligne de commande
+    private static final int COMMAND_TIMEOUT_MILLIS = 10_000;
+
+    private final int port;
+    private final InetAddress bindAddress;
+    private final Path dataDirectory;
+    private final AuctionManager auctionManager;
+    private final ExecutorService workers;
+    // Un encodeur (et son tampon direct) par worker, réutilisé d'un export à l'autre
+    private final ThreadLocal<HistoryCsvEncoder> encoders;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+    private volatile boolean running;
+
+    /**
+     * Canal d'export sur l'interface locale uniquement
+     */
+    public ExportServer(int port, Path dataDirectory, AuctionManager auctionManager) {
+        this(port, InetAddress.getLoopbackAddress(), dataDirectory, auctionManager);
+    }
+
+    /**
+     * @param port Port d'écoute (0 pour un port libre)
+     * @param bindAddress Interface d'écoute
+     */
+    public ExportServer(int port, InetAddress bindAddress, Path dataDirectory, AuctionManager auctionManager) {
+        this.port = port;
+        this.bindAddress = bindAddress;
+        this.dataDirectory = dataDirectory;
+        this.auctionManager = auctionManager;
+        this.workers = Executors.newFixedThreadPool(2); // Exports limités à 2 en parallèle
+        this.encoders = ThreadLocal.withInitial(() -> new HistoryCsvEncoder(auctionManager, CHUNK_SIZE));
+    }
+
+    /**
+     * Ouvre le port d'export et démarre le thread d'acceptation
+     */
+    public void start() throws IOException {
+        Files.createDirectories(dataDirectory);
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(bindAddress, port));
+        running = true;
+
+        acceptThread = new Thread(this, "export-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        System.out.println("[EXPORT] Canal d'export démarré sur " + bindAddress.getHostAddress() + ":" + getLocalPort()
+            + " (" + dataDirectory.toAbsolutePath() + ")");
+    }
+
+    /**
+     * Port effectivement ouvert (utile avec le port 0)
+     */
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                workers.submit(() -> handle(channel));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("[EXPORT] Erreur d'acceptation: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Traite une demande d'export
+     */
+    private void handle(SocketChannel channel) {
+        try (SocketChannel client = channel) {
+            String command = readCommand(client);
+            if (command == null) {
+                return;
+            }
+            String[] parts = command.trim().split("\\s+");
+
+            switch (parts[0].toUpperCase()) {
+                case "HISTORY":
+                    exportHistory(client, parseOffset(parts, 1));
+                    break;
+                case "FILE":
+                    if (parts.length < 2) {
+                        writeHeader(client, "ERR Nom de fichier manquant");
+                        return;
+                    }
+                    exportFile(client, parts[1], parseOffset(parts, 2));
+                    break;
+                case "LIST":
+                    listFiles(client);
+                    break;
+                default:
+                    writeHeader(client, "ERR Commande inconnue: " + parts[0]);
+            }
+        } catch (SocketTimeoutException e) {
+            System.err.println("[EXPORT] Commande non reçue à temps, connexion fermée");
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("[EXPORT] Erreur d'export: " + e.getMessage());
+        }
+    }
+
+    private void exportHistory(SocketChannel client, long offset) throws IOException {
+        writeHeader(client, "OK " + auctionManager.getSalesHistorySize());
+        long count = encoders.get().encode(offset, client);
+        System.out.println("[EXPORT] Historique exporté: " + count + " vente(s) depuis l'index " + offset);
+    }
+
+    private void exportFile(SocketChannel client, String name, long offset) throws IOException {
+        Path file = resolve(name);
+        if (file == null || !Files.isRegularFile(file)) {
+            writeHeader(client, "ERR Fichier introuvable: " + name);
+            return;
+        }
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = source.size();
+            writeHeader(client, "OK " + size);
+
+            long position = Math.min(offset, size);
+            while (position < size) {
+                long sent = source.transferTo(position, size - position, client);
+                if (sent <= 0 && !client.isOpen()) {
+                    break;
+                }
+                position += sent;
+            }
+            System.out.println("[EXPORT] Fichier exporté: " + name + " (" + (position - offset) + " octets depuis " + offset + ")");
+        }
+    }
+
+    private void listFiles(SocketChannel client) throws IOException {
+        StringBuilder listing = new StringBuilder();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    listing.append(file.getFileName()).append(';').append(Files.size(file)).append('\n');
+                }
+            }
+        }
+        byte[] bytes = listing.toString().getBytes(StandardCharsets.UTF_8);
+        writeHeader(client, "OK " + bytes.length);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            client.write(buffer);
+        }
+    }
+
+    /**
+     * Résout un nom de fichier dans le répertoire de données (pas de chemin relatif)
+     */
+    private Path resolve(String name) {
+        if (name.contains("/") || name.contains("\\") || name.contains("..")) {
+            return null;
+        }
+        return dataDirectory.resolve(name);
+    }
+
+    private long parseOffset(String[] parts, int index) {
+        if (parts.length <= index) {
+            return 0;
+        }
+        long offset = Long.parseLong(parts[index]);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset négatif: " + offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Lit la ligne de commande octet par octet (le client attend la réponse, rien n'est lu en trop).
+     * La lecture passe par le flux du socket, seul à respecter le délai de lecture.
+     * @throws SocketTimeoutException si la commande n'arrive pas dans le délai
+     */
+    private String readCommand(SocketChannel client) throws IOException {
+        client.socket().setSoTimeout(COMMAND_TIMEOUT_MILLIS);
+        InputStream in = client.socket().getInputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_COMMAND_LENGTH);
+        while (buffer.hasRemaining()) {
+            int b = in.read();
+            if (b < 0) {
+                return null;
+            }
+            if (b == '\n') {
+                break;
+            }
+            buffer.put((byte) b);
+        }
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private void writeHeader(SocketChannel client, String header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((header + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            client.write(buffer);
+        }
+    }
+
+    /**
+     * Ferme le canal d'export
+     */
+    public void close() {
+        running = false;
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            // Ignorer les erreurs de fermeture
+        }
+        workers.shutdown();
+    }
+}
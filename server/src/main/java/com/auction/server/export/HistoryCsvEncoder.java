@@ -0,0 +1,122 @@
+package com.auction.server.export;
+
+import com.auction.common.dto.Product;
+import com.auction.server.AuctionManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodeur CSV de l'historique des ventes, par tranches.
+ * L'historique est lu par paquets et écrit dans un tampon de taille fixe :
+ * l'export complet n'est jamais matérialisé en mémoire.
+ * Le tampon direct est alloué une fois : un encodeur sert plusieurs exports successifs
+ * d'un même thread (non thread-safe).
+ */
+public class HistoryCsvEncoder {
+
+    // Nombre de ventes lues à chaque passage dans l'historique
+    private static final int SLICE_SIZE = 256;
+
+    private final AuctionManager auctionManager;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public HistoryCsvEncoder(AuctionManager auctionManager, int chunkSize) {
+        this.auctionManager = auctionManager;
+        this.buffer = ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    /**
+     * Écrit les ventes à partir de l'index donné
+     * @param offset Index de la première vente à exporter (reprise)
+     * @param out Canal de destination
+     * @return Nombre de ventes écrites
+     */
+    public long encode(long offset, WritableByteChannel out) throws IOException {
+        long written = 0;
+        int index = (int) Math.min(offset, Integer.MAX_VALUE);
+        buffer.clear();
+
+        while (true) {
+            List<Product> slice = auctionManager.getSalesHistory(index, SLICE_SIZE);
+            if (slice.isEmpty()) {
+                break;
+            }
+            for (Product product : slice) {
+                byte[] bytes = formatLine(index, product).getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > buffer.remaining()) {
+                    drain(out);
+                }
+                if (bytes.length > buffer.capacity()) {
+                    ByteBuffer large = ByteBuffer.wrap(bytes);
+                    while (large.hasRemaining()) {
+                        out.write(large);
+                    }
+                } else {
+                    buffer.put(bytes);
+                }
+                index++;
+                written++;
+            }
+        }
+        drain(out);
+        return written;
+    }
+
+    private String formatLine(int index, Product product) {
+        line.setLength(0);
+        line.append(index).append(';');
+        appendField(product.getId());
+        line.append(';');
+        appendField(product.getName());
+        line.append(';');
+        appendField(product.getDescription());
+        line.append(';').append(product.getStartingPrice());
+        line.append(';').append(product.getCurrentPrice());
+        line.append(';');
+        appendField(product.getHighestBidderId());
+        line.append(';');
+        appendField(product.getHighestBidderName());
+        line.append('\n');
+        return line.toString();
+    }
+
+    /**
+     * Échappe un champ texte (guillemets doublés si nécessaire).
+     * Les retours à la ligne sont remplacés par des espaces : une vente = une ligne,
+     * ce qui permet la reprise d'un export en comptant les lignes.
+     */
+    private void appendField(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(';') >= 0 || value.indexOf('"') >= 0;
+        if (quote) {
+            line.append('"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            } else if (c == '\n' || c == '\r') {
+                c = ' ';
+            }
+            line.append(c);
+        }
+        if (quote) {
+            line.append('"');
+        }
+    }
+
+    private void drain(WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
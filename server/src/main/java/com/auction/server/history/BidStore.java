@@ -0,0 +1,191 @@
+package com.auction.server.history;
+
+import com.auction.common.dto.BidHistory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Enchères acceptées de toutes les ventes, en enregistrements de largeur fixe hors tas.
+ *
+ * instant depuis l'ouverture de la vente en ns (8) | prix en millimes (8) | enchérisseur (4).
+ * Les enchères d'une vente sont contiguës (une seule vente à la fois) : une vente est décrite
+ * par sa première enchère et son nombre d'enchères. Les enchérisseurs sont internés dans un
+ * annuaire sur le tas (une entrée par client distinct, quel que soit le nombre d'enchères).
+ *
+ * Ajouts par un seul écrivain (verrou des enchères) ; lectures sans verrou.
+ */
+public class BidStore {
+
+    public static final int RECORD_SIZE = 20;
+
+    private static final int OFFSET_NANOS = 0;
+    private static final int PRICE = 8;
+    private static final int BIDDER = 16;
+
+    private final OffHeapRegion region;
+
+    // Annuaire des enchérisseurs (protégé par le moniteur du magasin)
+    private final Map<String, Integer> bidderIndex = new HashMap<>();
+    private final List<String> bidderIds = new ArrayList<>();
+    private final List<String> bidderNames = new ArrayList<>();
+
+    public BidStore(HistoryConfig config) {
+        int segmentBytes = config.segmentBytesFor(RECORD_SIZE);
+        this.region = new OffHeapRegion("enchères", segmentBytes, config.memorySegments(segmentBytes));
+    }
+
+    void spillTo(Path file) throws IOException {
+        region.spillTo(file);
+    }
+
+    void close() {
+        region.close();
+    }
+
+    /**
+     * Ajoute une enchère (sans allocation, hormis un nouveau segment ou un nouvel enchérisseur)
+     * @return Index de l'enchère
+     */
+    public long append(String bidderId, String bidderName, long offsetNanos, long price) {
+        int bidder = intern(bidderId, bidderName);
+        long position = region.reserve(RECORD_SIZE);
+        ByteBuffer segment = region.segmentAt(position);
+        int offset = region.offsetOf(position);
+        segment.putLong(offset + OFFSET_NANOS, offsetNanos);
+        segment.putLong(offset + PRICE, price);
+        segment.putInt(offset + BIDDER, bidder);
+        region.commit();
+        return position / RECORD_SIZE;
+    }
+
+    /**
+     * Nombre d'enchères stockées
+     */
+    public long size() {
+        return region.size() / RECORD_SIZE;
+    }
+
+    public long getOffsetNanos(long index) {
+        return region.getLong(positionOf(index) + OFFSET_NANOS);
+    }
+
+    public long getPrice(long index) {
+        return region.getLong(positionOf(index) + PRICE);
+    }
+
+    public int getBidder(long index) {
+        return region.getInt(positionOf(index) + BIDDER);
+    }
+
+    private long positionOf(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Enchère " + index + " hors du magasin (" + size() + ")");
+        }
+        return index * RECORD_SIZE;
+    }
+
+    // === Enchérisseurs ===
+
+    /**
+     * Index d'un enchérisseur (un identifiant de session réattribué à un autre nom crée une entrée)
+     */
+    private synchronized int intern(String bidderId, String bidderName) {
+        Integer index = bidderIndex.get(bidderId);
+        if (index != null && Objects.equals(bidderNames.get(index), bidderName)) {
+            return index;
+        }
+        int created = bidderIds.size();
+        bidderIndex.put(bidderId, created);
+        bidderIds.add(bidderId);
+        bidderNames.add(bidderName);
+        return created;
+    }
+
+    public synchronized String getBidderId(int bidder) {
+        return bidderIds.get(bidder);
+    }
+
+    public synchronized String getBidderName(int bidder) {
+        return bidderNames.get(bidder);
+    }
+
+    public synchronized int getBidderCount() {
+        return bidderIds.size();
+    }
+
+    // === Lecture ===
+
+    /**
+     * Curseur de lecture réutilisable (un par thread lecteur)
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Copie compacte d'une plage d'enchères (historique d'une vente), enchérisseurs renumérotés
+     * @param first Index de la première enchère de la vente
+     * @param count Nombre d'enchères
+     * @param startEpochMillis Ouverture de la vente (epoch ms)
+     */
+    public BidHistory toHistory(long first, int count, long startEpochMillis) {
+        long[] offsetNanos = new long[count];
+        long[] prices = new long[count];
+        int[] bidders = new int[count];
+        Map<Integer, Integer> local = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        Cursor cursor = cursor();
+        for (int i = 0; i < count; i++) {
+            cursor.moveTo(first + i);
+            offsetNanos[i] = cursor.getOffsetNanos();
+            prices[i] = cursor.getPrice();
+            int bidder = cursor.getBidder();
+            Integer index = local.get(bidder);
+            if (index == null) {
+                index = ids.size();
+                local.put(bidder, index);
+                ids.add(getBidderId(bidder));
+                names.add(getBidderName(bidder));
+            }
+            bidders[i] = index;
+        }
+        return new BidHistory(startEpochMillis, offsetNanos, prices, bidders,
+            ids.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * Poids mouche positionné sur une enchère : lit les champs directement hors tas
+     */
+    public final class Cursor {
+        private long position;
+
+        private Cursor() {
+        }
+
+        public Cursor moveTo(long index) {
+            position = positionOf(index);
+            return this;
+        }
+
+        public long getOffsetNanos() {
+            return region.getLong(position + OFFSET_NANOS);
+        }
+
+        public long getPrice() {
+            return region.getLong(position + PRICE);
+        }
+
+        public int getBidder() {
+            return region.getInt(position + BIDDER);
+        }
+    }
+}
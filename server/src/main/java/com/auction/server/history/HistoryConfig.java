@@ -0,0 +1,51 @@
+package com.auction.server.history;
+
+/**
+ * Taille des segments et capacité en mémoire directe de l'historique hors tas
+ */
+public class HistoryConfig {
+
+    private final int segmentBytes;
+    private final long maxMemoryBytes;
+
+    /**
+     * @param segmentBytes Taille d'un segment (unité d'allocation et de débordement)
+     * @param maxMemoryBytes Volume gardé en mémoire directe par zone, au-delà débordé sur disque
+     */
+    public HistoryConfig(int segmentBytes, long maxMemoryBytes) {
+        if (segmentBytes < 64 * 1024 || maxMemoryBytes < segmentBytes) {
+            throw new IllegalArgumentException("Segments d'au moins 64 Ko et capacité d'au moins un segment");
+        }
+        this.segmentBytes = segmentBytes;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Segments de 1 Mo, 64 Mo en mémoire directe par zone (environ 3 millions d'enchères)
+     */
+    public static HistoryConfig defaults() {
+        return new HistoryConfig(1024 * 1024, 64L * 1024 * 1024);
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+    /**
+     * Nombre de segments en mémoire directe pour des enregistrements de la taille donnée
+     */
+    int memorySegments(int segmentBytes) {
+        return (int) Math.max(1, maxMemoryBytes / segmentBytes);
+    }
+
+    /**
+     * Taille de segment arrondie à un multiple de la taille d'enregistrement
+     */
+    int segmentBytesFor(int recordSize) {
+        return segmentBytes - segmentBytes % recordSize;
+    }
+}
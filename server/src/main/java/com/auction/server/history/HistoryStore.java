@@ -0,0 +1,76 @@
+package com.auction.server.history;
+
+import com.auction.common.dto.BidHistory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Historique hors tas du serveur : enchères de toutes les ventes et ventes clôturées.
+ *
+ * Sans répertoire (ou avant {@link #open()}), tout reste en mémoire directe ; une fois ouvert,
+ * les segments au-delà de la capacité configurée débordent dans des fichiers de travail du
+ * répertoire. Ces fichiers ne sont pas une persistance : ils sont recréés à chaque démarrage
+ * (le journal des enchères reste la trace durable).
+ */
+public class HistoryStore {
+
+    private final Path directory;
+    private final BidStore bids;
+    private final LotStore lots;
+
+    /**
+     * @param directory Répertoire des fichiers de débordement, null pour rester en mémoire
+     */
+    public HistoryStore(Path directory, HistoryConfig config) {
+        this.directory = directory;
+        this.bids = new BidStore(config);
+        this.lots = new LotStore(config);
+    }
+
+    /**
+     * Historique sans débordement disque (tests, serveur sans répertoire de données)
+     */
+    public static HistoryStore inMemory() {
+        return new HistoryStore(null, HistoryConfig.defaults());
+    }
+
+    /**
+     * Crée les fichiers de débordement
+     */
+    public void open() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        bids.spillTo(directory.resolve("bids.spill"));
+        lots.spillTo(directory.resolve("lots.spill"), directory.resolve("lot-texts.spill"));
+        System.out.println("[HISTORY] Débordement de l'historique dans " + directory.toAbsolutePath());
+    }
+
+    public BidStore getBids() {
+        return bids;
+    }
+
+    public LotStore getLots() {
+        return lots;
+    }
+
+    /**
+     * Enchères d'une vente archivée
+     * @param lot Index de la vente dans {@link #getLots()}
+     */
+    public BidHistory bidHistoryOf(int lot) {
+        LotStore.Cursor cursor = lots.cursor().moveTo(lot);
+        return bids.toHistory(cursor.getFirstBid(), cursor.getBidCount(), cursor.getStartEpochMillis());
+    }
+
+    /**
+     * Supprime les fichiers de débordement
+     */
+    public void close() {
+        bids.close();
+        lots.close();
+    }
+}
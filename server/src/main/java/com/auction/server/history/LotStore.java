@@ -0,0 +1,308 @@
+package com.auction.server.history;
+
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.Product;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ventes clôturées, en enregistrements de largeur fixe hors tas.
+ *
+ * hash de l'ID (4) | format (1) | vendu (1) | - (2) | position des textes (8) | ouverture (8)
+ * | prix de départ (8) | prix final (8) | fin programmée (8) | latence d'acceptation (8)
+ * | première enchère (8) | nombre d'enchères (4) | - (4).
+ * Les textes d'une vente (ID, nom, description, gagnant) sont rangés à la suite dans une seconde
+ * zone : longueur (2 octets, en caractères) puis caractères UTF-16. Les enchères de la vente
+ * sont dans le {@link BidStore}, désignées par leur plage.
+ *
+ * Ajouts par un seul écrivain (clôture sous le verrou des enchères) ; lectures sans verrou.
+ */
+public class LotStore {
+
+    public static final int RECORD_SIZE = 72;
+
+    private static final int ID_HASH = 0;
+    private static final int TYPE = 4;
+    private static final int SOLD = 5;
+    private static final int TEXTS = 8;
+    private static final int START_MILLIS = 16;
+    private static final int STARTING_PRICE = 24;
+    private static final int FINAL_PRICE = 32;
+    private static final int END_TIME = 40;
+    private static final int ACCEPT_LATENCY = 48;
+    private static final int FIRST_BID = 56;
+    private static final int BID_COUNT = 64;
+
+    // Textes tronqués au-delà (les textes d'une vente tiennent toujours dans un segment)
+    private static final int MAX_TEXT = 4096;
+    private static final int NULL_TEXT = 0xFFFF;
+
+    private static final AuctionType[] TYPES = AuctionType.values();
+
+    private final OffHeapRegion records;
+    private final OffHeapRegion texts;
+
+    public LotStore(HistoryConfig config) {
+        int segmentBytes = config.segmentBytesFor(RECORD_SIZE);
+        this.records = new OffHeapRegion("ventes", segmentBytes, config.memorySegments(segmentBytes));
+        this.texts = new OffHeapRegion("textes des ventes", config.getSegmentBytes(),
+            config.memorySegments(config.getSegmentBytes()));
+    }
+
+    void spillTo(Path recordFile, Path textFile) throws IOException {
+        records.spillTo(recordFile);
+        texts.spillTo(textFile);
+    }
+
+    void close() {
+        records.close();
+        texts.close();
+    }
+
+    /**
+     * Archive une vente clôturée
+     * @param startEpochMillis Ouverture de la vente (epoch ms)
+     * @param firstBid Index de sa première enchère dans le {@link BidStore}
+     * @param bidCount Nombre d'enchères de la vente
+     * @return Index de la vente
+     */
+    public synchronized int add(Product product, long startEpochMillis, long firstBid, int bidCount) {
+        String winnerId = product.getHighestBidderId();
+        String[] values = {product.getId(), product.getName(), product.getDescription(),
+            winnerId, product.getHighestBidderName()};
+        int textBytes = 0;
+        for (String value : values) {
+            textBytes += 2 + 2 * textLength(value);
+        }
+        long textPosition = texts.reserve(textBytes);
+        ByteBuffer textSegment = texts.segmentAt(textPosition);
+        int textOffset = texts.offsetOf(textPosition);
+        for (String value : values) {
+            textOffset = putText(textSegment, textOffset, value);
+        }
+        texts.commit();
+
+        long position = records.reserve(RECORD_SIZE);
+        ByteBuffer segment = records.segmentAt(position);
+        int offset = records.offsetOf(position);
+        segment.putInt(offset + ID_HASH, hashOf(product.getId()));
+        segment.put(offset + TYPE, (byte) product.getAuctionType().ordinal());
+        segment.put(offset + SOLD, (byte) (winnerId != null ? 1 : 0));
+        segment.putLong(offset + TEXTS, textPosition);
+        segment.putLong(offset + START_MILLIS, startEpochMillis);
+        segment.putLong(offset + STARTING_PRICE, product.getStartingPriceMinor());
+        segment.putLong(offset + FINAL_PRICE, product.getCurrentPriceMinor());
+        segment.putLong(offset + END_TIME, product.getEndTime());
+        segment.putLong(offset + ACCEPT_LATENCY, product.getAcceptLatencyMicros());
+        segment.putLong(offset + FIRST_BID, firstBid);
+        segment.putInt(offset + BID_COUNT, bidCount);
+        records.commit();
+        return (int) (position / RECORD_SIZE);
+    }
+
+    private static int textLength(String value) {
+        return value == null ? 0 : Math.min(value.length(), MAX_TEXT);
+    }
+
+    private static int putText(ByteBuffer segment, int offset, String value) {
+        if (value == null) {
+            segment.putShort(offset, (short) NULL_TEXT);
+            return offset + 2;
+        }
+        int length = textLength(value);
+        segment.putShort(offset, (short) length);
+        offset += 2;
+        for (int i = 0; i < length; i++) {
+            segment.putChar(offset, value.charAt(i));
+            offset += 2;
+        }
+        return offset;
+    }
+
+    private static int hashOf(String productId) {
+        return productId == null ? 0 : productId.hashCode();
+    }
+
+    /**
+     * Nombre de ventes archivées
+     */
+    public int size() {
+        return (int) (records.size() / RECORD_SIZE);
+    }
+
+    /**
+     * Index de la vente d'un produit (recherche depuis la plus récente, sur le hash puis le texte)
+     * @return -1 si le produit est inconnu
+     */
+    public int find(String productId) {
+        int hash = hashOf(productId);
+        Cursor cursor = cursor();
+        for (int index = size() - 1; index >= 0; index--) {
+            cursor.moveTo(index);
+            if (cursor.getIdHash() == hash && cursor.idEquals(productId)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ventes reconstruites sur le tas (sans leurs enchères, lues à part)
+     * @param fromIndex Index de la première vente
+     * @param maxCount Nombre maximum de ventes
+     */
+    public List<Product> toProducts(int fromIndex, int maxCount) {
+        int size = size();
+        int from = Math.max(0, Math.min(fromIndex, size));
+        int to = (int) Math.min((long) from + maxCount, size);
+        List<Product> products = new ArrayList<>(to - from);
+        Cursor cursor = cursor();
+        for (int index = from; index < to; index++) {
+            products.add(cursor.moveTo(index).toProduct());
+        }
+        return products;
+    }
+
+    /**
+     * Curseur de lecture réutilisable (un par thread lecteur)
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Poids mouche positionné sur une vente : champs numériques lus directement hors tas,
+     * textes décodés à la demande
+     */
+    public final class Cursor {
+        private long position;
+
+        private Cursor() {
+        }
+
+        public Cursor moveTo(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Vente " + index + " hors de l'archive (" + size() + ")");
+            }
+            position = (long) index * RECORD_SIZE;
+            return this;
+        }
+
+        int getIdHash() {
+            return records.getInt(position + ID_HASH);
+        }
+
+        public AuctionType getAuctionType() {
+            return TYPES[records.get(position + TYPE)];
+        }
+
+        public boolean isSold() {
+            return records.get(position + SOLD) != 0;
+        }
+
+        public long getStartEpochMillis() {
+            return records.getLong(position + START_MILLIS);
+        }
+
+        public long getStartingPriceMinor() {
+            return records.getLong(position + STARTING_PRICE);
+        }
+
+        public long getFinalPriceMinor() {
+            return records.getLong(position + FINAL_PRICE);
+        }
+
+        public long getEndTime() {
+            return records.getLong(position + END_TIME);
+        }
+
+        public long getAcceptLatencyMicros() {
+            return records.getLong(position + ACCEPT_LATENCY);
+        }
+
+        public long getFirstBid() {
+            return records.getLong(position + FIRST_BID);
+        }
+
+        public int getBidCount() {
+            return records.getInt(position + BID_COUNT);
+        }
+
+        public String getProductId() {
+            return text(0);
+        }
+
+        public String getProductName() {
+            return text(1);
+        }
+
+        public String getDescription() {
+            return text(2);
+        }
+
+        public String getWinnerId() {
+            return text(3);
+        }
+
+        public String getWinnerName() {
+            return text(4);
+        }
+
+        /**
+         * Compare l'ID du produit sans le décoder
+         */
+        boolean idEquals(String productId) {
+            long textPosition = records.getLong(position + TEXTS);
+            int length = texts.getShort(textPosition) & 0xFFFF;
+            if (length == NULL_TEXT || productId == null) {
+                return length == NULL_TEXT && productId == null;
+            }
+            if (length != textLength(productId) || length != productId.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (texts.getChar(textPosition + 2 + 2 * i) != productId.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String text(int field) {
+            long textPosition = records.getLong(position + TEXTS);
+            for (int i = 0; i < field; i++) {
+                int length = texts.getShort(textPosition) & 0xFFFF;
+                textPosition += 2 + (length == NULL_TEXT ? 0 : 2 * length);
+            }
+            int length = texts.getShort(textPosition) & 0xFFFF;
+            if (length == NULL_TEXT) {
+                return null;
+            }
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = texts.getChar(textPosition + 2 + 2 * i);
+            }
+            return new String(chars);
+        }
+
+        /**
+         * Vente reconstruite (sans ses enchères)
+         */
+        public Product toProduct() {
+            Product product = new Product(getProductId(), getProductName(), getDescription(), 0);
+            product.setStartingPriceMinor(getStartingPriceMinor());
+            product.setCurrentPriceMinor(getFinalPriceMinor());
+            product.setHighestBidderId(getWinnerId());
+            product.setHighestBidderName(getWinnerName());
+            product.setActive(false);
+            product.setEndTime(getEndTime());
+            product.setAuctionType(getAuctionType());
+            product.setAcceptLatencyMicros(getAcceptLatencyMicros());
+            return product;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.auction.server.history;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zone mémoire hors tas, en ajout seul, découpée en segments de taille fixe.
+ *
+ * Les segments récents sont des tampons directs ; au-delà du nombre de segments autorisés en
+ * mémoire, le plus ancien est écrit dans le fichier de débordement et remplacé par une projection
+ * en lecture seule de ce fichier (le système pagine alors les données à la demande). Le tas ne
+ * contient que la table des segments : la durée des pauses GC ne dépend pas du volume stocké.
+ *
+ * Avec débordement, le nombre de tampons directs ne dépasse jamais la capacité : un thread de
+ * fond écrit le plus ancien segment sur disque et remet son tampon dans une réserve, où
+ * l'écrivain prend le segment suivant. L'écrivain ne fait ni entrée/sortie ni allocation
+ * directe, sauf si le thread de fond a pris du retard (débordement fait alors sur place), et ne
+ * sollicite le thread de fond qu'en changeant de segment : une écriture qui tient dans le segment
+ * en cours ne fait aucun travail supplémentaire.
+ *
+ * Un seul écrivain à la fois ({@link #reserve} puis {@link #commit}) ; les lecteurs ne prennent
+ * pas de verrou et ne lisent que les octets validés (en dessous de {@link #size()}). Un tampon
+ * pouvant être réutilisé pendant une lecture, chaque lecture vérifie ensuite que la table désigne
+ * toujours le même tampon, et recommence sinon (le segment est alors lu dans sa projection).
+ * Une écriture réservée ne chevauche jamais deux segments.
+ */
+public class OffHeapRegion {
+
+    private final String name;
+    private final int segmentBytes;
+    private final int maxMemorySegments;
+
+    // Table des segments (copiée à chaque ajout ou débordement : lecture sans verrou)
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    // Premier segment encore en mémoire directe
+    private int firstInMemory;
+
+    // Position de la prochaine réservation et octets validés (visibles des lecteurs)
+    private long reserved;
+    private volatile long size;
+
+    // Tampons directs créés (table et réserve) et tampons libres, prêts pour les segments suivants
+    private int directSegments;
+    private final ArrayDeque<ByteBuffer> freeSegments = new ArrayDeque<>();
+    // Débordement du premier segment en mémoire en cours sur le thread de fond
+    private boolean spilling;
+    // Préparation du segment suivant demandée au thread de fond et pas encore terminée
+    private boolean preparing;
+    private int preparationRequests;
+    private final Runnable prepareTask = this::prepareNextSegment;
+
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private ExecutorService spiller;
+    private boolean capacityWarned;
+
+    /**
+     * @param name Nom de la zone (traces)
+     * @param segmentBytes Taille d'un segment
+     * @param maxMemorySegments Nombre de segments gardés en mémoire directe
+     */
+    public OffHeapRegion(String name, int segmentBytes, int maxMemorySegments) {
+        if (segmentBytes <= 0 || maxMemorySegments <= 0) {
+            throw new IllegalArgumentException("Taille de segment et capacité doivent être positives");
+        }
+        this.name = name;
+        this.segmentBytes = segmentBytes;
+        this.maxMemorySegments = maxMemorySegments;
+    }
+
+    /**
+     * Active le débordement sur disque (fichier recréé vide, supprimé à la fermeture)
+     */
+    public synchronized void spillTo(Path file) throws IOException {
+        spillChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        spillFile = file;
+        spiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-spill-" + file.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Réserve une écriture (passe au segment suivant si elle n'y tient pas)
+     * @return Position de l'écriture, à remplir avec {@link #segmentAt} et {@link #offsetOf}
+     */
+    public synchronized long reserve(int bytes) {
+        if (bytes <= 0 || bytes > segmentBytes) {
+            throw new IllegalArgumentException("Écriture de " + bytes + " octets dans des segments de " + segmentBytes);
+        }
+        long position = reserved;
+        if (offsetOf(position) + bytes > segmentBytes) {
+            position = (position / segmentBytes + 1) * segmentBytes;
+        }
+        ensureSegment((int) (position / segmentBytes));
+        reserved = position + bytes;
+        return position;
+    }
+
+    /**
+     * Valide les écritures réservées jusqu'ici (visibles des lecteurs)
+     */
+    public synchronized void commit() {
+        size = reserved;
+    }
+
+    /**
+     * Octets validés (fin de la dernière écriture visible)
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Segment d'une écriture réservée et pas encore validée (écrivain uniquement :
+     * les lecteurs passent par les accesseurs, qui détectent un tampon réutilisé)
+     */
+    public ByteBuffer segmentAt(long position) {
+        return segments[(int) (position / segmentBytes)];
+    }
+
+    public int offsetOf(long position) {
+        return (int) (position % segmentBytes);
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    // === Lecture ===
+
+    public long getLong(long position) {
+        int index = (int) (position / segmentBytes);
+        int offset = offsetOf(position);
+        while (true) {
+            ByteBuffer segment = segments[index];
+            long value = segment.getLong(offset);
+            if (isCurrent(index, segment)) {
+                return value;
+            }
+        }
+    }
+
+    public int getInt(long position) {
+        int index = (int) (position / segmentBytes);
+        int offset = offsetOf(position);
+        while (true) {
+            ByteBuffer segment = segments[index];
+            int value = segment.getInt(offset);
+            if (isCurrent(index, segment)) {
+                return value;
+            }
+        }
+    }
+
+    public short getShort(long position) {
+        int index = (int) (position / segmentBytes);
+        int offset = offsetOf(position);
+        while (true) {
+            ByteBuffer segment = segments[index];
+            short value = segment.getShort(offset);
+            if (isCurrent(index, segment)) {
+                return value;
+            }
+        }
+    }
+
+    public char getChar(long position) {
+        int index = (int) (position / segmentBytes);
+        int offset = offsetOf(position);
+        while (true) {
+            ByteBuffer segment = segments[index];
+            char value = segment.getChar(offset);
+            if (isCurrent(index, segment)) {
+                return value;
+            }
+        }
+    }
+
+    public byte get(long position) {
+        int index = (int) (position / segmentBytes);
+        int offset = offsetOf(position);
+        while (true) {
+            ByteBuffer segment = segments[index];
+            byte value = segment.get(offset);
+            if (isCurrent(index, segment)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Vrai si la lecture faite dans ce tampon est valable : le segment n'a pas été débordé
+     * entre-temps (un tampon débordé n'est réutilisé qu'après le remplacement dans la table)
+     */
+    private boolean isCurrent(int index, ByteBuffer segment) {
+        // La lecture des données précède la relecture de la table
+        VarHandle.acquireFence();
+        return segments[index] == segment;
+    }
+
+    /**
+     * Nombre de segments écrits sur disque
+     */
+    public synchronized int getSpilledSegments() {
+        return firstInMemory;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Demandes de préparation envoyées au thread de fond (au plus une par nouveau segment)
+     */
+    synchronized int getPreparationRequests() {
+        return preparationRequests;
+    }
+
+    /**
+     * Tampons directs créés par la zone (en mémoire et en réserve)
+     */
+    public synchronized int getDirectSegments() {
+        return directSegments;
+    }
+
+    // === Segments ===
+
+    private void ensureSegment(int index) {
+        if (segments.length > index) {
+            // Cas courant : l'écriture tient dans le segment en cours, aucun travail de fond
+            return;
+        }
+        while (segments.length <= index) {
+            ByteBuffer segment = takeSegment();
+            // Relue après takeSegment : un débordement sur place remplace la table
+            ByteBuffer[] current = segments;
+            ByteBuffer[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = segment;
+            segments = updated;
+        }
+        if (spiller != null && !preparing) {
+            // Prépare le segment suivant pendant que celui-ci se remplit (une demande par segment)
+            preparing = true;
+            preparationRequests++;
+            spiller.execute(prepareTask);
+        }
+    }
+
+    /**
+     * Tampon pour un nouveau segment : réserve, nouveau tampon sous la capacité, sinon
+     * débordement (attendu sur le thread de fond, ou fait sur place)
+     */
+    private ByteBuffer takeSegment() {
+        if (spillChannel == null) {
+            if (segments.length - firstInMemory >= maxMemorySegments && !capacityWarned) {
+                capacityWarned = true;
+                System.err.println("[HISTORY] " + name + ": capacité mémoire atteinte sans débordement disque, "
+                    + "la zone continue de croître hors tas");
+            }
+            directSegments++;
+            return ByteBuffer.allocateDirect(segmentBytes);
+        }
+        while (true) {
+            ByteBuffer free = freeSegments.poll();
+            if (free != null) {
+                return free;
+            }
+            if (directSegments < maxMemorySegments) {
+                directSegments++;
+                return ByteBuffer.allocateDirect(segmentBytes);
+            }
+            if (spilling) {
+                awaitSpill();
+                continue;
+            }
+            if (!spillInPlace()) {
+                // Disque indisponible : le segment reste en mémoire, l'ajout n'est pas refusé
+                directSegments++;
+                return ByteBuffer.allocateDirect(segmentBytes);
+            }
+        }
+    }
+
+    /**
+     * Attend la fin du débordement en cours sur le thread de fond (libère le moniteur)
+     */
+    private void awaitSpill() {
+        boolean interrupted = false;
+        while (spilling) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                // L'écriture réservée doit aboutir : interruption restituée ensuite
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Thread de fond : garde un tampon libre d'avance, en débordant le plus ancien segment
+     * en mémoire une fois la capacité atteinte
+     */
+    private void prepareNextSegment() {
+        try {
+            while (prepareOne()) {
+                // Jusqu'à ce qu'un tampon libre attende l'écrivain
+            }
+        } finally {
+            synchronized (this) {
+                preparing = false;
+            }
+        }
+    }
+
+    /**
+     * Une étape de préparation : nouveau tampon sous la capacité, sinon débordement
+     * @return true s'il faut vérifier à nouveau la réserve
+     */
+    private boolean prepareOne() {
+        int index;
+        ByteBuffer source;
+        synchronized (this) {
+            if (spillChannel == null || !freeSegments.isEmpty() || spilling) {
+                preparing = false;
+                return false;
+            }
+            if (directSegments < maxMemorySegments) {
+                directSegments++;
+                source = null;
+                index = -1;
+            } else if (firstInMemory < segments.length - 1) {
+                // Le dernier segment est celui de l'écrivain : seuls les segments pleins débordent
+                spilling = true;
+                index = firstInMemory;
+                source = segments[index];
+            } else {
+                preparing = false;
+                return false;
+            }
+        }
+
+        if (source == null) {
+            ByteBuffer allocated = ByteBuffer.allocateDirect(segmentBytes);
+            synchronized (this) {
+                freeSegments.push(allocated);
+                notifyAll();
+            }
+            return true;
+        }
+
+        ByteBuffer mapped = null;
+        try {
+            mapped = writeSegment(index, source);
+        } catch (IOException e) {
+            System.err.println("[HISTORY] " + name + ": débordement impossible (" + e.getMessage() + ")");
+        }
+        synchronized (this) {
+            spilling = false;
+            if (mapped != null) {
+                retire(index, mapped);
+            }
+            notifyAll();
+        }
+        return mapped != null;
+    }
+
+    /**
+     * Débordement sur place (écrivain, sous le moniteur) quand le thread de fond est en retard
+     * @return false si le disque est indisponible
+     */
+    private boolean spillInPlace() {
+        int index = firstInMemory;
+        try {
+            retire(index, writeSegment(index, segments[index]));
+            return true;
+        } catch (IOException e) {
+            System.err.println("[HISTORY] " + name + ": débordement impossible (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    /**
+     * Écrit un segment plein dans le fichier et retourne sa projection en lecture seule
+     */
+    private ByteBuffer writeSegment(int index, ByteBuffer segment) throws IOException {
+        long filePosition = (long) index * segmentBytes;
+        ByteBuffer source = segment.duplicate();
+        source.clear();
+        while (source.hasRemaining()) {
+            spillChannel.write(source, filePosition + source.position());
+        }
+        return spillChannel.map(FileChannel.MapMode.READ_ONLY, filePosition, segmentBytes);
+    }
+
+    /**
+     * Remplace le segment par sa projection puis remet son tampon dans la réserve : un lecteur
+     * qui le tenait encore voit la table changer et relit dans la projection
+     */
+    private void retire(int index, ByteBuffer mapped) {
+        ByteBuffer[] updated = segments.clone();
+        ByteBuffer retired = updated[index];
+        updated[index] = mapped;
+        segments = updated;
+        firstInMemory++;
+        freeSegments.push(retired);
+    }
+
+    /**
+     * Arrête le thread de fond, ferme et supprime le fichier de débordement
+     * (les projections restent lisibles jusqu'au GC)
+     */
+    public void close() {
+        ExecutorService stopping;
+        synchronized (this) {
+            stopping = spiller;
+            spiller = null;
+        }
+        if (stopping != null) {
+            stopping.shutdown();
+            try {
+                stopping.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (spillChannel == null) {
+                return;
+            }
+            try {
+                spillChannel.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                System.err.println("[HISTORY] " + name + ": fermeture du débordement: " + e.getMessage());
+            }
+            spillChannel = null;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.auction.server.journal;
+
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+import com.auction.server.AuctionEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal des enchères en ajout seul, découpé en segments.
+ *
+ * Le segment actif reçoit les enregistrements sous le verrou des enchères ; il est scellé
+ * quand il dépasse la taille ou l'âge configurés. Un thread de maintenance compacte les
+ * segments scellés (une vente terminée est réduite à son enregistrement de clôture) et
+ * applique la politique de rétention. La maintenance ne touche jamais au segment actif
+ * et ne prend pas le verrou d'écriture, sauf pour sceller un segment trop ancien.
+ *
+ * Les enregistrements ne sont pas vidés un par un sous le verrou des enchères : le tampon
+ * d'écriture part vers le système quand il est plein, à chaque rotation et au plus tard toutes
+ * les {@value #FLUSH_INTERVAL_MILLIS} ms. Un arrêt brutal du processus peut donc perdre les
+ * enregistrements de cette dernière fenêtre ; le journal ne force jamais l'écriture sur disque
+ * (pas de fsync), une panne du système peut en perdre davantage.
+ *
+ * La rétention se fonde sur l'horodatage du plus récent enregistrement de chaque segment et
+ * non sur la date de modification du fichier, que la compaction remet à zéro.
+ */
+public class BidJournal implements AuctionEventListener {
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String RAW_SUFFIX = ".seg";
+    static final String COMPACTED_SUFFIX = ".cseg";
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private static final int WRITE_BUFFER_SIZE = 8 * 1024;
+
+    private final Path directory;
+    private final JournalConfig config;
+    private final Object appendLock = new Object();
+
+    // Segments scellés (numéro -> fichier brut ou compacté)
+    private final ConcurrentSkipListMap<Long, Path> sealedSegments = new ConcurrentSkipListMap<>();
+
+    // Horodatage du plus récent enregistrement de chaque segment scellé (relu au besoin après reprise)
+    private final Map<Long, Long> newestRecordTimes = new ConcurrentHashMap<>();
+
+    private final JournalCompactor compactor;
+    private ScheduledExecutorService maintenance;
+
+    // Segment actif (protégé par appendLock)
+    private DataOutputStream activeOutput;
+    private long activeSequence;
+    private long activeOpenedAt;
+    private long activeNewestRecordAt;
+
+    // Nombre d'enchères de la vente en cours (appelé sous le verrou des enchères)
+    private int currentBidCount;
+
+    public BidJournal(Path directory, JournalConfig config) {
+        this.directory = directory;
+        this.config = config;
+        this.compactor = new JournalCompactor(directory, sealedSegments);
+    }
+
+    /**
+     * Ouvre le journal : reprend les segments existants et ouvre un nouveau segment actif
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+
+        long lastSequence = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                // Compaction interrompue avant le renommage du fichier temporaire
+                if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                long sequence = sequenceOf(file);
+                if (sequence < 0) {
+                    continue;
+                }
+                // Un segment brut et sa version compactée : la version compactée fait foi
+                Path known = sealedSegments.get(sequence);
+                if (known == null || file.toString().endsWith(COMPACTED_SUFFIX)) {
+                    sealedSegments.put(sequence, file);
+                }
+                lastSequence = Math.max(lastSequence, sequence);
+            }
+        }
+        // Compaction interrompue avant la suppression du segment brut
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            if (entry.getValue().toString().endsWith(COMPACTED_SUFFIX)) {
+                Files.deleteIfExists(segmentPath(entry.getKey(), RAW_SUFFIX));
+            }
+        }
+        compactor.markAllForRescan();
+
+        synchronized (appendLock) {
+            openSegment(lastSequence + 1);
+        }
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::runMaintenance,
+            config.getCompactionIntervalMillis(), config.getCompactionIntervalMillis(), TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::flush,
+            FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        System.out.println("[JOURNAL] Journal ouvert: " + directory.toAbsolutePath()
+            + " (" + sealedSegments.size() + " segment(s) scellé(s))");
+    }
+
+    // === Événements d'enchère ===
+
+    @Override
+    public void onAuctionStarted(Product product) {
+        currentBidCount = 0;
+        append(JournalRecord.started(System.currentTimeMillis(), product.getId(), product.getName(),
+            product.getStartingPriceMinor()));
+    }
+
+    @Override
+    public void onBidAccepted(Product product, BidRequest bid) {
+        currentBidCount++;
+        append(JournalRecord.bid(System.currentTimeMillis(), product.getId(), bid.getClientId(),
+            bid.getClientName(), bid.getAmountMinor()));
+    }
+
+    @Override
+    public void onAuctionClosed(Product soldProduct) {
+        append(JournalRecord.closed(System.currentTimeMillis(), soldProduct.getId(), soldProduct.getName(),
+            soldProduct.getStartingPriceMinor(), soldProduct.getHighestBidderId(), soldProduct.getHighestBidderName(),
+            soldProduct.getCurrentPriceMinor(), currentBidCount));
+    }
+
+    @Override
+    public void onAuctionCancelled(Product product) {
+        append(JournalRecord.cancelled(System.currentTimeMillis(), product.getId(), product.getName()));
+    }
+
+    /**
+     * Ajoute un enregistrement au segment actif (scellé au-delà de la taille maximum)
+     */
+    public void append(JournalRecord record) {
+        synchronized (appendLock) {
+            if (activeOutput == null) {
+                return;
+            }
+            try {
+                record.writeTo(activeOutput);
+                activeNewestRecordAt = Math.max(activeNewestRecordAt, record.getTimestamp());
+                if (activeOutput.size() >= config.getMaxSegmentBytes()) {
+                    roll();
+                }
+            } catch (IOException e) {
+                System.err.println("[JOURNAL] Erreur d'écriture: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Vide le tampon du segment actif vers le système (tâche périodique)
+     */
+    void flush() {
+        synchronized (appendLock) {
+            if (activeOutput == null) {
+                return;
+            }
+            try {
+                activeOutput.flush();
+            } catch (IOException e) {
+                System.err.println("[JOURNAL] Erreur d'écriture: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scelle le segment actif et en ouvre un nouveau
+     */
+    public void roll() throws IOException {
+        synchronized (appendLock) {
+            if (activeOutput == null) {
+                return;
+            }
+            activeOutput.close();
+            activeOutput = null;
+            seal();
+            openSegment(activeSequence + 1);
+        }
+    }
+
+    // Appelé sous appendLock, segment actif fermé
+    private void seal() {
+        newestRecordTimes.put(activeSequence, activeNewestRecordAt);
+        sealedSegments.put(activeSequence, segmentPath(activeSequence, RAW_SUFFIX));
+    }
+
+    private void openSegment(long sequence) throws IOException {
+        Path path = segmentPath(sequence, RAW_SUFFIX);
+        activeOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE));
+        activeSequence = sequence;
+        activeOpenedAt = System.currentTimeMillis();
+        activeNewestRecordAt = 0;
+    }
+
+    /**
+     * Tâche de maintenance : rotation par âge, compaction puis rétention
+     */
+    void runMaintenance() {
+        try {
+            synchronized (appendLock) {
+                if (activeOutput != null && activeOutput.size() > 0
+                        && System.currentTimeMillis() - activeOpenedAt >= config.getMaxSegmentAgeMillis()) {
+                    roll();
+                }
+            }
+            compactor.compact();
+            applyRetention();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[JOURNAL] Erreur de maintenance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Supprime les segments scellés les plus anciens selon l'âge et le volume maximum
+     */
+    private void applyRetention() throws IOException {
+        // Segments vidés et supprimés par la compaction
+        newestRecordTimes.keySet().retainAll(sealedSegments.keySet());
+
+        long now = System.currentTimeMillis();
+        long totalBytes = 0;
+        for (Path segment : sealedSegments.values()) {
+            totalBytes += Files.size(segment);
+        }
+
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            Path segment = entry.getValue();
+            long size = Files.size(segment);
+            boolean tooOld = config.getRetentionMillis() > 0
+                && now - newestRecordTime(entry.getKey(), segment) > config.getRetentionMillis();
+            boolean overBudget = config.getMaxRetainedBytes() > 0 && totalBytes > config.getMaxRetainedBytes();
+            if (!tooOld && !overBudget) {
+                break;
+            }
+            Files.deleteIfExists(segment);
+            sealedSegments.remove(entry.getKey());
+            newestRecordTimes.remove(entry.getKey());
+            compactor.forget(entry.getKey());
+            totalBytes -= size;
+            System.out.println("[JOURNAL] Segment supprimé (rétention): " + segment.getFileName());
+        }
+    }
+
+    /**
+     * Horodatage du plus récent enregistrement d'un segment scellé (segment relu une fois après reprise)
+     */
+    private long newestRecordTime(long sequence, Path segment) throws IOException {
+        Long known = newestRecordTimes.get(sequence);
+        if (known != null) {
+            return known;
+        }
+        long newest = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), WRITE_BUFFER_SIZE))) {
+            while (true) {
+                newest = Math.max(newest, JournalRecord.readFrom(in).getTimestamp());
+            }
+        } catch (EOFException e) {
+            // Fin du segment (un enregistrement tronqué en fin de segment est ignoré)
+        }
+        newestRecordTimes.put(sequence, newest);
+        return newest;
+    }
+
+    /**
+     * Segments scellés, du plus ancien au plus récent
+     */
+    public NavigableMap<Long, Path> getSealedSegments() {
+        return sealedSegments;
+    }
+
+    /**
+     * Ferme le journal (le segment actif reste sur disque et sera repris comme segment scellé)
+     */
+    public void close() {
+        if (maintenance != null) {
+            maintenance.shutdown();
+        }
+        synchronized (appendLock) {
+            if (activeOutput != null) {
+                try {
+                    activeOutput.close();
+                } catch (IOException e) {
+                    // Ignorer les erreurs de fermeture
+                }
+                activeOutput = null;
+                seal();
+            }
+        }
+    }
+
+    Path segmentPath(long sequence, String suffix) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, sequence, suffix));
+    }
+
+    static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        String suffix = name.endsWith(RAW_SUFFIX) ? RAW_SUFFIX : name.endsWith(COMPACTED_SUFFIX) ? COMPACTED_SUFFIX : null;
+        if (suffix == null || !name.startsWith(SEGMENT_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.auction.server.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Compaction des segments scellés du journal (thread de maintenance uniquement).
+ *
+ * Une vente dont l'enregistrement de clôture ou d'annulation figure dans un segment scellé
+ * est réduite à cet enregistrement : son démarrage et ses enchères intermédiaires sont retirés
+ * de tous les segments. Les enregistrements des ventes encore ouvertes sont conservés ; le
+ * segment est recompacté dès que la vente correspondante se termine.
+ */
+class JournalCompactor {
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<Long, Path> sealedSegments;
+
+    // Ventes terminées connues (clôture vue dans un segment scellé)
+    private final Set<String> finishedProducts = new HashSet<>();
+
+    // Segments compactés -> ventes encore ouvertes dont ils contiennent des enregistrements
+    // (null : contenu inconnu, à relire)
+    private final Map<Long, Set<String>> retainedOpenProducts = new HashMap<>();
+
+    JournalCompactor(Path directory, ConcurrentSkipListMap<Long, Path> sealedSegments) {
+        this.directory = directory;
+        this.sealedSegments = sealedSegments;
+    }
+
+    /**
+     * Force la relecture des segments compactés au prochain passage (reprise au démarrage)
+     */
+    synchronized void markAllForRescan() {
+        for (Long sequence : sealedSegments.keySet()) {
+            retainedOpenProducts.put(sequence, null);
+        }
+    }
+
+    synchronized void forget(long sequence) {
+        retainedOpenProducts.remove(sequence);
+    }
+
+    /**
+     * Un passage de compaction sur tous les segments scellés concernés
+     */
+    synchronized void compact() throws IOException {
+        // 1. Découvrir les ventes terminées dans les segments pas encore compactés
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            if (needsScan(entry.getKey(), entry.getValue())) {
+                collectFinished(entry.getValue());
+            }
+        }
+
+        // 2. Compacter dans l'ordre : segments bruts et segments retenant une vente désormais terminée
+        for (Map.Entry<Long, Path> entry : sealedSegments.entrySet()) {
+            long sequence = entry.getKey();
+            Path segment = entry.getValue();
+            if (needsScan(sequence, segment) || retainsFinished(sequence)) {
+                compactSegment(sequence, segment);
+            }
+        }
+
+        // 3. Oublier les ventes terminées qui ne figurent plus que sous forme de clôture
+        Set<String> stillReferenced = new HashSet<>();
+        for (Set<String> retained : retainedOpenProducts.values()) {
+            if (retained != null) {
+                stillReferenced.addAll(retained);
+            }
+        }
+        finishedProducts.retainAll(stillReferenced);
+    }
+
+    private boolean needsScan(long sequence, Path segment) {
+        return segment.toString().endsWith(BidJournal.RAW_SUFFIX)
+            || (retainedOpenProducts.containsKey(sequence) && retainedOpenProducts.get(sequence) == null);
+    }
+
+    private boolean retainsFinished(long sequence) {
+        Set<String> retained = retainedOpenProducts.get(sequence);
+        if (retained == null) {
+            return false;
+        }
+        for (String productId : retained) {
+            if (finishedProducts.contains(productId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectFinished(Path segment) throws IOException {
+        try (DataInputStream in = open(segment)) {
+            while (true) {
+                JournalRecord record = JournalRecord.readFrom(in);
+                if (record.getType() == JournalRecord.Type.CLOSED || record.getType() == JournalRecord.Type.CANCELLED) {
+                    finishedProducts.add(record.getProductId());
+                }
+            }
+        } catch (EOFException e) {
+            // Fin du segment
+        }
+    }
+
+    /**
+     * Réécrit un segment sans les enregistrements intermédiaires des ventes terminées
+     */
+    private void compactSegment(long sequence, Path segment) throws IOException {
+        Path compacted = directory.resolve(String.format("%s%010d%s",
+            BidJournal.SEGMENT_PREFIX, sequence, BidJournal.COMPACTED_SUFFIX));
+        Path temporary = directory.resolve(compacted.getFileName() + BidJournal.TEMPORARY_SUFFIX);
+
+        Set<String> retainedOpen = new HashSet<>();
+        int kept = 0;
+        int dropped = 0;
+
+        try (DataInputStream in = open(segment);
+             DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(temporary), IO_BUFFER_SIZE))) {
+            try {
+                while (true) {
+                    JournalRecord record = JournalRecord.readFrom(in);
+                    boolean outcome = record.getType() == JournalRecord.Type.CLOSED
+                        || record.getType() == JournalRecord.Type.CANCELLED;
+                    if (!outcome && finishedProducts.contains(record.getProductId())) {
+                        dropped++;
+                        continue;
+                    }
+                    if (!outcome) {
+                        retainedOpen.add(record.getProductId());
+                    }
+                    record.writeTo(out);
+                    kept++;
+                }
+            } catch (EOFException e) {
+                // Fin du segment (un enregistrement tronqué en fin de segment est ignoré)
+            }
+        }
+
+        if (kept == 0) {
+            Files.deleteIfExists(temporary);
+            Files.deleteIfExists(segment);
+            sealedSegments.remove(sequence);
+            retainedOpenProducts.remove(sequence);
+        } else {
+            Files.move(temporary, compacted, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!segment.equals(compacted)) {
+                Files.deleteIfExists(segment);
+            }
+            sealedSegments.put(sequence, compacted);
+            retainedOpenProducts.put(sequence, retainedOpen);
+        }
+
+        if (dropped > 0) {
+            System.out.println("[JOURNAL] Segment " + sequence + " compacté: " + dropped
+                + " enregistrement(s) retiré(s), " + kept + " conservé(s)");
+        }
+    }
+
+    private DataInputStream open(Path segment) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), IO_BUFFER_SIZE));
+    }
+}
@@ -0,0 +1,65 @@
+package com.auction.server.journal;
+
+/**
+ * Politique de rotation, compaction et rétention du journal des enchères
+ */
+public class JournalConfig {
+
+    private final long maxSegmentBytes;
+    private final long maxSegmentAgeMillis;
+    private final long compactionIntervalMillis;
+    private final long retentionMillis;
+    private final long maxRetainedBytes;
+
+    /**
+     * @param maxSegmentBytes Taille au-delà de laquelle le segment actif est scellé
+     * @param maxSegmentAgeMillis Âge au-delà duquel le segment actif est scellé
+     * @param compactionIntervalMillis Période de la compaction en arrière-plan
+     * @param retentionMillis Âge maximum d'un segment scellé (0 = illimité)
+     * @param maxRetainedBytes Volume maximum des segments scellés (0 = illimité)
+     */
+    public JournalConfig(long maxSegmentBytes, long maxSegmentAgeMillis, long compactionIntervalMillis,
+                         long retentionMillis, long maxRetainedBytes) {
+        if (maxSegmentBytes <= 0 || maxSegmentAgeMillis <= 0 || compactionIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Taille, âge et période de compaction doivent être positifs");
+        }
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAgeMillis = maxSegmentAgeMillis;
+        this.compactionIntervalMillis = compactionIntervalMillis;
+        this.retentionMillis = retentionMillis;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * Segments de 16 Mo ou 1 heure, compaction chaque minute, 30 jours / 1 Go conservés
+     */
+    public static JournalConfig defaults() {
+        return new JournalConfig(
+            16L * 1024 * 1024,
+            60L * 60 * 1000,
+            60L * 1000,
+            30L * 24 * 60 * 60 * 1000,
+            1024L * 1024 * 1024
+        );
+    }
+
+    public long getMaxSegmentBytes() {
+        return maxSegmentBytes;
+    }
+
+    public long getMaxSegmentAgeMillis() {
+        return maxSegmentAgeMillis;
+    }
+
+    public long getCompactionIntervalMillis() {
+        return compactionIntervalMillis;
+    }
+
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+}
@@ -0,0 +1,223 @@
+package com.auction.server.journal;
+
+import com.auction.common.dto.Price;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Enregistrement binaire du journal des enchères.
+ * Format : type (1 octet), horodatage (8 octets), identifiant produit, puis les champs du type.
+ * Les montants sont des millimes (long).
+ * L'enregistrement de clôture est autonome (nom, prix de départ, gagnant, prix final) :
+ * c'est le seul conservé par la compaction pour une vente terminée.
+ */
+public class JournalRecord {
+
+    public enum Type {
+        STARTED(1),
+        BID(2),
+        CLOSED(3),
+        CANCELLED(4);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        static Type fromCode(byte code) throws IOException {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IOException("Type d'enregistrement inconnu: " + code);
+        }
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private final String productId;
+    private String productName;
+    private String clientId;
+    private String clientName;
+    private long amount;
+    private long startingPrice;
+    private int bidCount;
+
+    private JournalRecord(Type type, long timestamp, String productId) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.productId = productId;
+    }
+
+    // Méthodes statiques pour créer des enregistrements (montants en millimes)
+    public static JournalRecord started(long timestamp, String productId, String productName, long startingPrice) {
+        JournalRecord record = new JournalRecord(Type.STARTED, timestamp, productId);
+        record.productName = productName;
+        record.startingPrice = startingPrice;
+        return record;
+    }
+
+    public static JournalRecord bid(long timestamp, String productId, String clientId, String clientName, long amount) {
+        JournalRecord record = new JournalRecord(Type.BID, timestamp, productId);
+        record.clientId = clientId;
+        record.clientName = clientName;
+        record.amount = amount;
+        return record;
+    }
+
+    public static JournalRecord closed(long timestamp, String productId, String productName, long startingPrice,
+                                       String winnerId, String winnerName, long finalPrice, int bidCount) {
+        JournalRecord record = new JournalRecord(Type.CLOSED, timestamp, productId);
+        record.productName = productName;
+        record.startingPrice = startingPrice;
+        record.clientId = winnerId;
+        record.clientName = winnerName;
+        record.amount = finalPrice;
+        record.bidCount = bidCount;
+        return record;
+    }
+
+    public static JournalRecord cancelled(long timestamp, String productId, String productName) {
+        JournalRecord record = new JournalRecord(Type.CANCELLED, timestamp, productId);
+        record.productName = productName;
+        return record;
+    }
+
+    /**
+     * Écrit l'enregistrement
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.code);
+        out.writeLong(timestamp);
+        out.writeUTF(productId);
+        switch (type) {
+            case STARTED:
+                writeNullable(out, productName);
+                out.writeLong(startingPrice);
+                break;
+            case BID:
+                writeNullable(out, clientId);
+                writeNullable(out, clientName);
+                out.writeLong(amount);
+                break;
+            case CLOSED:
+                writeNullable(out, productName);
+                out.writeLong(startingPrice);
+                writeNullable(out, clientId);
+                writeNullable(out, clientName);
+                out.writeLong(amount);
+                out.writeInt(bidCount);
+                break;
+            case CANCELLED:
+                writeNullable(out, productName);
+                break;
+        }
+    }
+
+    /**
+     * Lit un enregistrement (EOFException en fin de segment ou sur un enregistrement tronqué)
+     */
+    public static JournalRecord readFrom(DataInput in) throws IOException {
+        Type type = Type.fromCode(in.readByte());
+        JournalRecord record = new JournalRecord(type, in.readLong(), in.readUTF());
+        switch (type) {
+            case STARTED:
+                record.productName = readNullable(in);
+                record.startingPrice = in.readLong();
+                break;
+            case BID:
+                record.clientId = readNullable(in);
+                record.clientName = readNullable(in);
+                record.amount = in.readLong();
+                break;
+            case CLOSED:
+                record.productName = readNullable(in);
+                record.startingPrice = in.readLong();
+                record.clientId = readNullable(in);
+                record.clientName = readNullable(in);
+                record.amount = in.readLong();
+                record.bidCount = in.readInt();
+                break;
+            case CANCELLED:
+                record.productName = readNullable(in);
+                break;
+        }
+        return record;
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Enchérisseur (BID) ou gagnant (CLOSED)
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    /**
+     * Montant de l'enchère (BID) ou prix final (CLOSED)
+     */
+    public double getAmount() {
+        return Price.toDouble(amount);
+    }
+
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    public double getStartingPrice() {
+        return Price.toDouble(startingPrice);
+    }
+
+    public long getStartingPriceMinor() {
+        return startingPrice;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "type=" + type +
+                ", productId='" + productId + '\'' +
+                ", amount=" + Price.toString(amount) +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
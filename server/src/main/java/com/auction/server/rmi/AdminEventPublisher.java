@@ -0,0 +1,229 @@
+package com.auction.server.rmi;
+
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.dto.AdminEvent.EventType;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+import com.auction.common.rmi.IAdminEventListener;
+import com.auction.server.AuctionEventListener;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffuseur des événements vers les administrateurs abonnés via RMI.
+ *
+ * Chaque abonné a sa propre file et son propre thread d'envoi : les événements y sont déposés
+ * sans attente depuis le gestionnaire d'enchères, puis envoyés par lots à intervalle fixe.
+ * Un appel bloqué (machine disparue sans fermer la connexion) n'immobilise que le thread de
+ * son abonné. Un abonné injoignable (RemoteException), muet au-delà du délai d'appel ou trop
+ * lent (file pleine) est retiré, sans jamais ralentir les enchères ni les autres abonnés.
+ */
+public class AdminEventPublisher implements AuctionEventListener {
+
+    // Intervalle d'envoi des lots
+    private static final long BATCH_INTERVAL_MS = 100;
+
+    // Taille maximum d'un lot
+    private static final int MAX_BATCH_SIZE = 500;
+
+    // Événements en attente au-delà desquels l'abonné est considéré comme mort
+    private static final int MAX_PENDING_EVENTS = 10_000;
+
+    // Durée maximum d'un envoi de lot avant retrait de l'abonné
+    private static final long CALL_TIMEOUT_MS = 5_000;
+
+    private final Map<IAdminEventListener, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final long callTimeoutMillis;
+    // Surveillance des envois en cours (ne fait jamais d'appel réseau)
+    private final ScheduledExecutorService watchdog;
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    public AdminEventPublisher() {
+        this(CALL_TIMEOUT_MS);
+    }
+
+    /**
+     * @param callTimeoutMillis Durée maximum d'un envoi de lot
+     */
+    AdminEventPublisher(long callTimeoutMillis) {
+        this.callTimeoutMillis = callTimeoutMillis;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admin-events-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(10, callTimeoutMillis / 4);
+        watchdog.scheduleWithFixedDelay(this::evictStuck, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abonne un administrateur
+     */
+    public void subscribe(IAdminEventListener listener) {
+        subscriptions.computeIfAbsent(listener, key -> {
+            Subscription subscription = new Subscription(key);
+            subscription.sender.scheduleWithFixedDelay(subscription::flush,
+                BATCH_INTERVAL_MS, BATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            System.out.println("[RMI] Administrateur abonné aux événements (" + (subscriptions.size() + 1) + " abonné(s))");
+            return subscription;
+        });
+    }
+
+    /**
+     * Désabonne un administrateur
+     */
+    public void unsubscribe(IAdminEventListener listener) {
+        Subscription subscription = subscriptions.remove(listener);
+        if (subscription != null) {
+            subscription.sender.shutdownNow();
+        }
+    }
+
+    /**
+     * Retire les abonnés dont l'envoi en cours dépasse le délai d'appel
+     */
+    private void evictStuck() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions.values()) {
+            long started = subscription.callStartedNanos;
+            if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(callTimeoutMillis)) {
+                subscription.evict("aucune réponse depuis " + callTimeoutMillis + " ms");
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // === Événements du gestionnaire d'enchères ===
+
+    @Override
+    public void onAuctionStarted(Product product) {
+        AdminEvent event = AdminEvent.auctionEvent(EventType.AUCTION_STARTED, product);
+        event.setAmountMinor(product.getStartingPriceMinor());
+        publish(event);
+    }
+
+    @Override
+    public void onBidAccepted(Product product, BidRequest bid) {
+        // Chemin d'enchère : aucun événement construit sans abonné
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        publish(AdminEvent.auctionEvent(EventType.BID_ACCEPTED, product));
+    }
+
+    @Override
+    public void onAuctionClosed(Product soldProduct) {
+        publish(AdminEvent.auctionEvent(EventType.AUCTION_CLOSED, soldProduct));
+    }
+
+    @Override
+    public void onAuctionCancelled(Product product) {
+        publish(AdminEvent.auctionEvent(EventType.AUCTION_CANCELLED, product));
+    }
+
+    @Override
+    public void onClientRegistered(String clientId, String clientName) {
+        publish(AdminEvent.clientEvent(EventType.CLIENT_JOINED, clientId, clientName));
+    }
+
+    @Override
+    public void onClientUnregistered(String clientId, String clientName) {
+        publish(AdminEvent.clientEvent(EventType.CLIENT_LEFT, clientId, clientName));
+    }
+
+    /**
+     * Dépose un événement dans la file de chaque abonné (sans appel réseau)
+     */
+    public void publish(AdminEvent event) {
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Arrête l'envoi des événements
+     */
+    public void shutdown() {
+        watchdog.shutdownNow();
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.sender.shutdownNow();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * File d'événements d'un abonné
+     */
+    private final class Subscription {
+        private final IAdminEventListener listener;
+        private final Queue<AdminEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final ScheduledExecutorService sender;
+        // Début de l'envoi en cours (System.nanoTime), 0 si aucun
+        private volatile long callStartedNanos;
+
+        Subscription(IAdminEventListener listener) {
+            this.listener = listener;
+            String name = "admin-events-" + nextThread.incrementAndGet();
+            this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void offer(AdminEvent event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                evict("file pleine");
+                return;
+            }
+            pending.offer(event);
+        }
+
+        void flush() {
+            while (!pending.isEmpty()) {
+                List<AdminEvent> batch = new ArrayList<>(Math.min(pendingCount.get(), MAX_BATCH_SIZE));
+                AdminEvent event;
+                while (batch.size() < MAX_BATCH_SIZE && (event = pending.poll()) != null) {
+                    batch.add(event);
+                }
+                pendingCount.addAndGet(-batch.size());
+                callStartedNanos = System.nanoTime();
+                try {
+                    listener.onEvents(batch);
+                } catch (RemoteException e) {
+                    evict(e.getMessage());
+                    return;
+                } finally {
+                    callStartedNanos = 0;
+                }
+                if (sender.isShutdown()) {
+                    // Retiré pendant l'envoi (délai dépassé)
+                    return;
+                }
+            }
+        }
+
+        void evict(String reason) {
+            if (subscriptions.remove(listener, this)) {
+                // Un appel bloqué ne retient plus que ce thread, libéré par le délai de réponse RMI
+                sender.shutdownNow();
+                pending.clear();
+                System.out.println("[RMI] Abonné retiré (" + reason + ")");
+            }
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package com.auction.server.rmi;
 
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.BidHistory;
+import com.auction.common.dto.ClientDelta;
+import com.auction.common.dto.Dashboard;
+import com.auction.common.dto.LotSpec;
 import com.auction.common.dto.Product;
+import com.auction.common.dto.TimeSeries;
+import com.auction.common.rmi.IAdminEventListener;
 import com.auction.common.rmi.IAuctionAdmin;
 import com.auction.server.AuctionManager;
+import com.auction.server.AuctionRunQueue;
+import com.auction.server.BidRules;
+import com.auction.server.SoftCloseRule;
+import com.auction.server.stats.TimeSeriesStore;
 
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
@@ -15,11 +26,32 @@ public class AuctionAdminImpl extends UnicastRemoteObject implements IAuctionAdm
     
     private static final long serialVersionUID = 1L;
     
+    // Nombre maximum de ventes renvoyées par le tableau de bord
+    private static final int MAX_HISTORY_TAIL = 200;
+    
     private final AuctionManager auctionManager;
     
+    // Diffusion des événements aux administrateurs abonnés
+    private final transient AdminEventPublisher eventPublisher;
+    
+    // Catalogue de lots enchaînés automatiquement
+    private final transient AuctionRunQueue runQueue;
+    
+    // Statistiques agrégées (alimentées par le serveur)
+    private final transient TimeSeriesStore timeSeries;
+    
     public AuctionAdminImpl(AuctionManager auctionManager) throws RemoteException {
+        this(auctionManager, new TimeSeriesStore());
+    }
+    
+    public AuctionAdminImpl(AuctionManager auctionManager, TimeSeriesStore timeSeries) throws RemoteException {
         super();
         this.auctionManager = auctionManager;
+        this.timeSeries = timeSeries;
+        this.eventPublisher = new AdminEventPublisher();
+        this.runQueue = new AuctionRunQueue(auctionManager, eventPublisher::publish);
+        auctionManager.addListener(eventPublisher);
+        auctionManager.addListener(runQueue);
     }
     
     @Override
@@ -28,21 +60,103 @@ public class AuctionAdminImpl extends UnicastRemoteObject implements IAuctionAdm
         return auctionManager.startAuction(productName, description, startingPrice);
     }
     
+    @Override
+    public boolean startTimedAuction(String productName, String description, double startingPrice, int durationSeconds) throws RemoteException {
+        System.out.println("[RMI] Demande de démarrage d'enchère: " + productName + " (" + durationSeconds + " s)");
+        if (durationSeconds <= 0) {
+            throw new IllegalArgumentException("Durée invalide: " + durationSeconds);
+        }
+        return auctionManager.startAuction(productName, description, startingPrice, durationSeconds * 1000L);
+    }
+    
+    @Override
+    public boolean startSealedAuction(String productName, String description, double startingPrice,
+                                      int durationSeconds, boolean secondPrice) throws RemoteException {
+        AuctionType type = secondPrice ? AuctionType.SEALED_SECOND_PRICE : AuctionType.SEALED_FIRST_PRICE;
+        System.out.println("[RMI] Demande de vente sous pli: " + productName + " (" + type.getLabel() + ")");
+        if (durationSeconds < 0) {
+            throw new IllegalArgumentException("Durée invalide: " + durationSeconds);
+        }
+        return auctionManager.openAuction(productName, description, startingPrice, durationSeconds * 1000L, type) != null;
+    }
+    
+    @Override
+    public boolean startDutchAuction(String productName, String description, double startingPrice,
+                                     double floorPrice, double decrement, int tickSeconds) throws RemoteException {
+        System.out.println("[RMI] Demande d'enchère descendante: " + productName + " (" + startingPrice
+            + " -> " + floorPrice + " TND, -" + decrement + " TND / " + tickSeconds + " s)");
+        return auctionManager.openDutchAuction(productName, description, startingPrice,
+            floorPrice, decrement, tickSeconds * 1000L) != null;
+    }
+    
     @Override
     public Product stopAuction() throws RemoteException {
         System.out.println("[RMI] Demande de clôture d'enchère");
         return auctionManager.stopAuction();
     }
     
+    @Override
+    public String setSoftClose(int windowSeconds, int extensionSeconds, int maxExtensionSeconds) throws RemoteException {
+        SoftCloseRule rule = new SoftCloseRule(windowSeconds * 1000L, extensionSeconds * 1000L, maxExtensionSeconds * 1000L);
+        auctionManager.setSoftCloseRule(rule);
+        return rule.isEnabled() ? rule.toString() : "Prolongation désactivée";
+    }
+    
+    @Override
+    public String setBidRules(double minIncrement, double maxJump, double reservePrice) throws RemoteException {
+        BidRules rules = new BidRules(minIncrement, maxJump, reservePrice);
+        auctionManager.setBidRules(rules);
+        return rules.toString();
+    }
+    
+    @Override
+    public int scheduleLots(List<LotSpec> lots) throws RemoteException {
+        System.out.println("[RMI] Réception de " + lots.size() + " lot(s) pour le catalogue");
+        return runQueue.schedule(lots);
+    }
+    
+    @Override
+    public int clearScheduledLots() throws RemoteException {
+        System.out.println("[RMI] Demande de vidage du catalogue");
+        return runQueue.clear();
+    }
+    
+    @Override
+    public int getScheduledLotCount() throws RemoteException {
+        return runQueue.getPendingCount();
+    }
+    
     @Override
     public boolean banClient(String clientId) throws RemoteException {
         System.out.println("[RMI] Demande de bannissement: " + clientId);
         return auctionManager.banClient(clientId);
     }
     
+    @Override
+    public String banAddress(String cidr) throws RemoteException {
+        System.out.println("[RMI] Demande de bannissement d'adresse: " + cidr);
+        return auctionManager.banAddress(cidr);
+    }
+    
+    @Override
+    public boolean unbanAddress(String cidr) throws RemoteException {
+        System.out.println("[RMI] Demande de levée de bannissement: " + cidr);
+        return auctionManager.unbanAddress(cidr);
+    }
+    
+    @Override
+    public List<String> getBannedAddresses() throws RemoteException {
+        return auctionManager.getAddressBans().getBans();
+    }
+    
+    @Override
+    public long getRejectedConnections() throws RemoteException {
+        return auctionManager.getAddressBans().getRejectedConnections();
+    }
+    
     @Override
     public Product getAuctionStatus() throws RemoteException {
-        return auctionManager.getCurrentProduct();
+        return auctionManager.getSnapshot().toProduct();
     }
     
     @Override
@@ -50,17 +164,74 @@ public class AuctionAdminImpl extends UnicastRemoteObject implements IAuctionAdm
         return auctionManager.getConnectedClientNames();
     }
     
+    @Override
+    public ClientDelta getConnectedClientsSince(long sinceVersion) throws RemoteException {
+        return auctionManager.getConnectedClientsSince(sinceVersion);
+    }
+    
     @Override
     public List<Product> getSalesHistory() throws RemoteException {
         return auctionManager.getSalesHistory();
     }
     
+    @Override
+    public BidHistory getBidHistory(String productId) throws RemoteException {
+        return auctionManager.getBidHistory(productId);
+    }
+    
+    @Override
+    public TimeSeries getTimeSeries(TimeSeries.Resolution resolution, int maxPoints) throws RemoteException {
+        return timeSeries.query(resolution, maxPoints);
+    }
+    
+    @Override
+    public Dashboard getDashboard(long clientsVersion, int knownHistorySize) throws RemoteException {
+        Dashboard dashboard = new Dashboard();
+        dashboard.setAuction(auctionManager.getSnapshot().toProduct());
+        dashboard.setClients(auctionManager.getConnectedClientsSince(clientsVersion));
+        
+        // Uniquement les ventes inconnues du client (au plus MAX_HISTORY_TAIL)
+        int size = auctionManager.getSalesHistorySize();
+        int from = knownHistorySize >= 0 && knownHistorySize <= size ? knownHistorySize : 0;
+        from = Math.max(from, size - MAX_HISTORY_TAIL);
+        List<Product> tail = auctionManager.getSalesHistory(from, size - from);
+        dashboard.setHistoryFrom(from);
+        dashboard.setHistoryTail(tail);
+        dashboard.setHistorySize(from + tail.size());
+        
+        dashboard.setConnectedClientCount(auctionManager.getConnectedClientCount());
+        dashboard.setRejectedConnections(auctionManager.getAddressBans().getRejectedConnections());
+        dashboard.setScheduledLotCount(runQueue.getPendingCount());
+        dashboard.setServerTime(System.currentTimeMillis());
+        return dashboard;
+    }
+    
     @Override
     public boolean cancelAuction() throws RemoteException {
         System.out.println("[RMI] Demande d'annulation d'enchère");
         return auctionManager.cancelAuction();
     }
     
+    @Override
+    public void addEventListener(IAdminEventListener listener) throws RemoteException {
+        eventPublisher.subscribe(listener);
+    }
+    
+    @Override
+    public void removeEventListener(IAdminEventListener listener) throws RemoteException {
+        eventPublisher.unsubscribe(listener);
+    }
+    
+    /**
+     * Arrête la file des lots et la diffusion des événements
+     */
+    public void shutdown() {
+        auctionManager.removeListener(runQueue);
+        auctionManager.removeListener(eventPublisher);
+        runQueue.shutdown();
+        eventPublisher.shutdown();
+    }
+    
     @Override
     public boolean ping() throws RemoteException {
         return true;
@@ -0,0 +1,424 @@
+package com.auction.server.stats;
+
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+import com.auction.common.dto.TimeSeries;
+import com.auction.common.dto.TimeSeries.Resolution;
+import com.auction.server.AuctionEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistiques agrégées du serveur : nombre d'enchères, niveau de prix et nombre de clients
+ * connectés, cumulés par seconde, par minute et par heure.
+ *
+ * Chaque résolution est un tampon circulaire préalloué (colonnes primitives indexées par numéro
+ * d'intervalle modulo la capacité) : un événement met à jour une case par résolution, sans
+ * allocation, et une lecture parcourt au plus la capacité du tampon, quelle que soit la durée
+ * de fonctionnement du serveur. Le prix et le nombre de connexions sont reportés sur les
+ * intervalles sans événement ; après la clôture ou l'annulation d'une vente, le prix n'est plus
+ * reporté (0 jusqu'à la vente suivante). Les tampons sont sauvegardés périodiquement dans un
+ * fichier compact.
+ */
+public class TimeSeriesStore implements AuctionEventListener {
+
+    private static final int MAGIC = 0x54534442; // "TSDB"
+    private static final int VERSION = 1;
+
+    private static final long FLUSH_INTERVAL_MILLIS = 60_000;
+
+    // Historique conservé : 1 heure à la seconde, 1 jour à la minute, 30 jours à l'heure
+    private static final int SECOND_CAPACITY = 3_600;
+    private static final int MINUTE_CAPACITY = 1_440;
+    private static final int HOUR_CAPACITY = 720;
+
+    private final Ring[] rings = new Ring[Resolution.values().length];
+
+    // Dernières valeurs observées (reportées dans chaque intervalle touché)
+    private long currentPrice;
+    private int currentConnections;
+
+    private Path file;
+    private ScheduledExecutorService flusher;
+
+    public TimeSeriesStore() {
+        rings[Resolution.SECOND.ordinal()] = new Ring(Resolution.SECOND, SECOND_CAPACITY);
+        rings[Resolution.MINUTE.ordinal()] = new Ring(Resolution.MINUTE, MINUTE_CAPACITY);
+        rings[Resolution.HOUR.ordinal()] = new Ring(Resolution.HOUR, HOUR_CAPACITY);
+    }
+
+    /**
+     * Reprend le fichier de statistiques (s'il existe) et démarre la sauvegarde périodique
+     */
+    public void open(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+
+        // Sauvegarde démarrée avant la reprise : un fichier illisible sera remplacé
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timeseries-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        load(file);
+        // Redémarrage : plus aucune vente en cours ni aucun client connecté à partir de maintenant
+        long now = System.currentTimeMillis();
+        recordAuctionEnd(now);
+        recordConnectionDelta(0, now);
+        System.out.println("[STATS] Statistiques ouvertes: " + file.toAbsolutePath());
+    }
+
+    /**
+     * Arrête la sauvegarde périodique et écrit une dernière fois le fichier
+     */
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        flush();
+    }
+
+    private void flush() {
+        if (file == null) {
+            return;
+        }
+        try {
+            save(file);
+        } catch (IOException e) {
+            System.err.println("[STATS] Erreur de sauvegarde: " + e.getMessage());
+        }
+    }
+
+    // === Événements d'enchère ===
+
+    @Override
+    public void onAuctionStarted(Product product) {
+        recordPrice(product.getCurrentPriceMinor(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void onBidAccepted(Product product, BidRequest bid) {
+        recordBid(product.getCurrentPriceMinor(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void onAuctionClosed(Product soldProduct) {
+        recordAuctionEnd(System.currentTimeMillis());
+    }
+
+    @Override
+    public void onAuctionCancelled(Product product) {
+        recordAuctionEnd(System.currentTimeMillis());
+    }
+
+    @Override
+    public void onClientRegistered(String clientId, String clientName) {
+        recordConnectionDelta(1, System.currentTimeMillis());
+    }
+
+    @Override
+    public void onClientUnregistered(String clientId, String clientName) {
+        recordConnectionDelta(-1, System.currentTimeMillis());
+    }
+
+    // === Enregistrement ===
+
+    /**
+     * Compte une enchère acceptée au prix donné (millimes)
+     */
+    public synchronized void recordBid(long price, long nowMillis) {
+        currentPrice = price;
+        for (Ring ring : rings) {
+            ring.touch(nowMillis, 1, currentPrice, currentConnections);
+        }
+    }
+
+    /**
+     * Change le niveau de prix sans compter d'enchère (ouverture d'une vente)
+     */
+    public synchronized void recordPrice(long price, long nowMillis) {
+        currentPrice = price;
+        for (Ring ring : rings) {
+            ring.touch(nowMillis, 0, currentPrice, currentConnections);
+        }
+    }
+
+    /**
+     * Fin de la vente en cours : l'intervalle garde son dernier prix, qui n'est plus reporté ensuite
+     */
+    public synchronized void recordAuctionEnd(long nowMillis) {
+        for (Ring ring : rings) {
+            ring.end(nowMillis, currentPrice, currentConnections);
+        }
+        currentPrice = 0;
+    }
+
+    public synchronized void recordConnectionDelta(int delta, long nowMillis) {
+        currentConnections = Math.max(0, currentConnections + delta);
+        for (Ring ring : rings) {
+            ring.touchConnections(nowMillis, currentPrice, currentConnections);
+        }
+    }
+
+    // === Lecture ===
+
+    /**
+     * Derniers intervalles d'une résolution, jusqu'à l'intervalle en cours inclus
+     * @param maxPoints Nombre d'intervalles voulus (borné par la capacité du tampon)
+     */
+    public TimeSeries query(Resolution resolution, int maxPoints) {
+        return query(resolution, System.currentTimeMillis(), maxPoints);
+    }
+
+    public synchronized TimeSeries query(Resolution resolution, long nowMillis, int maxPoints) {
+        return rings[resolution.ordinal()].query(nowMillis, maxPoints);
+    }
+
+    public static int capacityOf(Resolution resolution) {
+        switch (resolution) {
+            case SECOND:
+                return SECOND_CAPACITY;
+            case MINUTE:
+                return MINUTE_CAPACITY;
+            default:
+                return HOUR_CAPACITY;
+        }
+    }
+
+    // === Persistance ===
+
+    /**
+     * Écrit les intervalles valides dans un fichier temporaire puis le renomme (atomique).
+     * Seule la copie des tampons se fait sous le moniteur : l'écriture du fichier ne retarde
+     * pas le chemin d'enchère, qui enregistre sous le verrou des enchères.
+     */
+    public void save(Path target) throws IOException {
+        long price;
+        Ring[] snapshot = new Ring[rings.length];
+        synchronized (this) {
+            price = currentPrice;
+            for (int i = 0; i < rings.length; i++) {
+                snapshot[i] = rings[i].copy();
+            }
+        }
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(price);
+            output.writeByte(snapshot.length);
+            for (Ring ring : snapshot) {
+                ring.writeTo(output);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Recharge un fichier écrit par {@link #save} (fichier absent : rien à reprendre).
+     * Le nombre de connexions n'est pas repris : aucun client n'est connecté au démarrage.
+     */
+    public void load(Path source) throws IOException {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(source)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Fichier de statistiques invalide: " + source);
+            }
+            int version = input.readInt();
+            if (version != VERSION) {
+                throw new IOException("Version de statistiques non supportée: " + version);
+            }
+            synchronized (this) {
+                currentPrice = input.readLong();
+                int count = input.readUnsignedByte();
+                for (int i = 0; i < count; i++) {
+                    int ordinal = input.readUnsignedByte();
+                    if (ordinal >= rings.length) {
+                        throw new IOException("Résolution inconnue: " + ordinal);
+                    }
+                    rings[ordinal].readFrom(input);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Premier démarrage
+        }
+    }
+
+    /**
+     * Tampon circulaire d'une résolution : la case d'un intervalle est réinitialisée
+     * quand un intervalle plus récent la réutilise
+     */
+    private static final class Ring {
+        private final Resolution resolution;
+        private final int capacity;
+
+        // Numéro d'intervalle (temps / résolution) + 1 ; 0 = case vide
+        private final long[] buckets;
+        private final long[] bids;
+        private final long[] prices;
+        // Prix reporté sur les intervalles suivants (faux si une vente s'est terminée dans l'intervalle)
+        private final boolean[] carried;
+        private final int[] connections;
+
+        Ring(Resolution resolution, int capacity) {
+            this.resolution = resolution;
+            this.capacity = capacity;
+            this.buckets = new long[capacity];
+            this.bids = new long[capacity];
+            this.prices = new long[capacity];
+            this.carried = new boolean[capacity];
+            this.connections = new int[capacity];
+        }
+
+        void touch(long nowMillis, long bidDelta, long price, int connectionCount) {
+            int slot = enter(nowMillis, price);
+            bids[slot] += bidDelta;
+            prices[slot] = price;
+            carried[slot] = true;
+            connections[slot] = connectionCount;
+        }
+
+        /**
+         * Changement du nombre de connexions : le prix d'un intervalle déjà ouvert est conservé
+         */
+        void touchConnections(long nowMillis, long price, int connectionCount) {
+            int slot = enter(nowMillis, price);
+            connections[slot] = connectionCount;
+        }
+
+        void end(long nowMillis, long price, int connectionCount) {
+            int slot = enter(nowMillis, price);
+            carried[slot] = false;
+            connections[slot] = connectionCount;
+        }
+
+        /**
+         * Case de l'intervalle en cours, réinitialisée si elle appartenait à un intervalle plus ancien
+         */
+        private int enter(long nowMillis, long price) {
+            long bucket = nowMillis / resolution.getMillis();
+            int slot = slotOf(bucket);
+            if (buckets[slot] != bucket + 1) {
+                buckets[slot] = bucket + 1;
+                bids[slot] = 0;
+                prices[slot] = price;
+                carried[slot] = true;
+            }
+            return slot;
+        }
+
+        private long carriedPrice(int slot) {
+            return carried[slot] ? prices[slot] : 0;
+        }
+
+        TimeSeries query(long nowMillis, int maxPoints) {
+            int points = Math.max(1, Math.min(maxPoints, capacity));
+            long last = nowMillis / resolution.getMillis();
+            long first = last - points + 1;
+
+            // Valeurs reportées : dernier intervalle connu avant la fenêtre (tampon parcouru une fois au plus)
+            long price = 0;
+            int connectionCount = 0;
+            long latestBefore = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                long bucket = buckets[slot] - 1;
+                if (buckets[slot] != 0 && bucket < first && bucket + 1 > latestBefore) {
+                    latestBefore = bucket + 1;
+                    price = carriedPrice(slot);
+                    connectionCount = connections[slot];
+                }
+            }
+
+            long[] bidColumn = new long[points];
+            long[] priceColumn = new long[points];
+            int[] connectionColumn = new int[points];
+            for (int i = 0; i < points; i++) {
+                long bucket = first + i;
+                int slot = slotOf(bucket);
+                if (buckets[slot] == bucket + 1) {
+                    bidColumn[i] = bids[slot];
+                    priceColumn[i] = prices[slot];
+                    price = carriedPrice(slot);
+                    connectionCount = connections[slot];
+                } else {
+                    priceColumn[i] = price;
+                }
+                connectionColumn[i] = connectionCount;
+            }
+            return new TimeSeries(resolution, first * resolution.getMillis(), bidColumn, priceColumn, connectionColumn);
+        }
+
+        /**
+         * Copie des colonnes, écrite hors du moniteur du magasin
+         */
+        Ring copy() {
+            Ring copy = new Ring(resolution, capacity);
+            System.arraycopy(buckets, 0, copy.buckets, 0, capacity);
+            System.arraycopy(bids, 0, copy.bids, 0, capacity);
+            System.arraycopy(prices, 0, copy.prices, 0, capacity);
+            System.arraycopy(carried, 0, copy.carried, 0, capacity);
+            System.arraycopy(connections, 0, copy.connections, 0, capacity);
+            return copy;
+        }
+
+        private int slotOf(long bucket) {
+            return (int) Math.floorMod(bucket, (long) capacity);
+        }
+
+        void writeTo(DataOutputStream output) throws IOException {
+            int valid = 0;
+            for (long bucket : buckets) {
+                if (bucket != 0) {
+                    valid++;
+                }
+            }
+            output.writeByte(resolution.ordinal());
+            output.writeInt(valid);
+            for (int slot = 0; slot < capacity; slot++) {
+                if (buckets[slot] != 0) {
+                    output.writeLong(buckets[slot] - 1);
+                    output.writeLong(bids[slot]);
+                    output.writeLong(prices[slot]);
+                    output.writeBoolean(carried[slot]);
+                    output.writeInt(connections[slot]);
+                }
+            }
+        }
+
+        void readFrom(DataInputStream input) throws IOException {
+            int valid = input.readInt();
+            for (int i = 0; i < valid; i++) {
+                long bucket = input.readLong();
+                long bidCount = input.readLong();
+                long price = input.readLong();
+                boolean carriedPrice = input.readBoolean();
+                int connectionCount = input.readInt();
+                int slot = slotOf(bucket);
+                // Une capacité réduite depuis la sauvegarde : garder l'intervalle le plus récent
+                if (buckets[slot] == 0 || buckets[slot] - 1 < bucket) {
+                    buckets[slot] = bucket + 1;
+                    bids[slot] = bidCount;
+                    prices[slot] = price;
+                    carried[slot] = carriedPrice;
+                    connections[slot] = connectionCount;
+                }
+            }
+        }
+    }
+}
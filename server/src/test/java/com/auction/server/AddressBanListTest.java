@@ -0,0 +1,122 @@
+package com.auction.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressBanListTest {
+
+    private final AddressBanList bans = new AddressBanList();
+
+    @Test
+    void singleAddressIsBannedExactly() throws UnknownHostException {
+        assertEquals("10.1.2.3/32", bans.ban("10.1.2.3"));
+
+        assertTrue(bans.isBanned(InetAddress.getByName("10.1.2.3")));
+        assertFalse(bans.isBanned(InetAddress.getByName("10.1.2.4")));
+    }
+
+    @Test
+    void cidrRangeCoversAllAddressesInPrefix() throws UnknownHostException {
+        assertEquals("192.168.0.0/16", bans.ban("192.168.77.12/16"));
+
+        assertTrue(bans.isBanned(InetAddress.getByName("192.168.0.1")));
+        assertTrue(bans.isBanned(InetAddress.getByName("192.168.255.254")));
+        assertFalse(bans.isBanned(InetAddress.getByName("192.169.0.1")));
+    }
+
+    @Test
+    void ipv6RangesAreSupported() throws UnknownHostException {
+        bans.ban("2001:db8::/32");
+
+        assertTrue(bans.isBanned(InetAddress.getByName("2001:db8:1::42")));
+        assertFalse(bans.isBanned(InetAddress.getByName("2001:db9::1")));
+        assertFalse(bans.isBanned(InetAddress.getByName("32.1.13.184")), "IPv4 addresses use their own trie");
+    }
+
+    @Test
+    void unbanRemovesOnlyTheGivenRange() throws UnknownHostException {
+        bans.ban("10.0.0.0/8");
+        bans.ban("10.5.0.0/16");
+
+        assertTrue(bans.unban("10.0.0.0/8"));
+        assertFalse(bans.isBanned(InetAddress.getByName("10.1.0.1")));
+        assertTrue(bans.isBanned(InetAddress.getByName("10.5.0.1")));
+        assertEquals(1, bans.getBans().size());
+    }
+
+    @Test
+    void manyRangesGrowTheTrie() throws UnknownHostException {
+        for (int i = 0; i < 256; i++) {
+            bans.ban("172.16." + i + ".0/24");
+        }
+
+        assertTrue(bans.isBanned(InetAddress.getByName("172.16.200.9")));
+        assertFalse(bans.isBanned(InetAddress.getByName("172.17.0.1")));
+    }
+
+    @Test
+    void invalidInputIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> bans.ban("example.com"));
+        assertThrows(IllegalArgumentException.class, () -> bans.ban("10.0.0.0/33"));
+        assertThrows(IllegalArgumentException.class, () -> bans.ban(""));
+    }
+
+    @Test
+    void onlyLiteralAddressesAreAccepted() {
+        // Noms composés de chiffres hexadécimaux : jamais confiés au résolveur
+        for (String name : new String[] {"cafe", "dead", "bad", "beef/16", "10.0.0", "10.0.0.256", "1.2.3.4.5", ".::1", "2001:db8::g"}) {
+            assertThrows(IllegalArgumentException.class, () -> bans.ban(name), name);
+        }
+        assertTrue(bans.getBans().isEmpty());
+    }
+
+    @Test
+    void emptyHostDoesNotBanLocalhost() {
+        assertThrows(IllegalArgumentException.class, () -> bans.ban("/24"));
+        assertThrows(IllegalArgumentException.class, () -> bans.ban("/0"));
+
+        assertFalse(bans.isBanned(InetAddress.getLoopbackAddress()));
+    }
+
+    @Test
+    void scopedIpv6AddressesAreHandled() throws UnknownHostException {
+        assertThrows(IllegalArgumentException.class, () -> bans.ban("fe80::1%eth0"));
+
+        // Adresse de connexion avec zone : bannie sans repasser par sa forme texte
+        InetAddress scoped = Inet6Address.getByAddress(null, InetAddress.getByName("fe80::1").getAddress(), 3);
+        assertTrue(scoped.getHostAddress().contains("%"));
+        assertEquals("fe80:0:0:0:0:0:0:1/128", bans.ban(scoped));
+        assertTrue(bans.isBanned(scoped));
+        assertTrue(bans.isBanned(InetAddress.getByName("fe80::1")));
+    }
+
+    @Test
+    void unbanPrunesEmptyNodes() throws UnknownHostException {
+        int empty = bans.getNodeCount();
+        bans.ban("10.0.0.0/8");
+        int withRange = bans.getNodeCount();
+        assertEquals(empty + 8, withRange);
+        bans.ban("10.1.2.3");
+        bans.ban("2001:db8::/32");
+
+        assertEquals(withRange + 24 + 32, bans.getNodeCount());
+
+        assertTrue(bans.unban("10.1.2.3"));
+        assertEquals(withRange + 32, bans.getNodeCount());
+        assertTrue(bans.isBanned(InetAddress.getByName("10.1.2.3")), "Still covered by the /8");
+        assertTrue(bans.unban("2001:db8::/32"));
+        assertTrue(bans.unban("10.0.0.0/8"));
+        assertEquals(empty, bans.getNodeCount());
+        assertFalse(bans.isBanned(InetAddress.getByName("10.1.2.3")));
+
+        // Nœuds libérés réutilisés
+        bans.ban("192.168.0.0/16");
+        assertEquals(empty + 16, bans.getNodeCount());
+        assertTrue(bans.isBanned(InetAddress.getByName("192.168.4.4")));
+    }
+}
@@ -1,20 +1,28 @@
 package com.auction.server;
 
+import com.auction.common.dto.AuctionSnapshot;
+import com.auction.common.dto.AuctionType;
 import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidHistory;
 import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.Price;
+import com.auction.common.dto.PriceTick;
 import com.auction.common.dto.Product;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class AuctionManagerTest {
 
     private static class StubBroadcaster extends MulticastBroadcaster {
-        private final List<AuctionUpdate> updates = new ArrayList<>();
+        private final List<AuctionUpdate> updates = new CopyOnWriteArrayList<>();
+        private final List<PriceTick> ticks = new CopyOnWriteArrayList<>();
 
         @Override
         protected void initialize() {
@@ -26,6 +34,16 @@ class AuctionManagerTest {
             updates.add(update);
         }
 
+        @Override
+        public void broadcastTick(PriceTick tick) {
+            ticks.add(tick);
+        }
+
+        @Override
+        public void broadcastBid(BidTick tick) {
+            updates.add(tick.toUpdate());
+        }
+
         @Override
         public void close() {
             // No-op
@@ -34,6 +52,10 @@ class AuctionManagerTest {
         List<AuctionUpdate> getUpdates() {
             return updates;
         }
+
+        List<PriceTick> getTicks() {
+            return ticks;
+        }
     }
 
     private AuctionManager auctionManager;
@@ -45,6 +67,11 @@ class AuctionManagerTest {
         auctionManager = new AuctionManager(broadcaster);
     }
 
+    @AfterEach
+    void tearDown() {
+        auctionManager.shutdown();
+    }
+
     @Test
     void startAuctionRejectsLowerOrEqualBids() {
         assertTrue(auctionManager.startAuction("Laptop", "Ultrabook", 100.0));
@@ -149,4 +176,224 @@ class AuctionManagerTest {
         assertEquals(AuctionUpdate.UpdateType.NEW_BID, updates.get(updates.size() - 1).getUpdateType());
         assertEquals(230.0, updates.get(updates.size() - 1).getCurrentPrice());
     }
+
+    @Test
+    void snapshotIsPublishedPerChangeAndNeverMutated() {
+        assertSame(AuctionSnapshot.NONE, auctionManager.getSnapshot());
+
+        assertTrue(auctionManager.startAuction("Watch", "Automatic", 300.0));
+        AuctionSnapshot started = auctionManager.getSnapshot();
+        assertTrue(started.isActive());
+        assertEquals(300.0, started.getCurrentPrice());
+
+        assertTrue(auctionManager.placeBid(new BidRequest("c1", "Ana", started.getProductId(), 320.0)));
+        AuctionSnapshot afterBid = auctionManager.getSnapshot();
+        assertTrue(afterBid.getVersion() > started.getVersion());
+        assertEquals(320.0, afterBid.getCurrentPrice());
+        assertEquals("c1", afterBid.getHighestBidderId());
+        assertEquals(300.0, started.getCurrentPrice(), "Earlier snapshots must stay unchanged");
+
+        Product copy = afterBid.toProduct();
+        copy.setCurrentPrice(1.0);
+        assertEquals(320.0, auctionManager.getCurrentProduct().getCurrentPrice());
+
+        auctionManager.stopAuction();
+        assertFalse(auctionManager.getSnapshot().isActive());
+        assertNull(auctionManager.getSnapshot().toProduct());
+    }
+
+    @Test
+    void timedAuctionClosesItselfAndAnnouncesRemainingTime() throws InterruptedException {
+        assertTrue(auctionManager.startAuction("Bike", "Gravel", 400.0, 300));
+        AuctionUpdate start = broadcaster.getUpdates().get(0);
+        assertTrue(start.hasDeadline());
+        assertTrue(start.getRemainingMillis() > 0 && start.getRemainingMillis() <= 300);
+
+        String productId = auctionManager.getSnapshot().getProductId();
+        assertTrue(auctionManager.placeBid(new BidRequest("c1", "Ana", productId, 450.0)));
+        assertTrue(broadcaster.getUpdates().get(1).hasDeadline());
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (auctionManager.getSnapshot().isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(auctionManager.getSnapshot().isActive(), "Auction should close when its time expires");
+        assertEquals(1, auctionManager.getSalesHistorySize());
+        assertEquals("c1", auctionManager.getSalesHistory().get(0).getHighestBidderId());
+    }
+
+    @Test
+    void manualStopCancelsScheduledClose() throws InterruptedException {
+        assertTrue(auctionManager.startAuction("Desk", "Oak", 90.0, 200));
+        assertNotNull(auctionManager.stopAuction());
+        assertTrue(auctionManager.startAuction("Chair", "Oak", 40.0));
+
+        Thread.sleep(400);
+        assertTrue(auctionManager.getSnapshot().isActive(), "Earlier deadline must not close the next auction");
+        assertEquals("Chair", auctionManager.getSnapshot().getProductName());
+    }
+
+    @Test
+    void lateBidsExtendDeadlineUpToCap() throws InterruptedException {
+        auctionManager.setSoftCloseRule(new SoftCloseRule(1000, 400, 600));
+        long start = System.currentTimeMillis();
+        assertTrue(auctionManager.startAuction("Lamp", "Brass", 20.0, 300));
+        long initialEnd = auctionManager.getSnapshot().getEndTime();
+        String productId = auctionManager.getSnapshot().getProductId();
+
+        assertTrue(auctionManager.placeBid(new BidRequest("c1", "Ana", productId, 25.0)));
+        assertEquals(initialEnd + 400, auctionManager.getSnapshot().getEndTime());
+        AuctionUpdate bidUpdate = broadcaster.getUpdates().get(1);
+        assertEquals(initialEnd + 400, bidUpdate.getEndTime(), "New end time travels with the bid");
+
+        assertTrue(auctionManager.placeBid(new BidRequest("c2", "Ben", productId, 30.0)));
+        assertEquals(initialEnd + 600, auctionManager.getSnapshot().getEndTime(), "Extension is capped");
+
+        Thread.sleep(Math.max(0, start + 600 - System.currentTimeMillis()));
+        assertTrue(auctionManager.getSnapshot().isActive(), "Original deadline must have been postponed");
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (auctionManager.getSnapshot().isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(auctionManager.getSnapshot().isActive());
+        assertTrue(System.currentTimeMillis() >= initialEnd + 600);
+    }
+
+    @Test
+    void proxyWarSettlesInOneStepAtSecondMaximumPlusIncrement() {
+        assertTrue(auctionManager.startAuction("Watch", "Vintage", 100.0));
+        String productId = auctionManager.getCurrentProduct().getId();
+
+        BidRequest aliceMax = new BidRequest("client-1", "Alice", productId, 300.0);
+        aliceMax.setProxy(true);
+        assertTrue(auctionManager.placeBid(aliceMax));
+        assertEquals(101.0, auctionManager.getSnapshot().getCurrentPrice(), "Opens one increment above the start");
+        assertEquals("client-1", auctionManager.getSnapshot().getHighestBidderId());
+
+        BidRequest bobMax = new BidRequest("client-2", "Bob", productId, 250.0);
+        bobMax.setProxy(true);
+        int updatesBefore = broadcaster.getUpdates().size();
+        assertTrue(auctionManager.placeBid(bobMax));
+
+        assertEquals(251.0, auctionManager.getSnapshot().getCurrentPrice());
+        assertEquals("client-1", auctionManager.getSnapshot().getHighestBidderId());
+        assertEquals(updatesBefore + 1, broadcaster.getUpdates().size(), "Single broadcast for the whole exchange");
+
+        // Une enchère manuelle sous le maximum est aussitôt surenchérie
+        assertTrue(auctionManager.placeBid(new BidRequest("client-3", "Carol", productId, 280.0)));
+        assertEquals(281.0, auctionManager.getSnapshot().getCurrentPrice());
+        assertEquals("client-1", auctionManager.getSnapshot().getHighestBidderId());
+
+        // Au-delà du maximum, la procuration s'efface
+        assertTrue(auctionManager.placeBid(new BidRequest("client-3", "Carol", productId, 320.0)));
+        assertEquals("client-3", auctionManager.getSnapshot().getHighestBidderId());
+    }
+
+    @Test
+    void sealedBidsAreSilentUntilVickreySettlementAtClose() {
+        assertNotNull(auctionManager.openAuction("Painting", "Oil", 100.0, 0, AuctionType.SEALED_SECOND_PRICE));
+        String productId = auctionManager.getCurrentProduct().getId();
+        int updatesBefore = broadcaster.getUpdates().size();
+
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 400.0)));
+        assertTrue(auctionManager.placeBid(new BidRequest("client-2", "Bob", productId, 250.0)));
+        assertFalse(auctionManager.placeBid(new BidRequest("client-3", "Carol", productId, 80.0)));
+
+        assertEquals(updatesBefore, broadcaster.getUpdates().size(), "Sealed bids are never broadcast");
+        assertEquals(100.0, auctionManager.getSnapshot().getCurrentPrice());
+        assertNull(auctionManager.getSnapshot().getHighestBidderId());
+
+        Product sold = auctionManager.stopAuction();
+        assertEquals("client-1", sold.getHighestBidderId());
+        assertEquals(250.0, sold.getCurrentPrice());
+        assertEquals(AuctionType.SEALED_SECOND_PRICE, sold.getAuctionType());
+        assertEquals(250.0, broadcaster.getUpdates().get(broadcaster.getUpdates().size() - 1).getWinningPrice());
+    }
+
+    @Test
+    void dutchPriceDropsByMulticastTicksUntilFirstAcceptance() throws InterruptedException {
+        assertNotNull(auctionManager.openDutchAuction("Tulips", "Crate", 50.0, 10.0, 5.0, 100));
+        String productId = auctionManager.getCurrentProduct().getId();
+        int updatesAfterStart = broadcaster.getUpdates().size();
+
+        long deadline = System.currentTimeMillis() + 3000;
+        while (broadcaster.getTicks().size() < 2) {
+            assertTrue(System.currentTimeMillis() < deadline, "No price tick received");
+            Thread.sleep(10);
+        }
+        assertEquals(updatesAfterStart, broadcaster.getUpdates().size(), "Ticks never use the object channel");
+
+        double seen = auctionManager.getSnapshot().getCurrentPrice();
+        assertTrue(seen < 50.0);
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, seen)));
+        assertFalse(auctionManager.placeBid(new BidRequest("client-2", "Bob", productId, seen)));
+
+        Product sold = auctionManager.getSalesHistory().get(0);
+        assertEquals("client-1", sold.getHighestBidderId());
+        assertTrue(sold.getCurrentPrice() <= seen);
+        assertTrue(sold.getAcceptLatencyMicros() >= 0);
+        assertFalse(auctionManager.getSnapshot().isActive());
+    }
+
+    @Test
+    void bidRulesBoundOffersAndReserveBlocksTheSale() {
+        auctionManager.setBidRules(new BidRules(5.0, 100.0, 300.0));
+        assertTrue(auctionManager.startAuction("Bike", "Road", 100.0));
+        String productId = auctionManager.getCurrentProduct().getId();
+
+        AuctionSnapshot published = auctionManager.getSnapshot();
+        assertEquals(105.0, published.getMinimumBid());
+        assertEquals(200.0, published.getMaximumBid());
+
+        BidRequest tooSmall = new BidRequest("client-1", "Alice", productId, 102.0);
+        assertFalse(auctionManager.getQuote().admits(tooSmall.getAmountMinor(), tooSmall.isProxy()), "Rejected before the lock");
+        assertFalse(auctionManager.placeBid(tooSmall));
+        assertFalse(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 250.0)));
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 105.0)));
+        assertEquals(110.0, auctionManager.getSnapshot().getMinimumBid());
+
+        Product unsold = auctionManager.stopAuction();
+        assertNull(unsold.getHighestBidderId(), "Reserve not met");
+        assertTrue(broadcaster.getUpdates().get(broadcaster.getUpdates().size() - 1).getMessage().contains("réserve"));
+    }
+
+    @Test
+    void pricesCompareExactlyInMillimes() {
+        auctionManager.setBidRules(BidRules.NONE);
+        assertTrue(auctionManager.startAuction("Stamp", "Rare", 0.1 + 0.2));
+        String productId = auctionManager.getCurrentProduct().getId();
+        assertEquals(300, auctionManager.getSnapshot().getCurrentPriceMinor());
+
+        // 0.1 + 0.2 != 0.3 en double : en millimes, les deux montants sont le même prix
+        assertFalse(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 0.3)), "Equal price");
+        assertEquals(301, auctionManager.getSnapshot().getMinimumBidMinor());
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 0.301)));
+        assertEquals(Price.of(0.301), auctionManager.getCurrentProduct().getCurrentPriceMinor());
+        assertEquals("0.301", Price.toString(auctionManager.getSnapshot().getCurrentPriceMinor()));
+    }
+
+    @Test
+    void soldProductCarriesItsBidTrail() {
+        assertTrue(auctionManager.startAuction("Vase", "Ming", 100.0));
+        String productId = auctionManager.getCurrentProduct().getId();
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 110.0)));
+        assertTrue(auctionManager.placeBid(new BidRequest("client-2", "Bob", productId, 120.0)));
+        assertTrue(auctionManager.placeBid(new BidRequest("client-1", "Alice", productId, 130.0)));
+        assertEquals(3, auctionManager.getBidHistory(null).size());
+
+        Product sold = auctionManager.stopAuction();
+        BidHistory history = sold.getBidHistory();
+        assertEquals(3, history.size());
+        assertEquals(2, history.getBidderCount());
+        assertEquals(Price.of(120.0), history.getPriceMinor(1));
+        assertEquals("Alice", history.getBidderName(2));
+        // Relue depuis l'archive hors tas : même contenu, nouvelle instance
+        BidHistory archived = auctionManager.getBidHistory(productId);
+        assertEquals(3, archived.size());
+        assertEquals(Price.of(120.0), archived.getPriceMinor(1));
+        assertEquals("Alice", archived.getBidderName(2));
+        assertEquals(history.getStartEpochMillis(), archived.getStartEpochMillis());
+        assertNull(auctionManager.getBidHistory(null), "No auction running");
+    }
 }
@@ -0,0 +1,101 @@
+package com.auction.server;
+
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.LotSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionRunQueueTest {
+
+    private static class SilentBroadcaster extends MulticastBroadcaster {
+        @Override
+        protected void initialize() {
+            // Skip network initialization for tests
+        }
+
+        @Override
+        public void broadcast(AuctionUpdate update) {
+            // No-op
+        }
+
+        @Override
+        public void close() {
+            // No-op
+        }
+    }
+
+    private AuctionManager auctionManager;
+    private AuctionRunQueue runQueue;
+    private final List<AdminEvent> progress = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        auctionManager = new AuctionManager(new SilentBroadcaster());
+        runQueue = new AuctionRunQueue(auctionManager, progress::add);
+        auctionManager.addListener(runQueue);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runQueue.shutdown();
+        auctionManager.shutdown();
+    }
+
+    @Test
+    void lotsRunBackToBackInOrder() throws InterruptedException {
+        runQueue.schedule(Arrays.asList(
+            new LotSpec(2, "Vase", "", 50.0, 600),
+            new LotSpec(1, "Lamp", "", 30.0, 600),
+            new LotSpec(2, "Clock", "", 80.0, 600)));
+
+        await(() -> auctionManager.getSnapshot().isActive());
+        assertEquals("Lamp", auctionManager.getSnapshot().getProductName());
+        assertEquals(2, runQueue.getPendingCount());
+
+        auctionManager.stopAuction();
+        await(() -> "Vase".equals(auctionManager.getSnapshot().getProductName()));
+
+        auctionManager.cancelAuction();
+        await(() -> "Clock".equals(auctionManager.getSnapshot().getProductName()));
+
+        auctionManager.stopAuction();
+        await(() -> progress.size() == 4);
+        assertNull(progress.get(3).getProductName(), "Last event reports the end of the catalogue");
+        assertEquals(3, progress.get(3).getLotsDone());
+        assertEquals(2, auctionManager.getSalesHistorySize());
+    }
+
+    @Test
+    void lotClosesWhenItsDurationExpires() throws InterruptedException {
+        runQueue.schedule(Collections.singletonList(new LotSpec(1, "Pen", "", 5.0, 1)));
+
+        await(() -> auctionManager.getSalesHistorySize() == 1 && !auctionManager.getSnapshot().isActive());
+        assertEquals("Pen", auctionManager.getSalesHistory().get(0).getName());
+    }
+
+    @Test
+    void invalidLotRejectsWholeBatch() {
+        assertThrows(IllegalArgumentException.class, () -> runQueue.schedule(Arrays.asList(
+            new LotSpec(1, "Ok", "", 10.0, 60),
+            new LotSpec(2, "", "", 10.0, 60))));
+        assertEquals(0, runQueue.getPendingCount());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+}
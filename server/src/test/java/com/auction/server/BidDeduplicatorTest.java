@@ -0,0 +1,71 @@
+package com.auction.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidDeduplicatorTest {
+
+    private static final Object OWNER = new Object();
+
+    @Test
+    void resendGetsTheOriginalOutcome() {
+        BidDeduplicator deduplicator = new BidDeduplicator(8, 100);
+
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", OWNER, 1));
+        assertEquals(BidDeduplicator.Status.IN_PROGRESS, deduplicator.claim("s1", OWNER, 1));
+        deduplicator.complete("s1", OWNER, 1, true);
+        assertEquals(BidDeduplicator.Status.DUPLICATE_ACCEPTED, deduplicator.claim("s1", OWNER, 1));
+
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", OWNER, 3));
+        deduplicator.complete("s1", OWNER, 3, false);
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", OWNER, 2), "Out-of-order within the window");
+        assertEquals(BidDeduplicator.Status.DUPLICATE_REJECTED, deduplicator.claim("s1", OWNER, 3));
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s2", OWNER, 1), "Sessions are independent");
+    }
+
+    @Test
+    void sequencesOlderThanTheWindowExpire() {
+        BidDeduplicator deduplicator = new BidDeduplicator(4, 100);
+        for (long sequence = 1; sequence <= 10; sequence++) {
+            assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", OWNER, sequence));
+            deduplicator.complete("s1", OWNER, sequence, true);
+        }
+
+        assertEquals(BidDeduplicator.Status.EXPIRED, deduplicator.claim("s1", OWNER, 6));
+        assertEquals(BidDeduplicator.Status.DUPLICATE_ACCEPTED, deduplicator.claim("s1", OWNER, 7));
+    }
+
+    @Test
+    void leastRecentlyActiveSessionsAreEvicted() {
+        BidDeduplicator deduplicator = new BidDeduplicator(4, 2);
+        deduplicator.claim("a", OWNER, 1);
+        deduplicator.claim("b", OWNER, 1);
+        deduplicator.claim("a", OWNER, 2);
+        deduplicator.claim("c", OWNER, 1);
+
+        assertEquals(2, deduplicator.getSessionCount());
+        assertEquals(BidDeduplicator.Status.IN_PROGRESS, deduplicator.claim("a", OWNER, 1), "Recently used session kept");
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("b", OWNER, 1), "Evicted session starts over");
+    }
+
+    @Test
+    void keyIsBoundToTheConnectionThatUsesItFirst() {
+        BidDeduplicator deduplicator = new BidDeduplicator(8, 100);
+        Object other = new Object();
+
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", OWNER, 1));
+        deduplicator.complete("s1", OWNER, 1, true);
+        assertEquals(BidDeduplicator.Status.FOREIGN, deduplicator.claim("s1", other, 1));
+        assertEquals(BidDeduplicator.Status.FOREIGN, deduplicator.claim("s1", other, 2), "Cannot reserve sequences for another buyer");
+        deduplicator.complete("s1", other, 2, false);
+
+        // Clé libérée à la fermeture : la reconnexion retrouve la fenêtre
+        deduplicator.release("s1", other);
+        assertEquals(BidDeduplicator.Status.FOREIGN, deduplicator.claim("s1", other, 1), "Only the owner releases the key");
+        deduplicator.release("s1", OWNER);
+        assertEquals(BidDeduplicator.Status.DUPLICATE_ACCEPTED, deduplicator.claim("s1", other, 1));
+        assertEquals(BidDeduplicator.Status.NEW, deduplicator.claim("s1", other, 2));
+        assertEquals(BidDeduplicator.Status.FOREIGN, deduplicator.claim("s1", OWNER, 3));
+    }
+}
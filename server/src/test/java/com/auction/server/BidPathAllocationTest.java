@@ -0,0 +1,138 @@
+package com.auction.server;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.Price;
+import com.auction.server.history.HistoryConfig;
+import com.auction.server.history.HistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BidPathAllocationTest {
+
+    // Enchères rangées hors tas : au plus un nouveau segment (quelques centaines d'octets) mesuré
+    private static final int WARM_UP = 20_000;
+    private static final int BIDS = 10_000;
+
+    private static class CountingBroadcaster extends MulticastBroadcaster {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BidTick.MAX_SIZE);
+        private long bytes;
+
+        @Override
+        protected void initialize() {
+            // Pas de socket : l'encodage est mesuré, pas l'envoi
+        }
+
+        @Override
+        public void broadcastBid(BidTick tick) {
+            bytes += tick.encodeTo(buffer);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @TempDir
+    Path directory;
+
+    private CountingBroadcaster broadcaster;
+    private AuctionManager auctionManager;
+    private HistoryStore history;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        broadcaster = new CountingBroadcaster();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (auctionManager != null) {
+            auctionManager.shutdown();
+        }
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    @Test
+    void acceptedBidAllocatesNothingInSteadyState() {
+        auctionManager = new AuctionManager(broadcaster);
+        auctionManager.setBidLogging(false);
+        assertNoAllocationPerBid();
+    }
+
+    @Test
+    void acceptedBidAllocatesNothingWithHistorySpill() throws IOException {
+        // Configuration du serveur : historique débordant sur disque, segments réduits pour que
+        // la mesure traverse plusieurs changements de segment et débordements
+        history = new HistoryStore(directory, new HistoryConfig(64 * 1024, 64 * 1024));
+        history.open();
+        auctionManager = new AuctionManager(broadcaster, history);
+        auctionManager.setBidLogging(false);
+        assertNoAllocationPerBid();
+    }
+
+    private void assertNoAllocationPerBid() {
+        assertTrue(auctionManager.startAuction("Laptop", "Ultrabook", 100.0));
+        String productId = auctionManager.getCurrentProduct().getId();
+        BidRequest alice = new BidRequest("1", "Alice", productId, 0);
+        BidRequest bob = new BidRequest("2", "Bob", productId, 0);
+
+        placeBids(alice, bob, WARM_UP);
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        placeBids(alice, bob, BIDS);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertEquals(WARM_UP + BIDS, auctionManager.getBidHistory(null).size());
+        assertTrue(broadcaster.bytes > 0);
+        assertEquals(0, allocated / BIDS, allocated + " octets alloués pour " + BIDS + " enchères");
+    }
+
+    private void placeBids(BidRequest alice, BidRequest bob, int count) {
+        AuctionQuote quote = auctionManager.getQuote();
+        for (int i = 0; i < count; i++) {
+            BidRequest bid = (i & 1) == 0 ? alice : bob;
+            bid.setAmountMinor(quote.getMinimumBid());
+            // Chemin des connexions : session transmise en entier, comme par ClientHandler
+            if (!auctionManager.placeBid(bid, (i & 1) == 0 ? 1 : 2)) {
+                fail("Enchère refusée: " + Price.toString(bid.getAmountMinor()));
+            }
+        }
+    }
+
+    @Test
+    void bidTickRoundTripsThroughReusedBuffer() {
+        BidTick tick = new BidTick();
+        tick.set("p1", "Lampe ancienne", Price.of(152.5), "7", "Éloïse", 0, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(BidTick.MAX_SIZE);
+
+        int length = tick.encodeTo(buffer);
+        assertEquals(length, tick.encodeTo(buffer), "Encodage répétable dans le même tampon");
+        assertTrue(BidTick.isBidTick(buffer.array(), 0, length));
+
+        AuctionUpdate update = BidTick.decode(buffer.array(), 0, length).toUpdate();
+        assertEquals(AuctionUpdate.UpdateType.NEW_BID, update.getUpdateType());
+        assertEquals(Price.of(152.5), update.getCurrentPriceMinor());
+        assertEquals("Éloïse", update.getHighestBidderName());
+        assertEquals("Nouvelle enchère: 152.5 TND par Éloïse", update.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> BidTick.decode(buffer.array(), 0, length - 3));
+    }
+}
@@ -0,0 +1,35 @@
+package com.auction.server;
+
+import com.auction.common.dto.BidHistory;
+import com.auction.server.history.BidStore;
+import com.auction.server.history.HistoryConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidTrailTest {
+
+    @Test
+    void columnsGrowAndBiddersAreInterned() {
+        BidTrail trail = new BidTrail(new BidStore(HistoryConfig.defaults()), 1_000L, 5_000L);
+        for (int i = 0; i < 200; i++) {
+            String clientId = "c" + (i % 3);
+            trail.record(clientId, "Client " + (i % 3), 100_000L + i, 5_000L + i * 10L);
+        }
+
+        assertEquals(200, trail.size());
+        assertEquals(100_199L, trail.getPrice(199));
+        assertEquals(1_990L, trail.getOffsetNanos(199));
+        assertEquals("c1", trail.getBidderId(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> trail.getPrice(200));
+
+        BidHistory history = trail.toHistory();
+        assertEquals(200, history.size());
+        assertEquals(3, history.getBidderCount(), "One entry per distinct bidder");
+        assertEquals("Client 2", history.getBidderName(5));
+        assertEquals(1_000L, history.getTimestampMillis(0));
+
+        trail.record("c3", "Dan", 200_000L, 6_000L);
+        assertEquals(200, history.size(), "History is an independent copy");
+    }
+}
@@ -0,0 +1,50 @@
+package com.auction.server;
+
+import com.auction.common.dto.ClientChange;
+import com.auction.common.dto.ClientDelta;
+import com.auction.common.dto.Price;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientChangeLogTest {
+
+    @Test
+    void deltaContainsOnlyNewerChanges() {
+        ClientChangeLog log = new ClientChangeLog(16);
+        log.record(ClientChange.Kind.JOINED, "c1", "Alice");
+        log.record(ClientChange.Kind.JOINED, "c2", "Bob");
+        long version = log.getVersion();
+
+        log.recordBid("c1", "Alice", Price.of(120.0));
+        log.record(ClientChange.Kind.LEFT, "c2", "Bob");
+
+        ClientDelta delta = log.since(version, Collections::emptyList);
+        assertFalse(delta.isFullSnapshot());
+        assertEquals(4, delta.getToVersion());
+        assertEquals(2, delta.getChanges().size());
+        assertEquals(ClientChange.Kind.BID, delta.getChanges().get(0).getKind());
+        assertEquals(120.0, delta.getChanges().get(0).getLastBid());
+        assertEquals(ClientChange.Kind.LEFT, delta.getChanges().get(1).getKind());
+
+        assertTrue(log.since(delta.getToVersion(), Collections::emptyList).isEmpty());
+    }
+
+    @Test
+    void staleVersionReturnsFullSnapshot() {
+        ClientChangeLog log = new ClientChangeLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.record(ClientChange.Kind.JOINED, "c" + i, "Client " + i);
+        }
+
+        ClientDelta delta = log.since(2, () -> Collections.singletonList(
+            new ClientChange(0, ClientChange.Kind.JOINED, "c9", "Client 9")));
+        assertTrue(delta.isFullSnapshot());
+        assertEquals(10, delta.getToVersion());
+        assertEquals(10, delta.getChanges().get(0).getVersion());
+
+        assertTrue(log.since(0, Collections::emptyList).isFullSnapshot());
+    }
+}
@@ -0,0 +1,162 @@
+package com.auction.server;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.BidResponse;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.Message;
+import com.auction.common.dto.Message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientHandlerTest {
+
+    private static class SilentBroadcaster extends MulticastBroadcaster {
+        @Override
+        protected void initialize() {
+            // Pas de socket multicast pour les tests
+        }
+
+        @Override
+        public void broadcast(AuctionUpdate update) {
+        }
+
+        @Override
+        public void broadcastBid(BidTick tick) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Acheteur connecté en boucle locale à un ClientHandler du serveur
+     */
+    private final class Buyer implements AutoCloseable {
+        final Socket socket;
+        final ObjectOutputStream output;
+        final ObjectInputStream input;
+
+        Buyer(String name) throws IOException, ClassNotFoundException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            socket.setSoTimeout(5_000);
+            Socket accepted = server.accept();
+            Thread handler = new Thread(new ClientHandler(accepted, auctionManager), "client-" + name);
+            handler.setDaemon(true);
+            handler.start();
+            output = new ObjectOutputStream(socket.getOutputStream());
+            output.flush();
+            input = new ObjectInputStream(socket.getInputStream());
+            output.writeObject(new Message(MessageType.LOGIN_REQUEST, name));
+            output.flush();
+            assertEquals(MessageType.LOGIN_RESPONSE, next(MessageType.LOGIN_RESPONSE).getType());
+        }
+
+        BidResponse bid(String sessionKey, long sequence, double amount) throws IOException, ClassNotFoundException {
+            BidRequest bid = new BidRequest(null, null, auctionManager.getSnapshot().getProductId(), amount);
+            bid.setSessionKey(sessionKey);
+            bid.setSequence(sequence);
+            output.writeObject(new Message(MessageType.BID_REQUEST, null, bid));
+            output.flush();
+            return (BidResponse) next(MessageType.BID_RESPONSE).getData();
+        }
+
+        /**
+         * Prochain message du type attendu (les diffusions de la vente sont ignorées)
+         */
+        private Message next(MessageType type) throws IOException, ClassNotFoundException {
+            while (true) {
+                Message message = (Message) input.readObject();
+                if (message.getType() == type) {
+                    return message;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private final List<Buyer> buyers = new ArrayList<>();
+    private ServerSocket server;
+    private AuctionManager auctionManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        auctionManager = new AuctionManager(new SilentBroadcaster());
+        assertTrue(auctionManager.startAuction("Lampe", "Laiton", 100.0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Buyer buyer : buyers) {
+            buyer.close();
+        }
+        server.close();
+        auctionManager.shutdown();
+    }
+
+    private Buyer connect(String name) throws IOException, ClassNotFoundException {
+        Buyer buyer = new Buyer(name);
+        buyers.add(buyer);
+        return buyer;
+    }
+
+    @Test
+    void sessionKeyOfAnotherConnectionCannotSuppressItsBids() throws Exception {
+        Buyer alice = connect("Alice");
+        Buyer mallory = connect("Mallory");
+
+        BidResponse first = alice.bid("clé-alice", 1, 110.0);
+        assertTrue(first.isAccepted());
+
+        // Même clé depuis une autre connexion : refus corrélé, ni doublon ni réservation
+        BidResponse replay = mallory.bid("clé-alice", 1, 120.0);
+        assertFalse(replay.isAccepted());
+        assertFalse(replay.isDuplicate());
+        BidResponse squat = mallory.bid("clé-alice", 2, 120.0);
+        assertFalse(squat.isAccepted());
+        assertFalse(squat.isDuplicate());
+
+        BidResponse second = alice.bid("clé-alice", 2, 130.0);
+        assertTrue(second.isAccepted(), "Alice's next sequence is still processed");
+        assertFalse(second.isDuplicate());
+        assertEquals(130.0, auctionManager.getSnapshot().getCurrentPrice());
+    }
+
+    @Test
+    void reconnectedClientResumesItsSessionKey() throws Exception {
+        Buyer alice = connect("Alice");
+        assertTrue(alice.bid("clé-alice", 1, 110.0).isAccepted());
+        alice.close();
+
+        // La fermeture libère la clé : le renvoi après reconnexion reçoit le premier résultat
+        Buyer reconnected = connect("Alice");
+        BidResponse resent = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            resent = reconnected.bid("clé-alice", 1, 110.0);
+            if (resent.isDuplicate()) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        assertTrue(resent.isDuplicate());
+        assertTrue(resent.isAccepted());
+    }
+}
@@ -0,0 +1,80 @@
+package com.auction.server;
+
+import com.auction.common.dto.Price;
+import com.auction.common.dto.PriceTick;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DutchAuctionTest {
+
+    @Test
+    void onlyOneOfManySimultaneousAcceptancesWins() throws InterruptedException {
+        DutchAuction dutch = new DutchAuction(Price.of(100.0), Price.of(10.0), Price.of(5.0), 1000);
+        assertTrue(dutch.advance());
+        assertEquals(Price.of(95.0), dutch.getCurrentPrice());
+
+        int buyers = 32;
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        for (int i = 0; i < buyers; i++) {
+            int session = i;
+            String clientId = SessionRegistry.format(session);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (dutch.tryAccept(clientId, clientId, session, Price.of(95.0)) != null) {
+                    winners.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, winners.get());
+        assertFalse(dutch.advance(), "Price no longer drops once sold");
+        DutchAuction.Acceptance winner = dutch.close();
+        assertEquals(Price.of(95.0), winner.getPrice());
+        assertEquals(winner.getClientId(), SessionRegistry.format(winner.getSessionId()));
+        assertTrue(winner.getLatencyNanos() >= 0);
+    }
+
+    @Test
+    void priceStopsAtFloorAndCloseWithoutAcceptance() {
+        DutchAuction dutch = new DutchAuction(Price.of(20.0), Price.of(12.0), Price.of(3.0), 1000);
+        while (dutch.advance()) {
+            // 17, 14, 12
+        }
+        assertEquals(Price.of(12.0), dutch.getCurrentPrice());
+        assertEquals(3, dutch.getStep());
+        assertNull(dutch.tryAccept("a", "Alice", 1, Price.of(11.0)), "Below the displayed price");
+        assertNull(dutch.close());
+        assertNull(dutch.tryAccept("a", "Alice", 1, Price.of(12.0)), "Closed");
+    }
+
+    @Test
+    void priceTickRoundTripsAndIsDistinctFromSerializedObjects() {
+        byte[] data = new PriceTick("a1b2c3d4", 7, Price.of(42.5), 2000).encode();
+        assertTrue(data.length < 40);
+
+        PriceTick decoded = PriceTick.decode(data, 0, data.length);
+        assertEquals("a1b2c3d4", decoded.getProductId());
+        assertEquals(7, decoded.getStep());
+        assertEquals(Price.of(42.5), decoded.getPriceMinor());
+        assertEquals(2000, decoded.getNextDropMillis());
+
+        byte[] serialized = {(byte) 0xAC, (byte) 0xED, 0, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        assertFalse(PriceTick.isPriceTick(serialized, 0, serialized.length));
+    }
+}
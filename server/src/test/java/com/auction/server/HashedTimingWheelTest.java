@@ -0,0 +1,76 @@
+package com.auction.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    // 8 cases de 10 ms : un tour complet dure 80 ms
+    private final HashedTimingWheel wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 8, "test-wheel");
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void cancelledTimeoutsNeverRun() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(500);
+        List<HashedTimingWheel.Timeout> timeouts = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            boolean keep = i % 2 == 0;
+            timeouts.add(wheel.schedule(() -> {
+                fired.incrementAndGet();
+                if (!keep) {
+                    fail("Cancelled timeout fired");
+                }
+                done.countDown();
+            }, 20 + i % 50, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 1; i < timeouts.size(); i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(500, fired.get());
+        assertFalse(timeouts.get(1).cancel(), "Already cancelled");
+        assertTrue(timeouts.get(0).isExpired());
+    }
+
+    @Test
+    void deadlineBeyondOneRoundWaitsForRemainingRounds() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(done::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 250, "Fired too early: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void postponedTimeoutFiresAtNewDeadline() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedTimingWheel.Timeout timeout = wheel.schedule(done::countDown, 50, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.postpone(300, TimeUnit.MILLISECONDS));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 300, "Fired at the original deadline: " + elapsedMillis + " ms");
+        assertFalse(timeout.postpone(100, TimeUnit.MILLISECONDS), "Expired timeouts cannot be postponed");
+    }
+}
@@ -0,0 +1,38 @@
+package com.auction.server;
+
+import com.auction.common.dto.Price;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProxyBidEngineTest {
+
+    private final ProxyBidEngine engine = new ProxyBidEngine();
+
+    @Test
+    void equalMaximumsGoToEarliestRegistration() {
+        engine.register("a", "Alice", 1, Price.of(200.0));
+        engine.register("b", "Bob", 2, Price.of(200.0));
+
+        ProxyBidEngine.Resolution resolution = engine.resolve(Price.of(100.0), null, Price.of(5.0));
+
+        assertEquals("a", resolution.getClientId());
+        assertEquals(1, resolution.getSessionId());
+        assertEquals(Price.of(200.0), resolution.getPrice(), "Capped at the winner's own maximum");
+        assertNull(engine.resolve(Price.of(200.0), "a", Price.of(5.0)), "Settled state is stable");
+    }
+
+    @Test
+    void leaderOnlyRisesAgainstACompetingMaximum() {
+        engine.register("a", "Alice", 1, Price.of(500.0));
+        assertNull(engine.resolve(Price.of(120.0), "a", Price.of(5.0)));
+
+        engine.register("b", "Bob", 2, Price.of(150.0));
+        ProxyBidEngine.Resolution resolution = engine.resolve(Price.of(120.0), "a", Price.of(5.0));
+        assertEquals("a", resolution.getClientId());
+        assertEquals(Price.of(155.0), resolution.getPrice());
+
+        engine.remove("a");
+        assertNull(engine.resolve(Price.of(200.0), "c", Price.of(5.0)), "Remaining maximum is below the price");
+    }
+}
@@ -0,0 +1,49 @@
+package com.auction.server;
+
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.Price;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SealedBidBookTest {
+
+    @Test
+    void secondPriceUsesBestBidOfAnotherBidder() {
+        SealedBidBook book = new SealedBidBook(AuctionType.SEALED_SECOND_PRICE, Price.of(50.0));
+
+        assertTrue(book.submit("a", "Alice", 1, Price.of(120.0)));
+        assertTrue(book.submit("b", "Bob", 2, Price.of(90.0)));
+        assertTrue(book.submit("a", "Alice", 1, Price.of(150.0)));
+        assertTrue(book.submit("c", "Carol", 3, Price.of(100.0)));
+        assertFalse(book.submit("d", "Dave", 4, Price.of(40.0)), "Below reserve");
+
+        SealedBidBook.Result result = book.seal();
+        assertEquals("a", result.getWinnerId());
+        assertEquals(1, result.getWinnerSession());
+        assertEquals(Price.of(100.0), result.getPrice(), "Alice's own lower bid must not set her price");
+        assertEquals(Price.of(150.0), result.getHighestBid());
+        assertEquals(4, result.getBidCount());
+        assertFalse(book.submit("b", "Bob", 2, Price.of(500.0)), "No bids after opening");
+    }
+
+    @Test
+    void firstPriceTieGoesToEarliestBid() {
+        SealedBidBook book = new SealedBidBook(AuctionType.SEALED_FIRST_PRICE, Price.of(10.0));
+        book.submit("a", "Alice", 1, Price.of(80.0));
+        book.submit("b", "Bob", 2, Price.of(80.0));
+
+        SealedBidBook.Result result = book.seal();
+        assertEquals("a", result.getWinnerId());
+        assertEquals(Price.of(80.0), result.getPrice());
+    }
+
+    @Test
+    void singleBidderPaysReserveInSecondPrice() {
+        SealedBidBook book = new SealedBidBook(AuctionType.SEALED_SECOND_PRICE, Price.of(25.0));
+        book.submit("a", "Alice", 1, Price.of(70.0));
+
+        assertEquals(Price.of(25.0), book.seal().getPrice());
+        assertFalse(new SealedBidBook(AuctionType.SEALED_FIRST_PRICE, Price.of(1.0)).seal().hasWinner());
+    }
+}
@@ -0,0 +1,76 @@
+package com.auction.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRegistryTest {
+
+    private static ClientHandler handler() {
+        return new ClientHandler(new Socket(), null);
+    }
+
+    @Test
+    void slotsAreDenseAndReusedWithANewGeneration() {
+        SessionRegistry sessions = new SessionRegistry(4);
+        int alice = sessions.register(handler(), "Alice");
+        int bob = sessions.register(handler(), "Bob");
+        assertEquals(0, SessionRegistry.slotOf(alice));
+        assertEquals(1, SessionRegistry.slotOf(bob));
+
+        sessions.unregister(alice);
+        int carol = sessions.register(handler(), "Carol");
+        assertEquals(0, SessionRegistry.slotOf(carol), "The freed slot is reused");
+        assertNotEquals(alice, carol);
+        assertFalse(sessions.isCurrent(alice), "A stale id never reaches the new session");
+        assertNull(sessions.getName(alice));
+        assertEquals("Carol", sessions.getName(carol));
+        assertNull(sessions.unregister(alice));
+        assertEquals(2, sessions.size());
+    }
+
+    @Test
+    void registryRejectsSessionsBeyondCapacity() {
+        SessionRegistry sessions = new SessionRegistry(2);
+        sessions.register(handler(), "A");
+        sessions.register(handler(), "B");
+        assertEquals(SessionRegistry.NO_SESSION, sessions.register(handler(), "C"));
+    }
+
+    @Test
+    void perSessionStateIsResetWhenTheSlotIsReused() {
+        SessionRegistry sessions = new SessionRegistry(1);
+        int first = sessions.register(handler(), "Alice");
+        sessions.setLastBid(first, 150_000L);
+        assertTrue(sessions.ban(first));
+        assertTrue(sessions.isBanned(first));
+        assertFalse(sessions.hasBid(first), "Banning drops the last bid");
+
+        sessions.unregister(first);
+        int second = sessions.register(handler(), "Bob");
+        assertFalse(sessions.isBanned(second));
+        assertFalse(sessions.ban(first), "A stale id cannot ban the new session");
+
+        sessions.setLastBid(second, 90_000L);
+        List<String> visited = new ArrayList<>();
+        sessions.forEach((sessionId, clientName, hasBid, lastBid) ->
+            visited.add(SessionRegistry.format(sessionId) + ":" + clientName + ":" + lastBid));
+        assertEquals(List.of(SessionRegistry.format(second) + ":Bob:90000"), visited);
+
+        sessions.clearLastBids();
+        assertEquals(0, sessions.getLastBid(second));
+    }
+
+    @Test
+    void textFormRoundTrips() {
+        SessionRegistry sessions = new SessionRegistry(8);
+        int id = sessions.register(handler(), "Alice");
+        assertEquals(id, SessionRegistry.parse(SessionRegistry.format(id)));
+        assertEquals(SessionRegistry.NO_SESSION, SessionRegistry.parse("a1b2c3d4"));
+        assertEquals(SessionRegistry.NO_SESSION, SessionRegistry.parse(null));
+    }
+}
@@ -0,0 +1,216 @@
+package com.auction.server.export;
+
+import com.auction.common.dto.AuctionUpdate;
+import com.auction.common.dto.BidTick;
+import com.auction.common.dto.PriceTick;
+import com.auction.server.AuctionManager;
+import com.auction.server.MulticastBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportServerTest {
+
+    private static class SilentBroadcaster extends MulticastBroadcaster {
+        @Override
+        protected void initialize() {
+        }
+
+        @Override
+        public void broadcast(AuctionUpdate update) {
+        }
+
+        @Override
+        public void broadcastTick(PriceTick tick) {
+        }
+
+        @Override
+        public void broadcastBid(BidTick tick) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Réponse brute : ligne d'en-tête puis données jusqu'à la fermeture
+     */
+    private static final class Reply {
+        final String header;
+        final byte[] body;
+
+        Reply(String header, byte[] body) {
+            this.header = header;
+            this.body = body;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private AuctionManager auctionManager;
+    private ExportServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        auctionManager = new AuctionManager(new SilentBroadcaster());
+        server = new ExportServer(0, InetAddress.getLoopbackAddress(), directory, auctionManager);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        auctionManager.shutdown();
+    }
+
+    private Reply send(String command) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort())) {
+            socket.setSoTimeout(5_000);
+            OutputStream out = socket.getOutputStream();
+            out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            for (int b; (b = in.read()) != '\n'; ) {
+                assertNotEquals(-1, b, "Header must end with a newline");
+                header.write(b);
+            }
+            return new Reply(header.toString(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void fileTransferResumesAtOffset() throws IOException {
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Files.write(directory.resolve("bids-000001.log"), content);
+
+        Reply full = send("FILE bids-000001.log");
+        assertEquals("OK " + content.length, full.header);
+        assertArrayEquals(content, full.body);
+
+        // Reprise après réception des 75 000 premiers octets
+        Reply resumed = send("FILE bids-000001.log 75000");
+        assertEquals("OK " + content.length, resumed.header, "Header announces the full size");
+        assertArrayEquals(Arrays.copyOfRange(content, 75_000, content.length), resumed.body);
+
+        Reply beyond = send("FILE bids-000001.log 999999");
+        assertEquals(0, beyond.body.length);
+    }
+
+    @Test
+    void historyResumesAtSaleIndex() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(auctionManager.startAuction("Lot " + i, "Description " + i, 10.0 + i));
+            assertNotNull(auctionManager.stopAuction());
+        }
+
+        Reply full = send("HISTORY 0");
+        assertEquals("OK 3", full.header);
+        String[] lines = new String(full.body, StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("0;"));
+
+        Reply resumed = send("HISTORY 2");
+        assertEquals("OK 3", resumed.header);
+        String tail = new String(resumed.body, StandardCharsets.UTF_8);
+        assertEquals(lines[2] + "\n", tail, "Only sales from index 2 are resent");
+    }
+
+    @Test
+    void pathsOutsideDataDirectoryAreRejected() throws IOException {
+        assertTrue(send("FILE ../secret.txt").header.startsWith("ERR"));
+        assertTrue(send("FILE /etc/passwd").header.startsWith("ERR"));
+        assertTrue(send("FILE sub/file.log").header.startsWith("ERR"));
+        assertTrue(send("FILE").header.startsWith("ERR"));
+    }
+
+    @Test
+    void unknownCommandIsReported() throws IOException {
+        Reply reply = send("DELETE everything");
+        assertEquals("ERR Commande inconnue: DELETE", reply.header);
+        assertEquals(0, reply.body.length);
+    }
+
+    @Test
+    void oversizeLinesAreWrittenCompletelyToPartialWriters() throws IOException {
+        assertTrue(auctionManager.startAuction("Lot", "x".repeat(500), 10.0));
+        auctionManager.stopAuction();
+
+        // Canal qui n'accepte que 7 octets par écriture
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        WritableByteChannel trickle = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int n = Math.min(7, src.remaining());
+                for (int i = 0; i < n; i++) {
+                    received.write(src.get());
+                }
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertEquals(1, new HistoryCsvEncoder(auctionManager, 64).encode(0, trickle));
+        String line = received.toString(StandardCharsets.UTF_8);
+        assertTrue(line.contains("x".repeat(500)));
+        assertTrue(line.endsWith("\n"));
+    }
+
+    @Test
+    void encoderIsReusableAcrossExports() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(auctionManager.startAuction("Lot " + i, "Description " + i, 10.0 + i));
+            auctionManager.stopAuction();
+        }
+        HistoryCsvEncoder encoder = new HistoryCsvEncoder(auctionManager, 128);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        assertEquals(20, encoder.encode(0, Channels.newChannel(first)));
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertEquals(5, encoder.encode(15, Channels.newChannel(second)));
+
+        String[] lines = first.toString(StandardCharsets.UTF_8).split("\n");
+        String expected = String.join("\n", Arrays.copyOfRange(lines, 15, 20)) + "\n";
+        assertEquals(expected, second.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void listsDataFiles() throws IOException {
+        Files.writeString(directory.resolve("a.log"), "abc");
+
+        Reply reply = send("LIST");
+        assertTrue(reply.header.startsWith("OK "));
+        assertTrue(new String(reply.body, StandardCharsets.UTF_8).contains("a.log;3"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.auction.server.history;
+
+import com.auction.common.dto.AuctionType;
+import com.auction.common.dto.BidHistory;
+import com.auction.common.dto.Price;
+import com.auction.common.dto.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private HistoryStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Segments de 64 Ko, un seul gardé en mémoire directe : les suivants débordent
+        store = new HistoryStore(directory, new HistoryConfig(64 * 1024, 64 * 1024));
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void bidsSpillToDiskAndStayReadable() throws IOException {
+        BidStore bids = store.getBids();
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            bids.append("c" + (i % 4), "Client " + (i % 4), i * 10L, 100_000L + i);
+        }
+
+        assertEquals(count, bids.size());
+        assertEquals(4, bids.getBidderCount(), "Bidders are interned once");
+        assertTrue(Files.size(directory.resolve("bids.spill")) > 0, "Older segments written to disk");
+
+        BidStore.Cursor cursor = bids.cursor();
+        for (int i = 0; i < count; i += 997) {
+            cursor.moveTo(i);
+            assertEquals(100_000L + i, cursor.getPrice());
+            assertEquals(i * 10L, cursor.getOffsetNanos());
+            assertEquals("c" + (i % 4), bids.getBidderId(cursor.getBidder()));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(count));
+    }
+
+    @Test
+    void closedLotsAreArchivedWithTheirBidRange() {
+        BidStore bids = store.getBids();
+        long first = bids.size();
+        bids.append("1", "Alice", 10, Price.of(110.0));
+        bids.append("2", "Bob", 20, Price.of(120.0));
+
+        Product sold = new Product("p1", "Vase", "Ming", 100.0);
+        sold.setCurrentPriceMinor(Price.of(120.0));
+        sold.setHighestBidderId("2");
+        sold.setHighestBidderName("Bob");
+        sold.setAuctionType(AuctionType.SEALED_SECOND_PRICE);
+        int lot = store.getLots().add(sold, 5_000L, first, 2);
+
+        Product unsold = new Product("p2", "Lampe", null, 50.0);
+        store.getLots().add(unsold, 6_000L, bids.size(), 0);
+
+        assertEquals(2, store.getLots().size());
+        assertEquals(lot, store.getLots().find("p1"));
+        assertEquals(-1, store.getLots().find("p3"));
+
+        List<Product> products = store.getLots().toProducts(0, 10);
+        assertEquals(sold, products.get(0));
+        assertEquals("Ming", products.get(0).getDescription());
+        assertEquals("Bob", products.get(0).getHighestBidderName());
+        assertEquals(AuctionType.SEALED_SECOND_PRICE, products.get(0).getAuctionType());
+        assertNull(products.get(1).getDescription());
+        assertNull(products.get(1).getHighestBidderId());
+        assertFalse(products.get(1).isActive());
+
+        BidHistory history = store.bidHistoryOf(lot);
+        assertEquals(2, history.size());
+        assertEquals(5_000L, history.getStartEpochMillis());
+        assertEquals(Price.of(120.0), history.getPriceMinor(1));
+        assertEquals("Alice", history.getBidderName(0));
+        assertEquals(0, store.bidHistoryOf(1).size());
+    }
+
+    @Test
+    void lotTextsSpillAcrossSegments() {
+        String description = "x".repeat(10_000);
+        for (int i = 0; i < 40; i++) {
+            store.getLots().add(new Product("p" + i, "Lot " + i, description, 1.0), i, 0, 0);
+        }
+
+        LotStore.Cursor cursor = store.getLots().cursor().moveTo(39);
+        assertEquals("Lot 39", cursor.getProductName());
+        assertEquals(4096, cursor.getDescription().length(), "Long texts are truncated");
+        assertEquals(0, store.getLots().find("p0"));
+    }
+
+    @Test
+    void closeRemovesSpillFiles() {
+        store.close();
+        assertFalse(Files.exists(directory.resolve("bids.spill")));
+        assertFalse(Files.exists(directory.resolve("lots.spill")));
+    }
+}
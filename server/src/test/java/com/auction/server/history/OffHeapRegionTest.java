@@ -0,0 +1,108 @@
+package com.auction.server.history;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapRegionTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final OffHeapRegion region = new OffHeapRegion("test", SEGMENT_BYTES, 2);
+
+    @AfterEach
+    void tearDown() {
+        region.close();
+    }
+
+    private long append(long value) {
+        long position = region.reserve(Long.BYTES);
+        region.segmentAt(position).putLong(region.offsetOf(position), value);
+        region.commit();
+        return position;
+    }
+
+    @Test
+    void directMemoryStaysWithinCapacity() throws IOException {
+        region.spillTo(directory.resolve("test.spill"));
+        int count = 100_000;
+        for (long i = 0; i < count; i++) {
+            append(i * 7);
+        }
+
+        assertTrue(region.getSegmentCount() > 10);
+        assertTrue(region.getSpilledSegments() > 0, "Older segments written to disk");
+        assertTrue(region.getDirectSegments() <= 2, "Direct buffers bounded by capacity: " + region.getDirectSegments());
+        for (long i = 0; i < count; i++) {
+            assertEquals(i * 7, region.getLong(i * Long.BYTES));
+        }
+    }
+
+    @Test
+    void backgroundWorkIsRequestedOncePerSegmentNotPerWrite() throws IOException {
+        region.spillTo(directory.resolve("test.spill"));
+        int count = 50_000;
+        for (long i = 0; i < count; i++) {
+            append(i);
+        }
+
+        int requests = region.getPreparationRequests();
+        assertTrue(requests > 0);
+        assertTrue(requests <= region.getSegmentCount(),
+            requests + " requests for " + region.getSegmentCount() + " segments and " + count + " writes");
+    }
+
+    @Test
+    void readersNeverSeeRecycledSegments() throws Exception {
+        region.spillTo(directory.resolve("test.spill"));
+        AtomicLong committed = new AtomicLong();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong mismatches = new AtomicLong();
+
+        // Lecteur concurrent : relit en boucle des enregistrements validés, y compris ceux des
+        // segments en cours de débordement dont le tampon repart dans la réserve
+        Thread reader = new Thread(() -> {
+            long index = 0;
+            while (writing.get()) {
+                long visible = committed.get();
+                if (visible == 0) {
+                    continue;
+                }
+                index = (index + 4_099) % visible;
+                if (region.getLong(index * Long.BYTES) != index * 7) {
+                    mismatches.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (long i = 0; i < 200_000; i++) {
+            append(i * 7);
+            committed.set(i + 1);
+        }
+        writing.set(false);
+        reader.join();
+
+        assertEquals(0, mismatches.get());
+        assertTrue(region.getDirectSegments() <= 2);
+    }
+
+    @Test
+    void withoutSpillTheRegionKeepsGrowingInMemory() {
+        for (long i = 0; i < 50_000; i++) {
+            append(i);
+        }
+        assertEquals(0, region.getSpilledSegments());
+        assertEquals(region.getSegmentCount(), region.getDirectSegments());
+        assertEquals(49_999L, region.getLong(49_999L * Long.BYTES));
+    }
+}
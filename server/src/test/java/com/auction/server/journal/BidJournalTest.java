@@ -0,0 +1,174 @@
+package com.auction.server.journal;
+
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private BidJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Rotation manuelle uniquement, maintenance déclenchée par les tests
+        journal = new BidJournal(directory, new JournalConfig(1024 * 1024, 3_600_000, 3_600_000, 0, 0));
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void rollSealsSegmentWhenSizeExceeded() throws IOException {
+        journal.close();
+        journal = new BidJournal(directory, new JournalConfig(64, 3_600_000, 3_600_000, 0, 0));
+        journal.open();
+
+        Product product = new Product("p1", "Laptop", "Ultrabook", 100.0);
+        journal.onAuctionStarted(product);
+        for (int i = 1; i <= 10; i++) {
+            journal.onBidAccepted(product, new BidRequest("c1", "Alice", "p1", 100.0 + i));
+        }
+
+        assertTrue(journal.getSealedSegments().size() >= 2, "Small segments should roll over");
+    }
+
+    @Test
+    void compactionReducesClosedAuctionToOutcome() throws IOException {
+        Product product = new Product("p1", "Laptop", "Ultrabook", 100.0);
+        journal.onAuctionStarted(product);
+        journal.onBidAccepted(product, new BidRequest("c1", "Alice", "p1", 110.0));
+        journal.onBidAccepted(product, new BidRequest("c2", "Bob", "p1", 120.0));
+        journal.roll();
+
+        product.setCurrentPrice(120.0);
+        product.setHighestBidderId("c2");
+        product.setHighestBidderName("Bob");
+        journal.onAuctionClosed(product);
+        journal.roll();
+
+        journal.runMaintenance();
+
+        List<JournalRecord> records = readAll();
+        assertEquals(1, records.size(), "Only the closing record should survive");
+        JournalRecord outcome = records.get(0);
+        assertEquals(JournalRecord.Type.CLOSED, outcome.getType());
+        assertEquals("c2", outcome.getClientId());
+        assertEquals(120.0, outcome.getAmount());
+        assertEquals(2, outcome.getBidCount());
+        assertEquals("Laptop", outcome.getProductName());
+    }
+
+    @Test
+    void openAuctionIsKeptUntilItCloses() throws IOException {
+        Product product = new Product("p2", "Phone", "Flagship", 200.0);
+        journal.onAuctionStarted(product);
+        journal.onBidAccepted(product, new BidRequest("c1", "Alice", "p2", 210.0));
+        journal.roll();
+
+        journal.runMaintenance();
+        assertEquals(2, readAll().size(), "Open auction records must be retained");
+
+        journal.onAuctionCancelled(product);
+        journal.roll();
+        journal.runMaintenance();
+
+        List<JournalRecord> records = readAll();
+        assertEquals(1, records.size());
+        assertEquals(JournalRecord.Type.CANCELLED, records.get(0).getType());
+    }
+
+    @Test
+    void recordsReachTheSegmentWithoutRolling() throws Exception {
+        Product product = new Product("p3", "Vase", "Ming", 50.0);
+        journal.onAuctionStarted(product);
+
+        Path active = journal.segmentPath(1, BidJournal.RAW_SUFFIX);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Files.size(active) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Buffered records never flushed");
+            Thread.sleep(BidJournal.FLUSH_INTERVAL_MILLIS / 4);
+        }
+    }
+
+    @Test
+    void retentionFollowsRecordTimestampsNotFileTimes() throws IOException {
+        journal.close();
+        long hour = 3_600_000;
+        JournalConfig config = new JournalConfig(1024 * 1024, hour, hour, hour, 0);
+        Path retained = directory.resolve("retention");
+        journal = new BidJournal(retained, config);
+        journal.open();
+
+        long now = System.currentTimeMillis();
+        journal.append(JournalRecord.bid(now - 2 * hour, "p1", "c1", "Alice", 110_000));
+        journal.roll();
+        journal.append(JournalRecord.bid(now - 2 * hour, "p2", "c1", "Alice", 120_000));
+        journal.roll();
+        journal.append(JournalRecord.bid(now, "p3", "c2", "Bob", 130_000));
+        journal.roll();
+        // Fichier récent aux enregistrements anciens, et l'inverse
+        for (Path segment : journal.getSealedSegments().values()) {
+            Files.setLastModifiedTime(segment, FileTime.fromMillis(now - 3 * hour));
+        }
+        Files.setLastModifiedTime(journal.getSealedSegments().firstEntry().getValue(), FileTime.fromMillis(now));
+
+        journal.runMaintenance();
+        assertEquals(List.of(3L), new ArrayList<>(journal.getSealedSegments().keySet()));
+
+        // Après reprise, l'horodatage est relu dans le segment (réécrit par la compaction)
+        journal.close();
+        Files.setLastModifiedTime(journal.getSealedSegments().get(3L), FileTime.fromMillis(now - 3 * hour));
+        journal = new BidJournal(retained, config);
+        journal.open();
+        journal.runMaintenance();
+        assertEquals(List.of(3L), new ArrayList<>(journal.getSealedSegments().keySet()));
+        assertEquals("p3", readAll().get(0).getProductId());
+    }
+
+    @Test
+    void openDeletesInterruptedCompactionFiles() throws IOException {
+        journal.close();
+        Path leftover = directory.resolve("journal-0000000001" + BidJournal.COMPACTED_SUFFIX + BidJournal.TEMPORARY_SUFFIX);
+        Files.write(leftover, new byte[] {1, 2, 3});
+
+        journal = new BidJournal(directory, new JournalConfig(1024 * 1024, 3_600_000, 3_600_000, 0, 0));
+        journal.open();
+
+        assertFalse(Files.exists(leftover));
+    }
+
+    private List<JournalRecord> readAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        for (Path segment : journal.getSealedSegments().values()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+                while (true) {
+                    records.add(JournalRecord.readFrom(in));
+                }
+            } catch (EOFException e) {
+                // Fin du segment
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,85 @@
+package com.auction.server.rmi;
+
+import com.auction.common.dto.AdminEvent;
+import com.auction.common.dto.AdminEvent.EventType;
+import com.auction.common.dto.BidRequest;
+import com.auction.common.dto.Product;
+import com.auction.common.rmi.IAdminEventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminEventPublisherTest {
+
+    private final AdminEventPublisher publisher = new AdminEventPublisher(300);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        publisher.shutdown();
+    }
+
+    private static final class RecordingListener implements IAdminEventListener {
+        private final List<AdminEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvents(List<AdminEvent> events) {
+            received.addAll(events);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition not reached in time");
+    }
+
+    @Test
+    void stuckListenersAreEvictedWithoutStallingHealthyOnes() throws InterruptedException {
+        // Deux administrateurs disparus : leurs appels ne reviennent jamais
+        IAdminEventListener stuck = events -> awaitRelease();
+        IAdminEventListener alsoStuck = events -> awaitRelease();
+        RecordingListener healthy = new RecordingListener();
+        publisher.subscribe(stuck);
+        publisher.subscribe(alsoStuck);
+        publisher.subscribe(healthy);
+
+        Product product = new Product("p1", "Vase", "Ming", 100.0);
+        publisher.onAuctionStarted(product);
+        waitUntil(() -> publisher.getSubscriberCount() == 1);
+
+        publisher.onBidAccepted(product, new BidRequest("c1", "Alice", "p1", 110.0));
+        waitUntil(() -> healthy.received.size() == 2);
+        assertEquals(EventType.BID_ACCEPTED, healthy.received.get(1).getType());
+    }
+
+    @Test
+    void bidsWithoutSubscribersPublishNothing() throws InterruptedException {
+        Product product = new Product("p1", "Vase", "Ming", 100.0);
+        publisher.onBidAccepted(product, new BidRequest("c1", "Alice", "p1", 110.0));
+
+        RecordingListener late = new RecordingListener();
+        publisher.subscribe(late);
+        publisher.onAuctionCancelled(product);
+        waitUntil(() -> late.received.size() == 1);
+        assertEquals(EventType.AUCTION_CANCELLED, late.received.get(0).getType());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.auction.server.stats;
+
+import com.auction.common.dto.TimeSeries;
+import com.auction.common.dto.TimeSeries.Resolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesStoreTest {
+
+    // Début d'une heure ronde, pour des intervalles faciles à suivre
+    private static final long T0 = 1_700_000_000_000L / 3_600_000L * 3_600_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void eventsAreRolledUpAtEveryResolution() {
+        TimeSeriesStore store = new TimeSeriesStore();
+        store.recordConnectionDelta(1, T0);
+        store.recordBid(101_000L, T0 + 200);
+        store.recordBid(102_000L, T0 + 900);
+        store.recordBid(103_000L, T0 + 1_500);
+
+        TimeSeries seconds = store.query(Resolution.SECOND, T0 + 1_999, 2);
+        assertEquals(T0, seconds.getBucketStartMillis(0));
+        assertEquals(2, seconds.getBidCount(0));
+        assertEquals(102_000L, seconds.getPriceMinor(0));
+        assertEquals(1, seconds.getBidCount(1));
+        assertEquals(103_000L, seconds.getPriceMinor(1));
+
+        TimeSeries minutes = store.query(Resolution.MINUTE, T0 + 1_999, 1);
+        assertEquals(3, minutes.getBidCount(0));
+        assertEquals(1, minutes.getConnections(0));
+        assertEquals(3, store.query(Resolution.HOUR, T0 + 1_999, 1).getTotalBids());
+    }
+
+    @Test
+    void quietIntervalsCarryPriceAndConnectionsForward() {
+        TimeSeriesStore store = new TimeSeriesStore();
+        store.recordConnectionDelta(1, T0);
+        store.recordConnectionDelta(1, T0);
+        store.recordBid(50_000L, T0 + 10);
+
+        TimeSeries seconds = store.query(Resolution.SECOND, T0 + 9_000, 5);
+        for (int i = 0; i < seconds.size(); i++) {
+            assertEquals(0, seconds.getBidCount(i));
+            assertEquals(50_000L, seconds.getPriceMinor(i), "Price is carried forward from before the window");
+            assertEquals(2, seconds.getConnections(i));
+        }
+    }
+
+    @Test
+    void priceStopsBeingCarriedAfterTheAuctionCloses() throws Exception {
+        TimeSeriesStore store = new TimeSeriesStore();
+        store.recordConnectionDelta(1, T0);
+        store.recordBid(50_000L, T0 + 10);
+        store.recordAuctionEnd(T0 + 2_500);
+        store.recordConnectionDelta(1, T0 + 2_600);
+
+        TimeSeries seconds = store.query(Resolution.SECOND, T0 + 5_000, 6);
+        assertEquals(50_000L, seconds.getPriceMinor(0));
+        assertEquals(50_000L, seconds.getPriceMinor(1));
+        assertEquals(50_000L, seconds.getPriceMinor(2), "The closing interval keeps its last price");
+        assertEquals(0, seconds.getPriceMinor(3), "Not repeated after the close");
+        assertEquals(0, seconds.getPriceMinor(5));
+        assertEquals(2, seconds.getConnections(5), "Connections are still carried");
+        assertEquals(50_000L, store.query(Resolution.MINUTE, T0 + 5_000, 1).getPriceMinor(0));
+        assertEquals(0, store.query(Resolution.MINUTE, T0 + 61_000, 1).getPriceMinor(0));
+
+        // Le prochain démarrage reprend le report, y compris après rechargement
+        store.recordPrice(80_000L, T0 + 7_000);
+        Path file = directory.resolve("timeseries.bin");
+        store.save(file);
+        TimeSeriesStore reloaded = new TimeSeriesStore();
+        reloaded.load(file);
+        TimeSeries reloadedSeconds = reloaded.query(Resolution.SECOND, T0 + 9_000, 9);
+        assertEquals(0, reloadedSeconds.getPriceMinor(4));
+        assertEquals(80_000L, reloadedSeconds.getPriceMinor(8));
+    }
+
+    @Test
+    void ringReusesSlotsAndBoundsQueries() {
+        TimeSeriesStore store = new TimeSeriesStore();
+        int capacity = TimeSeriesStore.capacityOf(Resolution.SECOND);
+        store.recordBid(1_000L, T0);
+        store.recordBid(2_000L, T0 + capacity * 1_000L);
+
+        TimeSeries seconds = store.query(Resolution.SECOND, T0 + capacity * 1_000L, Integer.MAX_VALUE);
+        assertEquals(capacity, seconds.size(), "A query never exceeds the ring capacity");
+        assertEquals(1, seconds.getTotalBids(), "The older interval sharing the slot was reset");
+        assertEquals(2_000L, seconds.getPriceMinor(capacity - 1));
+    }
+
+    @Test
+    void savedSeriesAreReloaded() throws Exception {
+        TimeSeriesStore store = new TimeSeriesStore();
+        store.recordConnectionDelta(1, T0);
+        store.recordBid(75_500L, T0 + 61_000);
+        store.recordBid(76_000L, T0 + 62_000);
+        Path file = directory.resolve("timeseries.bin");
+        store.save(file);
+
+        TimeSeriesStore reloaded = new TimeSeriesStore();
+        reloaded.load(file);
+        TimeSeries minutes = reloaded.query(Resolution.MINUTE, T0 + 120_000, 3);
+        assertEquals(0, minutes.getBidCount(0));
+        assertEquals(2, minutes.getBidCount(1));
+        assertEquals(76_000L, minutes.getPriceMinor(2));
+        assertEquals(1, minutes.getConnections(1));
+    }
+}